@@ -0,0 +1,100 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import com.sun.net.httpserver.HttpServer;
+import com.vonage.client.sms.SmsClient;
+import com.vonage.client.sms.SmsSubmissionResponse;
+import com.vonage.client.sms.messages.TextMessage;
+import org.openjdk.jmh.annotations.*;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end SMS submission through {@code execute()} and {@code executeAsync()}, against an in-process stub server
+ * so that request building, signing, the connection pool and response parsing are all exercised without the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecuteBenchmark {
+    static final byte[] SMS_RESPONSE = ("{\"message-count\":\"1\",\"messages\":[{\"to\":\"447700900000\"," +
+            "\"message-id\":\"0A0000000123ABCD1\",\"status\":\"0\",\"remaining-balance\":\"3.14159265\"," +
+            "\"message-price\":\"0.03330000\",\"network\":\"12345\",\"client-ref\":\"my-personal-reference\"}]}"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    static final int ASYNC_BATCH_SIZE = 16;
+
+    HttpServer server;
+    ExecutorService serverExecutor;
+    SmsClient smsClient;
+    TextMessage message;
+
+    @Setup
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/sms/json", exchange -> {
+            try (OutputStream body = exchange.getResponseBody()) {
+                while (exchange.getRequestBody().read() != -1) {
+                    // Drain the request so the connection can be reused
+                }
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, SMS_RESPONSE.length);
+                body.write(SMS_RESPONSE);
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(ASYNC_BATCH_SIZE);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        String baseUri = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+        smsClient = VonageClient.builder()
+                .apiKey("a1b2c3d4").signatureSecret("1234567890abcdef")
+                .httpConfig(HttpConfig.builder().baseUri(baseUri).build())
+                .build().getSmsClient();
+        message = new TextMessage("Vonage", "447700900000", "Hello from Vonage!");
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public SmsSubmissionResponse submitMessage() {
+        return smsClient.submitMessage(message);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ASYNC_BATCH_SIZE)
+    public void submitMessageAsync() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[ASYNC_BATCH_SIZE];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = smsClient.submitMessageAsync(message);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+}
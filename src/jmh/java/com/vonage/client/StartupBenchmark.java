@@ -0,0 +1,81 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import com.sun.net.httpserver.HttpServer;
+import com.vonage.client.sms.SmsSubmissionResponse;
+import com.vonage.client.sms.messages.TextMessage;
+import org.openjdk.jmh.annotations.*;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start cost of the SDK, as seen by a short-lived process: building a {@link VonageClient}, and building one then
+ * sending a single SMS to an in-process stub server. Every measurement runs in a fresh JVM, so class loading and
+ * initialisation are included. Run with {@code -prof cl} to also report the number of classes loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+    HttpServer server;
+    String baseUri;
+
+    @Setup
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/sms/json", exchange -> {
+            try (OutputStream body = exchange.getResponseBody()) {
+                while (exchange.getRequestBody().read() != -1) {
+                    // Drain the request so the connection can be reused
+                }
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, ExecuteBenchmark.SMS_RESPONSE.length);
+                body.write(ExecuteBenchmark.SMS_RESPONSE);
+            }
+        });
+        server.start();
+        baseUri = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private VonageClient buildClient() {
+        return VonageClient.builder()
+                .apiKey("a1b2c3d4").signatureSecret("1234567890abcdef")
+                .httpConfig(HttpConfig.builder().baseUri(baseUri).build())
+                .build();
+    }
+
+    @Benchmark
+    public VonageClient createClient() {
+        return buildClient();
+    }
+
+    @Benchmark
+    public SmsSubmissionResponse timeToFirstRequest() {
+        return buildClient().getSmsClient()
+                .submitMessage(new TextMessage("Vonage", "447700900000", "Hello from Vonage!"));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.auth;
+
+import com.vonage.client.auth.hashutils.HashUtil;
+import com.vonage.client.sms.messages.TextMessage;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.methods.RequestBuilder;
+import org.openjdk.jmh.annotations.*;
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signature authentication hot paths: building and signing an SMS request, and verifying an inbound signed request.
+ * The signature calculation is also compared against the previous implementation, which sorted through a
+ * {@link TreeMap}, cleaned values with a regex and obtained a new {@link javax.crypto.Mac} per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningBenchmark {
+    static final String API_KEY = "a1b2c3d4", API_SECRET = "1234567890abcdef";
+
+    @Param({"MD5", "HMAC_SHA256"})
+    HashUtil.HashType hashType;
+
+    TextMessage message;
+    SignatureAuthMethod signatureAuth;
+    RequestSigner signer;
+    RequestSignatureVerifier verifier;
+    List<NameValuePair> smsParams;
+    HttpServletRequest signedRequest;
+
+    @Setup
+    public void setUp() {
+        message = new TextMessage("Vonage", "447700900000", "Hello from Vonage!");
+        message.setClientReference("my-personal-reference");
+        signatureAuth = new SignatureAuthMethod(API_KEY, API_SECRET, hashType);
+        signer = new RequestSigner(API_SECRET, hashType);
+        verifier = new RequestSignatureVerifier(API_SECRET, hashType);
+        RequestBuilder builder = RequestBuilder.post();
+        message.addParams(builder);
+        builder.addParameter("api_key", API_KEY).addParameter(RequestSigning.PARAM_TIMESTAMP, "1700000000");
+        smsParams = new ArrayList<>(builder.getParameters());
+    }
+
+    /**
+     * The signed request carries a timestamp which must be within five minutes of verification, so it is re-signed
+     * for every iteration.
+     */
+    @Setup(Level.Iteration)
+    public void signInboundRequest() {
+        RequestBuilder builder = RequestBuilder.post();
+        message.addParams(builder);
+        builder.addParameter("api_key", API_KEY);
+        List<NameValuePair> params = builder.getParameters();
+        RequestSigning.constructSignatureForRequestParameters(params, API_SECRET, hashType);
+        Map<String, String[]> parameterMap = new LinkedHashMap<>();
+        for (NameValuePair param : params) {
+            parameterMap.put(param.getName(), new String[]{param.getValue()});
+        }
+        signedRequest = (HttpServletRequest) Proxy.newProxyInstance(
+                HttpServletRequest.class.getClassLoader(), new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> "getParameterMap".equals(method.getName()) ? parameterMap : null
+        );
+    }
+
+    @Benchmark
+    public RequestBuilder signSmsRequest() {
+        RequestBuilder builder = RequestBuilder.post("https://rest.nexmo.com/sms/json");
+        message.addParams(builder);
+        return signatureAuth.apply(builder);
+    }
+
+    @Benchmark
+    public boolean verifyRequestSignature() {
+        return RequestSigning.verifyRequestSignature(signedRequest, API_SECRET, hashType);
+    }
+
+    @Benchmark
+    public boolean verifyWithVerifier() {
+        return verifier.verify(signedRequest).isValid();
+    }
+
+    @Benchmark
+    public String calculateSignature() {
+        return signer.calculateSignature(smsParams);
+    }
+
+    @Benchmark
+    public String calculateSignatureLegacy() throws Exception {
+        Map<String, String> sortedParams = new TreeMap<>();
+        for (NameValuePair param : smsParams) {
+            String value = param.getValue() == null ? "" : param.getValue();
+            if (!param.getName().equals(RequestSigning.PARAM_SIGNATURE) && !value.trim().isEmpty()) {
+                sortedParams.put(param.getName(), value);
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> param : sortedParams.entrySet()) {
+            sb.append("&").append(param.getKey().replaceAll("[=&]", "_"))
+                    .append("=").append(param.getValue().replaceAll("[=&]", "_"));
+        }
+        return HashUtil.calculate(sb.toString(), API_SECRET, "UTF-8", hashType);
+    }
+}
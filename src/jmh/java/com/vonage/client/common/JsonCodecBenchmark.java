@@ -0,0 +1,69 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vonage.client.messages.sms.SmsTextRequest;
+import com.vonage.client.sms.SmsSubmissionResponse;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a fresh {@link ObjectMapper} per call (the previous behaviour of {@code fromJson} and {@code toJson})
+ * against the shared {@link JsonCodec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+    static final String SMS_RESPONSE = "{\"message-count\":\"1\",\"messages\":[{\"to\":\"447700900000\"," +
+            "\"message-id\":\"0A0000000123ABCD1\",\"status\":\"0\",\"remaining-balance\":\"3.14159265\"," +
+            "\"message-price\":\"0.03330000\",\"network\":\"12345\",\"client-ref\":\"my-personal-reference\"," +
+            "\"account-ref\":\"customer1234\"}]}";
+
+    SmsTextRequest request;
+
+    @Setup
+    public void setUp() {
+        request = SmsTextRequest.builder()
+                .from("447700900001").to("447700900000")
+                .text("Hello from Vonage!").clientRef("my-personal-reference")
+                .build();
+    }
+
+    @Benchmark
+    public SmsSubmissionResponse readWithNewMapper() throws Exception {
+        return new ObjectMapper().readValue(SMS_RESPONSE, SmsSubmissionResponse.class);
+    }
+
+    @Benchmark
+    public SmsSubmissionResponse readWithSharedCodec() {
+        return SmsSubmissionResponse.fromJson(SMS_RESPONSE);
+    }
+
+    @Benchmark
+    public String writeWithNewMapper() throws Exception {
+        return new ObjectMapper().writeValueAsString(request);
+    }
+
+    @Benchmark
+    public String writeWithSharedCodec() {
+        return request.toJson();
+    }
+}
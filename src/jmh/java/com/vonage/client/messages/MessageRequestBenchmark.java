@@ -0,0 +1,74 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.messages;
+
+import com.vonage.client.messages.messenger.MessengerTextRequest;
+import com.vonage.client.messages.mms.MmsImageRequest;
+import com.vonage.client.messages.sms.SmsTextRequest;
+import com.vonage.client.messages.viber.ViberTextRequest;
+import com.vonage.client.messages.whatsapp.WhatsappTextRequest;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a typical outbound message for each channel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageRequestBenchmark {
+	@Param({"SMS", "MMS", "WHATSAPP", "MESSENGER", "VIBER"})
+	Channel channel;
+
+	MessageRequest request;
+
+	@Setup
+	public void setUp() {
+		String text = "Hello from Vonage!", clientRef = "my-personal-reference";
+		switch (channel) {
+			case SMS:
+				request = SmsTextRequest.builder().from("447700900001").to("447700900000")
+						.text(text).clientRef(clientRef).build();
+				break;
+			case MMS:
+				request = MmsImageRequest.builder().from("447700900001").to("447700900000")
+						.url("https://example.com/image.jpg").caption(text).clientRef(clientRef).build();
+				break;
+			case WHATSAPP:
+				request = WhatsappTextRequest.builder().from("447700900001").to("447700900000")
+						.text(text).clientRef(clientRef).build();
+				break;
+			case MESSENGER:
+				request = MessengerTextRequest.builder().from("1234567890").to("0987654321")
+						.text(text).clientRef(clientRef).build();
+				break;
+			case VIBER:
+				request = ViberTextRequest.builder().from("Vonage").to("447700900000")
+						.text(text).clientRef(clientRef).build();
+				break;
+			default:
+				throw new IllegalStateException("Unsupported channel: " + channel);
+		}
+	}
+
+	@Benchmark
+	public String toJson() {
+		return request.toJson();
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.sms;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of classifying and counting the parts of typical message texts, as done when pricing a batch before sending.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SmsSegmenterBenchmark {
+
+    @Param({"GSM_SHORT", "GSM_LONG", "UCS2_LONG"})
+    String text;
+
+    String body;
+    final int[] partEnds = new int[8];
+
+    @Setup
+    public void setUp() {
+        switch (text) {
+            case "GSM_SHORT":
+                body = "Your code is 123456. It expires in 10 minutes.";
+                break;
+            case "GSM_LONG":
+                body = repeat("Dear customer, your order {#4521} has shipped and will arrive by Friday. ", 6);
+                break;
+            default:
+                body = repeat("Уважаемый клиент, ваш заказ отправлен 📦 ", 6);
+        }
+    }
+
+    static String repeat(String s, int times) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public int countParts() {
+        return SmsSegmenter.countParts(body);
+    }
+
+    @Benchmark
+    public int split() {
+        return SmsSegmenter.split(body, SmsSegmenter.detectEncoding(body), partEnds);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.sms.callback;
+
+import com.vonage.client.sms.callback.messages.MO;
+import org.openjdk.jmh.annotations.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reassembly throughput with many concatenated messages in flight at once. Each thread feeds the shared assembler
+ * the shuffled parts of its own set of messages, so {@code interleaving} messages per thread are incomplete at any
+ * time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ConcatenatedMOAssemblerBenchmark {
+    static final int PARTS = 3;
+
+    @Param({"10", "1000", "10000"})
+    int interleaving;
+
+    ConcatenatedMOAssembler assembler;
+    final AtomicInteger threadIds = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        assembler = ConcatenatedMOAssembler.builder().maxPendingMessages(interleaving * 8).build();
+    }
+
+    @State(Scope.Thread)
+    public static class Feed {
+        MO[] parts;
+        int next;
+
+        @Setup
+        public void setUp(ConcatenatedMOAssemblerBenchmark benchmark) {
+            String sender = "44770090" + benchmark.threadIds.incrementAndGet();
+            List<MO> list = new ArrayList<>(benchmark.interleaving * PARTS);
+            for (int m = 0; m < benchmark.interleaving; m++) {
+                for (int p = 1; p <= PARTS; p++) {
+                    MO mo = new MO("id" + m + "-" + p, MO.MESSAGE_TYPE.TEXT, sender, "447700900000", null, null);
+                    mo.setTextData("Part " + p + " of a long message which did not fit in a single SMS. ", null);
+                    mo.setConcatenationData(Integer.toString(m), PARTS, p);
+                    list.add(mo);
+                }
+            }
+            Collections.shuffle(list, new Random(sender.hashCode()));
+            parts = list.toArray(new MO[0]);
+        }
+    }
+
+    @Benchmark
+    public MO accept(Feed feed) {
+        MO part = feed.parts[feed.next];
+        feed.next = (feed.next + 1) % feed.parts.length;
+        return assembler.accept(part);
+    }
+}
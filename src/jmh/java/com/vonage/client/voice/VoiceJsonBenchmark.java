@@ -0,0 +1,107 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.voice;
+
+import com.vonage.client.HttpWrapper;
+import com.vonage.client.voice.ncco.*;
+import com.vonage.client.voice.ncco.PhoneEndpoint;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.util.EntityUtils;
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a page of calls and serializing a typical NCCO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VoiceJsonBenchmark {
+    static final String CALL = "{\"uuid\":\"1452dad1-b27b-4e71-a90f-b18af2656949\",\"status\":\"completed\"," +
+            "\"direction\":\"outbound\",\"rate\":\"0.02400000\",\"price\":\"0.00280000\",\"duration\":\"7\"," +
+            "\"network\":\"23410\",\"conversation_uuid\":\"879067dc-0370-44af-98bf-b6d11beb4229\"," +
+            "\"start_time\":\"2016-12-09T13:30:46.000Z\",\"end_time\":\"2016-12-09T13:30:53.000Z\"," +
+            "\"to\":{\"type\":\"phone\",\"number\":\"447700900549\"}," +
+            "\"from\":{\"type\":\"phone\",\"number\":\"447700900550\"}," +
+            "\"_links\":{\"self\":{\"href\":\"/v1/calls/1452dad1-b27b-4e71-a90f-b18af2656949\"}}}";
+
+    String callInfoPage;
+    byte[] callInfoPageBytes;
+    ListCallsEndpoint listCalls;
+    Ncco ncco;
+
+    @Setup
+    public void setUp() {
+        StringBuilder calls = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            calls.append(i == 0 ? "" : ",").append(CALL);
+        }
+        callInfoPage = "{\"page_size\":10,\"record_index\":0,\"count\":10," +
+                "\"_links\":{\"self\":{\"href\":\"/v1/calls?page_size=10&record_index=0&order=asc\"}}," +
+                "\"_embedded\":{\"calls\":[" + calls + "]}}";
+        callInfoPageBytes = callInfoPage.getBytes(StandardCharsets.UTF_8);
+        listCalls = new ListCallsEndpoint(new HttpWrapper());
+
+        ncco = new Ncco(
+                TalkAction.builder("Please wait while we connect you.").bargeIn(false).build(),
+                RecordAction.builder().eventUrl("https://example.com/recording").build(),
+                ConnectAction.builder(PhoneEndpoint.builder("447700900000").build())
+                        .from("447700900001").eventUrl("https://example.com/event").build(),
+                InputAction.builder().type(Collections.singletonList("dtmf"))
+                        .eventUrl("https://example.com/input").build()
+        );
+    }
+
+    @Benchmark
+    public CallInfoPage parseCallInfoPage() {
+        return CallInfoPage.fromJson(callInfoPage);
+    }
+
+    /**
+     * Parses a response entity the way endpoints did before streaming, by reading it into a string first. Compare
+     * with {@link #parseCallInfoPageResponse()} using {@code -prof gc}.
+     */
+    @Benchmark
+    public CallInfoPage parseCallInfoPageViaString() throws IOException {
+        return CallInfoPage.fromJson(EntityUtils.toString(response().getEntity()));
+    }
+
+    @Benchmark
+    public CallInfoPage parseCallInfoPageResponse() throws IOException {
+        return listCalls.parseResponse(response());
+    }
+
+    private HttpResponse response() {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.setEntity(new ByteArrayEntity(callInfoPageBytes, ContentType.APPLICATION_JSON));
+        return response;
+    }
+
+    @Benchmark
+    public String writeNcco() {
+        return ncco.toJson();
+    }
+}
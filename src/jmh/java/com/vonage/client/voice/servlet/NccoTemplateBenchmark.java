@@ -0,0 +1,77 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.voice.servlet;
+
+import com.vonage.client.voice.ncco.ConnectAction;
+import com.vonage.client.voice.ncco.PhoneEndpoint;
+import com.vonage.client.voice.ncco.TalkAction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing an answer NCCO per call, compared with rendering a precompiled template with the same values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NccoTemplateBenchmark {
+    NccoTemplate template;
+    Map<String, String> values;
+
+    @Setup
+    public void setUp() {
+        template = NccoTemplate.compile(new NccoResponseBuilder()
+                .appendNcco(TalkAction.builder("Hello ${caller}, please hold.").build())
+                .appendNcco(ConnectAction.builder(PhoneEndpoint.builder("${agent}").build()).from("${caller}").build())
+                .getValue());
+        values = new HashMap<>();
+        values.put("caller", "447700900001");
+        values.put("agent", "447700900002");
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() {
+        String caller = values.get("caller");
+        return new NccoResponseBuilder()
+                .appendNcco(TalkAction.builder("Hello " + caller + ", please hold.").build())
+                .appendNcco(ConnectAction.builder(PhoneEndpoint.builder(values.get("agent")).build()).from(caller).build())
+                .getValue().toJson().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int renderTemplate(Blackhole blackhole) throws IOException {
+        return template.writeTo(values, new OutputStream() {
+            @Override
+            public void write(int b) {
+                blackhole.consume(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                blackhole.consume(b);
+            }
+        });
+    }
+}
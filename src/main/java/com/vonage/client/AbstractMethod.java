@@ -16,22 +16,33 @@
 package com.vonage.client;
 
 import com.vonage.client.auth.AuthMethod;
+import com.vonage.client.common.JsonCodec;
 import com.vonage.client.logging.LoggingUtils;
+import com.vonage.client.logging.TeeLoggingEntity;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpResponseException;
 import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.impl.client.BasicResponseHandler;
 import org.apache.http.util.EntityUtils;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Abstract class to assist in implementing a call against a REST endpoint.
@@ -40,7 +51,12 @@ import java.util.Set;
  * provided parameterized request object, and {@link #parseResponse(HttpResponse)} to construct the parameterized {@link
  * HttpResponse} object.
  * <p>
- * The REST call is executed by calling {@link #execute(Object)}.
+ * The REST call is executed by calling {@link #execute(Object)}, or without blocking the calling thread by calling
+ * {@link #executeAsync(Object)}. Either way, failed attempts are retried according to the {@link RetryPolicy} of the
+ * {@link HttpConfig} if {@link #isRetryable(Object, HttpUriRequest)} allows it. Endpoints which belong to a
+ * {@link RateLimiter} group wait for, or are rejected without, a permit before each attempt. Once a call completes,
+ * its timings and outcome are reported to the {@link MetricsListener} of the {@link HttpConfig}, if any. Attempts
+ * to a host whose {@link CircuitBreaker} circuit is open are rejected without being sent.
  *
  * @param <RequestT> The type of the method-specific request object that will be used to construct an HTTP request
  * @param <ResultT>  The type of method-specific response object which will be constructed from the returned HTTP
@@ -65,35 +81,548 @@ public abstract class AbstractMethod<RequestT, ResultT> implements Method<Reques
      * @return A ResultT representing the response from the executed REST call
      *
      * @throws VonageClientException if there is a problem parsing the HTTP response
+     * @throws VonageRateLimitExceededException if the request was rejected by the client-side rate limiter
      */
     public ResultT execute(RequestT request) throws VonageResponseParseException, VonageClientException {
+        if (getHedgingPolicy(request) != null) {
+            return awaitHedged(executeAsync(request));
+        }
+        RequestMetrics metrics = new RequestMetrics(getClass());
         try {
-            HttpUriRequest httpRequest = applyAuth(makeRequest(request))
-                    .setHeader("User-Agent", httpWrapper.getUserAgent())
-                    .setCharset(StandardCharsets.UTF_8)
-                    .build();
-
-            LOG.debug("Request: " + httpRequest);
-            if (LOG.isDebugEnabled() && httpRequest instanceof HttpEntityEnclosingRequestBase) {
-                HttpEntityEnclosingRequestBase enclosingRequest = (HttpEntityEnclosingRequestBase) httpRequest;
-                LOG.debug(EntityUtils.toString(enclosingRequest.getEntity()));
-            }
-            HttpResponse response = httpWrapper.getHttpClient().execute(httpRequest);
-
-            LOG.debug("Response: " + LoggingUtils.logResponse(response));
+            ResultT result = executeAttempts(request, metrics);
+            reportMetrics(metrics, null);
+            return result;
+        } catch (RuntimeException ex) {
+            reportMetrics(metrics, ex);
+            throw ex;
+        }
+    }
 
-            try {
-                return parseResponse(response);
-            }
-            catch (IOException io) {
-                throw new VonageResponseParseException("Unable to parse response.", io);
+    private ResultT executeAttempts(RequestT request, RequestMetrics metrics) {
+        RetryPolicy retryPolicy = getRetryPolicy();
+        try {
+            Boolean retryable = null;
+            for (int attempt = 1; ; attempt++) {
+                // As for asynchronous calls, the request is only built and signed once it may be sent.
+                long wait = acquireRateLimitPermit(request);
+                metrics.recordRateLimit(wait);
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                long start = System.nanoTime();
+                HttpUriRequest httpRequest = createHttpRequest(request);
+                long signed = System.nanoTime();
+                metrics.recordSigning(httpRequest, signed - start);
+                if (retryable == null) {
+                    retryable = retryPolicy != RetryPolicy.NONE && isRetryable(request, httpRequest);
+                }
+                CircuitBreaker.Circuit circuit = getCircuit(httpRequest);
+                long permit = acquireCircuitPermit(circuit, request);
+                HttpResponse response;
+                long delay;
+                long sent = System.nanoTime();
+                boolean reported = false;
+                try {
+                    response = httpWrapper.getHttpClient().execute(httpRequest);
+                    long elapsed = System.nanoTime() - sent;
+                    metrics.recordAttempt(httpRequest, response, elapsed);
+                    reported = true;
+                    if (circuit != null) {
+                        circuit.onResult(permit, elapsed, isServerError(response));
+                    }
+                    delay = retryable ? retryPolicy.getRetryDelay(attempt, response, null) : -1;
+                } catch (IOException io) {
+                    long elapsed = System.nanoTime() - sent;
+                    metrics.recordAttempt(httpRequest, null, elapsed);
+                    reported = true;
+                    if (circuit != null) {
+                        circuit.onResult(permit, elapsed, true);
+                    }
+                    if (!retryable || (delay = retryPolicy.getRetryDelay(attempt, null, io)) < 0) {
+                        throw io;
+                    }
+                    response = null;
+                } finally {
+                    // E.g. the connection pool has been shut down; the server was never reached
+                    if (!reported && circuit != null) {
+                        circuit.onCancelled(permit);
+                    }
+                }
+                if (delay < 0) {
+                    return handleResponse(response);
+                }
+                if (response != null) {
+                    EntityUtils.consumeQuietly(response.getEntity());
+                }
+                logRetry(httpRequest, delay, attempt);
+                Thread.sleep(delay);
             }
         } catch (UnsupportedEncodingException uee) {
             throw new VonageUnexpectedException("UTF-8 encoding is not supported by this JVM.", uee);
         } catch (IOException io) {
             throw new VonageMethodFailedException("Something went wrong while executing the HTTP request: " +
                     io.getMessage() + ".", io);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new VonageMethodFailedException("Interrupted whilst waiting to send the HTTP request.", ie);
+        }
+    }
+
+    /**
+     * Execute the REST call represented by this method object without blocking the calling thread.
+     * <p>
+     * The request is dispatched through the non-blocking client returned by {@link HttpWrapper#getHttpAsyncClient()},
+     * so no thread is held while waiting for the response. The response is parsed on the I/O thread which received it,
+     * so callbacks chained onto the returned future should not block.
+     * <p>
+     * If a {@link HedgingPolicy} is configured and the request {@link #isHedgeable(Object) is hedgeable}, a second
+     * copy of the request may be sent, in which case each copy is retried and reported to the
+     * {@link MetricsListener} independently.
+     *
+     * @param request A RequestT representing input to the REST call to be made
+     *
+     * @return A future which will be completed with the ResultT representing the response from the executed REST
+     * call, or completed exceptionally with the same exceptions that {@link #execute(Object)} would throw.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<ResultT> executeAsync(RequestT request) {
+        HedgingPolicy hedgingPolicy = getHedgingPolicy(request);
+        if (hedgingPolicy != null) {
+            try {
+                return HedgedCall.start(
+                        () -> startAsync(request), hedgingPolicy, getClass(), httpWrapper.getScheduler()
+                );
+            } catch (RuntimeException ex) {
+                CompletableFuture<ResultT> failed = new CompletableFuture<>();
+                failed.completeExceptionally(ex);
+                return failed;
+            }
+        }
+        return startAsync(request);
+    }
+
+    private CompletableFuture<ResultT> startAsync(RequestT request) {
+        CompletableFuture<ResultT> result = new CompletableFuture<>();
+        AtomicReference<Future<?>> pending = new AtomicReference<>();
+        RequestMetrics metrics = new RequestMetrics(getClass());
+        result.whenComplete((r, t) -> {
+            Future<?> current = pending.get();
+            if (result.isCancelled() && current != null) {
+                current.cancel(true);
+            }
+            reportMetrics(metrics, t);
+        });
+        executeAsyncAttempt(request, getRetryPolicy(), null, 1, result, pending, metrics);
+        return result;
+    }
+
+    private void executeAsyncAttempt(RequestT request, RetryPolicy retryPolicy, Boolean retryable, int attempt,
+                                     CompletableFuture<ResultT> result, AtomicReference<Future<?>> pending,
+                                     RequestMetrics metrics) {
+        if (result.isDone()) {
+            return;
+        }
+        long wait;
+        try {
+            wait = acquireRateLimitPermit(request);
+        } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+            return;
+        }
+        metrics.recordRateLimit(wait);
+        if (wait > 0) {
+            schedule(() -> sendAsync(request, retryPolicy, retryable, attempt, result, pending, metrics),
+                    wait, TimeUnit.NANOSECONDS, result, pending
+            );
+        }
+        else {
+            sendAsync(request, retryPolicy, retryable, attempt, result, pending, metrics);
+        }
+    }
+
+    private void sendAsync(RequestT request, RetryPolicy retryPolicy, Boolean retryable, int attempt,
+                           CompletableFuture<ResultT> result, AtomicReference<Future<?>> pending,
+                           RequestMetrics metrics) {
+        if (result.isDone()) {
+            return;
+        }
+        HttpUriRequest httpRequest;
+        long start = System.nanoTime();
+        try {
+            httpRequest = createHttpRequest(request);
+        } catch (UnsupportedEncodingException uee) {
+            result.completeExceptionally(
+                    new VonageUnexpectedException("UTF-8 encoding is not supported by this JVM.", uee)
+            );
+            return;
+        } catch (IOException | RuntimeException ex) {
+            result.completeExceptionally(ex);
+            return;
+        }
+        boolean retry = retryable != null ? retryable :
+                retryPolicy != RetryPolicy.NONE && isRetryable(request, httpRequest);
+        CircuitBreaker.Circuit circuit;
+        long permit;
+        try {
+            circuit = getCircuit(httpRequest);
+            permit = acquireCircuitPermit(circuit, request);
+        } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+            return;
+        }
+        long sent = System.nanoTime();
+        metrics.recordSigning(httpRequest, sent - start);
+
+        FutureCallback<HttpResponse> callback = new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                long elapsed = System.nanoTime() - sent;
+                metrics.recordAttempt(httpRequest, response, elapsed);
+                if (circuit != null) {
+                    circuit.onResult(permit, elapsed, isServerError(response));
+                }
+                try {
+                    long delay = retry ? retryPolicy.getRetryDelay(attempt, response, null) : -1;
+                    if (delay >= 0) {
+                        EntityUtils.consumeQuietly(response.getEntity());
+                        scheduleRetry(delay);
+                    }
+                    else {
+                        result.complete(handleResponse(response));
+                    }
+                } catch (RuntimeException ex) {
+                    result.completeExceptionally(ex);
+                }
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                long elapsed = System.nanoTime() - sent;
+                metrics.recordAttempt(httpRequest, null, elapsed);
+                if (circuit != null) {
+                    circuit.onResult(permit, elapsed, true);
+                }
+                long delay = retry ? retryPolicy.getRetryDelay(attempt, null, ex) : -1;
+                if (delay >= 0) {
+                    scheduleRetry(delay);
+                }
+                else {
+                    fail(ex);
+                }
+            }
+
+            @Override
+            public void cancelled() {
+                if (circuit != null) {
+                    circuit.onCancelled(permit);
+                }
+                result.cancel(false);
+            }
+
+            private void fail(Exception ex) {
+                result.completeExceptionally(new VonageMethodFailedException(
+                        "Something went wrong while executing the HTTP request: " + ex.getMessage() + ".", ex
+                ));
+            }
+
+            private void scheduleRetry(long delay) {
+                logRetry(httpRequest, delay, attempt);
+                schedule(() -> executeAsyncAttempt(
+                        request, retryPolicy, true, attempt + 1, result, pending, metrics
+                ), delay, TimeUnit.MILLISECONDS, result, pending);
+            }
+        };
+        try {
+            pending.set(httpWrapper.getHttpAsyncClient().execute(httpRequest, callback));
+        } catch (RuntimeException ex) {
+            // E.g. the client has been closed; the request was never sent, so the outcome is not the server's
+            if (circuit != null) {
+                circuit.onCancelled(permit);
+            }
+            result.completeExceptionally(ex);
+            return;
+        }
+
+        Future<?> current = pending.get();
+        if (result.isCancelled() && current != null) {
+            current.cancel(true);
+        }
+    }
+
+    /**
+     * Runs the next step of an asynchronous call on the scheduler. Anything the step throws fails the call, rather
+     * than being swallowed by the scheduler and leaving the call incomplete.
+     */
+    private void schedule(Runnable step, long delay, TimeUnit unit,
+                          CompletableFuture<ResultT> result, AtomicReference<Future<?>> pending) {
+        try {
+            pending.set(httpWrapper.getScheduler().schedule(() -> {
+                try {
+                    step.run();
+                } catch (RuntimeException ex) {
+                    result.completeExceptionally(ex);
+                }
+            }, delay, unit));
+        } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Builds the HTTP request for the given method-specific request object, with authentication and the standard
+     * headers applied.
+     *
+     * @param request A RequestT representing input to the REST call to be made
+     *
+     * @return The request, ready to be sent.
+     *
+     * @throws IOException if the request could not be constructed or its entity could not be logged.
+     */
+    protected HttpUriRequest createHttpRequest(RequestT request) throws IOException {
+        HttpUriRequest httpRequest = applyAuth(makeRequest(request))
+                .setHeader("User-Agent", httpWrapper.getUserAgent())
+                .setCharset(StandardCharsets.UTF_8)
+                .build();
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Request: " + LoggingUtils.logRequest(httpRequest, getMaxLoggedBodySize()));
+        }
+        return httpRequest;
+    }
+
+    /**
+     * Logs and parses the HTTP response returned by either the blocking or the non-blocking client.
+     *
+     * @param response The HTTP response received from the server.
+     *
+     * @return The parsed response.
+     *
+     * @throws VonageResponseParseException if the response could not be parsed.
+     */
+    private ResultT handleResponse(HttpResponse response) {
+        if (!LOG.isDebugEnabled()) {
+            return parseResponseOrFail(response);
+        }
+        // Captures the body as it is parsed, rather than buffering it up front for logging.
+        TeeLoggingEntity tee = isStreamingResponse() ? null :
+                TeeLoggingEntity.attach(response, getMaxLoggedBodySize());
+        try {
+            return parseResponseOrFail(response);
+        }
+        finally {
+            LOG.debug("Response: " + LoggingUtils.formatResponse(response,
+                    tee != null ? tee.getLoggedBody() : "[not logged]"
+            ));
+        }
+    }
+
+    private ResultT parseResponseOrFail(HttpResponse response) {
+        try {
+            return parseResponse(response);
+        }
+        catch (IOException io) {
+            throw new VonageResponseParseException("Unable to parse response.", io);
+        }
+    }
+
+    private static void logRetry(HttpUriRequest httpRequest, long delay, int attempt) {
+        if (LOG.isDebugEnabled()) {
+            String uri = LoggingUtils.redact(httpRequest.getURI().toString());
+            LOG.debug("Retrying " + httpRequest.getMethod() + " " + uri +
+                    " in " + delay + "ms (attempt " + attempt + ")."
+            );
+        }
+    }
+
+    private int getMaxLoggedBodySize() {
+        HttpConfig httpConfig = httpWrapper.getHttpConfig();
+        return httpConfig != null ? httpConfig.getMaxLoggedBodySize() : LoggingUtils.DEFAULT_MAX_BODY_SIZE;
+    }
+
+    /**
+     * Deserializes a JSON response body directly from the entity's stream, without first reading it into a string.
+     * As with {@link #basicResponseHandler}, responses with a status code of 300 or above are rejected, and their
+     * body is discarded.
+     *
+     * @param response The HTTP response.
+     * @param codec The codec to parse the body with.
+     * @param type The class to deserialize to.
+     * @param <T> The type to deserialize to.
+     *
+     * @return The parsed body.
+     *
+     * @throws HttpResponseException If the status code indicates failure.
+     * @throws IOException If the body could not be read or parsed.
+     * @since 7.4.0
+     */
+    protected <T> T parseJson(HttpResponse response, JsonCodec codec, Class<T> type) throws IOException {
+        StatusLine status = response.getStatusLine();
+        HttpEntity entity = response.getEntity();
+        if (status.getStatusCode() >= 300) {
+            EntityUtils.consume(entity);
+            throw new HttpResponseException(status.getStatusCode(), status.getReasonPhrase());
+        }
+        if (entity == null) {
+            throw new IOException("Response has no content.");
+        }
+        try (InputStream content = entity.getContent()) {
+            return codec.fromJson(content, type);
+        }
+    }
+
+    /**
+     * Determines whether the response body is handed to the caller as a stream. If so, the body is not read for
+     * logging, which would otherwise buffer all of it in memory before {@link #parseResponse(HttpResponse)} is called.
+     *
+     * @return {@code true} if the response body must not be buffered; {@code false} by default.
+     * @since 7.4.0
+     */
+    protected boolean isStreamingResponse() {
+        return false;
+    }
+
+    /**
+     * Determines whether the request is safe to send again after a failed attempt. This is only consulted if a
+     * {@link RetryPolicy} has been configured.
+     * <p>
+     * By default, requests using the idempotent HTTP methods ({@code GET}, {@code HEAD}, {@code OPTIONS}, {@code PUT}
+     * and {@code DELETE}) are retryable. Endpoints should override this if repeating a request would not cause
+     * duplicate side effects despite a non-idempotent method, or vice versa.
+     *
+     * @param request The method-specific request object.
+     * @param httpRequest The HTTP request built for the first attempt.
+     *
+     * @return {@code true} if failed attempts may be retried.
+     * @since 7.4.0
+     */
+    protected boolean isRetryable(RequestT request, HttpUriRequest httpRequest) {
+        switch (httpRequest.getMethod()) {
+            case "GET": case "HEAD": case "OPTIONS": case "PUT": case "DELETE":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Determines whether a slow request may be hedged, by sending a second copy of it and using whichever response
+     * arrives first. This is only consulted if a {@link HedgingPolicy} has been configured, and should only be
+     * enabled for lookups which have no side effects.
+     * <p>
+     * Hedged calls made through {@link #execute(Object)} are sent through the non-blocking client, while the calling
+     * thread waits for the result.
+     *
+     * @param request The method-specific request object.
+     *
+     * @return {@code true} if the request may be hedged; {@code false} by default.
+     * @since 7.4.0
+     */
+    protected boolean isHedgeable(RequestT request) {
+        return false;
+    }
+
+    /**
+     * @return The {@link RateLimiter} group this endpoint belongs to, or {@code null} (the default) if its requests
+     * are not rate limited.
+     * @since 7.4.0
+     */
+    protected String getRateLimitGroup() {
+        return null;
+    }
+
+    /**
+     * @param request The method-specific request object.
+     *
+     * @return The sender of the request for per-sender rate limits, or {@code null} (the default) if not applicable.
+     * @since 7.4.0
+     */
+    protected String getRateLimitSender(RequestT request) {
+        return null;
+    }
+
+    private long acquireRateLimitPermit(RequestT request) {
+        String group = getRateLimitGroup();
+        if (group == null) {
+            return 0;
+        }
+        RateLimiter rateLimiter = httpWrapper.getRateLimiter();
+        return rateLimiter != null ? rateLimiter.acquire(group, getRateLimitSender(request)) : 0;
+    }
+
+    /**
+     * Obtains permission from the circuit to send an attempt. If the circuit rejects it, the rate limit permit which
+     * the attempt has already taken is returned, so that rejected attempts do not use up the limit.
+     */
+    private long acquireCircuitPermit(CircuitBreaker.Circuit circuit, RequestT request) {
+        if (circuit == null) {
+            return 0;
+        }
+        try {
+            return circuit.acquire();
+        } catch (VonageCircuitOpenException ex) {
+            String group = getRateLimitGroup();
+            RateLimiter rateLimiter = httpWrapper.getRateLimiter();
+            if (group != null && rateLimiter != null) {
+                rateLimiter.release(group, getRateLimitSender(request));
+            }
+            throw ex;
+        }
+    }
+
+    private void reportMetrics(RequestMetrics metrics, Throwable failure) {
+        MetricsListener listener = httpWrapper.getMetricsListener();
+        if (listener == null || listener == MetricsListener.NONE) {
+            return;
+        }
+        metrics.complete(failure);
+        try {
+            listener.onRequestCompleted(metrics);
+        } catch (RuntimeException ex) {
+            LOG.warn("Metrics listener failed.", ex);
+        }
+    }
+
+    private CircuitBreaker.Circuit getCircuit(HttpUriRequest httpRequest) {
+        CircuitBreaker circuitBreaker = httpWrapper.getCircuitBreaker();
+        String host = httpRequest.getURI().getHost();
+        return circuitBreaker != null && host != null ? circuitBreaker.circuitFor(host, getClass()) : null;
+    }
+
+    private HedgingPolicy getHedgingPolicy(RequestT request) {
+        HttpConfig httpConfig = httpWrapper.getHttpConfig();
+        HedgingPolicy hedgingPolicy = httpConfig != null ? httpConfig.getHedgingPolicy() : null;
+        return hedgingPolicy != null && isHedgeable(request) ? hedgingPolicy : null;
+    }
+
+    private ResultT awaitHedged(CompletableFuture<ResultT> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new VonageMethodFailedException("Something went wrong while executing the HTTP request: " +
+                    ex.getCause().getMessage() + ".", ex.getCause());
+        } catch (InterruptedException ie) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new VonageMethodFailedException("Interrupted whilst waiting for the HTTP response.", ie);
+        }
+    }
+
+    private static boolean isServerError(HttpResponse response) {
+        return response.getStatusLine().getStatusCode() >= 500;
+    }
+
+    private RetryPolicy getRetryPolicy() {
+        HttpConfig httpConfig = httpWrapper.getHttpConfig();
+        RetryPolicy retryPolicy = httpConfig != null ? httpConfig.getRetryPolicy() : null;
+        if (retryPolicy == null) {
+            return RetryPolicy.NONE;
         }
+        retryPolicy.onRequest();
+        return retryPolicy;
     }
 
     /**
@@ -0,0 +1,444 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops sending requests to a host which is failing or responding slowly, so that callers fail fast with a
+ * {@link VonageCircuitOpenException} instead of each blocking until the request times out.
+ * <p>
+ * A separate circuit is kept for each host (as configured by the base URIs of the {@link HttpConfig}) and, by
+ * default, for each endpoint class on that host. Each circuit counts the outcome of every attempt, including retries,
+ * over a rolling time window. An attempt fails if it throws an I/O error or receives a 5xx response, and is slow if
+ * its response takes longer than the slow call threshold. Once the window holds enough calls and either rate reaches
+ * its threshold, the circuit opens and rejects requests. After the open duration, it becomes half-open and lets a
+ * few probe requests through: if they all succeed the circuit closes again, otherwise it reopens.
+ * <p>
+ * The breaker is set on {@link HttpConfig.Builder#circuitBreaker(CircuitBreaker)} and is shared by all clients
+ * created with that config.
+ *
+ * @since 7.4.0
+ */
+public final class CircuitBreaker {
+    private static final Log LOG = LogFactory.getLog(CircuitBreaker.class);
+    private static final int WINDOW_BUCKETS = 10;
+
+    /**
+     * The state of a circuit.
+     */
+    public enum State {
+        /**
+         * Requests are sent, and their outcomes are recorded.
+         */
+        CLOSED,
+
+        /**
+         * Requests are rejected without being sent.
+         */
+        OPEN,
+
+        /**
+         * A limited number of probe requests are sent to test whether the host has recovered.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Receives state changes of each circuit, e.g. to update a dashboard. Called on the thread which made the
+     * request that caused the change, so implementations must not block.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param host The host of the circuit.
+         * @param endpoint The endpoint class of the circuit, or {@code null} if circuits are not per endpoint.
+         * @param from The previous state.
+         * @param to The new state.
+         */
+        void onStateChange(String host, Class<?> endpoint, State from, State to);
+    }
+
+    private final double failureRateThreshold, slowCallRateThreshold;
+    private final long slowCallNanos, bucketNanos, openNanos;
+    private final int minimumCalls, halfOpenCalls;
+    private final boolean perEndpoint;
+    private final Listener listener;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, ConcurrentMap<Class<?>, Circuit>> circuits = new ConcurrentHashMap<>();
+
+    private CircuitBreaker(Builder builder) {
+        failureRateThreshold = builder.failureRateThreshold;
+        slowCallRateThreshold = builder.slowCallRateThreshold;
+        slowCallNanos = builder.slowCallDuration.toNanos();
+        bucketNanos = Math.max(builder.window.toNanos() / WINDOW_BUCKETS, 1);
+        openNanos = builder.openDuration.toNanos();
+        minimumCalls = builder.minimumCalls;
+        halfOpenCalls = builder.halfOpenCalls;
+        perEndpoint = builder.perEndpoint;
+        listener = builder.listener;
+        nanoClock = builder.nanoClock;
+    }
+
+    /**
+     * Obtains the circuit for requests to a host, creating it on first use.
+     *
+     * @param host The host the request is sent to.
+     * @param endpoint The endpoint class making the request.
+     *
+     * @return The circuit.
+     */
+    Circuit circuitFor(String host, Class<?> endpoint) {
+        Class<?> key = perEndpoint ? endpoint : CircuitBreaker.class;
+        return circuits.computeIfAbsent(host, h -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new Circuit(host, perEndpoint ? endpoint : null));
+    }
+
+    /**
+     * @param host The host.
+     * @param endpoint The endpoint class; ignored if circuits are not per endpoint.
+     *
+     * @return The current state of the circuit, which is {@link State#CLOSED} if no request has been made yet.
+     */
+    public State getState(String host, Class<?> endpoint) {
+        Map<Class<?>, Circuit> byEndpoint = circuits.get(host);
+        Circuit circuit = byEndpoint != null ? byEndpoint.get(perEndpoint ? endpoint : CircuitBreaker.class) : null;
+        return circuit != null ? circuit.getState() : State.CLOSED;
+    }
+
+    /**
+     * @return The hosts and endpoints of all circuits which are currently open or half-open, formatted as
+     * {@code host} or {@code host endpoint}.
+     */
+    public List<String> getTrippedCircuits() {
+        List<String> tripped = new ArrayList<>();
+        for (Map<Class<?>, Circuit> byEndpoint : circuits.values()) {
+            for (Circuit circuit : byEndpoint.values()) {
+                if (circuit.getState() != State.CLOSED) {
+                    tripped.add(circuit.endpoint != null ?
+                            circuit.host + " " + circuit.endpoint.getName() : circuit.host
+                    );
+                }
+            }
+        }
+        return tripped;
+    }
+
+    private void fireStateChange(Circuit circuit, State from, State to) {
+        String name = circuit.endpoint != null ? circuit.host + " " + circuit.endpoint.getSimpleName() : circuit.host;
+        LOG.info("Circuit for " + name + " changed from " + from + " to " + to + ".");
+        if (listener != null) {
+            try {
+                listener.onStateChange(circuit.host, circuit.endpoint, from, to);
+            }
+            catch (RuntimeException ex) {
+                LOG.warn("Circuit breaker listener failed.", ex);
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The state of the circuit for one host and endpoint. The outcome of each permitted attempt must be reported
+     * with {@link #onResult(long, long, boolean)}, or {@link #onCancelled(long)} if it was abandoned.
+     */
+    final class Circuit {
+        final String host;
+        final Class<?> endpoint;
+        private final long[] bucketEpochs = new long[WINDOW_BUCKETS];
+        private final int[] calls = new int[WINDOW_BUCKETS], failures = new int[WINDOW_BUCKETS],
+                slowCalls = new int[WINDOW_BUCKETS];
+        private volatile State state = State.CLOSED;
+        private long generation, openedAt;
+        private int probesIssued, probesSucceeded;
+
+        Circuit(String host, Class<?> endpoint) {
+            this.host = host;
+            this.endpoint = endpoint;
+            Arrays.fill(bucketEpochs, Long.MIN_VALUE);
+        }
+
+        State getState() {
+            return state;
+        }
+
+        /**
+         * Obtains permission to send an attempt.
+         *
+         * @return A permit to pass to {@link #onResult(long, long, boolean)}.
+         *
+         * @throws VonageCircuitOpenException If the circuit is open, or half-open with all probes in flight.
+         */
+        long acquire() throws VonageCircuitOpenException {
+            State from = null;
+            long permit;
+            synchronized (this) {
+                if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+                    from = transition(State.HALF_OPEN);
+                }
+                if (state == State.OPEN || (state == State.HALF_OPEN && probesIssued >= halfOpenCalls)) {
+                    permit = -1;
+                }
+                else {
+                    if (state == State.HALF_OPEN) {
+                        probesIssued++;
+                    }
+                    permit = generation;
+                }
+            }
+            if (from != null) {
+                fireStateChange(this, from, State.HALF_OPEN);
+            }
+            if (permit < 0) {
+                throw new VonageCircuitOpenException("Circuit for " + host + " is open; request not sent.",
+                        host, endpoint
+                );
+            }
+            return permit;
+        }
+
+        /**
+         * Records the outcome of an attempt.
+         *
+         * @param permit The permit returned by {@link #acquire()} for the attempt.
+         * @param durationNanos How long the attempt took.
+         * @param failed Whether the attempt failed.
+         */
+        void onResult(long permit, long durationNanos, boolean failed) {
+            boolean slow = durationNanos >= slowCallNanos;
+            State from = null, to = null;
+            synchronized (this) {
+                if (permit != generation) {
+                    return;
+                }
+                if (state == State.HALF_OPEN) {
+                    if (failed || slow) {
+                        from = transition(to = State.OPEN);
+                    }
+                    else if (++probesSucceeded >= halfOpenCalls) {
+                        from = transition(to = State.CLOSED);
+                    }
+                }
+                else if (state == State.CLOSED && record(failed, slow)) {
+                    from = transition(to = State.OPEN);
+                }
+            }
+            if (from != null) {
+                fireStateChange(this, from, to);
+            }
+        }
+
+        /**
+         * Returns the permit of an attempt whose outcome will not be reported, so that it does not count towards
+         * the probes of a half-open circuit.
+         *
+         * @param permit The permit returned by {@link #acquire()} for the attempt.
+         */
+        synchronized void onCancelled(long permit) {
+            if (permit == generation && state == State.HALF_OPEN) {
+                probesIssued--;
+            }
+        }
+
+        private boolean record(boolean failed, boolean slow) {
+            long epoch = nanoClock.getAsLong() / bucketNanos;
+            int index = (int) Math.floorMod(epoch, (long) WINDOW_BUCKETS);
+            if (bucketEpochs[index] != epoch) {
+                bucketEpochs[index] = epoch;
+                calls[index] = failures[index] = slowCalls[index] = 0;
+            }
+            calls[index]++;
+            failures[index] += failed ? 1 : 0;
+            slowCalls[index] += slow ? 1 : 0;
+
+            int totalCalls = 0, totalFailures = 0, totalSlow = 0;
+            for (int i = 0; i < WINDOW_BUCKETS; i++) {
+                if (bucketEpochs[i] > epoch - WINDOW_BUCKETS) {
+                    totalCalls += calls[i];
+                    totalFailures += failures[i];
+                    totalSlow += slowCalls[i];
+                }
+            }
+            return totalCalls >= minimumCalls && (
+                    totalFailures * 100.0 / totalCalls >= failureRateThreshold ||
+                    totalSlow * 100.0 / totalCalls >= slowCallRateThreshold
+            );
+        }
+
+        private State transition(State to) {
+            State from = state;
+            state = to;
+            generation++;
+            probesIssued = probesSucceeded = 0;
+            if (to == State.OPEN) {
+                openedAt = nanoClock.getAsLong();
+            }
+            else if (to == State.CLOSED) {
+                Arrays.fill(bucketEpochs, Long.MIN_VALUE);
+            }
+            return from;
+        }
+    }
+
+    public static class Builder {
+        private double failureRateThreshold = 50, slowCallRateThreshold = 100;
+        private Duration slowCallDuration = Duration.ofSeconds(10), window = Duration.ofSeconds(30),
+                openDuration = Duration.ofSeconds(30);
+        private int minimumCalls = 20, halfOpenCalls = 3;
+        private boolean perEndpoint = true;
+        private Listener listener;
+        private LongSupplier nanoClock = System::nanoTime;
+
+        Builder() {}
+
+        /**
+         * @param percent Percentage of failed calls in the window at which the circuit opens. Defaults to 50.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder failureRateThreshold(double percent) {
+            failureRateThreshold = requirePercentage(percent, "Failure rate threshold");
+            return this;
+        }
+
+        /**
+         * @param percent Percentage of slow calls in the window at which the circuit opens. Defaults to 100.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder slowCallRateThreshold(double percent) {
+            slowCallRateThreshold = requirePercentage(percent, "Slow call rate threshold");
+            return this;
+        }
+
+        /**
+         * @param slowCallDuration Time after which a response is considered slow. Defaults to 10 seconds.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder slowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = requirePositive(slowCallDuration, "Slow call duration");
+            return this;
+        }
+
+        /**
+         * @param window Period over which call outcomes are counted. Defaults to 30 seconds.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder window(Duration window) {
+            this.window = requirePositive(window, "Window");
+            return this;
+        }
+
+        /**
+         * @param minimumCalls Number of calls the window must hold before the circuit can open. Defaults to 20.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls < 1) {
+                throw new IllegalArgumentException("Minimum calls must be at least 1.");
+            }
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * @param openDuration Time the circuit stays open before probing the host. Defaults to 30 seconds.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder openDuration(Duration openDuration) {
+            this.openDuration = requirePositive(openDuration, "Open duration");
+            return this;
+        }
+
+        /**
+         * @param halfOpenCalls Number of probe calls which must succeed for a half-open circuit to close.
+         *                      Defaults to 3.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder halfOpenCalls(int halfOpenCalls) {
+            if (halfOpenCalls < 1) {
+                throw new IllegalArgumentException("Half-open calls must be at least 1.");
+            }
+            this.halfOpenCalls = halfOpenCalls;
+            return this;
+        }
+
+        /**
+         * @param perEndpoint Whether to keep a separate circuit for each endpoint class on a host, rather than one
+         *                    for the whole host. Defaults to {@code true}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder perEndpoint(boolean perEndpoint) {
+            this.perEndpoint = perEndpoint;
+            return this;
+        }
+
+        /**
+         * @param listener Listener for state changes of the circuits, or {@code null} for none (the default).
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder listener(Listener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        Builder nanoClock(LongSupplier nanoClock) {
+            this.nanoClock = nanoClock;
+            return this;
+        }
+
+        /**
+         * @return A new {@link CircuitBreaker} with the configured settings.
+         */
+        public CircuitBreaker build() {
+            return new CircuitBreaker(this);
+        }
+
+        private static double requirePercentage(double percent, String name) {
+            if (!(percent > 0 && percent <= 100)) {
+                throw new IllegalArgumentException(name + " must be between 0 (exclusive) and 100.");
+            }
+            return percent;
+        }
+
+        private static Duration requirePositive(Duration value, String name) {
+            if (value.isNegative() || value.isZero()) {
+                throw new IllegalArgumentException(name + " must be positive.");
+            }
+            return value;
+        }
+    }
+}
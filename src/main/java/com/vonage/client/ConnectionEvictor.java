@@ -0,0 +1,67 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically closes expired and idle connections in the pools of the blocking and non-blocking HTTP clients,
+ * using a single daemon thread.
+ */
+class ConnectionEvictor {
+    private static final Log LOG = LogFactory.getLog(ConnectionEvictor.class);
+    private static final long MIN_INTERVAL_MILLIS = 1000, MAX_INTERVAL_MILLIS = 30_000;
+
+    private final ScheduledExecutorService scheduler;
+    private final long intervalMillis;
+
+    ConnectionEvictor(String threadName, long idleTimeoutMillis) {
+        intervalMillis = Math.min(Math.max(idleTimeoutMillis / 2, MIN_INTERVAL_MILLIS), MAX_INTERVAL_MILLIS);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the given eviction task periodically until {@link #shutdown()} is called.
+     *
+     * @param evictionTask Task which closes expired and idle connections of a pool.
+     */
+    void register(Runnable evictionTask) {
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                evictionTask.run();
+            }
+            catch (RuntimeException ex) {
+                LOG.warn("Failed to evict idle connections.", ex);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.utils.DateUtils;
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Retries transient failures with exponentially increasing, randomised delays.
+ * <p>
+ * A request is retried if it fails with an I/O error other than an unknown host, a TLS failure or a protocol error,
+ * or if the response has one of the retryable status codes (by default 429, 500, 502, 503 and 504). The delay before
+ * attempt {@code n + 1} is {@code initialDelay * multiplier^(n - 1)}, capped at {@code maxDelay}, and then reduced by
+ * a random amount of up to {@code jitter} of itself. If the response carries a {@code Retry-After} header, that delay
+ * is used instead; if it exceeds {@code maxDelay}, the request is not retried. Every retry must also be granted by
+ * the {@link RetryBudget}.
+ *
+ * @since 7.4.0
+ */
+public class ExponentialBackoffRetryPolicy implements RetryPolicy {
+    private final int maxAttempts;
+    private final long initialDelayMillis, maxDelayMillis;
+    private final double multiplier, jitter;
+    private final Set<Integer> retryableStatusCodes;
+    private final RetryBudget retryBudget;
+    private final DoubleSupplier random;
+
+    private ExponentialBackoffRetryPolicy(Builder builder) {
+        maxAttempts = builder.maxAttempts;
+        initialDelayMillis = builder.initialDelay.toMillis();
+        maxDelayMillis = builder.maxDelay.toMillis();
+        if (maxDelayMillis < initialDelayMillis) {
+            throw new IllegalArgumentException("Maximum delay cannot be less than the initial delay.");
+        }
+        multiplier = builder.multiplier;
+        jitter = builder.jitter;
+        retryableStatusCodes = builder.retryableStatusCodes;
+        retryBudget = builder.retryBudget;
+        random = builder.random;
+    }
+
+    @Override
+    public void onRequest() {
+        if (retryBudget != null) {
+            retryBudget.deposit();
+        }
+    }
+
+    @Override
+    public long getRetryDelay(int attempt, HttpResponse response, Exception failure) {
+        if (attempt >= maxAttempts) {
+            return -1;
+        }
+
+        long delay;
+        if (response != null) {
+            if (!retryableStatusCodes.contains(response.getStatusLine().getStatusCode())) {
+                return -1;
+            }
+            Long retryAfter = parseRetryAfter(response);
+            delay = retryAfter != null ? retryAfter : getBackoffDelay(attempt);
+        }
+        else if (isRetryableFailure(failure)) {
+            delay = getBackoffDelay(attempt);
+        }
+        else {
+            return -1;
+        }
+
+        if (delay > maxDelayMillis || (retryBudget != null && !retryBudget.tryWithdraw())) {
+            return -1;
+        }
+        return delay;
+    }
+
+    protected boolean isRetryableFailure(Exception failure) {
+        return failure instanceof IOException &&
+                !(failure instanceof UnknownHostException) &&
+                !(failure instanceof SSLException) &&
+                !(failure instanceof ClientProtocolException);
+    }
+
+    long getBackoffDelay(int attempt) {
+        double delay = Math.min(initialDelayMillis * Math.pow(multiplier, attempt - 1), maxDelayMillis);
+        return Math.round(delay * (1 - jitter * random.getAsDouble()));
+    }
+
+    private static Long parseRetryAfter(HttpResponse response) {
+        Header header = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        if (header == null || header.getValue() == null) {
+            return null;
+        }
+        String value = header.getValue().trim();
+        try {
+            return Math.max(0, Long.parseLong(value) * 1000);
+        }
+        catch (NumberFormatException ex) {
+            Date date = DateUtils.parseDate(value);
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : null;
+        }
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maxAttempts = 3;
+        private Duration initialDelay = Duration.ofMillis(200), maxDelay = Duration.ofSeconds(10);
+        private double multiplier = 2, jitter = 1;
+        private Set<Integer> retryableStatusCodes = new HashSet<>(Arrays.asList(429, 500, 502, 503, 504));
+        private RetryBudget retryBudget = new RetryBudget(0.2, 20);
+        private DoubleSupplier random = () -> ThreadLocalRandom.current().nextDouble();
+
+        Builder() {}
+
+        /**
+         * @param maxAttempts Maximum number of attempts, including the first. Defaults to 3.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Maximum attempts must be at least 1.");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * @param initialDelay Delay before the first retry, before jitter is applied. Defaults to 200ms.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder initialDelay(Duration initialDelay) {
+            if (initialDelay.isNegative()) {
+                throw new IllegalArgumentException("Initial delay cannot be negative.");
+            }
+            this.initialDelay = initialDelay;
+            return this;
+        }
+
+        /**
+         * @param maxDelay Upper bound for any delay, including one requested by a {@code Retry-After} header.
+         * Defaults to 10 seconds.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder maxDelay(Duration maxDelay) {
+            if (maxDelay.isNegative()) {
+                throw new IllegalArgumentException("Maximum delay cannot be negative.");
+            }
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * @param multiplier Factor by which the delay grows with each attempt. Defaults to 2.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder multiplier(double multiplier) {
+            if (!(multiplier >= 1)) {
+                throw new IllegalArgumentException("Multiplier must be at least 1.");
+            }
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * @param jitter Maximum fraction by which each delay is randomly reduced, between 0 (no jitter) and
+         * 1 (full jitter, the default).
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder jitter(double jitter) {
+            if (!(jitter >= 0 && jitter <= 1)) {
+                throw new IllegalArgumentException("Jitter must be between 0 and 1.");
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * @param statusCodes The HTTP status codes which should be retried.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder retryableStatusCodes(Integer... statusCodes) {
+            this.retryableStatusCodes = new HashSet<>(Arrays.asList(statusCodes));
+            return this;
+        }
+
+        /**
+         * @param retryBudget The budget shared by all requests using this policy, or {@code null} to allow
+         * unlimited retries. Defaults to a budget of 20% of requests, with bursts of up to 20 retries.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder retryBudget(RetryBudget retryBudget) {
+            this.retryBudget = retryBudget;
+            return this;
+        }
+
+        Builder random(DoubleSupplier random) {
+            this.random = random;
+            return this;
+        }
+
+        /**
+         * @return A new {@link ExponentialBackoffRetryPolicy} from the stored builder options.
+         */
+        public ExponentialBackoffRetryPolicy build() {
+            return new ExponentialBackoffRetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs one hedgeable call: sends the original request, sends a hedge if it has not completed after the
+ * {@link HedgingPolicy}'s delay, and completes with the first successful response, cancelling the other request.
+ * The call only fails once every request which was sent has failed.
+ *
+ * @param <T> The type of the parsed response.
+ */
+final class HedgedCall<T> {
+    private final Supplier<CompletableFuture<T>> sender;
+    private final HedgingPolicy policy;
+    private final Class<?> endpoint;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private final List<CompletableFuture<T>> requests = new ArrayList<>(2);
+    private final long startNanos = System.nanoTime();
+    private Future<?> hedgeTimer;
+    private int attempts, failures;
+    private boolean succeeded;
+
+    private HedgedCall(Supplier<CompletableFuture<T>> sender, HedgingPolicy policy, Class<?> endpoint) {
+        this.sender = sender;
+        this.policy = policy;
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Starts a hedged call.
+     *
+     * @param sender Sends one copy of the request, e.g. through {@link AbstractMethod#executeAsync(Object)}.
+     * @param policy The hedging policy.
+     * @param endpoint The endpoint class, for percentile-derived delays.
+     * @param scheduler The scheduler on which to send the hedge.
+     * @param <T> The type of the parsed response.
+     *
+     * @return A future which completes with the first successful response. Cancelling it cancels all requests.
+     */
+    static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> sender, HedgingPolicy policy,
+                                          Class<?> endpoint, ScheduledExecutorService scheduler) {
+        HedgedCall<T> call = new HedgedCall<>(sender, policy, endpoint);
+        policy.onRequest();
+        call.send(false);
+        synchronized (call) {
+            if (!call.result.isDone()) {
+                try {
+                    call.hedgeTimer = scheduler.schedule(
+                            call::hedge, policy.getDelayNanos(endpoint), TimeUnit.NANOSECONDS
+                    );
+                }
+                catch (RejectedExecutionException ex) {
+                    // The scheduler has been shut down, so the call goes ahead without a hedge
+                }
+            }
+        }
+        call.result.whenComplete((r, t) -> call.cancelOutstanding());
+        return call.result;
+    }
+
+    private void send(boolean hedge) {
+        synchronized (this) {
+            // Counted before sending, so that a failure in the meantime waits for this request
+            attempts++;
+        }
+        CompletableFuture<T> request;
+        try {
+            request = sender.get();
+        }
+        catch (RuntimeException ex) {
+            request = new CompletableFuture<>();
+            request.completeExceptionally(ex);
+        }
+        boolean abandoned;
+        synchronized (this) {
+            requests.add(request);
+            abandoned = result.isDone();
+        }
+        if (abandoned) {
+            request.cancel(true);
+        }
+        request.whenComplete((value, failure) -> onComplete(hedge, value, failure));
+    }
+
+    private void hedge() {
+        synchronized (this) {
+            hedgeTimer = null;
+            if (result.isDone()) {
+                return;
+            }
+        }
+        if (policy.tryAcquireHedge()) {
+            send(true);
+        }
+    }
+
+    private void onComplete(boolean hedge, T value, Throwable failure) {
+        if (failure == null) {
+            synchronized (this) {
+                if (succeeded || result.isDone()) {
+                    return;
+                }
+                succeeded = true;
+            }
+            // Record before completing, so that callers observe the statistics of their own call
+            policy.recordLatency(endpoint, System.nanoTime() - startNanos);
+            if (hedge) {
+                policy.onHedgeWon();
+            }
+            result.complete(value);
+            return;
+        }
+        synchronized (this) {
+            if (++failures < attempts) {
+                return;
+            }
+        }
+        result.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null ?
+                failure.getCause() : failure
+        );
+    }
+
+    private void cancelOutstanding() {
+        List<CompletableFuture<T>> outstanding;
+        synchronized (this) {
+            if (hedgeTimer != null) {
+                hedgeTimer.cancel(false);
+                hedgeTimer = null;
+            }
+            outstanding = new ArrayList<>(requests);
+        }
+        for (CompletableFuture<T> request : outstanding) {
+            request.cancel(true);
+        }
+    }
+}
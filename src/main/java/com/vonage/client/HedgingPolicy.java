@@ -0,0 +1,230 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reduces tail latency of idempotent lookups by sending a second, hedged copy of a request which has not completed
+ * after a delay, and using whichever response arrives first. The slower request is cancelled.
+ * <p>
+ * Only endpoints which declare themselves hedgeable (see {@link AbstractMethod#isHedgeable(Object)}) are hedged. The
+ * hedge delay is either fixed, or derived from a percentile of each endpoint's observed latency, so that only the
+ * slowest requests are hedged. The extra load is capped by a budget: each request earns a fraction of a hedge, and
+ * hedges are not sent while the budget is exhausted.
+ * <p>
+ * The policy is set on {@link HttpConfig.Builder#hedgingPolicy(HedgingPolicy)} and is shared by all clients created
+ * with that config.
+ *
+ * @since 7.4.0
+ */
+public final class HedgingPolicy {
+    private static final int RECOMPUTE_INTERVAL = 64, MAX_SAMPLES = 10_000;
+
+    private final long delayNanos;
+    private final double percentile;
+    private final int minimumSamples;
+    private final RetryBudget budget;
+    private final ConcurrentMap<Class<?>, Tracker> trackers = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder(), hedgesSent = new LongAdder(),
+            hedgesWon = new LongAdder(), hedgesSuppressed = new LongAdder();
+
+    private HedgingPolicy(Builder builder) {
+        delayNanos = builder.delay.toNanos();
+        percentile = builder.percentile;
+        minimumSamples = builder.minimumSamples;
+        budget = new RetryBudget(builder.maxHedgeRatio, builder.maxHedgeBurst);
+    }
+
+    /**
+     * Records a new hedgeable request, replenishing the hedge budget.
+     */
+    void onRequest() {
+        requests.increment();
+        budget.deposit();
+    }
+
+    /**
+     * @param endpoint The endpoint class.
+     *
+     * @return The number of nanoseconds to wait for a response before sending a hedge.
+     */
+    long getDelayNanos(Class<?> endpoint) {
+        if (percentile <= 0) {
+            return delayNanos;
+        }
+        Tracker tracker = trackers.get(endpoint);
+        return tracker != null && tracker.percentileNanos > 0 ? tracker.percentileNanos : delayNanos;
+    }
+
+    /**
+     * Records the time taken by a hedgeable request to complete successfully, for percentile-derived delays.
+     *
+     * @param endpoint The endpoint class.
+     * @param nanos The latency of the request.
+     */
+    void recordLatency(Class<?> endpoint, long nanos) {
+        if (percentile > 0) {
+            trackers.computeIfAbsent(endpoint, e -> new Tracker()).record(nanos);
+        }
+    }
+
+    /**
+     * Attempts to spend one hedge from the budget.
+     *
+     * @return {@code true} if the hedge may be sent.
+     */
+    boolean tryAcquireHedge() {
+        if (budget.tryWithdraw()) {
+            hedgesSent.increment();
+            return true;
+        }
+        hedgesSuppressed.increment();
+        return false;
+    }
+
+    /**
+     * Records that a hedge completed before the original request.
+     */
+    void onHedgeWon() {
+        hedgesWon.increment();
+    }
+
+    /**
+     * @return The number of hedgeable requests made.
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * @return The number of hedges sent.
+     */
+    public long getHedgesSent() {
+        return hedgesSent.sum();
+    }
+
+    /**
+     * @return The number of hedges which completed before the original request.
+     */
+    public long getHedgesWon() {
+        return hedgesWon.sum();
+    }
+
+    /**
+     * @return The number of hedges which were not sent because the budget was exhausted.
+     */
+    public long getHedgesSuppressed() {
+        return hedgesSuppressed.sum();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final class Tracker {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final AtomicLong samples = new AtomicLong();
+        volatile long percentileNanos;
+
+        void record(long nanos) {
+            histogram.record(nanos);
+            long count = samples.incrementAndGet();
+            if (count >= minimumSamples && count % RECOMPUTE_INTERVAL == 0) {
+                percentileNanos = histogram.snapshot().getValueAtPercentile(percentile);
+                if (count >= MAX_SAMPLES) {
+                    // Starts afresh, so that the delay follows changes in latency; the last delay is kept meanwhile.
+                    histogram.reset();
+                    samples.set(0);
+                }
+            }
+        }
+    }
+
+    public static class Builder {
+        private Duration delay = Duration.ofMillis(100);
+        private double percentile, maxHedgeRatio = 0.05;
+        private int minimumSamples = 100, maxHedgeBurst = 10;
+
+        Builder() {}
+
+        /**
+         * @param delay Time to wait for a response before sending a hedge. If a percentile is set, this is only
+         *              used until enough latencies have been observed. Defaults to 100 milliseconds.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder delay(Duration delay) {
+            if (delay.isNegative() || delay.isZero()) {
+                throw new IllegalArgumentException("Hedge delay must be positive.");
+            }
+            this.delay = delay;
+            return this;
+        }
+
+        /**
+         * Derives the hedge delay for each endpoint from its observed latency, so that roughly
+         * {@code 100 - percentile}% of requests are hedged.
+         *
+         * @param percentile The latency percentile, e.g. 95. By default, the fixed {@link #delay(Duration)} is used.
+         * @param minimumSamples Number of latencies to observe for an endpoint before using the percentile.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder percentileDelay(double percentile, int minimumSamples) {
+            if (!(percentile > 0 && percentile < 100)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100 (exclusive).");
+            }
+            if (minimumSamples < 1) {
+                throw new IllegalArgumentException("Minimum samples must be at least 1.");
+            }
+            this.percentile = percentile;
+            this.minimumSamples = minimumSamples;
+            return this;
+        }
+
+        /**
+         * Caps the extra load caused by hedging.
+         *
+         * @param maxHedgeRatio Ratio of hedges to requests permitted over time. Defaults to 0.05, i.e. 5%.
+         * @param maxHedgeBurst Maximum number of hedges which may be sent in a burst. Defaults to 10.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder maxExtraLoad(double maxHedgeRatio, int maxHedgeBurst) {
+            if (!(maxHedgeRatio > 0 && maxHedgeRatio <= 1)) {
+                throw new IllegalArgumentException("Hedge ratio must be between 0 (exclusive) and 1.");
+            }
+            if (maxHedgeBurst < 1) {
+                throw new IllegalArgumentException("Hedge burst must be at least 1.");
+            }
+            this.maxHedgeRatio = maxHedgeRatio;
+            this.maxHedgeBurst = maxHedgeBurst;
+            return this;
+        }
+
+        /**
+         * @return A new {@link HedgingPolicy} with the configured settings.
+         */
+        public HedgingPolicy build() {
+            return new HedgingPolicy(this);
+        }
+    }
+}
@@ -15,19 +15,51 @@
  */
 package com.vonage.client;
 
+import com.vonage.client.logging.LoggingUtils;
+import java.time.Duration;
+
 public class HttpConfig {
     private static final String DEFAULT_API_BASE_URI = "https://api.nexmo.com";
     private static final String DEFAULT_REST_BASE_URI = "https://rest.nexmo.com";
     private static final String DEFAULT_SNS_BASE_URI = "https://sns.nexmo.com";
+    private static final int DEFAULT_MAX_CONNECTIONS = 200;
+    private static final int DEFAULT_VALIDATE_AFTER_INACTIVITY = 2000;
 
     private final String apiBaseUri;
     private final String restBaseUri;
     private final String snsBaseUri;
+    private final int maxConnectionsTotal, maxConnectionsPerRoute;
+    private final Integer apiMaxConnections, restMaxConnections, snsMaxConnections;
+    private final int connectTimeout, socketTimeout, connectionRequestTimeout, validateAfterInactivity;
+    private final long connectionTimeToLive, idleConnectionTimeout;
+    private final RetryPolicy retryPolicy;
+    private final RateLimiter rateLimiter;
+    private final MetricsListener metricsListener;
+    private final int maxLoggedBodySize;
+    private final CircuitBreaker circuitBreaker;
+    private final HedgingPolicy hedgingPolicy;
 
     private HttpConfig(Builder builder) {
         apiBaseUri = builder.apiBaseUri;
         restBaseUri = builder.restBaseUri;
         snsBaseUri = builder.snsBaseUri;
+        maxConnectionsTotal = builder.maxConnectionsTotal;
+        maxConnectionsPerRoute = builder.maxConnectionsPerRoute;
+        apiMaxConnections = builder.apiMaxConnections;
+        restMaxConnections = builder.restMaxConnections;
+        snsMaxConnections = builder.snsMaxConnections;
+        connectTimeout = builder.connectTimeout;
+        socketTimeout = builder.socketTimeout;
+        connectionRequestTimeout = builder.connectionRequestTimeout;
+        validateAfterInactivity = builder.validateAfterInactivity;
+        connectionTimeToLive = builder.connectionTimeToLive;
+        idleConnectionTimeout = builder.idleConnectionTimeout;
+        retryPolicy = builder.retryPolicy;
+        rateLimiter = builder.rateLimiter;
+        metricsListener = builder.metricsListener;
+        maxLoggedBodySize = builder.maxLoggedBodySize;
+        circuitBreaker = builder.circuitBreaker;
+        hedgingPolicy = builder.hedgingPolicy;
     }
 
     public String getApiBaseUri() {
@@ -42,6 +74,144 @@ public class HttpConfig {
         return snsBaseUri;
     }
 
+    /**
+     * @return Maximum number of pooled connections across all hosts.
+     * @since 7.4.0
+     */
+    public int getMaxConnectionsTotal() {
+        return maxConnectionsTotal;
+    }
+
+    /**
+     * @return Maximum number of pooled connections to any host without a more specific limit.
+     * @since 7.4.0
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * @return Maximum number of pooled connections to the API host, or {@code null} to use the per-route default.
+     * @since 7.4.0
+     */
+    public Integer getApiMaxConnections() {
+        return apiMaxConnections;
+    }
+
+    /**
+     * @return Maximum number of pooled connections to the REST host, or {@code null} to use the per-route default.
+     * @since 7.4.0
+     */
+    public Integer getRestMaxConnections() {
+        return restMaxConnections;
+    }
+
+    /**
+     * @return Maximum number of pooled connections to the SNS host, or {@code null} to use the per-route default.
+     * @since 7.4.0
+     */
+    public Integer getSnsMaxConnections() {
+        return snsMaxConnections;
+    }
+
+    /**
+     * @return Timeout for establishing a connection in milliseconds, or -1 if not set.
+     * @since 7.4.0
+     */
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * @return Maximum inactivity between two data packets when reading a response in milliseconds, or -1 if not set.
+     * @since 7.4.0
+     */
+    public int getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    /**
+     * @return Timeout for leasing a connection from the pool in milliseconds, or -1 if not set.
+     * @since 7.4.0
+     */
+    public int getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    /**
+     * @return Idle period in milliseconds after which a pooled connection is re-validated before being leased,
+     * or a non-positive value to disable validation.
+     * @since 7.4.0
+     */
+    public int getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    /**
+     * @return Maximum lifetime of a pooled connection in milliseconds, or -1 for no limit.
+     * @since 7.4.0
+     */
+    public long getConnectionTimeToLive() {
+        return connectionTimeToLive;
+    }
+
+    /**
+     * @return Idle period in milliseconds after which pooled connections are closed by the background evictor,
+     * or -1 if the evictor is disabled.
+     * @since 7.4.0
+     */
+    public long getIdleConnectionTimeout() {
+        return idleConnectionTimeout;
+    }
+
+    /**
+     * @return The policy for retrying failed requests. Never null; defaults to {@link RetryPolicy#NONE}.
+     * @since 7.4.0
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * @return The client-side rate limiter, or {@code null} if requests are not rate limited.
+     * @since 7.4.0
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * @return The listener for request metrics. Never null; defaults to {@link MetricsListener#NONE}.
+     * @since 7.4.0
+     */
+    public MetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    /**
+     * @return Maximum number of bytes of each request and response body to include in debug logs.
+     * @since 7.4.0
+     */
+    public int getMaxLoggedBodySize() {
+        return maxLoggedBodySize;
+    }
+
+    /**
+     * @return The circuit breaker, or {@code null} if requests are always sent.
+     * @since 7.4.0
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @return The policy for hedging slow lookups, or {@code null} if requests are never hedged.
+     * @since 7.4.0
+     */
+    public HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
     public boolean isDefaultApiBaseUri() {
         return DEFAULT_API_BASE_URI.equals(apiBaseUri);
     }
@@ -85,6 +255,17 @@ public class HttpConfig {
         private String apiBaseUri;
         private String restBaseUri;
         private String snsBaseUri;
+        private int maxConnectionsTotal = DEFAULT_MAX_CONNECTIONS, maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS;
+        private Integer apiMaxConnections, restMaxConnections, snsMaxConnections;
+        private int connectTimeout = -1, socketTimeout = -1, connectionRequestTimeout = -1;
+        private int validateAfterInactivity = DEFAULT_VALIDATE_AFTER_INACTIVITY;
+        private long connectionTimeToLive = -1, idleConnectionTimeout = -1;
+        private RetryPolicy retryPolicy = RetryPolicy.NONE;
+        private RateLimiter rateLimiter;
+        private MetricsListener metricsListener = MetricsListener.NONE;
+        private int maxLoggedBodySize = LoggingUtils.DEFAULT_MAX_BODY_SIZE;
+        private CircuitBreaker circuitBreaker;
+        private HedgingPolicy hedgingPolicy;
 
         public Builder() {
             apiBaseUri = DEFAULT_API_BASE_URI;
@@ -135,6 +316,225 @@ public class HttpConfig {
             return this;
         }
 
+        /**
+         * @param maxConnectionsTotal Maximum number of pooled connections across all hosts. Defaults to 200.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder maxConnectionsTotal(int maxConnectionsTotal) {
+            this.maxConnectionsTotal = requirePositive(maxConnectionsTotal, "Maximum total connections");
+            return this;
+        }
+
+        /**
+         * @param maxConnectionsPerRoute Maximum number of pooled connections to a single host, unless overridden by
+         * {@link #apiMaxConnections(int)}, {@link #restMaxConnections(int)} or {@link #snsMaxConnections(int)}.
+         * Defaults to 200.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = requirePositive(maxConnectionsPerRoute, "Maximum connections per route");
+            return this;
+        }
+
+        /**
+         * @param apiMaxConnections Maximum number of pooled connections to the API base URI's host.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder apiMaxConnections(int apiMaxConnections) {
+            this.apiMaxConnections = requirePositive(apiMaxConnections, "Maximum API connections");
+            return this;
+        }
+
+        /**
+         * @param restMaxConnections Maximum number of pooled connections to the REST base URI's host.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder restMaxConnections(int restMaxConnections) {
+            this.restMaxConnections = requirePositive(restMaxConnections, "Maximum REST connections");
+            return this;
+        }
+
+        /**
+         * @param snsMaxConnections Maximum number of pooled connections to the SNS base URI's host.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder snsMaxConnections(int snsMaxConnections) {
+            this.snsMaxConnections = requirePositive(snsMaxConnections, "Maximum SNS connections");
+            return this;
+        }
+
+        /**
+         * @param connectTimeout Timeout for establishing a connection. By default, there is no timeout.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = toTimeoutMillis(connectTimeout, "Connect timeout");
+            return this;
+        }
+
+        /**
+         * @param socketTimeout Maximum inactivity between two data packets when reading a response.
+         * By default, there is no timeout.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder socketTimeout(Duration socketTimeout) {
+            this.socketTimeout = toTimeoutMillis(socketTimeout, "Socket timeout");
+            return this;
+        }
+
+        /**
+         * @param connectionRequestTimeout Timeout for leasing a connection from the pool when all connections are
+         * in use. By default, there is no timeout.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder connectionRequestTimeout(Duration connectionRequestTimeout) {
+            this.connectionRequestTimeout = toTimeoutMillis(connectionRequestTimeout, "Connection request timeout");
+            return this;
+        }
+
+        /**
+         * @param validateAfterInactivity Idle period after which a pooled connection is checked for staleness before
+         * being reused by the blocking client, or {@link Duration#ZERO} to disable the check. Defaults to 2 seconds.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder validateAfterInactivity(Duration validateAfterInactivity) {
+            this.validateAfterInactivity = toTimeoutMillis(validateAfterInactivity, "Validate after inactivity");
+            return this;
+        }
+
+        /**
+         * @param connectionTimeToLive Maximum lifetime of a pooled connection, regardless of keep-alive.
+         * By default, connections are kept for as long as the server allows.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder connectionTimeToLive(Duration connectionTimeToLive) {
+            this.connectionTimeToLive = requirePositive(connectionTimeToLive, "Connection time to live");
+            return this;
+        }
+
+        /**
+         * Enables a background task which periodically closes expired connections, as well as connections which
+         * have been idle in the pool for longer than the given duration.
+         *
+         * @param idleConnectionTimeout Idle period after which pooled connections are closed.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder idleConnectionTimeout(Duration idleConnectionTimeout) {
+            this.idleConnectionTimeout = requirePositive(idleConnectionTimeout, "Idle connection timeout");
+            return this;
+        }
+
+        /**
+         * Sets the policy for retrying requests which fail with an I/O error or a transient HTTP status. Only
+         * requests which are safe to repeat are retried. By default, requests are never retried.
+         *
+         * @param retryPolicy The retry policy, e.g. {@link ExponentialBackoffRetryPolicy}.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy != null ? retryPolicy : RetryPolicy.NONE;
+            return this;
+        }
+
+        /**
+         * Sets a client-side rate limiter, which delays or rejects requests to stay within the configured limits
+         * rather than having them rejected by the server. By default, requests are not rate limited.
+         *
+         * @param rateLimiter The rate limiter.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder rateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * Sets the listener which is notified of the latency, status and size of every request, and of the
+         * connection pools created. By default, no metrics are collected.
+         *
+         * @param metricsListener The listener, e.g. {@link InMemoryMetrics}.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder metricsListener(MetricsListener metricsListener) {
+            this.metricsListener = metricsListener != null ? metricsListener : MetricsListener.NONE;
+            return this;
+        }
+
+        /**
+         * Sets how much of each request and response body is logged when debug logging is enabled. Bodies are
+         * captured as they are sent or parsed, so only this many bytes are held for logging however large the body
+         * is. Binary bodies are never logged, and credentials are redacted. Defaults to 4096 bytes.
+         *
+         * @param maxLoggedBodySize Maximum number of bytes to log, or 0 to log no bodies.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder maxLoggedBodySize(int maxLoggedBodySize) {
+            if (maxLoggedBodySize < 0) {
+                throw new IllegalArgumentException("Maximum logged body size cannot be negative.");
+            }
+            this.maxLoggedBodySize = maxLoggedBodySize;
+            return this;
+        }
+
+        /**
+         * Sets a circuit breaker, which rejects requests to a host and endpoint with a
+         * {@link VonageCircuitOpenException} while recent requests to it are failing or slow. By default, requests
+         * are always sent.
+         *
+         * @param circuitBreaker The circuit breaker.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder circuitBreaker(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        /**
+         * Enables hedging of slow requests to idempotent lookup endpoints, such as reading a call or checking the
+         * account balance. By default, requests are never hedged.
+         *
+         * @param hedgingPolicy The hedging policy.
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder hedgingPolicy(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
         /**
          * @return A new {@link HttpConfig} object from the stored builder options.
          */
@@ -142,6 +542,27 @@ public class HttpConfig {
             return new HttpConfig(this);
         }
 
+        private static int requirePositive(int value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive.");
+            }
+            return value;
+        }
+
+        private static long requirePositive(Duration value, String name) {
+            if (value.isNegative() || value.isZero()) {
+                throw new IllegalArgumentException(name + " must be positive.");
+            }
+            return value.toMillis();
+        }
+
+        private static int toTimeoutMillis(Duration value, String name) {
+            if (value.isNegative() || value.toMillis() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(name + " must be between 0 and " + Integer.MAX_VALUE + "ms.");
+            }
+            return (int) value.toMillis();
+        }
+
         private String sanitizeUri(String uri) {
             if (uri != null && uri.endsWith("/")) {
                 return uri.substring(0, uri.length() - 1);
@@ -17,36 +17,89 @@ package com.vonage.client;
 
 import com.vonage.client.auth.AuthCollection;
 import com.vonage.client.auth.AuthMethod;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpHost;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.config.ConnectionConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Internal class that holds available authentication methods and a shared HttpClient.
+ * Internal class that holds available authentication methods and the shared blocking and non-blocking HTTP clients.
+ * <p>
+ * The clients, connection pools and threads which the wrapper creates are released by {@link #close()}.
  */
-public class HttpWrapper {
+public class HttpWrapper implements AutoCloseable {
+    private static final Log LOG = LogFactory.getLog(HttpWrapper.class);
     private static final String CLIENT_NAME = "vonage-java-sdk";
     private static final String CLIENT_VERSION = "7.3.0";
     private static final String JAVA_VERSION = System.getProperty("java.version");
     private static final String USER_AGENT = String.format("%s/%s java/%s", CLIENT_NAME, CLIENT_VERSION, JAVA_VERSION);
 
+    private final HttpWrapper shared;
     private AuthCollection authCollection;
-    private HttpClient httpClient;
+    private volatile HttpClient httpClient;
+    private HttpAsyncClient httpAsyncClient;
     private HttpConfig httpConfig;
+    private ConnectionEvictor connectionEvictor;
+    private ScheduledExecutorService scheduler;
+    private HttpClient createdHttpClient;
+    private HttpAsyncClient createdHttpAsyncClient;
+    private volatile boolean closed;
 
     public HttpWrapper(AuthCollection authCollection) {
         this(HttpConfig.builder().build(), authCollection);
     }
 
     public HttpWrapper(HttpConfig httpConfig, AuthCollection authCollection) {
+        this.shared = null;
         this.authCollection = authCollection;
         this.httpConfig = httpConfig;
     }
 
+    /**
+     * Creates a view of another wrapper which uses different credentials, but shares its config, HTTP clients,
+     * connection pools and scheduler. Clients which have not been set on the view are obtained from the shared
+     * wrapper, and created there on first use.
+     *
+     * @param shared The wrapper to share clients with.
+     * @param authCollection The credentials for this view.
+     *
+     * @see VonageClientFactory
+     */
+    HttpWrapper(HttpWrapper shared, AuthCollection authCollection) {
+        this.shared = shared;
+        this.authCollection = authCollection;
+        this.httpConfig = shared.httpConfig;
+    }
+
     public HttpWrapper(AuthMethod... authMethods) {
         this(HttpConfig.builder().build(), authMethods);
     }
@@ -57,16 +110,162 @@ public class HttpWrapper {
     }
 
     public HttpClient getHttpClient() {
-        if (httpClient == null) {
-            httpClient = createHttpClient();
+        HttpClient client = httpClient;
+        if (client == null) {
+            if (shared != null) {
+                ensureOpen();
+                return shared.getHttpClient();
+            }
+            synchronized (this) {
+                if ((client = httpClient) == null) {
+                    ensureOpen();
+                    httpClient = createdHttpClient = client = createHttpClient();
+                }
+            }
         }
-        return httpClient;
+        return client;
     }
 
     public void setHttpClient(HttpClient httpClient) {
         this.httpClient = httpClient;
     }
 
+    /**
+     * Obtains the non-blocking client used by {@link AbstractMethod#executeAsync(Object)}, creating and starting
+     * it on first use.
+     *
+     * @return The shared non-blocking HTTP client.
+     * @since 7.4.0
+     */
+    public synchronized HttpAsyncClient getHttpAsyncClient() {
+        if (httpAsyncClient == null && shared != null) {
+            ensureOpen();
+            return shared.getHttpAsyncClient();
+        }
+        if (httpAsyncClient == null) {
+            ensureOpen();
+            httpAsyncClient = createdHttpAsyncClient = createHttpAsyncClient();
+        }
+        return httpAsyncClient;
+    }
+
+    /**
+     * Sets the non-blocking client to use for asynchronous requests. If the client is a
+     * {@link CloseableHttpAsyncClient}, it must already have been started.
+     *
+     * @param httpAsyncClient The non-blocking HTTP client.
+     * @since 7.4.0
+     */
+    public synchronized void setHttpAsyncClient(HttpAsyncClient httpAsyncClient) {
+        this.httpAsyncClient = httpAsyncClient;
+    }
+
+    /**
+     * Obtains the scheduler used to delay asynchronous work, such as retries of requests made through
+     * {@link AbstractMethod#executeAsync(Object)}, creating it on first use. Scheduled tasks must not block.
+     *
+     * @return The shared scheduler, which runs on a single daemon thread.
+     * @since 7.4.0
+     */
+    public synchronized ScheduledExecutorService getScheduler() {
+        if (shared != null) {
+            ensureOpen();
+            return shared.getScheduler();
+        }
+        if (scheduler == null) {
+            ensureOpen();
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, CLIENT_NAME + "-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+
+    /**
+     * Releases the HTTP clients, connection pools and threads created by this wrapper. Clients which were supplied
+     * through {@link #setHttpClient(HttpClient)} or {@link #setHttpAsyncClient(HttpAsyncClient)} are left open for
+     * their owner to close, and a wrapper which shares another's clients never closes them.
+     * <p>
+     * Requests which are waiting to be retried fail once their delay has elapsed, and the wrapper can not create
+     * new clients once closed. Calling this method more than once has no further effect.
+     *
+     * @since 7.4.0
+     */
+    @Override
+    public void close() {
+        Object[] created;
+        ConnectionEvictor evictor;
+        ScheduledExecutorService executor;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            created = new Object[]{createdHttpClient, createdHttpAsyncClient};
+            if (httpClient == createdHttpClient) {
+                httpClient = null;
+            }
+            if (httpAsyncClient == createdHttpAsyncClient) {
+                httpAsyncClient = null;
+            }
+            createdHttpClient = null;
+            createdHttpAsyncClient = null;
+            evictor = connectionEvictor;
+            executor = scheduler;
+            connectionEvictor = null;
+            scheduler = null;
+        }
+        for (Object client : created) {
+            if (client instanceof Closeable) {
+                try {
+                    ((Closeable) client).close();
+                }
+                catch (IOException ex) {
+                    LOG.warn("Failed to close HTTP client.", ex);
+                }
+            }
+        }
+        if (evictor != null) {
+            evictor.shutdown();
+        }
+        if (executor != null) {
+            // Delayed tasks still run, so that pending retries fail rather than being silently dropped
+            executor.shutdown();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("The HTTP wrapper has been closed.");
+        }
+    }
+
+    /**
+     * @return The client-side rate limiter from the {@link HttpConfig}, or {@code null} if there is none.
+     * @since 7.4.0
+     */
+    public RateLimiter getRateLimiter() {
+        return httpConfig.getRateLimiter();
+    }
+
+    /**
+     * @return The circuit breaker from the {@link HttpConfig}, or {@code null} if there is none.
+     * @since 7.4.0
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return httpConfig.getCircuitBreaker();
+    }
+
+    /**
+     * @return The listener for request metrics from the {@link HttpConfig}.
+     * @since 7.4.0
+     */
+    public MetricsListener getMetricsListener() {
+        return httpConfig.getMetricsListener();
+    }
+
     public AuthCollection getAuthCollection() {
         return authCollection;
     }
@@ -76,27 +275,127 @@ public class HttpWrapper {
     }
 
     protected HttpClient createHttpClient() {
-        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
-        connectionManager.setDefaultMaxPerRoute(200);
-        connectionManager.setMaxTotal(200);
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                httpConfig.getConnectionTimeToLive(), TimeUnit.MILLISECONDS
+        );
+        connectionManager.setDefaultMaxPerRoute(httpConfig.getMaxConnectionsPerRoute());
+        connectionManager.setMaxTotal(httpConfig.getMaxConnectionsTotal());
+        getMaxConnectionsPerHost().forEach(connectionManager::setMaxPerRoute);
         connectionManager.setDefaultConnectionConfig(
             ConnectionConfig.custom()
                 .setCharset(StandardCharsets.UTF_8)
                 .build()
         );
-        connectionManager.setDefaultSocketConfig(SocketConfig.custom().setTcpNoDelay(true).build());
+        connectionManager.setDefaultSocketConfig(
+            SocketConfig.custom()
+                .setTcpNoDelay(true)
+                .setSoTimeout(Math.max(httpConfig.getSocketTimeout(), 0))
+                .build()
+        );
+        connectionManager.setValidateAfterInactivity(httpConfig.getValidateAfterInactivity());
+        evictIdleConnections(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(httpConfig.getIdleConnectionTimeout(), TimeUnit.MILLISECONDS);
+        });
+        httpConfig.getMetricsListener().onConnectionPoolCreated(connectionManager::getTotalStats);
 
-        // Need to work out a good value for the following:
-        // threadSafeClientConnManager.setValidateAfterInactivity();
+        return HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setUserAgent(USER_AGENT)
+                .setDefaultRequestConfig(createRequestConfig())
+                .useSystemProperties()
+                .build();
+    }
 
-        RequestConfig requestConfig = RequestConfig.custom().build();
+    protected HttpAsyncClient createHttpAsyncClient() {
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom().setTcpNoDelay(true).build();
+        ThreadFactory threadFactory = new DaemonThreadFactory();
 
-        return HttpClientBuilder.create()
+        PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            Registry<SchemeIOSessionStrategy> sessionStrategies = RegistryBuilder.<SchemeIOSessionStrategy>create()
+                    .register("http", NoopIOSessionStrategy.INSTANCE)
+                    .register("https", SSLIOSessionStrategy.getSystemDefaultStrategy())
+                    .build();
+
+            connectionManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(ioReactorConfig, threadFactory),
+                    null, sessionStrategies, null, null,
+                    httpConfig.getConnectionTimeToLive(), TimeUnit.MILLISECONDS
+            );
+        }
+        catch (IOReactorException ex) {
+            throw new VonageUnexpectedException("Unable to create I/O reactor.", ex);
+        }
+        connectionManager.setDefaultMaxPerRoute(httpConfig.getMaxConnectionsPerRoute());
+        connectionManager.setMaxTotal(httpConfig.getMaxConnectionsTotal());
+        getMaxConnectionsPerHost().forEach(connectionManager::setMaxPerRoute);
+        connectionManager.setDefaultConnectionConfig(
+            ConnectionConfig.custom()
+                .setCharset(StandardCharsets.UTF_8)
+                .build()
+        );
+        evictIdleConnections(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(httpConfig.getIdleConnectionTimeout(), TimeUnit.MILLISECONDS);
+        });
+        httpConfig.getMetricsListener().onConnectionPoolCreated(connectionManager::getTotalStats);
+
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
                 .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(createRequestConfig())
+                .setThreadFactory(threadFactory)
                 .setUserAgent(USER_AGENT)
-                .setDefaultRequestConfig(requestConfig)
                 .useSystemProperties()
                 .build();
+
+        client.start();
+        return client;
+    }
+
+    private RequestConfig createRequestConfig() {
+        return RequestConfig.custom()
+                .setConnectTimeout(httpConfig.getConnectTimeout())
+                .setSocketTimeout(httpConfig.getSocketTimeout())
+                .setConnectionRequestTimeout(httpConfig.getConnectionRequestTimeout())
+                .build();
+    }
+
+    /**
+     * Resolves the per-host connection limits from the config to the routes which the clients will use for each
+     * base URI. If several base URIs share a host, the highest limit applies.
+     *
+     * @return The connection limit for each configured route.
+     */
+    Map<HttpRoute, Integer> getMaxConnectionsPerHost() {
+        Map<HttpRoute, Integer> limits = new HashMap<>(4);
+        putRouteLimit(limits, httpConfig.getApiBaseUri(), httpConfig.getApiMaxConnections());
+        putRouteLimit(limits, httpConfig.getRestBaseUri(), httpConfig.getRestMaxConnections());
+        putRouteLimit(limits, httpConfig.getSnsBaseUri(), httpConfig.getSnsMaxConnections());
+        return limits;
+    }
+
+    private static void putRouteLimit(Map<HttpRoute, Integer> limits, String baseUri, Integer maxConnections) {
+        if (baseUri == null || maxConnections == null) {
+            return;
+        }
+        URI uri = URI.create(baseUri);
+        String scheme = uri.getScheme() != null ? uri.getScheme() : "https";
+        boolean secure = "https".equalsIgnoreCase(scheme);
+        int port = uri.getPort() > 0 ? uri.getPort() : secure ? 443 : 80;
+        HttpRoute route = new HttpRoute(new HttpHost(uri.getHost(), port, scheme), null, secure);
+        limits.merge(route, maxConnections, Math::max);
+    }
+
+    private synchronized void evictIdleConnections(Runnable evictionTask) {
+        if (httpConfig.getIdleConnectionTimeout() > 0) {
+            if (connectionEvictor == null) {
+                connectionEvictor = new ConnectionEvictor(
+                        CLIENT_NAME + "-connection-evictor", httpConfig.getIdleConnectionTimeout()
+                );
+            }
+            connectionEvictor.register(evictionTask);
+        }
     }
 
     public HttpConfig getHttpConfig() {
@@ -106,4 +405,19 @@ public class HttpWrapper {
     public String getUserAgent() {
         return USER_AGENT;
     }
+
+    /**
+     * Creates daemon threads for the I/O reactor, so that an idle non-blocking client does not prevent the JVM from
+     * shutting down.
+     */
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, CLIENT_NAME + "-io-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -0,0 +1,266 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.apache.http.pool.PoolStats;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link MetricsListener} which aggregates measurements in memory, per endpoint and HTTP method, so that they can be
+ * scraped periodically with {@link #getEndpointMetrics()} and {@link #getConnectionPoolStats()}.
+ * <p>
+ * Latencies are recorded in {@link LatencyHistogram}s and all counters are striped, so recording does not contend
+ * between threads or allocate once an endpoint has been seen.
+ *
+ * <pre>
+ * InMemoryMetrics metrics = new InMemoryMetrics();
+ * VonageClient client = VonageClient.builder()
+ *         .httpConfig(HttpConfig.builder().metricsListener(metrics).build())
+ *         ...
+ *         .build();
+ * </pre>
+ *
+ * @since 7.4.0
+ */
+public final class InMemoryMetrics implements MetricsListener {
+    private static final String UNKNOWN_METHOD = "UNKNOWN";
+    private static final int MAX_STATUS_CODE = 599;
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, Recorder>> recorders = new ConcurrentHashMap<>();
+    private final List<Supplier<PoolStats>> pools = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onRequestCompleted(RequestMetrics metrics) {
+        String method = metrics.getMethod() != null ? metrics.getMethod() : UNKNOWN_METHOD;
+        recorders.computeIfAbsent(metrics.getEndpoint(), endpoint -> new ConcurrentHashMap<>(4))
+                .computeIfAbsent(method, m -> new Recorder(metrics.getEndpoint(), m))
+                .record(metrics);
+    }
+
+    @Override
+    public void onConnectionPoolCreated(Supplier<PoolStats> stats) {
+        pools.add(stats);
+    }
+
+    /**
+     * @return A snapshot of the metrics for each endpoint and HTTP method which has been called, ordered by endpoint
+     * name and then method.
+     */
+    public List<EndpointMetrics> getEndpointMetrics() {
+        List<EndpointMetrics> snapshot = new ArrayList<>();
+        for (Map<String, Recorder> byMethod : recorders.values()) {
+            for (Recorder recorder : byMethod.values()) {
+                snapshot.add(recorder.snapshot());
+            }
+        }
+        snapshot.sort(Comparator.comparing((EndpointMetrics m) -> m.getEndpoint().getName())
+                .thenComparing(EndpointMetrics::getMethod));
+        return snapshot;
+    }
+
+    /**
+     * Samples the usage of the connection pools created by the clients this listener is configured for.
+     *
+     * @return The number of leased, pending and available connections and the maximum pool size, summed across
+     * all pools. All counts are zero if no pool has been created yet.
+     */
+    public PoolStats getConnectionPoolStats() {
+        int leased = 0, pending = 0, available = 0, max = 0;
+        for (Supplier<PoolStats> pool : pools) {
+            PoolStats stats = pool.get();
+            leased += stats.getLeased();
+            pending += stats.getPending();
+            available += stats.getAvailable();
+            max += stats.getMax();
+        }
+        return new PoolStats(leased, pending, available, max);
+    }
+
+    /**
+     * Discards the metrics recorded so far. Registered connection pools are retained.
+     */
+    public void reset() {
+        recorders.clear();
+    }
+
+    private static final class Recorder {
+        final Class<?> endpoint;
+        final String method;
+        final LongAdder failures = new LongAdder(), retries = new LongAdder();
+        final LongAdder bytesSent = new LongAdder(), bytesReceived = new LongAdder();
+        final AtomicLongArray statusCodes = new AtomicLongArray(MAX_STATUS_CODE + 1);
+        final LatencyHistogram total = new LatencyHistogram(), signing = new LatencyHistogram(),
+                rateLimit = new LatencyHistogram(), network = new LatencyHistogram();
+
+        Recorder(Class<?> endpoint, String method) {
+            this.endpoint = endpoint;
+            this.method = method;
+        }
+
+        void record(RequestMetrics metrics) {
+            total.record(metrics.getTotalNanos());
+            signing.record(metrics.getSigningNanos());
+            rateLimit.record(metrics.getRateLimitNanos());
+            network.record(metrics.getNetworkNanos());
+            int status = metrics.getStatusCode();
+            statusCodes.incrementAndGet(status >= 0 && status <= MAX_STATUS_CODE ? status : 0);
+            if (metrics.getFailure() != null) {
+                failures.increment();
+            }
+            retries.add(metrics.getRetries());
+            bytesSent.add(metrics.getBytesSent());
+            bytesReceived.add(metrics.getBytesReceived());
+        }
+
+        EndpointMetrics snapshot() {
+            Map<Integer, Long> statuses = new TreeMap<>();
+            for (int i = 0; i <= MAX_STATUS_CODE; i++) {
+                long count = statusCodes.get(i);
+                if (count > 0) {
+                    statuses.put(i, count);
+                }
+            }
+            return new EndpointMetrics(this, Collections.unmodifiableMap(statuses));
+        }
+    }
+
+    /**
+     * A point-in-time view of the metrics recorded for one endpoint and HTTP method.
+     */
+    public static final class EndpointMetrics {
+        private final Class<?> endpoint;
+        private final String method;
+        private final Map<Integer, Long> statusCodes;
+        private final long failures, retries, bytesSent, bytesReceived;
+        private final LatencyHistogram.Snapshot latency, signingLatency, rateLimitLatency, networkLatency;
+
+        private EndpointMetrics(Recorder recorder, Map<Integer, Long> statusCodes) {
+            endpoint = recorder.endpoint;
+            method = recorder.method;
+            this.statusCodes = statusCodes;
+            failures = recorder.failures.sum();
+            retries = recorder.retries.sum();
+            bytesSent = recorder.bytesSent.sum();
+            bytesReceived = recorder.bytesReceived.sum();
+            latency = recorder.total.snapshot();
+            signingLatency = recorder.signing.snapshot();
+            rateLimitLatency = recorder.rateLimit.snapshot();
+            networkLatency = recorder.network.snapshot();
+        }
+
+        /**
+         * @return The endpoint class.
+         */
+        public Class<?> getEndpoint() {
+            return endpoint;
+        }
+
+        /**
+         * @return The HTTP method, or {@code UNKNOWN} for calls which failed before the request was built.
+         */
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * @return The number of completed calls.
+         */
+        public long getRequestCount() {
+            return latency.getCount();
+        }
+
+        /**
+         * @return The number of calls which completed with an exception, including error responses.
+         */
+        public long getFailureCount() {
+            return failures;
+        }
+
+        /**
+         * @return The total number of retried attempts.
+         */
+        public long getRetryCount() {
+            return retries;
+        }
+
+        /**
+         * @return The number of calls by the status code of their final response, in ascending order of status code.
+         * Calls which received no response are counted under 0.
+         */
+        public Map<Integer, Long> getStatusCodeCounts() {
+            return statusCodes;
+        }
+
+        /**
+         * @return The total number of request body bytes sent.
+         */
+        public long getBytesSent() {
+            return bytesSent;
+        }
+
+        /**
+         * @return The total number of response body bytes received.
+         */
+        public long getBytesReceived() {
+            return bytesReceived;
+        }
+
+        /**
+         * @return The distribution of end-to-end call latency.
+         */
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return The distribution of time spent signing requests.
+         */
+        public LatencyHistogram.Snapshot getSigningLatency() {
+            return signingLatency;
+        }
+
+        /**
+         * @return The distribution of time spent waiting for permits from the {@link RateLimiter}.
+         */
+        public LatencyHistogram.Snapshot getRateLimitLatency() {
+            return rateLimitLatency;
+        }
+
+        /**
+         * @return The distribution of time spent waiting on the network.
+         */
+        public LatencyHistogram.Snapshot getNetworkLatency() {
+            return networkLatency;
+        }
+
+        @Override
+        public String toString() {
+            return endpoint.getSimpleName() + " " + method + ": statuses=" + statusCodes + ", failures=" + failures +
+                    ", retries=" + retries + ", latency[" + latency + "]";
+        }
+    }
+}
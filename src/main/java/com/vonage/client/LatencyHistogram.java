@@ -0,0 +1,167 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in nanoseconds, with buckets of bounded relative width in the style of
+ * HdrHistogram.
+ * <p>
+ * Each power of two is divided into {@value #SUB_BUCKETS} linear sub-buckets, so a recorded value is reported to
+ * within about 6% regardless of its magnitude, in a fixed footprint of under 8KiB. Recording is a single atomic
+ * increment and never allocates, so the histogram can be updated on every request.
+ *
+ * @since 7.4.0
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4, SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder(), total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a duration. Negative values are recorded as zero.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketIndex(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Copies the current counts. Values recorded concurrently may or may not be included.
+     *
+     * @return A point-in-time view of the distribution.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, count.sum(), total.sum(), max.get());
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) - 1);
+    }
+
+    /**
+     * An immutable copy of a {@link LatencyHistogram}'s state.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count, total, max;
+
+        private Snapshot(long[] counts, long count, long total, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        /**
+         * @return The number of recorded values.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The largest recorded value in nanoseconds, or 0 if none have been recorded.
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @return The arithmetic mean of the recorded values in nanoseconds, or 0 if none have been recorded.
+         */
+        public double getMean() {
+            return count > 0 ? (double) total / count : 0;
+        }
+
+        /**
+         * Finds the value below which the given percentage of recorded values fall. The result is the upper bound
+         * of the bucket containing that value, capped at the maximum, so it never understates the latency.
+         *
+         * @param percentile The percentile, between 0 and 100 (inclusive).
+         *
+         * @return The value at the percentile in nanoseconds, or 0 if none have been recorded.
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+            }
+            long recorded = 0;
+            for (long bucketCount : counts) {
+                recorded += bucketCount;
+            }
+            if (recorded == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count + ", mean=" + (long) getMean() + "ns, p50=" + getValueAtPercentile(50) +
+                    "ns, p99=" + getValueAtPercentile(99) + "ns, max=" + max + "ns";
+        }
+    }
+}
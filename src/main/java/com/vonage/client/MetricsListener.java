@@ -0,0 +1,55 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.apache.http.pool.PoolStats;
+import java.util.function.Supplier;
+
+/**
+ * Receives measurements of the requests made by the SDK, so that they can be exported to a metrics library without
+ * the SDK depending on it.
+ * <p>
+ * The listener is shared by all requests made through the same {@link HttpConfig}, and is invoked on the thread
+ * which completes each request, which for {@link AbstractMethod#executeAsync(Object)} is an I/O thread. Implementations
+ * must therefore be thread-safe and must not block. Exceptions thrown by the listener are logged and ignored.
+ *
+ * @see InMemoryMetrics
+ * @since 7.4.0
+ */
+public interface MetricsListener {
+
+    /**
+     * A listener which discards all measurements.
+     */
+    MetricsListener NONE = metrics -> {};
+
+    /**
+     * Called once for each call to an endpoint, after all of its attempts have completed.
+     *
+     * @param metrics The measurements of the call.
+     */
+    void onRequestCompleted(RequestMetrics metrics);
+
+    /**
+     * Called when the SDK creates a pool of HTTP connections, so that its usage can be sampled on demand. This is
+     * called once for the blocking client and once for the non-blocking client, when each is first used.
+     *
+     * @param stats Supplies the number of leased, pending and available connections across all routes. Obtaining
+     *              the statistics briefly locks the pool, so they should be sampled rather than read per request.
+     */
+    default void onConnectionPoolCreated(Supplier<PoolStats> stats) {
+    }
+}
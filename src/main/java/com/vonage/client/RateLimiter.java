@@ -0,0 +1,326 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Client-side token bucket rate limiter, which smooths bursts locally so that requests are not rejected by the
+ * account's throughput limits.
+ * <p>
+ * Limits are configured per endpoint group (e.g. {@link #SMS}), and optionally per sender within a group, in which
+ * case a request must obtain a permit for both its group and its sender. The bucket of a sender which has been idle
+ * long enough to refill completely is discarded, so only recently active senders are held. How a request waits for a
+ * permit depends on the {@link Mode} and on how it is executed: {@link AbstractMethod#execute(Object)} blocks the
+ * calling thread, whereas {@link AbstractMethod#executeAsync(Object)} delays sending the request without blocking any
+ * thread.
+ * <p>
+ * Each attempt of a request, including retries, requires a permit. The permit is returned if the attempt is then
+ * rejected by an open {@link CircuitBreaker circuit}. The limiter is set on
+ * {@link HttpConfig.Builder#rateLimiter(RateLimiter)} and is shared by all clients created with that config.
+ *
+ * @since 7.4.0
+ */
+public final class RateLimiter {
+    private static final int MIN_SWEEP_SIZE = 64;
+
+    /**
+     * Group for sending SMS through the SMS API.
+     */
+    public static final String SMS = "sms";
+
+    /**
+     * Group for sending messages through the Messages API.
+     */
+    public static final String MESSAGES = "messages";
+
+    /**
+     * Group for creating outbound calls through the Voice API.
+     */
+    public static final String VOICE_CALLS = "voice-calls";
+
+    /**
+     * How to handle a request when no permit is available.
+     */
+    public enum Mode {
+        /**
+         * Wait until a permit becomes available.
+         */
+        WAIT,
+
+        /**
+         * Reject the request with a {@link VonageRateLimitExceededException}.
+         */
+        FAIL_FAST
+    }
+
+    private final Mode mode;
+    private final Map<String, TokenBucket> groupBuckets;
+    private final Map<String, SenderBuckets> senderBuckets;
+    private final LongSupplier nanoClock;
+
+    private RateLimiter(Builder builder) {
+        mode = builder.mode;
+        nanoClock = builder.nanoClock;
+        Map<String, TokenBucket> buckets = new HashMap<>();
+        builder.groupLimits.forEach((group, limit) -> buckets.put(group, limit.newBucket(nanoClock)));
+        groupBuckets = Collections.unmodifiableMap(buckets);
+        Map<String, SenderBuckets> senders = new HashMap<>();
+        builder.senderLimits.forEach((group, limit) -> senders.put(group, new SenderBuckets(limit)));
+        senderBuckets = Collections.unmodifiableMap(senders);
+    }
+
+    /**
+     * Obtains a permit for a request.
+     *
+     * @param group The endpoint group of the request.
+     * @param sender The sender of the request, or {@code null} if not applicable.
+     *
+     * @return The number of nanoseconds to wait before sending the request; always 0 in {@link Mode#FAIL_FAST} mode.
+     *
+     * @throws VonageRateLimitExceededException In {@link Mode#FAIL_FAST} mode, if no permit is available.
+     */
+    long acquire(String group, String sender) throws VonageRateLimitExceededException {
+        TokenBucket groupBucket = groupBuckets.get(group);
+        SenderBuckets senders = sender != null ? senderBuckets.get(group) : null;
+
+        if (mode == Mode.WAIT) {
+            long wait = groupBucket != null ? groupBucket.reserve() : 0;
+            return senders != null ? Math.max(wait, senders.reserve(sender)) : wait;
+        }
+
+        TokenBucket senderBucket = null;
+        if (senders != null && (senderBucket = senders.tryAcquire(sender)) == null) {
+            throw new VonageRateLimitExceededException(
+                    "Rate limit exceeded for sender " + sender + " in " + group + "."
+            );
+        }
+        if (groupBucket != null && !groupBucket.tryAcquire()) {
+            if (senderBucket != null) {
+                senderBucket.release();
+            }
+            throw new VonageRateLimitExceededException("Rate limit exceeded for " + group + ".");
+        }
+        return 0;
+    }
+
+    /**
+     * Returns a permit obtained by {@link #acquire(String, String)} for a request which was not sent.
+     *
+     * @param group The endpoint group of the request.
+     * @param sender The sender of the request, or {@code null} if not applicable.
+     */
+    void release(String group, String sender) {
+        TokenBucket groupBucket = groupBuckets.get(group);
+        if (groupBucket != null) {
+            groupBucket.release();
+        }
+        SenderBuckets senders = sender != null ? senderBuckets.get(group) : null;
+        if (senders != null) {
+            senders.release(sender);
+        }
+    }
+
+    int getSenderBucketCount(String group) {
+        SenderBuckets senders = senderBuckets.get(group);
+        return senders != null ? senders.buckets.size() : 0;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static final class Limit {
+        final double permitsPerSecond;
+        final int burst;
+
+        Limit(double permitsPerSecond, int burst) {
+            if (!(permitsPerSecond > 0)) {
+                throw new IllegalArgumentException("Permits per second must be positive.");
+            }
+            if (burst < 1) {
+                throw new IllegalArgumentException("Burst must be at least 1.");
+            }
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+
+        TokenBucket newBucket(LongSupplier nanoClock) {
+            return new TokenBucket(permitsPerSecond, burst, nanoClock);
+        }
+    }
+
+    /**
+     * The buckets of each sender in a group. Whenever the number of buckets doubles, those which have refilled
+     * completely are retired and removed, so the cost of sweeping is amortised over the buckets created. A request
+     * which finds its bucket retired looks it up again.
+     */
+    private final class SenderBuckets {
+        final Limit limit;
+        final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        volatile int sweepAt = MIN_SWEEP_SIZE;
+
+        SenderBuckets(Limit limit) {
+            this.limit = limit;
+        }
+
+        long reserve(String sender) {
+            while (true) {
+                TokenBucket bucket = bucket(sender);
+                long wait = bucket.reserve();
+                if (wait >= 0) {
+                    return wait;
+                }
+                buckets.remove(sender, bucket);
+            }
+        }
+
+        TokenBucket tryAcquire(String sender) {
+            while (true) {
+                TokenBucket bucket = bucket(sender);
+                if (bucket.tryAcquire()) {
+                    return bucket;
+                }
+                if (!bucket.isRetired()) {
+                    return null;
+                }
+                buckets.remove(sender, bucket);
+            }
+        }
+
+        void release(String sender) {
+            TokenBucket bucket = buckets.get(sender);
+            if (bucket != null) {
+                bucket.release();
+            }
+        }
+
+        private TokenBucket bucket(String sender) {
+            TokenBucket bucket = buckets.get(sender);
+            if (bucket != null) {
+                return bucket;
+            }
+            bucket = buckets.computeIfAbsent(sender, key -> limit.newBucket(nanoClock));
+            if (buckets.size() > sweepAt) {
+                sweep();
+            }
+            return bucket;
+        }
+
+        private synchronized void sweep() {
+            if (buckets.size() > sweepAt) {
+                buckets.values().removeIf(TokenBucket::retireIfFull);
+                sweepAt = Math.max(MIN_SWEEP_SIZE, buckets.size() * 2);
+            }
+        }
+    }
+
+    public static class Builder {
+        private Mode mode = Mode.WAIT;
+        private final Map<String, Limit> groupLimits = new HashMap<>(), senderLimits = new HashMap<>();
+        private LongSupplier nanoClock = System::nanoTime;
+
+        Builder() {}
+
+        /**
+         * @param mode How to handle requests when no permit is available. Defaults to {@link Mode#WAIT}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder mode(Mode mode) {
+            this.mode = mode;
+            return this;
+        }
+
+        /**
+         * Limits the rate of all requests in a group, with bursts of up to one second's worth of requests.
+         *
+         * @param group The endpoint group, e.g. {@link #SMS}.
+         * @param permitsPerSecond Sustained number of requests per second.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder limit(String group, double permitsPerSecond) {
+            return limit(group, permitsPerSecond, defaultBurst(permitsPerSecond));
+        }
+
+        /**
+         * Limits the rate of all requests in a group.
+         *
+         * @param group The endpoint group, e.g. {@link #SMS}.
+         * @param permitsPerSecond Sustained number of requests per second.
+         * @param burst Maximum number of requests which may be sent at once after a quiet period.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder limit(String group, double permitsPerSecond, int burst) {
+            groupLimits.put(group, new Limit(permitsPerSecond, burst));
+            return this;
+        }
+
+        /**
+         * Limits the rate of requests in a group from each sender (e.g. each {@code from} number), with bursts of up
+         * to one second's worth of requests.
+         *
+         * @param group The endpoint group, e.g. {@link #SMS}.
+         * @param permitsPerSecond Sustained number of requests per second for each sender.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder senderLimit(String group, double permitsPerSecond) {
+            return senderLimit(group, permitsPerSecond, defaultBurst(permitsPerSecond));
+        }
+
+        /**
+         * Limits the rate of requests in a group from each sender (e.g. each {@code from} number).
+         *
+         * @param group The endpoint group, e.g. {@link #SMS}.
+         * @param permitsPerSecond Sustained number of requests per second for each sender.
+         * @param burst Maximum number of requests from a sender which may be sent at once after a quiet period.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder senderLimit(String group, double permitsPerSecond, int burst) {
+            senderLimits.put(group, new Limit(permitsPerSecond, burst));
+            return this;
+        }
+
+        Builder nanoClock(LongSupplier nanoClock) {
+            this.nanoClock = nanoClock;
+            return this;
+        }
+
+        private static int defaultBurst(double permitsPerSecond) {
+            return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.ceil(permitsPerSecond)));
+        }
+
+        /**
+         * @return A new {@link RateLimiter} from the stored builder options.
+         */
+        public RateLimiter build() {
+            return new RateLimiter(this);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * Measurements of a single call to {@link AbstractMethod#execute(Object)} or
+ * {@link AbstractMethod#executeAsync(Object)}, including all of its attempts, reported to a {@link MetricsListener}
+ * once the call has completed.
+ * <p>
+ * Timings are in nanoseconds and summed across attempts. The total also includes time spent waiting between
+ * retries and parsing the response, so it is at least the sum of the phases. Byte counts are taken from the
+ * declared length of each entity; bodies of unknown length are not counted.
+ *
+ * @since 7.4.0
+ */
+public final class RequestMetrics {
+    private final Class<?> endpoint;
+    private final long startNanos;
+    private String method;
+    private int statusCode, attempts;
+    private long signingNanos, rateLimitNanos, networkNanos, totalNanos;
+    private long bytesSent, bytesReceived;
+    private Throwable failure;
+
+    RequestMetrics(Class<?> endpoint) {
+        this.endpoint = endpoint;
+        this.startNanos = System.nanoTime();
+    }
+
+    void recordSigning(HttpUriRequest request, long nanos) {
+        method = request.getMethod();
+        signingNanos += nanos;
+    }
+
+    void recordRateLimit(long nanos) {
+        rateLimitNanos += nanos;
+    }
+
+    void recordAttempt(HttpUriRequest request, HttpResponse response, long nanos) {
+        attempts++;
+        networkNanos += nanos;
+        if (request instanceof HttpEntityEnclosingRequest) {
+            bytesSent += contentLength(((HttpEntityEnclosingRequest) request).getEntity());
+        }
+        if (response != null) {
+            statusCode = response.getStatusLine().getStatusCode();
+            bytesReceived += contentLength(response.getEntity());
+        }
+        else {
+            statusCode = 0;
+        }
+    }
+
+    void complete(Throwable failure) {
+        this.failure = failure;
+        totalNanos = System.nanoTime() - startNanos;
+    }
+
+    private static long contentLength(HttpEntity entity) {
+        return entity != null ? Math.max(entity.getContentLength(), 0) : 0;
+    }
+
+    /**
+     * @return The class of the endpoint which made the request.
+     */
+    public Class<?> getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return The HTTP method, or {@code null} if the request failed before it was built.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return The status code of the last response, or 0 if the last attempt failed without a response.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return The number of times the request was sent.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return The number of times the request was sent again after a failed attempt.
+     */
+    public int getRetries() {
+        return Math.max(attempts - 1, 0);
+    }
+
+    /**
+     * @return Time spent building, authenticating and signing the request.
+     */
+    public long getSigningNanos() {
+        return signingNanos;
+    }
+
+    /**
+     * @return Time spent waiting for a permit from the {@link RateLimiter}.
+     */
+    public long getRateLimitNanos() {
+        return rateLimitNanos;
+    }
+
+    /**
+     * @return Time from sending each request until its response headers were received, including the time taken
+     * to lease a connection from the pool.
+     */
+    public long getNetworkNanos() {
+        return networkNanos;
+    }
+
+    /**
+     * @return Time from the start of the call until its result or failure was available.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return The number of request body bytes sent.
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * @return The number of response body bytes received.
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * @return The exception the call failed with, or {@code null} if it succeeded.
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        return endpoint.getSimpleName() + " " + method + " -> " + statusCode + " in " + totalNanos + "ns (" +
+                attempts + " attempts, signing " + signingNanos + "ns, network " + networkNanos + "ns)";
+    }
+}
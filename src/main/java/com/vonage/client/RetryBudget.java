@@ -0,0 +1,83 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits retries to a fraction of the overall request volume, so that retries cannot amplify an outage.
+ * <p>
+ * Every new request deposits {@code retryRatio} of a token, and every retry withdraws a whole token. The balance
+ * starts full and is capped at {@code maxBalance}, allowing short bursts of retries while limiting the sustained
+ * retry rate to {@code retryRatio} of the request rate.
+ *
+ * @since 7.4.0
+ */
+public final class RetryBudget {
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest, capacity;
+    private final AtomicLong balance;
+
+    /**
+     * Creates a new budget.
+     *
+     * @param retryRatio Ratio of retries to requests permitted over time, e.g. 0.1 for 10%.
+     * @param maxBalance Maximum number of retries which may be made in a burst.
+     */
+    public RetryBudget(double retryRatio, int maxBalance) {
+        if (!(retryRatio > 0)) {
+            throw new IllegalArgumentException("Retry ratio must be positive.");
+        }
+        if (maxBalance < 1) {
+            throw new IllegalArgumentException("Maximum balance must be at least 1.");
+        }
+        depositPerRequest = Math.max(1, Math.round(retryRatio * SCALE));
+        capacity = maxBalance * SCALE;
+        balance = new AtomicLong(capacity);
+    }
+
+    /**
+     * Records a new request, replenishing the budget.
+     */
+    public void deposit() {
+        balance.accumulateAndGet(depositPerRequest, (current, amount) -> Math.min(capacity, current + amount));
+    }
+
+    /**
+     * Attempts to spend one retry from the budget.
+     *
+     * @return {@code true} if the retry may proceed, {@code false} if the budget is exhausted.
+     */
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        }
+        while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    /**
+     * @return The number of whole retries currently available.
+     */
+    public long getAvailableRetries() {
+        return balance.get() / SCALE;
+    }
+}
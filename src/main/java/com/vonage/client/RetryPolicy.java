@@ -0,0 +1,55 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.apache.http.HttpResponse;
+
+/**
+ * Decides whether, and after how long, a failed request should be sent again.
+ * <p>
+ * The policy is only consulted for requests which the endpoint considers safe to repeat (see
+ * {@link AbstractMethod#isRetryable(Object, org.apache.http.client.methods.HttpUriRequest)}), and is shared by all
+ * requests made through the same {@link HttpConfig}, so implementations must be thread-safe.
+ *
+ * @see ExponentialBackoffRetryPolicy
+ * @since 7.4.0
+ */
+public interface RetryPolicy {
+
+    /**
+     * A policy which never retries.
+     */
+    RetryPolicy NONE = (attempt, response, failure) -> -1;
+
+    /**
+     * Called once for each new request, before its first attempt is made. Retries do not invoke this method.
+     */
+    default void onRequest() {
+    }
+
+    /**
+     * Determines whether to make another attempt after the given outcome. Exactly one of {@code response} and
+     * {@code failure} is non-null. If the request is not retried, the response is parsed as usual or the failure
+     * is reported to the caller.
+     *
+     * @param attempt The number of attempts made so far, starting at 1.
+     * @param response The response to the latest attempt, or {@code null} if it failed without a response.
+     * @param failure The reason the latest attempt failed, or {@code null} if a response was received.
+     *
+     * @return The number of milliseconds to wait before the next attempt, or a negative value to stop retrying.
+     */
+    long getRetryDelay(int attempt, HttpResponse response, Exception failure);
+}
@@ -0,0 +1,106 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket which refills continuously at a fixed rate, up to its capacity.
+ * <p>
+ * Permits may either be taken only if available ({@link #tryAcquire()}), or reserved in advance ({@link #reserve()}),
+ * in which case the balance may become negative and the caller is told how long to wait before using the permit.
+ * Reserving keeps waiting callers in arrival order without holding a lock while they wait.
+ */
+class TokenBucket {
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double permitsPerNano, capacity;
+    private final LongSupplier nanoClock;
+    private double available;
+    private long lastRefill;
+    private boolean retired;
+
+    TokenBucket(double permitsPerSecond, int capacity, LongSupplier nanoClock) {
+        this.permitsPerNano = permitsPerSecond / NANOS_PER_SECOND;
+        this.capacity = capacity;
+        this.nanoClock = nanoClock;
+        this.available = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a permit, waiting for it if necessary.
+     *
+     * @return The number of nanoseconds the caller must wait before using the permit; 0 if it can be used now, or -1
+     * if the bucket has been retired and no permit was taken.
+     */
+    synchronized long reserve() {
+        if (retired) {
+            return -1;
+        }
+        refill();
+        available -= 1;
+        return available >= 0 ? 0 : (long) Math.ceil(-available / permitsPerNano);
+    }
+
+    /**
+     * Takes a permit only if one is available now.
+     *
+     * @return {@code true} if a permit was taken; always {@code false} once the bucket has been retired.
+     */
+    synchronized boolean tryAcquire() {
+        if (retired) {
+            return false;
+        }
+        refill();
+        if (available >= 1) {
+            available -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a permit which was taken but not used.
+     */
+    synchronized void release() {
+        available = Math.min(capacity, available + 1);
+    }
+
+    /**
+     * Retires the bucket if it has refilled completely, i.e. it has been idle for at least the time it takes to refill.
+     * It is then indistinguishable from a new bucket, so may be discarded; a retired bucket grants no more permits.
+     *
+     * @return {@code true} if the bucket is retired.
+     */
+    synchronized boolean retireIfFull() {
+        if (!retired) {
+            refill();
+            retired = available >= capacity;
+        }
+        return retired;
+    }
+
+    synchronized boolean isRetired() {
+        return retired;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        available = Math.min(capacity, available + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+/**
+ * Thrown when a request is rejected by an open {@link CircuitBreaker}, because recent requests to the same host and
+ * endpoint have been failing or slow. The request has not been sent.
+ *
+ * @since 7.4.0
+ */
+public class VonageCircuitOpenException extends VonageClientException {
+    private final String host;
+    private final Class<?> endpoint;
+
+    public VonageCircuitOpenException(String message, String host, Class<?> endpoint) {
+        super(message);
+        this.host = host;
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * @return The host the request would have been sent to.
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return The endpoint class which made the request.
+     */
+    public Class<?> getEndpoint() {
+        return endpoint;
+    }
+}
@@ -33,6 +33,10 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Top-level Vonage API client object.
@@ -42,72 +46,82 @@ import java.nio.file.Paths;
  * <p>
  * Currently this object only constructs and provides access to {@link VoiceClient}. In the future it will manage
  * clients for all of the Vonage APIs.
+ * <p>
+ * Close the client once it is no longer needed, to release its connection pools and threads.
+ * <p>
+ * Each API client is created the first time its getter is called, so only the classes for the APIs that are
+ * actually used get loaded. The getters are thread-safe and always return the same instance.
  */
-public class VonageClient {
+public class VonageClient implements AutoCloseable {
     private final HttpWrapper httpWrapper;
-    private final AccountClient account;
-    private final ApplicationClient application;
-    private final InsightClient insight;
-    private final NumbersClient numbers;
-    private final SmsClient sms;
-    private final VoiceClient voice;
-    private final VerifyClient verify;
-    private final SnsClient sns;
-    private final ConversionClient conversion;
-    private final RedactClient redact;
-    private final MessagesClient messages;
+    private volatile AccountClient account;
+    private volatile ApplicationClient application;
+    private volatile InsightClient insight;
+    private volatile NumbersClient numbers;
+    private volatile SmsClient sms;
+    private volatile VoiceClient voice;
+    private volatile VerifyClient verify;
+    private volatile SnsClient sns;
+    private volatile ConversionClient conversion;
+    private volatile RedactClient redact;
+    private volatile MessagesClient messages;
 
     private VonageClient(Builder builder) {
-        httpWrapper = new HttpWrapper(builder.httpConfig, builder.authCollection);
-        httpWrapper.setHttpClient(builder.httpClient);
-
-        account = new AccountClient(httpWrapper);
-        application = new ApplicationClient(httpWrapper);
-        insight = new InsightClient(httpWrapper);
-        numbers = new NumbersClient(httpWrapper);
-        verify = new VerifyClient(httpWrapper);
-        voice = new VoiceClient(httpWrapper);
-        sms = new SmsClient(httpWrapper);
-        sns = new SnsClient(httpWrapper);
-        conversion = new ConversionClient(httpWrapper);
-        redact = new RedactClient(httpWrapper);
-        messages = new MessagesClient(httpWrapper);
+        if (builder.sharedHttpWrapper != null) {
+            httpWrapper = new HttpWrapper(builder.sharedHttpWrapper, builder.authCollection);
+        }
+        else {
+            httpWrapper = new HttpWrapper(builder.httpConfig, builder.authCollection);
+        }
+        if (builder.httpClient != null) {
+            httpWrapper.setHttpClient(builder.httpClient);
+        }
     }
 
     public AccountClient getAccountClient() {
-        return account;
+        AccountClient result = account;
+        return result != null ? result : lazily(() -> account, client -> account = client, AccountClient::new);
     }
 
     public ApplicationClient getApplicationClient() {
-        return application;
+        ApplicationClient result = application;
+        return result != null ? result :
+                lazily(() -> application, client -> application = client, ApplicationClient::new);
     }
 
     public InsightClient getInsightClient() {
-        return insight;
+        InsightClient result = insight;
+        return result != null ? result : lazily(() -> insight, client -> insight = client, InsightClient::new);
     }
 
     public NumbersClient getNumbersClient() {
-        return numbers;
+        NumbersClient result = numbers;
+        return result != null ? result : lazily(() -> numbers, client -> numbers = client, NumbersClient::new);
     }
 
     public SmsClient getSmsClient() {
-        return sms;
+        SmsClient result = sms;
+        return result != null ? result : lazily(() -> sms, client -> sms = client, SmsClient::new);
     }
 
     public SnsClient getSnsClient() {
-        return sns;
+        SnsClient result = sns;
+        return result != null ? result : lazily(() -> sns, client -> sns = client, SnsClient::new);
     }
 
     public VerifyClient getVerifyClient() {
-        return verify;
+        VerifyClient result = verify;
+        return result != null ? result : lazily(() -> verify, client -> verify = client, VerifyClient::new);
     }
 
     public VoiceClient getVoiceClient() {
-        return voice;
+        VoiceClient result = voice;
+        return result != null ? result : lazily(() -> voice, client -> voice = client, VoiceClient::new);
     }
 
     public ConversionClient getConversionClient() {
-        return conversion;
+        ConversionClient result = conversion;
+        return result != null ? result : lazily(() -> conversion, client -> conversion = client, ConversionClient::new);
     }
 
     /**
@@ -117,11 +131,29 @@ public class VonageClient {
      */
     @Deprecated
     public RedactClient getRedactClient() {
-        return redact;
+        RedactClient result = redact;
+        return result != null ? result : lazily(() -> redact, client -> redact = client, RedactClient::new);
     }
 
     public MessagesClient getMessagesClient() {
-        return messages;
+        MessagesClient result = messages;
+        return result != null ? result : lazily(() -> messages, client -> messages = client, MessagesClient::new);
+    }
+
+    /**
+     * Creates an API client the first time it is needed. Getters only call this once they have seen {@code null} in
+     * the client's field, so the lambdas are not created once the client exists.
+     *
+     * @param current Reads the field holding the client.
+     * @param publish Writes the field holding the client.
+     * @param create Creates the client.
+     */
+    private synchronized <T> T lazily(Supplier<T> current, Consumer<T> publish, Function<HttpWrapper, T> create) {
+        T result = current.get();
+        if (result == null) {
+            publish.accept(result = create.apply(httpWrapper));
+        }
+        return result;
     }
 
     /**
@@ -136,6 +168,18 @@ public class VonageClient {
         return authMethod.generateToken();
     }
 
+    /**
+     * Releases the HTTP clients, connection pools and threads which this client created. Clients created by a
+     * {@link VonageClientFactory} share these with the factory, which releases them when it is closed instead.
+     *
+     * @see HttpWrapper#close()
+     * @since 7.4.0
+     */
+    @Override
+    public void close() {
+        httpWrapper.close();
+    }
+
     /**
      * @return The {@link HttpWrapper}
      */
@@ -157,9 +201,19 @@ public class VonageClient {
         private String signatureSecret;
         private byte[] privateKeyContents;
         private HashUtil.HashType hashType = HashUtil.HashType.MD5;
+        private Duration jwtTokenTtl;
+        private double jwtRefreshRatio;
+        private HttpWrapper sharedHttpWrapper;
+
+        public Builder() {}
+
+        Builder(HttpWrapper sharedHttpWrapper) {
+            this.sharedHttpWrapper = sharedHttpWrapper;
+        }
 
         /**
-         * @param httpConfig Configuration options for the {@link HttpWrapper}
+         * @param httpConfig Configuration options for the {@link HttpWrapper}. Ignored for clients created by a
+         *                   {@link VonageClientFactory}, which all share the factory's config.
          *
          * @return The {@link Builder} to keep building.
          */
@@ -238,6 +292,22 @@ public class VonageClient {
             return this;
         }
 
+        /**
+         * Reuse signed JWTs across requests instead of signing a new token for every request. Each token is valid
+         * for {@code tokenTtl}, and is re-signed in the background once {@code refreshRatio} of that time has elapsed.
+         *
+         * @param tokenTtl How long each signed token is valid for.
+         * @param refreshRatio Fraction of the TTL after which the token is refreshed, between 0 and 1 (e.g. 0.8).
+         *
+         * @return The {@link Builder} to keep building.
+         * @since 7.4.0
+         */
+        public Builder jwtCache(Duration tokenTtl, double refreshRatio) {
+            this.jwtTokenTtl = tokenTtl;
+            this.jwtRefreshRatio = refreshRatio;
+            return this;
+        }
+
         /**
          * When setting the contents of your private key, it is also expected that {@link #applicationId(String)} will
          * also be set.
@@ -335,7 +405,10 @@ public class VonageClient {
             }
 
             if (applicationId != null && privateKeyContents != null) {
-                authMethods.add(new JWTAuthMethod(applicationId, privateKeyContents));
+                authMethods.add(jwtTokenTtl != null ?
+                        new JWTAuthMethod(applicationId, privateKeyContents, jwtTokenTtl, jwtRefreshRatio) :
+                        new JWTAuthMethod(applicationId, privateKeyContents)
+                );
             }
 
             return authMethods;
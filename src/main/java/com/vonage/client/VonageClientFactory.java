@@ -0,0 +1,151 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import com.vonage.client.auth.AuthCollection;
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
+
+/**
+ * Creates {@link VonageClient}s for many accounts (e.g. sub-accounts) which differ only in their credentials.
+ * <p>
+ * Every client created by a factory shares one {@link HttpConfig}, and therefore its metrics listener, rate limiter
+ * and circuit breaker, as well as one blocking and one non-blocking HTTP client with their connection pools, and one
+ * scheduler. So the number of sockets and threads does not grow with the number of clients, and each client only
+ * holds its own credentials. JSON codecs are shared by all clients regardless.
+ * <p>
+ * The shared resources belong to the factory: closing a client created by it has no effect on them, and closing the
+ * factory releases them, after which none of its clients can send requests.
+ *
+ * <pre>
+ * VonageClientFactory factory = VonageClientFactory.builder()
+ *         .httpConfig(HttpConfig.builder().maxConnectionsTotal(500).build())
+ *         .build();
+ *
+ * VonageClient tenant = factory.clientBuilder().apiKey(key).apiSecret(secret).build();
+ * </pre>
+ *
+ * @since 7.4.0
+ */
+public final class VonageClientFactory implements AutoCloseable {
+    private final HttpWrapper shared;
+
+    private VonageClientFactory(Builder builder) {
+        shared = new HttpWrapper(builder.httpConfig, new AuthCollection());
+        if (builder.httpClient != null) {
+            shared.setHttpClient(builder.httpClient);
+        }
+        if (builder.httpAsyncClient != null) {
+            shared.setHttpAsyncClient(builder.httpAsyncClient);
+        }
+    }
+
+    /**
+     * Starts building a client which shares this factory's config and HTTP clients. Only credentials need to be set;
+     * the {@link VonageClient.Builder#httpConfig(HttpConfig)} option is ignored.
+     *
+     * @return A new client builder.
+     */
+    public VonageClient.Builder clientBuilder() {
+        return new VonageClient.Builder(shared);
+    }
+
+    /**
+     * Creates a client for an account which authenticates with an API key and secret.
+     *
+     * @param apiKey The API key of the account.
+     * @param apiSecret The API secret of the account.
+     *
+     * @return A new client which shares this factory's config and HTTP clients.
+     */
+    public VonageClient createClient(String apiKey, String apiSecret) {
+        return clientBuilder().apiKey(apiKey).apiSecret(apiSecret).build();
+    }
+
+    /**
+     * @return The config shared by all clients created by this factory.
+     */
+    public HttpConfig getHttpConfig() {
+        return shared.getHttpConfig();
+    }
+
+    /**
+     * Releases the HTTP clients, connection pools and threads shared by the clients created by this factory. Clients
+     * supplied through the {@link Builder} are left open for their owner to close.
+     *
+     * @see HttpWrapper#close()
+     */
+    @Override
+    public void close() {
+        shared.close();
+    }
+
+    HttpWrapper getSharedHttpWrapper() {
+        return shared;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private HttpConfig httpConfig = HttpConfig.defaultConfig();
+        private HttpClient httpClient;
+        private HttpAsyncClient httpAsyncClient;
+
+        Builder() {}
+
+        /**
+         * @param httpConfig Configuration options shared by all clients. Defaults to
+         *                   {@link HttpConfig#defaultConfig()}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder httpConfig(HttpConfig httpConfig) {
+            this.httpConfig = httpConfig;
+            return this;
+        }
+
+        /**
+         * @param httpClient Custom blocking client shared by all clients. By default, one is created from the config
+         *                   on first use.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * @param httpAsyncClient Custom non-blocking client shared by all clients, which must already have been
+         *                        started. By default, one is created from the config on first use.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder httpAsyncClient(HttpAsyncClient httpAsyncClient) {
+            this.httpAsyncClient = httpAsyncClient;
+            return this;
+        }
+
+        /**
+         * @return A new {@link VonageClientFactory} with the configured options.
+         */
+        public VonageClientFactory build() {
+            return new VonageClientFactory(this);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package com.vonage.client.account;
 
 import com.vonage.client.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A client for talking to the Vonage Account API. The standard way to obtain an instance of this class is to use {@link
@@ -53,6 +54,18 @@ public class AccountClient {
         return balance.execute();
     }
 
+    /**
+     * Retrieve the current account balance without blocking the calling thread.
+     *
+     * @return A future which completes with the BalanceResponse, or exceptionally with the exceptions described in
+     * {@link #getBalance()}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<BalanceResponse> getBalanceAsync() {
+        return balance.executeAsync(null);
+    }
+
     /**
      * Retrieve the voice pricing for a specified country.
      *
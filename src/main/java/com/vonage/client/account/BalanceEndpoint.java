@@ -18,6 +18,7 @@ package com.vonage.client.account;
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
@@ -36,6 +37,11 @@ class BalanceEndpoint extends AbstractMethod<Void, BalanceResponse> {
         return ALLOWED_AUTH_METHODS;
     }
 
+    @Override
+    protected boolean isHedgeable(Void request) {
+        return true;
+    }
+
     @Override
     public RequestBuilder makeRequest(Void request) throws UnsupportedEncodingException {
         String uri = httpWrapper.getHttpConfig().getRestBaseUri() + PATH;
@@ -48,6 +54,6 @@ class BalanceEndpoint extends AbstractMethod<Void, BalanceResponse> {
 
     @Override
     public BalanceResponse parseResponse(HttpResponse response) throws IOException {
-        return BalanceResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), BalanceResponse.class);
     }
 }
@@ -17,8 +17,8 @@ package com.vonage.client.account;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -43,8 +43,7 @@ public class BalanceResponse {
 
     public static BalanceResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, BalanceResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, BalanceResponse.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce BalanceResponse from json.", jpe);
         }
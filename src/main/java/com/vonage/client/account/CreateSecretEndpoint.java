@@ -21,6 +21,7 @@ import com.vonage.client.VonageBadRequestException;
 import com.vonage.client.VonageClientException;
 import com.vonage.client.auth.SignatureAuthMethod;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.ContentType;
@@ -64,7 +65,7 @@ class CreateSecretEndpoint extends AbstractMethod<CreateSecretRequest, SecretRes
         if (response.getStatusLine().getStatusCode() != 201) {
             throw new VonageBadRequestException(EntityUtils.toString(response.getEntity()));
         }
-        return SecretResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.halIsoDates(), SecretResponse.class);
     }
 
     @Override
@@ -17,8 +17,8 @@ package com.vonage.client.account;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 
 public class CreateSecretRequest {
     @JsonIgnore private final String apiKey;
@@ -39,7 +39,7 @@ public class CreateSecretRequest {
 
     public String toJson() {
         try {
-            return new ObjectMapper().writeValueAsString(this);
+            return JsonCodec.defaultCodec().toJson(this);
         } catch (JsonProcessingException jpe) {
             throw new VonageUnexpectedException("Failed to produce json from CreateSecretRequest object.", jpe);
         }
@@ -18,6 +18,7 @@ package com.vonage.client.account;
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
@@ -44,6 +45,6 @@ class FullPricingEndpoint extends AbstractMethod<FullPricingRequest, PricingResp
 
     @Override
     public PricingResponse parseResponse(HttpResponse response) throws IOException {
-        return PricingResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), PricingResponse.class);
     }
 }
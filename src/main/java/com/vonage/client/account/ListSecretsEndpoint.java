@@ -21,6 +21,7 @@ import com.vonage.client.VonageBadRequestException;
 import com.vonage.client.VonageClientException;
 import com.vonage.client.auth.SignatureAuthMethod;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.util.EntityUtils;
@@ -54,7 +55,7 @@ class ListSecretsEndpoint extends AbstractMethod<String, ListSecretsResponse> {
         if (response.getStatusLine().getStatusCode() != 200) {
             throw new VonageBadRequestException(EntityUtils.toString(response.getEntity()));
         }
-        return ListSecretsResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.hal(), ListSecretsResponse.class);
     }
 
     @Override
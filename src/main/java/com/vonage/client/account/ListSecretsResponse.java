@@ -16,8 +16,8 @@
 package com.vonage.client.account;
 
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import io.openapitools.jackson.dataformat.hal.HALLink;
-import io.openapitools.jackson.dataformat.hal.HALMapper;
 import io.openapitools.jackson.dataformat.hal.annotation.EmbeddedResource;
 import io.openapitools.jackson.dataformat.hal.annotation.Link;
 import io.openapitools.jackson.dataformat.hal.annotation.Resource;
@@ -42,7 +42,7 @@ public class ListSecretsResponse {
 
     public static ListSecretsResponse fromJson(String json) {
         try {
-            return new HALMapper().readValue(json, ListSecretsResponse.class);
+            return JsonCodec.hal().fromJson(json, ListSecretsResponse.class);
         } catch (IOException e) {
             throw new VonageUnexpectedException("Failed to produce ListSecretsResponse from json.", e);
         }
@@ -18,6 +18,7 @@ package com.vonage.client.account;
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
@@ -45,6 +46,6 @@ class PrefixPricingEndpoint extends AbstractMethod<PrefixPricingRequest, PrefixP
 
     @Override
     public PrefixPricingResponse parseResponse(HttpResponse response) throws IOException {
-        return PrefixPricingResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), PrefixPricingResponse.class);
     }
 }
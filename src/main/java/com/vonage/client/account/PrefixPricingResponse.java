@@ -16,8 +16,8 @@
 package com.vonage.client.account;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 import java.util.List;
 
@@ -36,7 +36,7 @@ public class PrefixPricingResponse {
 
     public static PrefixPricingResponse fromJson(String json) {
         try {
-            return new ObjectMapper().readValue(json, PrefixPricingResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, PrefixPricingResponse.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce PrefixPricingResponse from json.", jpe);
         }
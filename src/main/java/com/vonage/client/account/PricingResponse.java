@@ -17,8 +17,8 @@ package com.vonage.client.account;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonUnwrapped;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
@@ -54,7 +54,7 @@ public class PricingResponse {
 
     public static PricingResponse fromJson(String json) {
         try {
-            return new ObjectMapper().readValue(json, PricingResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, PricingResponse.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce PricingResponse from json.", jpe);
         }
@@ -16,10 +16,9 @@
 package com.vonage.client.account;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import io.openapitools.jackson.dataformat.hal.HALLink;
-import io.openapitools.jackson.dataformat.hal.HALMapper;
 import io.openapitools.jackson.dataformat.hal.annotation.Link;
 import io.openapitools.jackson.dataformat.hal.annotation.Resource;
 import java.io.IOException;
@@ -49,9 +48,7 @@ public class SecretResponse {
 
     public static SecretResponse fromJson(String json) {
         try {
-            HALMapper mapper = new HALMapper();
-            mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-            return mapper.readValue(json, SecretResponse.class);
+            return JsonCodec.halIsoDates().fromJson(json, SecretResponse.class);
         } catch (IOException e) {
             throw new VonageUnexpectedException("Failed to produce SecretResponse from json.", e);
         }
@@ -19,6 +19,7 @@ import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.VonageBadRequestException;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.util.EntityUtils;
@@ -52,6 +53,6 @@ class SettingsEndpoint extends AbstractMethod<SettingsRequest, SettingsResponse>
         if (response.getStatusLine().getStatusCode() != 200) {
             throw new VonageBadRequestException(EntityUtils.toString(response.getEntity()));
         }
-        return SettingsResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), SettingsResponse.class);
     }
 }
@@ -18,8 +18,8 @@ package com.vonage.client.account;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -75,8 +75,7 @@ public class SettingsResponse {
 
     public static SettingsResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, SettingsResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, SettingsResponse.class);
         } catch (IOException e) {
             throw new VonageUnexpectedException("Failed to produce SettingsResponse from json.", e);
         }
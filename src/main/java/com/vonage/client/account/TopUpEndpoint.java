@@ -21,6 +21,7 @@ import com.vonage.client.VonageBadRequestException;
 import com.vonage.client.VonageClientException;
 import com.vonage.client.auth.TokenAuthMethod;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.util.EntityUtils;
 import java.io.IOException;
@@ -39,6 +40,11 @@ class TopUpEndpoint extends AbstractMethod<TopUpRequest, Void> {
         return ALLOWED_AUTH_METHODS;
     }
 
+    @Override
+    protected boolean isRetryable(TopUpRequest request, HttpUriRequest httpRequest) {
+        return false;
+    }
+
     @Override
     public RequestBuilder makeRequest(TopUpRequest request) throws UnsupportedEncodingException {
         String uri = httpWrapper.getHttpConfig().getRestBaseUri() + PATH;
@@ -19,9 +19,9 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
 import com.vonage.client.application.capabilities.*;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -59,7 +59,7 @@ public class Application {
 
     public String toJson() {
         try {
-            return new ObjectMapper().writeValueAsString(this);
+            return JsonCodec.defaultCodec().toJson(this);
         } catch (JsonProcessingException jpe) {
             throw new VonageUnexpectedException("Failed to produce json from Application object.", jpe);
         }
@@ -85,7 +85,7 @@ public class Application {
 
     public static Application fromJson(String json) {
         try {
-            return new ObjectMapper().readValue(json, Application.class);
+            return JsonCodec.defaultCodec().fromJson(json, Application.class);
         } catch (IOException e) {
             throw new VonageUnexpectedException("Failed to produce Application from json.", e);
         }
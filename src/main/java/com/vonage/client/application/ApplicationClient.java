@@ -16,6 +16,7 @@
 package com.vonage.client.application;
 
 import com.vonage.client.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A client for talking to the Vonage Application API. The standard way to obtain an instance of this class is to use
@@ -78,6 +79,20 @@ public class ApplicationClient {
         return getApplicationEndpoint.execute(id);
     }
 
+    /**
+     * Retrieve an application without blocking the calling thread.
+     *
+     * @param id The id of the application to retrieve.
+     *
+     * @return A future which completes with the Application, or exceptionally with the exceptions described in
+     * {@link #getApplication(String)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<Application> getApplicationAsync(String id) {
+        return getApplicationEndpoint.executeAsync(id);
+    }
+
     /**
      * Delete an application.
      *
@@ -115,4 +130,18 @@ public class ApplicationClient {
     public ApplicationList listApplications(ListApplicationRequest listApplicationRequest) throws VonageResponseParseException, VonageClientException {
         return listApplicationsEndpoint.execute(listApplicationRequest);
     }
+
+    /**
+     * List the available applications without blocking the calling thread.
+     *
+     * @param listApplicationRequest The page and number of applications per page to list.
+     *
+     * @return A future which completes with the ApplicationList, or exceptionally with the exceptions described in
+     * {@link #listApplications(ListApplicationRequest)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<ApplicationList> listApplicationsAsync(ListApplicationRequest listApplicationRequest) {
+        return listApplicationsEndpoint.executeAsync(listApplicationRequest);
+    }
 }
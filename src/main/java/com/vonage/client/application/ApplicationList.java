@@ -18,8 +18,8 @@ package com.vonage.client.application;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import com.vonage.client.common.PageList;
-import io.openapitools.jackson.dataformat.hal.HALMapper;
 import io.openapitools.jackson.dataformat.hal.annotation.EmbeddedResource;
 import io.openapitools.jackson.dataformat.hal.annotation.Resource;
 import java.io.IOException;
@@ -38,7 +38,7 @@ public class ApplicationList extends PageList {
 
     public static ApplicationList fromJson(String json) {
         try {
-            return new HALMapper().readValue(json, ApplicationList.class);
+            return JsonCodec.hal().fromJson(json, ApplicationList.class);
         } catch (IOException e) {
             throw new VonageUnexpectedException("Failed to produce ApplicationList from json", e);
         }
@@ -19,6 +19,7 @@ import com.vonage.client.HttpWrapper;
 import com.vonage.client.VonageBadRequestException;
 import com.vonage.client.VonageClientException;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.ContentType;
@@ -54,6 +55,6 @@ class CreateApplicationEndpoint extends ApplicationMethod<Application, Applicati
         if (response.getStatusLine().getStatusCode() != 201) {
             throw new VonageBadRequestException(EntityUtils.toString(response.getEntity()));
         }
-        return Application.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), Application.class);
     }
 }
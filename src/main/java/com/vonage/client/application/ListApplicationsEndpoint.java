@@ -19,6 +19,7 @@ import com.vonage.client.HttpWrapper;
 import com.vonage.client.VonageBadRequestException;
 import com.vonage.client.VonageClientException;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.util.EntityUtils;
@@ -62,6 +63,6 @@ class ListApplicationsEndpoint extends ApplicationMethod<ListApplicationRequest,
             throw new VonageBadRequestException(EntityUtils.toString(response.getEntity()));
         }
 
-        return ApplicationList.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.hal(), ApplicationList.class);
     }
 }
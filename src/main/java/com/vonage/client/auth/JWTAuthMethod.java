@@ -20,13 +20,44 @@ import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.LongAdder;
 
 public class JWTAuthMethod implements AuthMethod {
     private static final int SORT_KEY = 10;
+    private final String applicationId, privateKey;
     private final Jwt jwt;
+    private final JWTTokenCache tokenCache;
+    private final LongAdder signCount = new LongAdder();
 
     public JWTAuthMethod(final String applicationId, final byte[] privateKey) {
-        jwt = Jwt.builder().applicationId(applicationId).privateKeyContents(new String(privateKey)).build();
+        this.applicationId = applicationId;
+        this.privateKey = new String(privateKey);
+        jwt = Jwt.builder().applicationId(applicationId).privateKeyContents(this.privateKey).build();
+        tokenCache = null;
+    }
+
+    /**
+     * Creates a JWT auth method which reuses signed tokens rather than signing a new one for every request.
+     * <p>
+     * Each token is issued with an expiry of {@code tokenTtl}. Once {@code refreshRatio} of that lifetime has
+     * elapsed, the current token is still used whilst a replacement is signed in the background.
+     *
+     * @param applicationId The application ID.
+     * @param privateKey The contents of the application's private key.
+     * @param tokenTtl How long each signed token is valid for.
+     * @param refreshRatio Fraction of {@code tokenTtl} after which the token is refreshed, between 0 and 1.
+     *
+     * @since 7.4.0
+     */
+    public JWTAuthMethod(String applicationId, byte[] privateKey, Duration tokenTtl, double refreshRatio) {
+        this.applicationId = applicationId;
+        this.privateKey = new String(privateKey);
+        jwt = Jwt.builder().applicationId(applicationId).privateKeyContents(this.privateKey).build();
+        tokenCache = new JWTTokenCache(issuedAt -> signToken(issuedAt, tokenTtl), tokenTtl, refreshRatio);
     }
 
     public JWTAuthMethod(String applicationId, Path path) throws IOException {
@@ -34,17 +65,62 @@ public class JWTAuthMethod implements AuthMethod {
     }
 
     public String generateToken() {
+        signCount.increment();
         return jwt.generate();
     }
 
+    private String signToken(long issuedAtMillis, Duration ttl) {
+        ZonedDateTime issuedAt = Instant.ofEpochMilli(issuedAtMillis).atZone(ZoneOffset.UTC);
+        signCount.increment();
+        return Jwt.builder()
+                .applicationId(applicationId)
+                .privateKeyContents(privateKey)
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plus(ttl))
+                .build().generate();
+    }
+
     @Override
     public RequestBuilder apply(RequestBuilder request) {
-        String token = jwt.generate();
+        String token = tokenCache != null ? tokenCache.getToken() : generateToken();
 
         request.setHeader("Authorization", "Bearer " + token);
         return request;
     }
 
+    /**
+     * @return The number of tokens this auth method has signed.
+     * @since 7.4.0
+     */
+    public long getSignCount() {
+        return signCount.sum();
+    }
+
+    /**
+     * @return The number of requests which reused a cached token, or 0 if caching is not enabled.
+     * @since 7.4.0
+     */
+    public long getCacheHitCount() {
+        return tokenCache != null ? tokenCache.getHitCount() : 0;
+    }
+
+    /**
+     * @return The number of requests which had to wait for a token to be signed, or 0 if caching is not enabled.
+     * @since 7.4.0
+     */
+    public long getCacheMissCount() {
+        return tokenCache != null ? tokenCache.getMissCount() : 0;
+    }
+
+    /**
+     * @return The fraction of requests served from the token cache, or 0 if caching is not enabled.
+     * @since 7.4.0
+     */
+    public double getCacheHitRatio() {
+        long hits = getCacheHitCount(), total = hits + getCacheMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
     @Override
     public int getSortKey() {
         return SORT_KEY;
@@ -0,0 +1,147 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.auth;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds a signed JWT and hands it out until a configurable fraction of its lifetime has elapsed.
+ * <p>
+ * Once the refresh point is reached, the current token continues to be returned while a replacement is signed on a
+ * background executor. A new token is only signed on the calling thread if there is no token yet, or the current one
+ * has expired. Signing is single-flight: concurrent callers never sign more than one token for the same generation.
+ */
+class JWTTokenCache {
+    private static final Log LOG = LogFactory.getLog(JWTTokenCache.class);
+
+    private final LongFunction<String> signer;
+    private final long ttlMillis, refreshAfterMillis;
+    private final LongSupplier clock;
+    private final Executor refreshExecutor;
+    private final Object signLock = new Object();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder();
+    private volatile Token current;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param signer Function which signs a token issued at the given epoch millisecond, expiring {@code ttl} later.
+     * @param ttl Lifetime of each token.
+     * @param refreshRatio Fraction of the lifetime after which a token is refreshed, between 0 and 1 (exclusive).
+     */
+    JWTTokenCache(LongFunction<String> signer, Duration ttl, double refreshRatio) {
+        this(signer, ttl, refreshRatio, System::currentTimeMillis, ForkJoinPool.commonPool());
+    }
+
+    JWTTokenCache(LongFunction<String> signer, Duration ttl, double refreshRatio,
+                  LongSupplier clock, Executor refreshExecutor) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Token TTL must be positive.");
+        }
+        if (!(refreshRatio > 0 && refreshRatio < 1)) {
+            throw new IllegalArgumentException("Refresh ratio must be between 0 and 1.");
+        }
+        this.signer = signer;
+        this.ttlMillis = ttl.toMillis();
+        this.refreshAfterMillis = (long) (ttlMillis * refreshRatio);
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * @return A valid signed token, from the cache where possible.
+     */
+    String getToken() {
+        Token token = current;
+        long now = clock.getAsLong();
+        if (token != null && now < token.expiresAt) {
+            hits.increment();
+            if (now >= token.refreshAt) {
+                scheduleRefresh();
+            }
+            return token.value;
+        }
+
+        misses.increment();
+        synchronized (signLock) {
+            token = current;
+            if (token == null || clock.getAsLong() >= token.expiresAt) {
+                token = current = sign();
+            }
+            return token.value;
+        }
+    }
+
+    private void scheduleRefresh() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            try {
+                refreshExecutor.execute(() -> {
+                    try {
+                        synchronized (signLock) {
+                            Token token = current;
+                            if (token == null || clock.getAsLong() >= token.refreshAt) {
+                                current = sign();
+                            }
+                        }
+                    }
+                    catch (RuntimeException ex) {
+                        LOG.warn("Failed to refresh JWT; it will be signed on demand when it expires.", ex);
+                    }
+                    finally {
+                        refreshScheduled.set(false);
+                    }
+                });
+            }
+            catch (RuntimeException ex) {
+                refreshScheduled.set(false);
+                LOG.warn("Unable to schedule JWT refresh.", ex);
+            }
+        }
+    }
+
+    private Token sign() {
+        long issuedAt = clock.getAsLong();
+        return new Token(signer.apply(issuedAt), issuedAt + refreshAfterMillis, issuedAt + ttlMillis);
+    }
+
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    private static final class Token {
+        final String value;
+        final long refreshAt, expiresAt;
+
+        Token(String value, long refreshAt, long expiresAt) {
+            this.value = value;
+            this.refreshAt = refreshAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
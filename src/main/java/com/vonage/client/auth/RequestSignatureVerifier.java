@@ -0,0 +1,217 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.auth;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.auth.hashutils.HashUtil;
+import com.vonage.client.common.JsonCodec;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.NameValuePair;
+import org.apache.http.message.BasicNameValuePair;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies signed webhook requests with a fixed secret and hash type.
+ * <p>
+ * JSON bodies are streamed once rather than being bound to a map and copied, and signatures are calculated with a
+ * {@link RequestSigner}, so the hashing state is reused across requests. The parameters read from the request are
+ * returned with the outcome, so that the caller does not need to read the body again.
+ * <p>
+ * Instances are thread-safe. They hold no hashing state of their own, so creating one per request, as
+ * {@link RequestSigning#verifyRequestSignature(HttpServletRequest, String, HashUtil.HashType)} does, is cheap, although
+ * holding one per secret avoids encoding the secret each time.
+ *
+ * @since 7.4.0
+ */
+public final class RequestSignatureVerifier {
+    private static final Log log = LogFactory.getLog(RequestSignatureVerifier.class);
+    private static final JsonFactory JSON_FACTORY = JsonCodec.defaultCodec().getObjectMapper().getFactory();
+
+    private final RequestSigner signer;
+
+    /**
+     * Creates a verifier for the given secret.
+     *
+     * @param secretKey The pre-shared signature secret.
+     * @param hashType The hash type the sender signs with.
+     */
+    public RequestSignatureVerifier(String secretKey, HashUtil.HashType hashType) {
+        signer = new RequestSigner(secretKey, hashType);
+    }
+
+    /**
+     * Reads the parameters of a request, from its JSON body if it has a content type of {@code application/json} or
+     * from its form / query parameters otherwise, and verifies its signature and timestamp.
+     *
+     * @param request The incoming webhook request. If it has a JSON body, it is consumed.
+     *
+     * @return The outcome of verification, along with the request's parameters.
+     *
+     * @throws VonageUnexpectedException If the JSON body could not be read.
+     */
+    public Result verify(HttpServletRequest request) {
+        return verify(request, System.currentTimeMillis());
+    }
+
+    Result verify(HttpServletRequest request, long currentTimeMillis) {
+        List<NameValuePair> params = RequestSigning.APPLICATION_JSON.equals(request.getContentType()) ?
+                readJsonParameters(request) : readRequestParameters(request);
+
+        Map<String, String> paramMap = new LinkedHashMap<>(params.size() * 4 / 3 + 1);
+        for (NameValuePair param : params) {
+            paramMap.put(param.getName(), param.getValue());
+        }
+        return new Result(Collections.unmodifiableMap(paramMap), isSignatureValid(params, paramMap, currentTimeMillis));
+    }
+
+    /**
+     * Verifies the signature and timestamp of parameters which have already been read from a request.
+     *
+     * @param parameters The request parameters, including {@code sig} and {@code timestamp}.
+     *
+     * @return {@code true} if the parameters have a valid signature and a timestamp within five minutes of now.
+     */
+    public boolean isValid(Map<String, String> parameters) {
+        List<NameValuePair> params = new ArrayList<>(parameters.size());
+        for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            params.add(new BasicNameValuePair(entry.getKey(), entry.getValue()));
+        }
+        return isSignatureValid(params, parameters, System.currentTimeMillis());
+    }
+
+    private boolean isSignatureValid(List<NameValuePair> params, Map<String, String> paramMap, long currentTimeMillis) {
+        String suppliedSignature = paramMap.get(RequestSigning.PARAM_SIGNATURE);
+        if (suppliedSignature == null || suppliedSignature.trim().isEmpty()) {
+            return false;
+        }
+        if (!isTimestampValid(paramMap.get(RequestSigning.PARAM_TIMESTAMP), currentTimeMillis)) {
+            return false;
+        }
+
+        String calculatedSignature;
+        try {
+            calculatedSignature = signer.calculateSignature(params);
+        }
+        catch (RuntimeException ex) {
+            log.error("Unable to calculate request signature.", ex);
+            return false;
+        }
+
+        // MessageDigest.isEqual is used rather than String.equals() to defend against timing based attacks
+        boolean valid = MessageDigest.isEqual(
+                calculatedSignature.toLowerCase().getBytes(StandardCharsets.UTF_8),
+                suppliedSignature.toLowerCase().getBytes(StandardCharsets.UTF_8)
+        );
+        if (!valid && log.isDebugEnabled()) {
+            log.debug("Request signature [ " + suppliedSignature + " ] does not match [ " + calculatedSignature + " ]");
+        }
+        return valid;
+    }
+
+    private static boolean isTimestampValid(String timeString, long currentTimeMillis) {
+        long time = -1;
+        try {
+            if (timeString != null && !timeString.trim().isEmpty()) {
+                time = Long.parseLong(timeString) * 1000;
+            }
+        }
+        catch (NumberFormatException ex) {
+            log.error("Error parsing 'time' parameter [ " + timeString + " ]", ex);
+            time = 0;
+        }
+        long diff = currentTimeMillis - time;
+        if (diff > RequestSigning.MAX_ALLOWABLE_TIME_DELTA || diff < -RequestSigning.MAX_ALLOWABLE_TIME_DELTA) {
+            log.warn("SECURITY-KEY-VERIFICATION -- BAD-TIMESTAMP ... Timestamp [ " + time + " ] delta [ " + diff +
+                    " ] max allowed delta [ " + -RequestSigning.MAX_ALLOWABLE_TIME_DELTA + " ] ");
+            return false;
+        }
+        return true;
+    }
+
+    private static List<NameValuePair> readRequestParameters(HttpServletRequest request) {
+        Map<String, String[]> parameterMap = request.getParameterMap();
+        List<NameValuePair> params = new ArrayList<>(parameterMap.size());
+        for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
+            String[] values = entry.getValue();
+            params.add(new BasicNameValuePair(entry.getKey(), values != null && values.length > 0 ? values[0] : null));
+        }
+        return params;
+    }
+
+    /**
+     * Reads the fields of a flat JSON object as strings in a single pass. Nested objects and arrays are not supported.
+     */
+    private static List<NameValuePair> readJsonParameters(HttpServletRequest request) {
+        try (JsonParser parser = JSON_FACTORY.createParser(request.getInputStream())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object.");
+            }
+            List<NameValuePair> params = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (value == null || value.isStructStart()) {
+                    throw new IOException("Unsupported value for '" + name + "'.");
+                }
+                params.add(new BasicNameValuePair(name, value == JsonToken.VALUE_NULL ? null : parser.getText()));
+            }
+            return params;
+        }
+        catch (IOException ex) {
+            throw new VonageUnexpectedException("Unexpected issue when parsing JSON", ex);
+        }
+    }
+
+    /**
+     * The outcome of verifying a request.
+     */
+    public static final class Result {
+        private final Map<String, String> parameters;
+        private final boolean valid;
+
+        Result(Map<String, String> parameters, boolean valid) {
+            this.parameters = parameters;
+            this.valid = valid;
+        }
+
+        /**
+         * @return {@code true} if the request has a valid signature and a timestamp within five minutes of now.
+         */
+        public boolean isValid() {
+            return valid;
+        }
+
+        /**
+         * @return The request's parameters in the order they were read, including {@code sig} and
+         * {@code timestamp}. Where a name occurs more than once, the last value is kept.
+         */
+        public Map<String, String> getParameters() {
+            return parameters;
+        }
+    }
+}
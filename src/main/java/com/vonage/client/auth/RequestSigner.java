@@ -0,0 +1,289 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.auth;
+
+import com.vonage.client.auth.hashutils.HashUtil;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.NameValuePair;
+import org.apache.http.message.BasicNameValuePair;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Signs request parameters with a fixed secret and hash type, producing the same signatures as
+ * {@link RequestSigning#constructSignatureForRequestParameters(List, String, HashUtil.HashType)}.
+ * <p>
+ * Each thread keeps one initialised {@link Mac} per algorithm, a {@link MessageDigest} and a reusable buffer, into
+ * which the sorted parameters are encoded as UTF-8 directly, so signing a request does not look up the algorithm,
+ * re-key the MAC for the same secret or build intermediate strings. This state is shared by all signers, so creating
+ * a signer is cheap and nothing is retained per signer. Instances are thread-safe.
+ *
+ * @since 7.4.0
+ */
+public final class RequestSigner {
+    private static final Log log = LogFactory.getLog(RequestSigner.class);
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final Comparator<NameValuePair> BY_NAME = Comparator.comparing(NameValuePair::getName);
+    private static final int INITIAL_BUFFER_SIZE = 512, MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    private static final LongAdder ENGINES_CREATED = new LongAdder();
+    private static final ThreadLocal<Engine> ENGINES = ThreadLocal.withInitial(Engine::new);
+
+    private final byte[] secret;
+    private final HashUtil.HashType hashType;
+
+    /**
+     * Creates a signer for the given secret.
+     *
+     * @param secretKey The pre-shared signature secret. If this is {@code null}, no valid signature can be produced.
+     * @param hashType The hash type to sign with.
+     */
+    public RequestSigner(String secretKey, HashUtil.HashType hashType) {
+        this.secret = secretKey != null ? secretKey.getBytes(StandardCharsets.UTF_8) : null;
+        this.hashType = Objects.requireNonNull(hashType, "Hash type is required.");
+    }
+
+    /**
+     * @return The hash type used by this signer.
+     */
+    public HashUtil.HashType getHashType() {
+        return hashType;
+    }
+
+    /**
+     * Adds the {@code timestamp} parameter for the current time, and the {@code sig} parameter for the resulting set
+     * of parameters.
+     *
+     * @param params The request parameters, which must be modifiable.
+     */
+    public void signParameters(List<NameValuePair> params) {
+        signParameters(params, Instant.now().getEpochSecond());
+    }
+
+    void signParameters(List<NameValuePair> params, long currentTimeSeconds) {
+        params.add(new BasicNameValuePair(RequestSigning.PARAM_TIMESTAMP, Long.toString(currentTimeSeconds)));
+        String signature;
+        try {
+            signature = calculateSignature(params);
+        }
+        catch (RuntimeException ex) {
+            log.error("Unable to sign request parameters.", ex);
+            signature = "no signature";
+        }
+        params.add(new BasicNameValuePair(RequestSigning.PARAM_SIGNATURE, signature));
+    }
+
+    /**
+     * Calculates the signature of a set of parameters. The {@code sig} parameter and parameters with blank values are
+     * excluded, and where a name occurs more than once, the last value is used.
+     *
+     * @param params The request parameters, including the {@code timestamp}.
+     *
+     * @return The lower case hex encoded signature.
+     */
+    public String calculateSignature(List<? extends NameValuePair> params) {
+        NameValuePair[] sorted = new NameValuePair[params.size()];
+        int count = 0;
+        for (NameValuePair param : params) {
+            if (!RequestSigning.PARAM_SIGNATURE.equals(param.getName()) && !isBlank(param.getValue())) {
+                sorted[count++] = param;
+            }
+        }
+        // The sort is stable, so the last of any duplicates is at the end of its run.
+        Arrays.sort(sorted, 0, count, BY_NAME);
+
+        Engine engine = ENGINES.get();
+        engine.length = 0;
+        for (int i = 0; i < count; i++) {
+            if (i + 1 < count && sorted[i].getName().equals(sorted[i + 1].getName())) {
+                continue;
+            }
+            engine.appendParameter(sorted[i].getName(), sorted[i].getValue());
+        }
+        return engine.finish(hashType, secret);
+    }
+
+    /**
+     * @return The number of per-thread signing states created so far, across all signers.
+     */
+    static long getEnginesCreated() {
+        return ENGINES_CREATED.sum();
+    }
+
+    private static String algorithm(HashUtil.HashType hashType) {
+        switch (hashType) {
+            case HMAC_MD5:
+                return "HmacMD5";
+            case HMAC_SHA1:
+                return "HmacSHA1";
+            case HMAC_SHA256:
+                return "HmacSHA256";
+            case HMAC_SHA512:
+                return "HmacSHA512";
+            default:
+                throw new IllegalStateException("Unsupported hash type: " + hashType);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) > ' ') {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Per-thread hashing state: a MAC for each HMAC algorithm, keyed with the secret it was last used with, the digest
+     * for MD5, and the buffer holding the string to sign. It refers to no signer, so signers can be collected freely.
+     */
+    private static final class Engine {
+        final Mac[] macs = new Mac[HashUtil.HashType.values().length];
+        final byte[][] macKeys = new byte[macs.length][];
+        MessageDigest digest;
+        byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+        int length;
+
+        Engine() {
+            ENGINES_CREATED.increment();
+        }
+
+        /**
+         * Obtains this thread's MAC for the algorithm, re-keying it only if it was last used with a different secret.
+         */
+        Mac mac(HashUtil.HashType hashType, byte[] secret) throws GeneralSecurityException {
+            int index = hashType.ordinal();
+            Mac mac = macs[index];
+            if (mac == null || !Arrays.equals(macKeys[index], secret)) {
+                String algorithm = algorithm(hashType);
+                if (mac == null) {
+                    mac = Mac.getInstance(algorithm);
+                }
+                // Forget the previous key first, so that a failed init does not leave the MAC keyed with it.
+                macs[index] = null;
+                mac.init(new SecretKeySpec(secret, algorithm));
+                macs[index] = mac;
+                macKeys[index] = secret;
+            }
+            return mac;
+        }
+
+        void appendParameter(String name, String value) {
+            append('&');
+            appendCleaned(name);
+            append('=');
+            appendCleaned(value);
+        }
+
+        void append(int b) {
+            ensureCapacity(1);
+            buffer[length++] = (byte) b;
+        }
+
+        /**
+         * Writes the string as UTF-8, replacing {@code =} and {@code &} with {@code _} as {@link RequestSigning#clean}
+         * does. Unpaired surrogates are written as {@code ?}, matching {@link String#getBytes}.
+         */
+        void appendCleaned(String str) {
+            int len = str.length();
+            ensureCapacity(len);
+            for (int i = 0; i < len; i++) {
+                char c = str.charAt(i);
+                if (c < 0x80) {
+                    append(c == '=' || c == '&' ? '_' : c);
+                }
+                else if (c < 0x800) {
+                    ensureCapacity(2);
+                    buffer[length++] = (byte) (0xC0 | c >> 6);
+                    buffer[length++] = (byte) (0x80 | c & 0x3F);
+                }
+                else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, str.charAt(++i));
+                    ensureCapacity(4);
+                    buffer[length++] = (byte) (0xF0 | cp >> 18);
+                    buffer[length++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                    buffer[length++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                    buffer[length++] = (byte) (0x80 | cp & 0x3F);
+                }
+                else if (Character.isSurrogate(c)) {
+                    append('?');
+                }
+                else {
+                    ensureCapacity(3);
+                    buffer[length++] = (byte) (0xE0 | c >> 12);
+                    buffer[length++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    buffer[length++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+        }
+
+        void ensureCapacity(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+
+        String finish(HashUtil.HashType hashType, byte[] secret) {
+            if (log.isDebugEnabled()) {
+                log.debug("Signing string [ " + new String(buffer, 0, length, StandardCharsets.UTF_8) + " ]");
+            }
+            if (secret == null) {
+                throw new IllegalStateException("No signature secret has been set.");
+            }
+            byte[] hash;
+            try {
+                if (hashType == HashUtil.HashType.MD5) {
+                    if (digest == null) {
+                        digest = MessageDigest.getInstance("MD5");
+                    }
+                    digest.update(buffer, 0, length);
+                    digest.update(secret);
+                    hash = digest.digest();
+                }
+                else {
+                    Mac mac = mac(hashType, secret);
+                    mac.update(buffer, 0, length);
+                    hash = mac.doFinal();
+                }
+            }
+            catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("Unable to initialise " + hashType + " signing.", ex);
+            }
+            if (buffer.length > MAX_RETAINED_BUFFER_SIZE) {
+                buffer = new byte[INITIAL_BUFFER_SIZE];
+            }
+
+            byte[] hex = new byte[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
+            }
+            return new String(hex, StandardCharsets.US_ASCII);
+        }
+    }
+}
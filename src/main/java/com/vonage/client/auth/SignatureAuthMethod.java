@@ -23,8 +23,8 @@ import java.util.List;
 public class SignatureAuthMethod implements AuthMethod {
     public final int SORT_KEY = 20;
 
-    private final String apiKey, apiSecret;
-    private final HashUtil.HashType hashType;
+    private final String apiKey;
+    private final RequestSigner signer;
 
     public SignatureAuthMethod(String apiKey, String apiSecret) {
         this(apiKey, apiSecret, HashUtil.HashType.MD5);
@@ -32,15 +32,14 @@ public class SignatureAuthMethod implements AuthMethod {
 
     public SignatureAuthMethod(String apiKey, String apiSecret, HashUtil.HashType hashType) {
         this.apiKey = apiKey;
-        this.apiSecret = apiSecret;
-        this.hashType = hashType;
+        this.signer = new RequestSigner(apiSecret, hashType);
     }
 
     @Override
     public RequestBuilder apply(RequestBuilder request) {
         request.addParameter("api_key", apiKey);
         List<NameValuePair> params = request.getParameters();
-        RequestSigning.constructSignatureForRequestParameters(params, apiSecret, hashType);
+        signer.signParameters(params);
         int last = params.size() - 1;
         request.addParameters(params.get(last), params.get(last - 1));
         return request;
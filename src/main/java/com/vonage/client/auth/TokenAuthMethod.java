@@ -15,9 +15,9 @@
  */
 package com.vonage.client.auth;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
@@ -54,7 +54,7 @@ public class TokenAuthMethod implements AuthMethod {
     public RequestBuilder applyAsJsonProperties(RequestBuilder request) {
         HttpEntity entity = request.getEntity();
         try {
-            ObjectNode json = (ObjectNode) new ObjectMapper().readTree(EntityUtils.toString(entity));
+            ObjectNode json = (ObjectNode) JsonCodec.defaultCodec().readTree(EntityUtils.toString(entity));
             json.put("api_key", apiKey);
             json.put("api_secret", apiSecret);
 
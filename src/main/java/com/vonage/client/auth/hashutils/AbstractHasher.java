@@ -20,6 +20,7 @@ import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 
 public abstract class AbstractHasher {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
     /**
      * Calculates hash for string. assume string is UTF-8 encoded
@@ -65,14 +66,11 @@ public abstract class AbstractHasher {
     public abstract String calculate(String input, String encoding) throws NoSuchAlgorithmException, UnsupportedEncodingException, InvalidKeyException;
 
     protected String buildHexString(byte[] digest) {
-        final StringBuilder hexString = new StringBuilder();
-        for (byte element : digest) {
-            int z = 0xFF & element;
-            if (z < 16)
-                hexString.append("0");
-            hexString.append(Integer.toHexString(z));
+        final char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xF];
         }
-
-        return hexString.toString();
+        return new String(hex);
     }
 }
@@ -0,0 +1,198 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.openapitools.jackson.dataformat.hal.HALMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared, thread-safe JSON codec used by the {@code fromJson} and {@code toJson} methods throughout the SDK.
+ * <p>
+ * Each codec wraps a single configured {@link ObjectMapper}, so that Jackson's serializer and deserializer caches are
+ * built once and reused, and caches an {@link ObjectReader} per target type. Writing uses a single shared
+ * {@link ObjectWriter}, which serializes values by their runtime type. Responses should be read with
+ * {@link #fromJson(InputStream, Class)}, which parses the bytes directly rather than decoding them to a string first.
+ * <p>
+ * The mapper of a codec must not be reconfigured once the codec has been created.
+ *
+ * @since 7.4.0
+ */
+public final class JsonCodec {
+    private static final JsonCodec DEFAULT = new JsonCodec(new ObjectMapper());
+    private static final JsonCodec ISO_DATES = new JsonCodec(
+            new ObjectMapper().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+    );
+    private static final JsonCodec JAVA_TIME = new JsonCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+    private static final JsonCodec HAL = new JsonCodec(new HALMapper());
+    private static final JsonCodec HAL_ISO_DATES = new JsonCodec(
+            new HALMapper().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+    );
+
+    private final ObjectMapper mapper;
+    private final ObjectWriter writer;
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a codec around a fully configured mapper.
+     *
+     * @param mapper The mapper to use. It must not be modified after this codec is created.
+     */
+    public JsonCodec(ObjectMapper mapper) {
+        this.mapper = Objects.requireNonNull(mapper, "Mapper is required.");
+        this.writer = mapper.writer();
+    }
+
+    /**
+     * @return The codec backed by an {@link ObjectMapper} with Jackson's default settings.
+     */
+    public static JsonCodec defaultCodec() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return The codec which writes dates as ISO-8601 strings rather than timestamps.
+     */
+    public static JsonCodec isoDates() {
+        return ISO_DATES;
+    }
+
+    /**
+     * @return The codec with support for {@code java.time} types.
+     */
+    public static JsonCodec javaTime() {
+        return JAVA_TIME;
+    }
+
+    /**
+     * @return The codec for HAL resources.
+     */
+    public static JsonCodec hal() {
+        return HAL;
+    }
+
+    /**
+     * @return The codec for HAL resources which writes dates as ISO-8601 strings rather than timestamps.
+     */
+    public static JsonCodec halIsoDates() {
+        return HAL_ISO_DATES;
+    }
+
+    /**
+     * @return The underlying mapper. Callers must not reconfigure it.
+     */
+    public ObjectMapper getObjectMapper() {
+        return mapper;
+    }
+
+    /**
+     * Obtains the cached reader for the given type, creating it on first use.
+     *
+     * @param type The class to deserialize to.
+     *
+     * @return The reader for the type.
+     */
+    public ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    /**
+     * Creates a reader for the given generic type. Callers should hold on to the result rather than calling this
+     * method repeatedly.
+     *
+     * @param type The type to deserialize to.
+     *
+     * @return A new reader for the type.
+     */
+    public ObjectReader readerFor(TypeReference<?> type) {
+        return mapper.readerFor(type);
+    }
+
+    /**
+     * @return The shared writer.
+     */
+    public ObjectWriter writer() {
+        return writer;
+    }
+
+    /**
+     * Deserializes a JSON string.
+     *
+     * @param json The JSON to parse.
+     * @param type The class to deserialize to.
+     * @param <T> The type to deserialize to.
+     *
+     * @return A new instance of the type.
+     *
+     * @throws JsonProcessingException If the JSON could not be parsed or mapped to the type.
+     */
+    public <T> T fromJson(String json, Class<T> type) throws JsonProcessingException {
+        return readerFor(type).readValue(json);
+    }
+
+    /**
+     * Deserializes JSON directly from a stream of bytes, detecting the encoding from the content. The stream is
+     * closed once parsing completes.
+     *
+     * @param json The stream containing the JSON.
+     * @param type The class to deserialize to.
+     * @param <T> The type to deserialize to.
+     *
+     * @return A new instance of the type.
+     *
+     * @throws IOException If the stream could not be read, or the JSON could not be parsed or mapped to the type.
+     */
+    public <T> T fromJson(InputStream json, Class<T> type) throws IOException {
+        return readerFor(type).readValue(json);
+    }
+
+    /**
+     * Parses a JSON string into a tree.
+     *
+     * @param json The JSON to parse.
+     *
+     * @return The root node.
+     *
+     * @throws JsonProcessingException If the JSON could not be parsed.
+     */
+    public JsonNode readTree(String json) throws JsonProcessingException {
+        return mapper.readTree(json);
+    }
+
+    /**
+     * Serializes an object by its runtime type.
+     *
+     * @param value The object to serialize.
+     *
+     * @return The JSON representation of the object.
+     *
+     * @throws JsonProcessingException If the object could not be serialized.
+     */
+    public String toJson(Object value) throws JsonProcessingException {
+        return writer.writeValueAsString(value);
+    }
+}
@@ -19,6 +19,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
@@ -27,6 +28,8 @@ import java.util.TimeZone;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class MessageEvent {
+    private static final JsonCodec CODEC = new JsonCodec(new ObjectMapper().setDateFormat(createDateFormat()));
+
     private String msisdn;
     private String to;
     private String messageId;
@@ -109,14 +112,15 @@ public class MessageEvent {
 
     public static MessageEvent fromJson(String json) {
         try {
-            DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-            dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.setDateFormat(dateFormat);
-            return mapper.readValue(json, MessageEvent.class);
+            return CODEC.fromJson(json, MessageEvent.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce MessageEvent from json.", jpe);
         }
     }
+
+    private static DateFormat createDateFormat() {
+        DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return dateFormat;
+    }
 }
@@ -17,8 +17,8 @@ package com.vonage.client.incoming;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 import java.util.Date;
 import java.util.Map;
@@ -65,8 +65,7 @@ public class NotifyEvent {
 
     public static NotifyEvent fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, NotifyEvent.class);
+            return JsonCodec.defaultCodec().fromJson(json, NotifyEvent.class);
         } catch (IOException e) {
             throw new VonageUnexpectedException("Failed to convert NotifyEvent from json.", e);
         }
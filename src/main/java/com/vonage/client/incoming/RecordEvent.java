@@ -17,8 +17,8 @@ package com.vonage.client.incoming;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 import java.util.Date;
 
@@ -67,8 +67,7 @@ public class RecordEvent {
 
     public static RecordEvent fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, RecordEvent.class);
+            return JsonCodec.defaultCodec().fromJson(json, RecordEvent.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce RecordEvent from json.", jpe);
         }
@@ -19,6 +19,7 @@ import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.SignatureAuthMethod;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
@@ -66,6 +67,6 @@ class AdvancedInsightEndpoint extends AbstractMethod<AdvancedInsightRequest, Adv
 
     @Override
     public AdvancedInsightResponse parseResponse(HttpResponse response) throws IOException {
-        return AdvancedInsightResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), AdvancedInsightResponse.class);
     }
 }
@@ -17,8 +17,8 @@ package com.vonage.client.insight;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 
 /**
@@ -36,8 +36,7 @@ public class AdvancedInsightResponse extends StandardInsightResponse {
 
     public static AdvancedInsightResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, AdvancedInsightResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, AdvancedInsightResponse.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce AdvancedInsightResponse from json.", jpe);
         }
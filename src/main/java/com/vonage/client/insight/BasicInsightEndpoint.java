@@ -19,7 +19,9 @@ import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.SignatureAuthMethod;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -37,6 +39,16 @@ class BasicInsightEndpoint extends AbstractMethod<BasicInsightRequest, BasicInsi
         return ALLOWED_AUTH_METHODS;
     }
 
+    @Override
+    protected boolean isHedgeable(BasicInsightRequest request) {
+        return true;
+    }
+
+    @Override
+    protected boolean isRetryable(BasicInsightRequest request, HttpUriRequest httpRequest) {
+        return true;
+    }
+
     @Override
     public RequestBuilder makeRequest(BasicInsightRequest request) throws UnsupportedEncodingException {
         String uri = httpWrapper.getHttpConfig().getApiBaseUri() + PATH;
@@ -52,6 +64,6 @@ class BasicInsightEndpoint extends AbstractMethod<BasicInsightRequest, BasicInsi
 
     @Override
     public BasicInsightResponse parseResponse(HttpResponse response) throws IOException {
-        return BasicInsightResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), BasicInsightResponse.class);
     }
 }
@@ -17,8 +17,8 @@ package com.vonage.client.insight;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 
 /**
@@ -32,8 +32,7 @@ public class BasicInsightResponse {
 
     public static BasicInsightResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, BasicInsightResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, BasicInsightResponse.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce BasicInsightResponse from json.", jpe);
         }
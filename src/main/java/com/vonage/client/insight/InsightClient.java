@@ -16,6 +16,7 @@
 package com.vonage.client.insight;
 
 import com.vonage.client.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A client for talking to the Vonage Number Insight API. The standard way to obtain an instance of this class is to use
@@ -80,6 +81,20 @@ public class InsightClient {
         return basic.execute(basicInsightRequest);
     }
 
+    /**
+     * Perform a Basic Insight Request without blocking the calling thread.
+     *
+     * @param basicInsightRequest A request object containing the details of the request to make.
+     *
+     * @return A future which completes with the BasicInsightResponse, or exceptionally with the exceptions described in
+     * {@link #getBasicNumberInsight(BasicInsightRequest)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<BasicInsightResponse> getBasicNumberInsightAsync(BasicInsightRequest basicInsightRequest) {
+        return basic.executeAsync(basicInsightRequest);
+    }
+
     /**
      * Perform a Standard Insight Request with a number.
      *
@@ -123,6 +138,20 @@ public class InsightClient {
         return standard.execute(standardInsightRequest);
     }
 
+    /**
+     * Perform a Standard Insight Request without blocking the calling thread.
+     *
+     * @param standardInsightRequest A request object containing the details of the request to make.
+     *
+     * @return A future which completes with the StandardInsightResponse, or exceptionally with the exceptions described in
+     * {@link #getStandardNumberInsight(StandardInsightRequest)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<StandardInsightResponse> getStandardNumberInsightAsync(StandardInsightRequest standardInsightRequest) {
+        return standard.executeAsync(standardInsightRequest);
+    }
+
     /**
      * Perform an Advanced Insight Request with a number.
      *
@@ -165,4 +194,18 @@ public class InsightClient {
     public AdvancedInsightResponse getAdvancedNumberInsight(AdvancedInsightRequest advancedInsightRequest) throws VonageResponseParseException, VonageClientException {
         return advanced.execute(advancedInsightRequest);
     }
+
+    /**
+     * Perform an Advanced Insight Request without blocking the calling thread.
+     *
+     * @param advancedInsightRequest A request object containing the details of the request to make.
+     *
+     * @return A future which completes with the AdvancedInsightResponse, or exceptionally with the exceptions described in
+     * {@link #getAdvancedNumberInsight(AdvancedInsightRequest)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<AdvancedInsightResponse> getAdvancedNumberInsightAsync(AdvancedInsightRequest advancedInsightRequest) {
+        return advanced.executeAsync(advancedInsightRequest);
+    }
 }
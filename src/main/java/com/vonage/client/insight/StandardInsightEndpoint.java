@@ -19,6 +19,7 @@ import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.SignatureAuthMethod;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
@@ -55,6 +56,6 @@ class StandardInsightEndpoint extends AbstractMethod<StandardInsightRequest, Sta
 
     @Override
     public StandardInsightResponse parseResponse(HttpResponse response) throws IOException {
-        return StandardInsightResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), StandardInsightResponse.class);
     }
 }
@@ -15,34 +15,223 @@
  */
 package com.vonage.client.logging;
 
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpResponse;
+import org.apache.http.ParseException;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.BasicHttpEntity;
 import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.util.EntityUtils;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
+/**
+ * Formats requests and responses for debug logging. Bodies are truncated to a maximum size, binary bodies are
+ * summarised rather than decoded, and credentials are redacted.
+ */
 public class LoggingUtils {
+    /**
+     * Maximum number of body bytes logged by {@link #logResponse(HttpResponse)}.
+     *
+     * @since 7.4.0
+     */
+    public static final int DEFAULT_MAX_BODY_SIZE = 4096;
+
+    private static final String REDACTED = "***";
+    private static final String SENSITIVE_NAMES = "api_secret|secret|sig|private_key";
+    private static final Pattern SENSITIVE_PARAMETER = Pattern.compile(
+            "(?i)(\\b(?:" + SENSITIVE_NAMES + ")=)[^&\\s]*"
+    );
+    private static final Pattern SENSITIVE_JSON_FIELD = Pattern.compile(
+            "(?i)(\"(?:" + SENSITIVE_NAMES + ")\"\\s*:\\s*)\"(?:[^\"\\\\]|\\\\.)*\""
+    );
 
     public static String logResponse(HttpResponse response) throws IOException {
+        return logResponse(response, DEFAULT_MAX_BODY_SIZE);
+    }
+
+    /**
+     * Formats a response which has not yet been read, including at most the given number of bytes of its body.
+     * Those bytes are read ahead and replayed in front of the rest of the body, so the entity can still be read in
+     * full afterwards without it having been buffered.
+     *
+     * @param response The response to log.
+     * @param maxBodySize The maximum number of body bytes to include.
+     *
+     * @return The status and redacted body of the response.
+     *
+     * @throws IOException If the body could not be read.
+     * @since 7.4.0
+     */
+    public static String logResponse(HttpResponse response, int maxBodySize) throws IOException {
         Objects.requireNonNull(response, "Response shouldn't be null");
-        StringBuilder log = new StringBuilder();
-        String responseBody = response.getEntity() != null ? EntityUtils.toString(response.getEntity()) : "";
-        int statusCode = response.getStatusLine().getStatusCode();
-        String statusLine = response.getStatusLine().getReasonPhrase();
-
-        log.append("status_code: ")
-                .append(statusCode)
-                .append( ", ")
-                .append("status_line: ")
-                .append(statusLine)
-                .append(", ")
-                .append(" body: ")
-                .append(responseBody);
-
-        //Calling Http#getEntity will consume the entity so you have to replace the entity after logging
-        response.setEntity(new StringEntity(responseBody, ContentType.get(response.getEntity())));
+        HttpEntity entity = response.getEntity();
+        String body = "";
+        if (entity != null && !isText(entity)) {
+            body = describeBinary(entity);
+        }
+        else if (entity != null && maxBodySize > 0) {
+            InputStream content = entity.getContent();
+            if (content != null) {
+                byte[] prefix = readUpTo(content, maxBodySize + 1);
+                response.setEntity(replay(entity, prefix, content));
+                boolean truncated = prefix.length > maxBodySize;
+                body = formatBody(prefix, Math.min(prefix.length, maxBodySize), charsetOf(entity),
+                        truncated ? entity.getContentLength() : prefix.length, truncated
+                );
+            }
+        }
+        return formatResponse(response, body);
+    }
 
+    /**
+     * Formats a response whose body has been captured by a {@link TeeLoggingEntity} while it was parsed.
+     *
+     * @param response The response.
+     * @param body The formatted body, e.g. from {@link TeeLoggingEntity#getLoggedBody()}.
+     *
+     * @return The status and body of the response.
+     * @since 7.4.0
+     */
+    public static String formatResponse(HttpResponse response, String body) {
+        return "status_code: " + response.getStatusLine().getStatusCode() +
+                ", status_line: " + response.getStatusLine().getReasonPhrase() +
+                ",  body: " + body;
+    }
+
+    /**
+     * Formats a request with its headers and at most the given number of bytes of its body. Only repeatable bodies
+     * are logged, so that logging does not consume the content to be sent.
+     *
+     * @param request The request to log.
+     * @param maxBodySize The maximum number of body bytes to include.
+     *
+     * @return The redacted request line, headers and body.
+     *
+     * @throws IOException If the body could not be read.
+     * @since 7.4.0
+     */
+    public static String logRequest(HttpUriRequest request, int maxBodySize) throws IOException {
+        StringBuilder log = new StringBuilder(128)
+                .append(request.getMethod()).append(' ').append(redact(request.getURI().toString()));
+        for (Header header : request.getAllHeaders()) {
+            log.append(", ").append(header.getName()).append(": ").append(
+                    "Authorization".equalsIgnoreCase(header.getName()) ? REDACTED : redact(header.getValue())
+            );
+        }
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if (entity != null) {
+                log.append(", body: ");
+                if (!isText(entity)) {
+                    log.append(describeBinary(entity));
+                }
+                else if (!entity.isRepeatable()) {
+                    log.append("[streamed ").append(entity.getContentLength()).append(" bytes]");
+                }
+                else if (maxBodySize > 0) {
+                    try (InputStream content = entity.getContent()) {
+                        byte[] prefix = readUpTo(content, maxBodySize + 1);
+                        boolean truncated = prefix.length > maxBodySize;
+                        log.append(formatBody(prefix, Math.min(prefix.length, maxBodySize), charsetOf(entity),
+                                truncated ? entity.getContentLength() : prefix.length, truncated
+                        ));
+                    }
+                }
+            }
+        }
         return log.toString();
     }
+
+    /**
+     * Masks the values of credentials in query strings, form bodies and JSON.
+     *
+     * @param text The text to redact.
+     *
+     * @return The text with the values of {@code api_secret}, {@code secret}, {@code sig} and {@code private_key}
+     * replaced.
+     * @since 7.4.0
+     */
+    public static String redact(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        String redacted = SENSITIVE_PARAMETER.matcher(text).replaceAll("$1" + REDACTED);
+        return SENSITIVE_JSON_FIELD.matcher(redacted).replaceAll("$1\"" + REDACTED + "\"");
+    }
+
+    /**
+     * @param entity The entity.
+     *
+     * @return {@code true} if the entity's content type is textual, or it has none.
+     * @since 7.4.0
+     */
+    public static boolean isText(HttpEntity entity) {
+        Header contentType = entity.getContentType();
+        if (contentType == null || contentType.getValue() == null) {
+            return true;
+        }
+        String type = contentType.getValue().toLowerCase();
+        return type.startsWith("text/") || type.contains("json") || type.contains("xml") ||
+                type.contains("x-www-form-urlencoded");
+    }
+
+    static String describeBinary(HttpEntity entity) {
+        return "[" + entity.getContentLength() + " bytes of " + entity.getContentType().getValue() + "]";
+    }
+
+    static Charset charsetOf(HttpEntity entity) {
+        try {
+            ContentType contentType = ContentType.get(entity);
+            if (contentType != null && contentType.getCharset() != null) {
+                return contentType.getCharset();
+            }
+        }
+        catch (ParseException | UnsupportedCharsetException ex) {
+            // Fall back to UTF-8, which the API uses throughout.
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    static String formatBody(byte[] bytes, int length, Charset charset, long totalSize, boolean truncated) {
+        String body = redact(new String(bytes, 0, length, charset));
+        if (!truncated) {
+            return body;
+        }
+        return body + "... [truncated, " + (totalSize >= 0 ? totalSize + " bytes" : "more bytes") + "]";
+    }
+
+    private static byte[] readUpTo(InputStream content, int maxBytes) throws IOException {
+        byte[] buffer = new byte[Math.min(maxBytes, 8192)];
+        int length = 0, read;
+        while (length < maxBytes) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.min(maxBytes, buffer.length * 2));
+            }
+            if ((read = content.read(buffer, length, buffer.length - length)) < 0) {
+                break;
+            }
+            length += read;
+        }
+        return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+    }
+
+    private static HttpEntity replay(HttpEntity original, byte[] prefix, InputStream rest) {
+        BasicHttpEntity replay = new BasicHttpEntity();
+        replay.setContent(new SequenceInputStream(new ByteArrayInputStream(prefix), rest));
+        replay.setContentLength(original.getContentLength());
+        replay.setContentType(original.getContentType());
+        replay.setContentEncoding(original.getContentEncoding());
+        replay.setChunked(original.isChunked());
+        return replay;
+    }
 }
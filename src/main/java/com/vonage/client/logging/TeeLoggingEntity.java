@@ -0,0 +1,122 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.logging;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.HttpEntityWrapper;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Wraps a response entity to copy the first bytes of its body aside as they are read, so that the body can be
+ * logged after it has been parsed, without reading ahead or buffering more than the configured maximum.
+ * <p>
+ * Instances are not thread-safe: the body must be read and logged on the same thread.
+ *
+ * @since 7.4.0
+ */
+public final class TeeLoggingEntity extends HttpEntityWrapper {
+    private final byte[] captured;
+    private int capturedLength;
+    private long bytesRead;
+
+    private TeeLoggingEntity(HttpEntity wrapped, int maxBodySize) {
+        super(wrapped);
+        captured = new byte[maxBodySize];
+    }
+
+    /**
+     * Replaces the response's entity with one which captures its body as it is read.
+     *
+     * @param response The response, which has not been read yet.
+     * @param maxBodySize The maximum number of bytes to capture.
+     *
+     * @return The new entity, or {@code null} if the response has no textual body to capture, in which case the
+     * response is left unchanged.
+     */
+    public static TeeLoggingEntity attach(HttpResponse response, int maxBodySize) {
+        HttpEntity entity = response.getEntity();
+        if (entity == null || maxBodySize <= 0 || !LoggingUtils.isText(entity)) {
+            return null;
+        }
+        TeeLoggingEntity tee = new TeeLoggingEntity(entity, maxBodySize);
+        response.setEntity(tee);
+        return tee;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        InputStream content = super.getContent();
+        return content == null ? null : new FilterInputStream(content) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    capture(new byte[]{(byte) b}, 0, 1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = super.read(b, off, len);
+                if (read > 0) {
+                    capture(b, off, read);
+                }
+                return read;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                bytesRead += Math.max(skipped, 0);
+                return skipped;
+            }
+        };
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        try (InputStream content = getContent()) {
+            byte[] buffer = new byte[4096];
+            for (int read; (read = content.read(buffer)) >= 0; ) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        int count = Math.min(length, captured.length - capturedLength);
+        if (count > 0) {
+            System.arraycopy(bytes, offset, captured, capturedLength, count);
+            capturedLength += count;
+        }
+        bytesRead += length;
+    }
+
+    /**
+     * @return The redacted body as far as it has been read, truncated to the maximum size.
+     */
+    public String getLoggedBody() {
+        boolean truncated = bytesRead > capturedLength;
+        return LoggingUtils.formatBody(captured, capturedLength, LoggingUtils.charsetOf(wrappedEntity),
+                truncated ? bytesRead : capturedLength, truncated
+        );
+    }
+}
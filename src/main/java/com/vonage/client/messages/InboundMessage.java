@@ -19,9 +19,8 @@ import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import com.vonage.client.messages.sms.SmsInboundMetadata;
 import com.vonage.client.messages.whatsapp.*;
 import java.io.IOException;
@@ -304,9 +303,7 @@ public class InboundMessage {
 	 */
 	public static InboundMessage fromJson(String json) {
 		try {
-			ObjectMapper mapper = new ObjectMapper();
-			mapper.registerModule(new JavaTimeModule());
-			return mapper.readValue(json, InboundMessage.class);
+			return JsonCodec.javaTime().fromJson(json, InboundMessage.class);
 		}
 		catch (IOException ex) {
 			throw new VonageUnexpectedException("Failed to produce InboundMessage from json.", ex);
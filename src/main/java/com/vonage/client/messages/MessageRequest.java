@@ -18,8 +18,8 @@ package com.vonage.client.messages;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import com.vonage.client.messages.internal.E164;
 import java.util.Objects;
 
@@ -124,8 +124,7 @@ public abstract class MessageRequest {
 	 */
 	public String toJson() {
 		try {
-			ObjectMapper mapper = new ObjectMapper();
-			return mapper.writeValueAsString(this);
+			return JsonCodec.defaultCodec().toJson(this);
 		}
 		catch (JsonProcessingException jpe) {
 			throw new VonageUnexpectedException("Failed to produce JSON from "+getClass().getSimpleName()+" object.", jpe);
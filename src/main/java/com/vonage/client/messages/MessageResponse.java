@@ -18,8 +18,8 @@ package com.vonage.client.messages;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 import java.util.UUID;
 
@@ -60,8 +60,7 @@ public class MessageResponse {
 	 */
 	public static MessageResponse fromJson(String json) {
 		try {
-			ObjectMapper mapper = new ObjectMapper();
-			return mapper.readValue(json, MessageResponse.class);
+			return JsonCodec.defaultCodec().fromJson(json, MessageResponse.class);
 		}
 		catch (IOException ex) {
 			throw new VonageUnexpectedException("Failed to produce MessageResponse from json.", ex);
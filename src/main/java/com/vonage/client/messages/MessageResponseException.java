@@ -24,6 +24,7 @@ import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
 import com.vonage.client.VonageClientException;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 import java.util.Objects;
 
@@ -35,6 +36,10 @@ import java.util.Objects;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public final class MessageResponseException extends VonageClientException {
+	private static final JsonCodec CODEC = new JsonCodec(
+			new ObjectMapper().setAnnotationIntrospector(new IgnoreInheritedIntrospector())
+	);
+
 	String type, title, detail, instance;
 	int statusCode;
 
@@ -110,9 +115,7 @@ public final class MessageResponseException extends VonageClientException {
 	 */
 	public String toJson() {
 		try {
-			ObjectMapper mapper = new ObjectMapper();
-			mapper.setAnnotationIntrospector(new IgnoreInheritedIntrospector());
-			return mapper.writeValueAsString(this);
+			return CODEC.toJson(this);
 		}
 		catch (JsonProcessingException e) {
 			throw new VonageUnexpectedException("Failed to produce JSON from "+getClass().getSimpleName(), e);
@@ -130,8 +133,7 @@ public final class MessageResponseException extends VonageClientException {
 			return new MessageResponseException();
 		}
 		try {
-			ObjectMapper mapper = new ObjectMapper();
-			return mapper.readValue(json, MessageResponseException.class);
+			return JsonCodec.defaultCodec().fromJson(json, MessageResponseException.class);
 		}
 		catch (IOException e) {
 			throw new VonageUnexpectedException("Failed to produce MessageResponseException from json.", e);
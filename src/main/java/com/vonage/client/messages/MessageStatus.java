@@ -17,9 +17,8 @@ package com.vonage.client.messages;
 
 import com.fasterxml.jackson.annotation.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 import java.net.URI;
 import java.time.Instant;
@@ -305,9 +304,7 @@ public class MessageStatus {
 	 */
 	public static MessageStatus fromJson(String json) {
 		try {
-			ObjectMapper mapper = new ObjectMapper();
-			mapper.registerModule(new JavaTimeModule());
-			return mapper.readValue(json, MessageStatus.class);
+			return JsonCodec.javaTime().fromJson(json, MessageStatus.class);
 		}
 		catch (IOException ex) {
 			throw new VonageUnexpectedException("Failed to produce MessageStatus from json.", ex);
@@ -321,9 +318,7 @@ public class MessageStatus {
 	 */
 	public String toJson() {
 		try {
-			ObjectMapper mapper = new ObjectMapper();
-			mapper.registerModule(new JavaTimeModule());
-			return mapper.writeValueAsString(this);
+			return JsonCodec.javaTime().toJson(this);
 		}
 		catch (JsonProcessingException jpe) {
 			throw new VonageUnexpectedException("Failed to produce JSON from "+getClass().getSimpleName()+" object.", jpe);
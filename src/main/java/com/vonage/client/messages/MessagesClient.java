@@ -19,6 +19,7 @@ import com.vonage.client.HttpConfig;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.VonageClientException;
 import com.vonage.client.VonageResponseParseException;
+import java.util.concurrent.CompletableFuture;
 
 public class MessagesClient {
 	final SendMessageEndpoint sendMessage;
@@ -58,6 +59,19 @@ public class MessagesClient {
 		return sendMessage.execute(request);
 	}
 
+	/**
+	 * Sends a message without blocking the calling thread.
+	 *
+	 * @param request The message request object, as described in {@link #sendMessage(MessageRequest)}.
+	 * @return A future which completes with the response if the request was successful, or exceptionally with
+	 * the exceptions described in {@link #sendMessage(MessageRequest)}.
+	 *
+	 * @since 7.4.0
+	 */
+	public CompletableFuture<MessageResponse> sendMessageAsync(MessageRequest request) {
+		return sendMessage.executeAsync(request);
+	}
+
 	private MessagesClient sandbox(boolean sandbox) {
 		sendMessage.setSandboxed(sandbox);
 		return this;
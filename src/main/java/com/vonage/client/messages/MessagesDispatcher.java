@@ -0,0 +1,495 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.messages;
+
+import com.vonage.client.VonageMethodFailedException;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Sends large numbers of messages asynchronously through a {@link MessagesClient}, with an independent queue,
+ * concurrency limit and throughput limit for each {@link Channel}.
+ * <p>
+ * Each channel's messages are sent in submission order as capacity becomes available, and its in-flight requests
+ * never occupy another channel's capacity, so a slow channel (e.g. WhatsApp) cannot hold up faster ones (e.g. SMS).
+ * Submitting blocks only when the queue of the message's own channel is full.
+ * <p>
+ * Outcomes are reported through the future returned by {@link #submit(MessageRequest)} and through the optional
+ * {@link Listener}. Both are completed on the HTTP client's I/O threads, so they should not block.
+ * <pre>{@code
+ *     try (MessagesDispatcher dispatcher = MessagesDispatcher.builder(messagesClient)
+ *             .channel(Channel.SMS, 50, 30)
+ *             .channel(Channel.WHATSAPP, 10, 20)
+ *             .listener(myListener)
+ *             .build()) {
+ *         dispatcher.submitAll(requests);
+ *     }
+ * }</pre>
+ *
+ * @since 7.4.0
+ */
+public class MessagesDispatcher implements AutoCloseable {
+	private final MessagesClient client;
+	private final Listener listener;
+	private final Map<Channel, Lane> lanes = new EnumMap<>(Channel.class);
+	private final ScheduledExecutorService scheduler;
+	private long outstanding;
+	private boolean closed;
+
+	private MessagesDispatcher(Builder builder) {
+		client = builder.client;
+		listener = builder.listener;
+		boolean throttled = false;
+		for (Channel channel : Channel.values()) {
+			LaneConfig config = builder.channels.getOrDefault(channel, builder.defaultConfig);
+			lanes.put(channel, new Lane(config, builder.queueCapacity));
+			throttled |= config.maxPerSecond > 0;
+		}
+		scheduler = throttled ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "vonage-java-sdk-messages-dispatcher");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+	}
+
+	/**
+	 * Queues a message for sending, blocking if the queue for its channel is full.
+	 *
+	 * @param request The message to send.
+	 * @return A future which completes with the response, or exceptionally with the exceptions described in
+	 * {@link MessagesClient#sendMessage(MessageRequest)}.
+	 *
+	 * @throws IllegalStateException if the dispatcher has been closed.
+	 * @throws VonageMethodFailedException if the calling thread is interrupted whilst waiting for space in the queue.
+	 */
+	public CompletableFuture<MessageResponse> submit(MessageRequest request) {
+		synchronized (this) {
+			if (closed) {
+				throw new IllegalStateException("Dispatcher has been closed.");
+			}
+			outstanding++;
+		}
+		CompletableFuture<MessageResponse> future = new CompletableFuture<>();
+		try {
+			lanes.get(request.getChannel()).enqueue(new Task(request, future));
+		}
+		catch (InterruptedException ie) {
+			taskDone();
+			Thread.currentThread().interrupt();
+			throw new VonageMethodFailedException("Interrupted whilst waiting to queue message.", ie);
+		}
+		return future;
+	}
+
+	/**
+	 * Queues all the given messages, blocking whenever the queue for a message's channel is full.
+	 *
+	 * @param requests The messages to send.
+	 */
+	public void submitAll(Iterable<? extends MessageRequest> requests) {
+		for (MessageRequest request : requests) {
+			submit(request);
+		}
+	}
+
+	/**
+	 * Queues all the given messages, blocking whenever the queue for a message's channel is full.
+	 *
+	 * @param requests The messages to send.
+	 */
+	public void submitAll(Stream<? extends MessageRequest> requests) {
+		for (Iterator<? extends MessageRequest> it = requests.iterator(); it.hasNext();) {
+			submit(it.next());
+		}
+	}
+
+	/**
+	 * Waits until every submitted message has been sent and its outcome reported.
+	 *
+	 * @throws InterruptedException if the calling thread is interrupted whilst waiting.
+	 */
+	public synchronized void awaitCompletion() throws InterruptedException {
+		while (outstanding > 0) {
+			wait();
+		}
+	}
+
+	/**
+	 * Stops accepting new messages and waits for those already submitted to be sent.
+	 *
+	 * @throws VonageMethodFailedException if the calling thread is interrupted whilst waiting.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			closed = true;
+		}
+		try {
+			awaitCompletion();
+		}
+		catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new VonageMethodFailedException("Interrupted whilst waiting for messages to be sent.", ie);
+		}
+		finally {
+			if (scheduler != null) {
+				scheduler.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * @param channel The channel.
+	 * @return The number of messages waiting to be sent on the channel.
+	 */
+	public int getQueuedCount(Channel channel) {
+		Lane lane = lanes.get(channel);
+		synchronized (lane) {
+			return lane.queue.size();
+		}
+	}
+
+	/**
+	 * @param channel The channel.
+	 * @return The number of messages currently being sent on the channel.
+	 */
+	public int getInFlightCount(Channel channel) {
+		Lane lane = lanes.get(channel);
+		synchronized (lane) {
+			return lane.inFlight;
+		}
+	}
+
+	/**
+	 * @param channel The channel.
+	 * @return The number of messages on the channel which were sent successfully.
+	 */
+	public long getSucceededCount(Channel channel) {
+		return lanes.get(channel).succeeded.sum();
+	}
+
+	/**
+	 * @param channel The channel.
+	 * @return The number of messages on the channel which failed.
+	 */
+	public long getFailedCount(Channel channel) {
+		return lanes.get(channel).failed.sum();
+	}
+
+	private synchronized void taskDone() {
+		if (--outstanding == 0) {
+			notifyAll();
+		}
+	}
+
+	private static final class Task {
+		final MessageRequest request;
+		final CompletableFuture<MessageResponse> future;
+
+		Task(MessageRequest request, CompletableFuture<MessageResponse> future) {
+			this.request = request;
+			this.future = future;
+		}
+	}
+
+	private final class Lane {
+		final int maxConcurrency, queueCapacity;
+		final long intervalNanos;
+		final Queue<Task> queue = new ArrayDeque<>();
+		final LongAdder succeeded = new LongAdder(), failed = new LongAdder();
+		int inFlight;
+		long nextDispatchNanos = System.nanoTime();
+		boolean drainScheduled, draining, drainAgain;
+
+		Lane(LaneConfig config, int queueCapacity) {
+			this.maxConcurrency = config.maxConcurrency;
+			this.intervalNanos = config.maxPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / config.maxPerSecond) : 0;
+			this.queueCapacity = queueCapacity;
+		}
+
+		void enqueue(Task task) throws InterruptedException {
+			synchronized (this) {
+				while (queue.size() >= queueCapacity) {
+					wait();
+				}
+				queue.add(task);
+			}
+			drain();
+		}
+
+		/**
+		 * Sends as many queued messages as capacity allows. Sends which complete straight away (e.g. when the
+		 * circuit is open) free capacity while this is running, so rather than draining recursively from their
+		 * completion, they ask the thread which is already draining to go round again.
+		 */
+		void drain() {
+			synchronized (this) {
+				if (draining) {
+					drainAgain = true;
+					return;
+				}
+				draining = true;
+			}
+			boolean done = false;
+			try {
+				while (!done) {
+					collectReady().forEach(this::send);
+					synchronized (this) {
+						done = !drainAgain;
+						drainAgain = false;
+						draining = !done;
+					}
+				}
+			}
+			finally {
+				if (!done) {
+					synchronized (this) {
+						draining = false;
+					}
+				}
+			}
+		}
+
+		private List<Task> collectReady() {
+			List<Task> ready = new ArrayList<>();
+			synchronized (this) {
+				while (inFlight < maxConcurrency && !queue.isEmpty()) {
+					if (intervalNanos > 0) {
+						long now = System.nanoTime(), wait = nextDispatchNanos - now;
+						if (wait > 0) {
+							if (!drainScheduled) {
+								drainScheduled = true;
+								scheduler.schedule(this::scheduledDrain, wait, TimeUnit.NANOSECONDS);
+							}
+							break;
+						}
+						nextDispatchNanos = Math.max(now, nextDispatchNanos) + intervalNanos;
+					}
+					ready.add(queue.poll());
+					inFlight++;
+				}
+				if (!ready.isEmpty()) {
+					notifyAll();
+				}
+			}
+			return ready;
+		}
+
+		private void scheduledDrain() {
+			synchronized (this) {
+				drainScheduled = false;
+			}
+			drain();
+		}
+
+		private void send(Task task) {
+			CompletableFuture<MessageResponse> response;
+			try {
+				response = client.sendMessageAsync(task.request);
+			}
+			catch (RuntimeException ex) {
+				response = new CompletableFuture<>();
+				response.completeExceptionally(ex);
+			}
+			response.whenComplete((result, error) -> {
+				synchronized (this) {
+					inFlight--;
+				}
+				try {
+					complete(task, result, error instanceof CompletionException && error.getCause() != null ?
+							error.getCause() : error
+					);
+				}
+				finally {
+					taskDone();
+					drain();
+				}
+			});
+		}
+
+		private void complete(Task task, MessageResponse result, Throwable error) {
+			if (error == null) {
+				succeeded.increment();
+				task.future.complete(result);
+			}
+			else {
+				failed.increment();
+				task.future.completeExceptionally(error);
+			}
+			if (listener != null) {
+				try {
+					if (error == null) {
+						listener.onSuccess(task.request, result);
+					}
+					else {
+						listener.onFailure(task.request, error);
+					}
+				}
+				catch (RuntimeException ignored) {
+					// The listener's failure must not prevent other messages from being sent.
+				}
+			}
+		}
+	}
+
+	/**
+	 * Receives the outcome of each message sent through the dispatcher.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called when a message has been accepted by the API.
+		 *
+		 * @param request The message which was sent.
+		 * @param response The response from the API.
+		 */
+		default void onSuccess(MessageRequest request, MessageResponse response) {
+		}
+
+		/**
+		 * Called when a message could not be sent.
+		 *
+		 * @param request The message which failed.
+		 * @param failure The reason, usually a {@link MessageResponseException}.
+		 */
+		default void onFailure(MessageRequest request, Throwable failure) {
+		}
+	}
+
+	private static final class LaneConfig {
+		final int maxConcurrency;
+		final double maxPerSecond;
+
+		LaneConfig(int maxConcurrency, double maxPerSecond) {
+			if (maxConcurrency < 1) {
+				throw new IllegalArgumentException("Maximum concurrency must be at least 1.");
+			}
+			if (maxPerSecond < 0) {
+				throw new IllegalArgumentException("Maximum messages per second cannot be negative.");
+			}
+			this.maxConcurrency = maxConcurrency;
+			this.maxPerSecond = maxPerSecond;
+		}
+	}
+
+	/**
+	 * Entry point for creating a dispatcher.
+	 *
+	 * @param client The client to send messages with.
+	 * @return A new Builder.
+	 */
+	public static Builder builder(MessagesClient client) {
+		return new Builder(client);
+	}
+
+	public static final class Builder {
+		private final MessagesClient client;
+		private final Map<Channel, LaneConfig> channels = new EnumMap<>(Channel.class);
+		private LaneConfig defaultConfig = new LaneConfig(10, 0);
+		private int queueCapacity = 1000;
+		private Listener listener;
+
+		private Builder(MessagesClient client) {
+			if (client == null) {
+				throw new NullPointerException("Messages client is required.");
+			}
+			this.client = client;
+		}
+
+		/**
+		 * Sets the concurrency limit for a channel, without limiting its throughput.
+		 *
+		 * @param channel The channel.
+		 * @param maxConcurrency Maximum number of messages in flight on the channel at once.
+		 * @return This builder.
+		 */
+		public Builder channel(Channel channel, int maxConcurrency) {
+			return channel(channel, maxConcurrency, 0);
+		}
+
+		/**
+		 * Sets the concurrency and throughput limits for a channel.
+		 *
+		 * @param channel The channel.
+		 * @param maxConcurrency Maximum number of messages in flight on the channel at once.
+		 * @param maxPerSecond Maximum number of messages sent on the channel per second, or 0 for no limit.
+		 * @return This builder.
+		 */
+		public Builder channel(Channel channel, int maxConcurrency, double maxPerSecond) {
+			channels.put(channel, new LaneConfig(maxConcurrency, maxPerSecond));
+			return this;
+		}
+
+		/**
+		 * (OPTIONAL) Sets the concurrency limit for channels which have not been configured with
+		 * {@link #channel(Channel, int, double)}. Defaults to 10.
+		 *
+		 * @param maxConcurrency Maximum number of messages in flight per channel at once.
+		 * @return This builder.
+		 */
+		public Builder defaultConcurrency(int maxConcurrency) {
+			defaultConfig = new LaneConfig(maxConcurrency, 0);
+			return this;
+		}
+
+		/**
+		 * (OPTIONAL) Sets how many messages may wait to be sent on each channel before submitting blocks.
+		 * Defaults to 1000.
+		 *
+		 * @param queueCapacity The queue capacity per channel.
+		 * @return This builder.
+		 */
+		public Builder queueCapacity(int queueCapacity) {
+			if (queueCapacity < 1) {
+				throw new IllegalArgumentException("Queue capacity must be at least 1.");
+			}
+			this.queueCapacity = queueCapacity;
+			return this;
+		}
+
+		/**
+		 * (OPTIONAL) Sets a listener to receive the outcome of each message.
+		 *
+		 * @param listener The listener.
+		 * @return This builder.
+		 */
+		public Builder listener(Listener listener) {
+			this.listener = listener;
+			return this;
+		}
+
+		/**
+		 * Builds the dispatcher.
+		 *
+		 * @return A new MessagesDispatcher with this builder's properties.
+		 */
+		public MessagesDispatcher build() {
+			return new MessagesDispatcher(this);
+		}
+	}
+}
@@ -17,9 +17,11 @@ package com.vonage.client.messages;
 
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
+import com.vonage.client.RateLimiter;
 import com.vonage.client.auth.JWTAuthMethod;
 import com.vonage.client.auth.TokenAuthMethod;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
@@ -46,6 +48,24 @@ class SendMessageEndpoint extends AbstractMethod<MessageRequest, MessageResponse
 		return ALLOWED_AUTH_METHODS;
 	}
 
+	@Override
+	protected String getRateLimitGroup() {
+		return RateLimiter.MESSAGES;
+	}
+
+	@Override
+	protected String getRateLimitSender(MessageRequest request) {
+		return request.getFrom();
+	}
+
+	/**
+	 * Sending is only retried if the message has a client reference, so that duplicates can be identified.
+	 */
+	@Override
+	protected boolean isRetryable(MessageRequest request, HttpUriRequest httpRequest) {
+		return request.getClientRef() != null;
+	}
+
 	@Override
 	public RequestBuilder makeRequest(MessageRequest request) {
 		String uri = sandbox ? SANDBOX_ENDPOINT_URI : httpWrapper.getHttpConfig().getApiBaseUri() + PATH;
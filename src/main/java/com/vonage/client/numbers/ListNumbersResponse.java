@@ -16,8 +16,8 @@
 package com.vonage.client.numbers;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 
 /**
@@ -38,8 +38,7 @@ public class ListNumbersResponse {
 
     public static ListNumbersResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, ListNumbersResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, ListNumbersResponse.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce json from ListNumbersResponse object.", jpe);
         }
@@ -19,6 +19,7 @@ import com.vonage.client.HttpWrapper;
 import com.vonage.client.VonageClient;
 import com.vonage.client.VonageClientException;
 import com.vonage.client.VonageResponseParseException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A client for accessing the Vonage API calls that manage phone numbers. The standard way to obtain an instance of
@@ -65,6 +66,20 @@ public class NumbersClient {
         return listNumbers.execute(filter);
     }
 
+    /**
+     * Get a filtered set of numbers assigned to the authenticated account without blocking the calling thread.
+     *
+     * @param filter A ListNumbersFilter describing the filters to be applied to the request.
+     *
+     * @return A future which completes with the ListNumbersResponse, or exceptionally with the exceptions described in
+     * {@link #listNumbers(ListNumbersFilter)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<ListNumbersResponse> listNumbersAsync(ListNumbersFilter filter) {
+        return listNumbers.executeAsync(filter);
+    }
+
 
     /**
      * Search for available Vonage Virtual Numbers.
@@ -90,6 +105,20 @@ public class NumbersClient {
         return searchNumbers.execute(filter);
     }
 
+    /**
+     * Search for available Vonage Virtual Numbers without blocking the calling thread.
+     *
+     * @param filter search for available Vonage Virtual Number with filters
+     *
+     * @return A future which completes with the SearchNumbersResponse, or exceptionally with the exceptions described in
+     * {@link #searchNumbers(SearchNumbersFilter)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<SearchNumbersResponse> searchNumbersAsync(SearchNumbersFilter filter) {
+        return searchNumbers.executeAsync(filter);
+    }
+
     /**
      * Start renting a Vonage Virtual Number.
      *
@@ -19,6 +19,7 @@ import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.VonageClientException;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
@@ -48,7 +49,7 @@ class SearchNumbersEndpoint extends AbstractMethod<SearchNumbersFilter, SearchNu
 
     @Override
     public SearchNumbersResponse parseResponse(HttpResponse response) throws IOException {
-        return SearchNumbersResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), SearchNumbersResponse.class);
     }
 
     @Override
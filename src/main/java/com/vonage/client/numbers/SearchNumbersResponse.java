@@ -16,8 +16,8 @@
 package com.vonage.client.numbers;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 
 /**
@@ -45,8 +45,7 @@ public class SearchNumbersResponse {
 
     public static SearchNumbersResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, SearchNumbersResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, SearchNumbersResponse.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce json from SearchNumbersResponse object.", jpe);
         }
@@ -18,8 +18,8 @@ package com.vonage.client.redact;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 
 /**
  * Represents a request to the Redact API.
@@ -71,8 +71,7 @@ public class RedactRequest {
 
     public String toJson() {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.writeValueAsString(this);
+            return JsonCodec.defaultCodec().toJson(this);
         } catch (JsonProcessingException jpe) {
             throw new VonageUnexpectedException("Failed to produce json from RedactRequest object.", jpe);
         }
@@ -17,10 +17,13 @@ package com.vonage.client.sms;
 
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
+import com.vonage.client.RateLimiter;
 import com.vonage.client.auth.SignatureAuthMethod;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import com.vonage.client.sms.messages.Message;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -38,6 +41,24 @@ class SendMessageEndpoint extends AbstractMethod<Message, SmsSubmissionResponse>
         return ALLOWED_AUTH_METHODS;
     }
 
+    @Override
+    protected String getRateLimitGroup() {
+        return RateLimiter.SMS;
+    }
+
+    @Override
+    protected String getRateLimitSender(Message message) {
+        return message.getFrom();
+    }
+
+    /**
+     * Sending is only retried if the message has a client reference, so that duplicates can be identified.
+     */
+    @Override
+    protected boolean isRetryable(Message message, HttpUriRequest httpRequest) {
+        return message.getClientReference() != null;
+    }
+
     @Override
     public RequestBuilder makeRequest(Message message) throws UnsupportedEncodingException {
         RequestBuilder request = RequestBuilder
@@ -50,6 +71,6 @@ class SendMessageEndpoint extends AbstractMethod<Message, SmsSubmissionResponse>
 
     @Override
     public SmsSubmissionResponse parseResponse(HttpResponse response) throws IOException {
-        return SmsSubmissionResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), SmsSubmissionResponse.class);
     }
 }
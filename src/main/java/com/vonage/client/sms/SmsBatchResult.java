@@ -0,0 +1,74 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.sms;
+
+import com.vonage.client.sms.messages.Message;
+
+/**
+ * Outcome of submitting a single message as part of {@link SmsClient#submitMessages(Iterable, int, java.util.function.Consumer)}.
+ * Exactly one of {@link #getResponse()} and {@link #getException()} is non-null.
+ *
+ * @since 7.4.0
+ */
+public class SmsBatchResult {
+    private final Message message;
+    private final SmsSubmissionResponse response;
+    private final Throwable exception;
+
+    SmsBatchResult(Message message, SmsSubmissionResponse response, Throwable exception) {
+        this.message = message;
+        this.response = response;
+        this.exception = exception;
+    }
+
+    /**
+     * @return The message which was submitted.
+     */
+    public Message getMessage() {
+        return message;
+    }
+
+    /**
+     * @return The response from the API, or {@code null} if the submission failed.
+     */
+    public SmsSubmissionResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * @return The reason the submission failed, or {@code null} if a response was received.
+     */
+    public Throwable getException() {
+        return exception;
+    }
+
+    /**
+     * @return {@code true} if a response was received and every part of the message was accepted.
+     */
+    public boolean isSuccessful() {
+        if (response == null) {
+            return false;
+        }
+        if (response.getMessages() != null) {
+            for (SmsSubmissionResponseMessage part : response.getMessages()) {
+                if (part.getStatus() != MessageStatus.OK) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
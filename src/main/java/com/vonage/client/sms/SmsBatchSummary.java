@@ -0,0 +1,89 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.sms;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregate statistics for a batch of messages submitted through
+ * {@link SmsClient#submitMessages(Iterable, int, java.util.function.Consumer)}.
+ *
+ * @since 7.4.0
+ */
+public class SmsBatchSummary {
+    private final LongAdder submitted = new LongAdder(), failed = new LongAdder(), parts = new LongAdder();
+    private BigDecimal totalPrice = BigDecimal.ZERO;
+
+    SmsBatchSummary() {
+    }
+
+    void record(SmsBatchResult result) {
+        submitted.increment();
+        if (!result.isSuccessful()) {
+            failed.increment();
+        }
+        SmsSubmissionResponse response = result.getResponse();
+        if (response != null && response.getMessages() != null) {
+            BigDecimal price = BigDecimal.ZERO;
+            for (SmsSubmissionResponseMessage part : response.getMessages()) {
+                parts.increment();
+                if (part.getMessagePrice() != null) {
+                    price = price.add(part.getMessagePrice());
+                }
+            }
+            addPrice(price);
+        }
+    }
+
+    private synchronized void addPrice(BigDecimal price) {
+        totalPrice = totalPrice.add(price);
+    }
+
+    /**
+     * @return The number of messages submitted.
+     */
+    public long getMessageCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return The number of messages which failed, or of which at least one part was rejected.
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * @return The number of SMS parts which the submitted messages were split into.
+     */
+    public long getPartCount() {
+        return parts.sum();
+    }
+
+    /**
+     * @return The total price of all accepted parts.
+     */
+    public synchronized BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    @Override
+    public String toString() {
+        return "SmsBatchSummary{messages=" + getMessageCount() + ", failed=" + getFailedCount() +
+                ", parts=" + getPartCount() + ", totalPrice=" + getTotalPrice() + '}';
+    }
+}
@@ -18,9 +18,14 @@ package com.vonage.client.sms;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.VonageClient;
 import com.vonage.client.VonageClientException;
+import com.vonage.client.VonageMethodFailedException;
 import com.vonage.client.VonageResponseParseException;
 import com.vonage.client.sms.messages.Message;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * A client for talking to the Vonage Voice API. The standard way to obtain an instance of this class is to use {@link
@@ -62,4 +67,93 @@ public class SmsClient {
         return this.message.execute(message);
     }
 
+    /**
+     * Send an SMS message without blocking the calling thread.
+     *
+     * @param message The message request object that describes the type of message and the contents to be submitted.
+     *
+     * @return A future which completes with the SmsSubmissionResponse, or exceptionally with the exceptions
+     * described in {@link #submitMessage(Message)}.
+     *
+     * @see #submitMessage(Message)
+     * @since 7.4.0
+     */
+    public CompletableFuture<SmsSubmissionResponse> submitMessageAsync(Message message) {
+        return this.message.executeAsync(message);
+    }
+
+    /**
+     * Submit a batch of SMS messages, keeping up to {@code maxConcurrency} submissions in flight at once.
+     * <p>
+     * Messages are taken from {@code messages} on the calling thread only as capacity becomes available, so a lazily
+     * produced source (e.g. one reading from a file or database) is never read far ahead of what the API accepts.
+     * This method returns once every message has been submitted and its outcome reported.
+     * <p>
+     * The callback is invoked once per message, with either the response or the exception which
+     * {@link #submitMessage(Message)} would have thrown. It is called concurrently from the HTTP client's I/O threads,
+     * so it must be thread-safe and should not block. Exceptions thrown by the callback are ignored.
+     *
+     * @param messages The messages to submit.
+     * @param maxConcurrency Maximum number of submissions in flight at once.
+     * @param callback Receives the outcome of each message, or {@code null} if only the summary is needed.
+     *
+     * @return Aggregate statistics for the batch.
+     *
+     * @throws VonageMethodFailedException if the calling thread is interrupted; submissions already in flight still
+     * report their outcome to the callback.
+     * @since 7.4.0
+     */
+    public SmsBatchSummary submitMessages(Iterable<? extends Message> messages, int maxConcurrency,
+                                          Consumer<? super SmsBatchResult> callback) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Maximum concurrency must be at least 1.");
+        }
+        Semaphore inFlight = new Semaphore(maxConcurrency);
+        SmsBatchSummary summary = new SmsBatchSummary();
+        try {
+            for (Message message : messages) {
+                inFlight.acquire();
+                submitMessageAsync(message).whenComplete((response, error) -> {
+                    try {
+                        SmsBatchResult result = new SmsBatchResult(message, response,
+                                error instanceof CompletionException && error.getCause() != null ?
+                                        error.getCause() : error
+                        );
+                        summary.record(result);
+                        if (callback != null) {
+                            callback.accept(result);
+                        }
+                    }
+                    finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            inFlight.acquire(maxConcurrency);
+            inFlight.release(maxConcurrency);
+        }
+        catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new VonageMethodFailedException("Interrupted whilst submitting messages.", ie);
+        }
+        return summary;
+    }
+
+    /**
+     * Submit a stream of SMS messages, keeping up to {@code maxConcurrency} submissions in flight at once.
+     *
+     * @param messages The messages to submit.
+     * @param maxConcurrency Maximum number of submissions in flight at once.
+     * @param callback Receives the outcome of each message, or {@code null} if only the summary is needed.
+     *
+     * @return Aggregate statistics for the batch.
+     *
+     * @see #submitMessages(Iterable, int, Consumer)
+     * @since 7.4.0
+     */
+    public SmsBatchSummary submitMessages(Stream<? extends Message> messages, int maxConcurrency,
+                                          Consumer<? super SmsBatchResult> callback) {
+        Iterable<Message> iterable = messages.map(Message.class::cast)::iterator;
+        return submitMessages(iterable, maxConcurrency, callback);
+    }
 }
@@ -0,0 +1,213 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.sms;
+
+/**
+ * Calculates how a text message will be encoded and split into parts, so that the number of billable parts can be
+ * known before sending.
+ * <p>
+ * Text that can be written entirely in the GSM 03.38 7-bit alphabet (including its extension table, whose characters
+ * take two septets) is sent as GSM-7, with up to 160 septets in a single part or 153 per part once concatenated. Any
+ * other text must be sent as UCS-2, with up to 70 characters in a single part or 67 per part. Parts are never split in
+ * the middle of an extension character or a surrogate pair.
+ * <p>
+ * The methods in this class work directly on the given {@link CharSequence} and do not allocate, so they are suitable
+ * for estimating the cost of large batches: multiply {@link #countParts(CharSequence)} by the per-part price for the
+ * destination.
+ *
+ * @since 7.4.0
+ */
+public final class SmsSegmenter {
+    private static final byte UNSUPPORTED = 0, BASIC = 1, EXTENDED = 2;
+    private static final char EURO = '\u20AC';
+    private static final byte[] GSM_TABLE = new byte[0x400];
+
+    static {
+        // The GSM 03.38 basic character set in table order, escaped so that it does not depend on the source encoding.
+        String basic = "@\u00A3$\u00A5\u00E8\u00E9\u00F9\u00EC\u00F2\u00C7\n\u00D8\u00F8\r\u00C5\u00E5" +
+                "\u0394_\u03A6\u0393\u039B\u03A9\u03A0\u03A8\u03A3\u0398\u039E\u00C6\u00E6\u00DF\u00C9" +
+                " !\"#\u00A4%&'()*+,-./0123456789:;<=>?" +
+                "\u00A1ABCDEFGHIJKLMNOPQRSTUVWXYZ\u00C4\u00D6\u00D1\u00DC\u00A7" +
+                "\u00BFabcdefghijklmnopqrstuvwxyz\u00E4\u00F6\u00F1\u00FC\u00E0";
+        for (int i = 0; i < basic.length(); i++) {
+            GSM_TABLE[basic.charAt(i)] = BASIC;
+        }
+        String extended = "\f^{}\\[~]|";
+        for (int i = 0; i < extended.length(); i++) {
+            GSM_TABLE[extended.charAt(i)] = EXTENDED;
+        }
+    }
+
+    /**
+     * Maximum septets in a single GSM-7 message.
+     */
+    public static final int GSM_SINGLE_PART = 160;
+
+    /**
+     * Maximum septets in each part of a concatenated GSM-7 message.
+     */
+    public static final int GSM_MULTI_PART = 153;
+
+    /**
+     * Maximum characters in a single UCS-2 message.
+     */
+    public static final int UCS2_SINGLE_PART = 70;
+
+    /**
+     * Maximum characters in each part of a concatenated UCS-2 message.
+     */
+    public static final int UCS2_MULTI_PART = 67;
+
+    /**
+     * The character encoding used to send a text message.
+     */
+    public enum Encoding {
+        GSM_7, UCS_2
+    }
+
+    private SmsSegmenter() {
+        // This class may not be instantiated.
+    }
+
+    private static byte gsmClass(char c) {
+        if (c < GSM_TABLE.length) {
+            return GSM_TABLE[c];
+        }
+        return c == EURO ? EXTENDED : UNSUPPORTED;
+    }
+
+    /**
+     * Determines the most compact encoding which can represent the text.
+     *
+     * @param text The message text.
+     *
+     * @return {@link Encoding#GSM_7} if every character is in the GSM alphabet, {@link Encoding#UCS_2} otherwise.
+     */
+    public static Encoding detectEncoding(CharSequence text) {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            if (gsmClass(text.charAt(i)) == UNSUPPORTED) {
+                return Encoding.UCS_2;
+            }
+        }
+        return Encoding.GSM_7;
+    }
+
+    /**
+     * Counts the septets needed to send the text as GSM-7.
+     *
+     * @param text The message text.
+     *
+     * @return The number of septets, or -1 if the text contains characters outside the GSM alphabet.
+     */
+    public static int countSeptets(CharSequence text) {
+        int septets = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            byte gsm = gsmClass(text.charAt(i));
+            if (gsm == UNSUPPORTED) {
+                return -1;
+            }
+            septets += gsm;
+        }
+        return septets;
+    }
+
+    /**
+     * Counts the parts needed to send the text in the most compact encoding.
+     *
+     * @param text The message text.
+     *
+     * @return The number of billable parts, which is at least 1.
+     */
+    public static int countParts(CharSequence text) {
+        return split(text, detectEncoding(text), null);
+    }
+
+    /**
+     * Counts the parts needed to send the text in the given encoding. When sending as GSM-7, characters outside the
+     * GSM alphabet are counted as one septet, as they will be substituted.
+     *
+     * @param text The message text.
+     * @param encoding The encoding which will be used.
+     *
+     * @return The number of billable parts, which is at least 1.
+     */
+    public static int countParts(CharSequence text, Encoding encoding) {
+        return split(text, encoding, null);
+    }
+
+    /**
+     * Computes where the text will be split into parts. The end index (exclusive) of each part is written to
+     * {@code partEnds}, in order; the start of each part is the end of the previous one. If the array is too short,
+     * only the first {@code partEnds.length} boundaries are written.
+     *
+     * @param text The message text.
+     * @param encoding The encoding which will be used.
+     * @param partEnds Array to receive the end index of each part, or {@code null} to only count the parts.
+     *
+     * @return The number of parts, which is at least 1.
+     */
+    public static int split(CharSequence text, Encoding encoding, int[] partEnds) {
+        int length = text.length();
+        return encoding == Encoding.GSM_7 ? splitGsm(text, length, partEnds) : splitUcs2(text, length, partEnds);
+    }
+
+    private static int splitGsm(CharSequence text, int length, int[] partEnds) {
+        int septets = 0;
+        for (int i = 0; i < length && septets <= GSM_SINGLE_PART; i++) {
+            septets += Math.max(gsmClass(text.charAt(i)), BASIC);
+        }
+        if (septets <= GSM_SINGLE_PART) {
+            return end(partEnds, 0, length);
+        }
+
+        int parts = 0, used = 0;
+        for (int i = 0; i < length; i++) {
+            int width = Math.max(gsmClass(text.charAt(i)), BASIC);
+            if (used + width > GSM_MULTI_PART) {
+                parts = end(partEnds, parts, i);
+                used = 0;
+            }
+            used += width;
+        }
+        return end(partEnds, parts, length);
+    }
+
+    private static int splitUcs2(CharSequence text, int length, int[] partEnds) {
+        if (length <= UCS2_SINGLE_PART) {
+            return end(partEnds, 0, length);
+        }
+
+        int parts = 0, used = 0;
+        for (int i = 0; i < length; i++) {
+            int width = Character.isHighSurrogate(text.charAt(i)) && i + 1 < length &&
+                    Character.isLowSurrogate(text.charAt(i + 1)) ? 2 : 1;
+            if (used + width > UCS2_MULTI_PART) {
+                parts = end(partEnds, parts, i);
+                used = 0;
+            }
+            used += width;
+            i += width - 1;
+        }
+        return end(partEnds, parts, length);
+    }
+
+    private static int end(int[] partEnds, int parts, int index) {
+        if (partEnds != null && parts < partEnds.length) {
+            partEnds[parts] = index;
+        }
+        return parts + 1;
+    }
+}
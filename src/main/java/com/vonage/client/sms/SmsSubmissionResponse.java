@@ -18,8 +18,8 @@ package com.vonage.client.sms;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageResponseParseException;
+import com.vonage.client.common.JsonCodec;
 import java.util.List;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -29,8 +29,7 @@ public class SmsSubmissionResponse {
 
     public static SmsSubmissionResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, SmsSubmissionResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, SmsSubmissionResponse.class);
         } catch (JsonProcessingException jme) {
             throw new VonageResponseParseException("Failed to produce SmsSubmissionResponse from json.", jme);
         }
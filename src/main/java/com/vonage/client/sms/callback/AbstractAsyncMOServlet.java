@@ -0,0 +1,557 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.sms.callback;
+
+import com.vonage.client.auth.RequestSignatureVerifier;
+import com.vonage.client.auth.hashutils.HashUtil;
+import com.vonage.client.sms.callback.messages.MO;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URLEncodedUtils;
+import javax.servlet.AsyncContext;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An asynchronous alternative to {@link AbstractMOServlet}, built on Servlet 3.1 async processing.
+ * <p>
+ * Form encoded request bodies are read with non-blocking I/O, so container threads are not held whilst a slow client
+ * sends its request. Once validated, each MO is handed to a consumer executor and the callback is acknowledged
+ * immediately, as with {@link AbstractMOServlet}. Unlike that class, the number of messages which have been accepted
+ * but not yet consumed is bounded by {@link Settings.Builder#queueCapacity(int)}. When the limit is reached, the
+ * {@link Backpressure} policy decides whether the callback is rejected with a {@code 503} status, so that Vonage
+ * retries it later, or the request waits for space.
+ * <p>
+ * The servlet must be registered with async support enabled. Requests which are not async capable, and requests
+ * without a form encoded body, are handled on the request thread.
+ *
+ * @since 7.4.0
+ */
+public abstract class AbstractAsyncMOServlet extends HttpServlet {
+    private static final long serialVersionUID = 3201187468342745962L;
+    private static final Log LOG = LogFactory.getLog(AbstractAsyncMOServlet.class);
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+
+    /**
+     * Policy applied when the consumer queue is full.
+     */
+    public enum Backpressure {
+        /**
+         * Reject the callback with {@code 503 Service Unavailable}, so that it is retried by Vonage.
+         */
+        REJECT,
+
+        /**
+         * Wait until the queue has space. Requests handled on the request thread wait there; requests whose body is
+         * read asynchronously wait on a container thread obtained through {@link AsyncContext#start(Runnable)}, never
+         * on the thread delivering read events.
+         */
+        BLOCK
+    }
+
+    private final transient Settings settings;
+    private final transient RequestSignatureVerifier signatureVerifier;
+    private final transient Executor consumer;
+    private final transient ExecutorService ownedConsumer;
+    private final transient Semaphore queuePermits;
+    private final transient LongAdder accepted = new LongAdder(), rejected = new LongAdder(),
+            consumed = new LongAdder(), failed = new LongAdder(), totalLatencyNanos = new LongAdder();
+    private final transient LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates the servlet.
+     *
+     * @param settings The validation, consumer and backpressure settings.
+     */
+    protected AbstractAsyncMOServlet(Settings settings) {
+        this.settings = Objects.requireNonNull(settings, "Settings are required.");
+        signatureVerifier = settings.signatureSecret != null ?
+                new RequestSignatureVerifier(settings.signatureSecret, settings.hashType) : null;
+        queuePermits = new Semaphore(settings.queueCapacity);
+        if (settings.executor != null) {
+            consumer = settings.executor;
+            ownedConsumer = null;
+        }
+        else {
+            AtomicInteger threadCount = new AtomicInteger();
+            ownedConsumer = new ThreadPoolExecutor(
+                    settings.consumerThreads, settings.consumerThreads, 0, TimeUnit.MILLISECONDS,
+                    // Never holds more than queueCapacity tasks, since a permit is taken before each is submitted.
+                    new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "vonage-mo-consumer-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+            );
+            consumer = ownedConsumer;
+        }
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        handleRequest(request, response);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        handleRequest(request, response);
+    }
+
+    /**
+     * Stops the consumer executor created by this servlet, if any. Messages which have already been accepted are
+     * still consumed. A caller-supplied executor is left running.
+     */
+    @Override
+    public void destroy() {
+        if (ownedConsumer != null) {
+            ownedConsumer.shutdown();
+        }
+        super.destroy();
+    }
+
+    private void handleRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long receivedAt = System.nanoTime();
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.startsWith(FORM_CONTENT_TYPE) || !request.isAsyncSupported()) {
+            Map<String, String> params = new LinkedHashMap<>();
+            for (Map.Entry<String, String[]> entry : request.getParameterMap().entrySet()) {
+                String[] values = entry.getValue();
+                params.put(entry.getKey(), values != null && values.length > 0 ? values[0] : null);
+            }
+            processRequest(params, response, receivedAt);
+            return;
+        }
+
+        AsyncContext async = request.startAsync(request, response);
+        async.setTimeout(settings.asyncTimeout);
+        ServletInputStream input = request.getInputStream();
+        input.setReadListener(new BodyReader(async, request, input, receivedAt));
+    }
+
+    private void processRequest(Map<String, String> params, HttpServletResponse response, long receivedAt)
+            throws IOException {
+        response.setContentType("text/plain");
+        try {
+            validateRequest(params);
+            MO mo = AbstractMOServlet.parseMO(params::get);
+            if (!enqueue(mo, receivedAt)) {
+                rejected.increment();
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Consumer queue is full");
+                return;
+            }
+            accepted.increment();
+            try (PrintWriter out = response.getWriter()) {
+                out.print("OK");
+                out.flush();
+            }
+        }
+        catch (VonageCallbackRequestValidationException ex) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    private void validateRequest(Map<String, String> params) throws VonageCallbackRequestValidationException {
+        if (settings.validateCredentials) {
+            if ((settings.expectedUsername != null && !settings.expectedUsername.equals(params.get("username"))) ||
+                    (settings.expectedPassword != null && !settings.expectedPassword.equals(params.get("password")))) {
+                throw new VonageCallbackRequestValidationException("Bad Credentials");
+            }
+        }
+        if (signatureVerifier != null && !signatureVerifier.isValid(params)) {
+            throw new VonageCallbackRequestValidationException("Bad Signature");
+        }
+    }
+
+    private boolean enqueue(MO mo, long receivedAt) {
+        if (settings.backpressure == Backpressure.BLOCK) {
+            try {
+                queuePermits.acquire();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        else if (!queuePermits.tryAcquire()) {
+            return false;
+        }
+
+        try {
+            consumer.execute(() -> runConsumer(mo, receivedAt));
+            return true;
+        }
+        catch (RejectedExecutionException ex) {
+            queuePermits.release();
+            return false;
+        }
+    }
+
+    private void runConsumer(MO mo, long receivedAt) {
+        try {
+            consume(mo);
+            consumed.increment();
+        }
+        catch (RuntimeException ex) {
+            failed.increment();
+            LOG.error("Failed to consume MO " + mo.getMessageId(), ex);
+        }
+        finally {
+            long latency = System.nanoTime() - receivedAt;
+            totalLatencyNanos.add(latency);
+            maxLatencyNanos.accumulate(latency);
+            queuePermits.release();
+        }
+    }
+
+    /**
+     * @return The number of messages which have been accepted but have not yet finished being consumed.
+     */
+    public int getQueueDepth() {
+        return settings.queueCapacity - queuePermits.availablePermits();
+    }
+
+    /**
+     * @return The number of callbacks which were acknowledged and queued for consumption.
+     */
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    /**
+     * @return The number of valid callbacks which were rejected because the queue was full.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return The number of messages for which {@link #consume(MO)} returned normally.
+     */
+    public long getConsumedCount() {
+        return consumed.sum();
+    }
+
+    /**
+     * @return The number of messages for which {@link #consume(MO)} threw an exception.
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * @return The mean time from receiving a callback to {@link #consume(MO)} completing, or zero if none have.
+     */
+    public Duration getAverageLatency() {
+        long count = consumed.sum() + failed.sum();
+        return Duration.ofNanos(count == 0 ? 0 : totalLatencyNanos.sum() / count);
+    }
+
+    /**
+     * @return The longest time from receiving a callback to {@link #consume(MO)} completing.
+     */
+    public Duration getMaxLatency() {
+        return Duration.ofNanos(maxLatencyNanos.get());
+    }
+
+    /**
+     * Called on the consumer executor with each valid message.
+     *
+     * @param mo The message object that was provided in the HTTP request.
+     */
+    public abstract void consume(MO mo);
+
+    /**
+     * Reads a form encoded body without blocking, then processes the request.
+     */
+    private final class BodyReader implements ReadListener {
+        private final AsyncContext async;
+        private final HttpServletRequest request;
+        private final ServletInputStream input;
+        private final long receivedAt;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final byte[] buffer = new byte[4096];
+        private boolean finished;
+
+        BodyReader(AsyncContext async, HttpServletRequest request, ServletInputStream input, long receivedAt) {
+            this.async = async;
+            this.request = request;
+            this.input = input;
+            this.receivedAt = receivedAt;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            int read;
+            while (!finished && input.isReady() && (read = input.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+                if (body.size() > settings.maxRequestSize) {
+                    finished = true;
+                    HttpServletResponse response = (HttpServletResponse) async.getResponse();
+                    response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                    async.complete();
+                }
+            }
+        }
+
+        @Override
+        public void onAllDataRead() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            boolean dispatched = false;
+            try {
+                Charset charset = request.getCharacterEncoding() != null ?
+                        Charset.forName(request.getCharacterEncoding()) : StandardCharsets.UTF_8;
+                Map<String, String> params = new LinkedHashMap<>();
+                // As with getParameter, query string parameters come first and the first value of each name is used.
+                if (request.getQueryString() != null) {
+                    addParameters(params, request.getQueryString(), charset);
+                }
+                addParameters(params, new String(body.toByteArray(), charset), charset);
+                if (settings.backpressure == Backpressure.BLOCK) {
+                    // Listener callbacks run on the container's non-blocking I/O threads, which must not wait for space.
+                    async.start(() -> respond(params));
+                    dispatched = true;
+                }
+                else {
+                    processRequest(params, (HttpServletResponse) async.getResponse(), receivedAt);
+                }
+            }
+            finally {
+                if (!dispatched) {
+                    async.complete();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            LOG.warn("Failed to read MO callback body.", failure);
+            if (!finished) {
+                finished = true;
+                async.complete();
+            }
+        }
+
+        private void respond(Map<String, String> params) {
+            try {
+                processRequest(params, (HttpServletResponse) async.getResponse(), receivedAt);
+            }
+            catch (IOException ex) {
+                LOG.warn("Failed to respond to MO callback.", ex);
+            }
+            finally {
+                async.complete();
+            }
+        }
+
+        private void addParameters(Map<String, String> params, String encoded, Charset charset) {
+            for (NameValuePair param : URLEncodedUtils.parse(encoded, charset)) {
+                params.putIfAbsent(param.getName(), param.getValue());
+            }
+        }
+    }
+
+    /**
+     * Configuration for an {@link AbstractAsyncMOServlet}.
+     */
+    public static final class Settings {
+        private final String signatureSecret, expectedUsername, expectedPassword;
+        private final boolean validateCredentials;
+        private final HashUtil.HashType hashType;
+        private final int consumerThreads, queueCapacity, maxRequestSize;
+        private final Executor executor;
+        private final Backpressure backpressure;
+        private final long asyncTimeout;
+
+        private Settings(Builder builder) {
+            signatureSecret = builder.signatureSecret;
+            hashType = builder.hashType;
+            validateCredentials = builder.validateCredentials;
+            expectedUsername = builder.expectedUsername;
+            expectedPassword = builder.expectedPassword;
+            consumerThreads = builder.consumerThreads;
+            queueCapacity = builder.queueCapacity;
+            executor = builder.executor;
+            backpressure = builder.backpressure;
+            maxRequestSize = builder.maxRequestSize;
+            asyncTimeout = builder.asyncTimeout;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        public static final class Builder {
+            private String signatureSecret, expectedUsername, expectedPassword;
+            private boolean validateCredentials;
+            private HashUtil.HashType hashType = HashUtil.HashType.MD5;
+            private int consumerThreads = 10, queueCapacity = 1000, maxRequestSize = 64 * 1024;
+            private Executor executor;
+            private Backpressure backpressure = Backpressure.REJECT;
+            private long asyncTimeout = 30_000;
+
+            private Builder() {}
+
+            /**
+             * Verify the signature of each callback.
+             *
+             * @param signatureSecret The signature secret of the account.
+             * @param hashType The hash type the account signs with.
+             *
+             * @return This builder.
+             */
+            public Builder signatureSecret(String signatureSecret, HashUtil.HashType hashType) {
+                this.signatureSecret = Objects.requireNonNull(signatureSecret, "Signature secret is required.");
+                this.hashType = Objects.requireNonNull(hashType, "Hash type is required.");
+                return this;
+            }
+
+            /**
+             * Check the {@code username} and {@code password} parameters of each callback. A {@code null}
+             * expected value is not checked.
+             *
+             * @param expectedUsername The expected username.
+             * @param expectedPassword The expected password.
+             *
+             * @return This builder.
+             */
+            public Builder credentials(String expectedUsername, String expectedPassword) {
+                this.validateCredentials = true;
+                this.expectedUsername = expectedUsername;
+                this.expectedPassword = expectedPassword;
+                return this;
+            }
+
+            /**
+             * (OPTIONAL) Number of threads consuming messages. Ignored if an {@link #executor(Executor)} is set.
+             * The default is 10.
+             *
+             * @param consumerThreads The number of consumer threads.
+             *
+             * @return This builder.
+             */
+            public Builder consumerThreads(int consumerThreads) {
+                if (consumerThreads < 1) {
+                    throw new IllegalArgumentException("Consumer threads must be positive.");
+                }
+                this.consumerThreads = consumerThreads;
+                return this;
+            }
+
+            /**
+             * (OPTIONAL) Maximum number of messages accepted but not yet consumed, including those being consumed.
+             * The default is 1000.
+             *
+             * @param queueCapacity The queue capacity.
+             *
+             * @return This builder.
+             */
+            public Builder queueCapacity(int queueCapacity) {
+                if (queueCapacity < 1) {
+                    throw new IllegalArgumentException("Queue capacity must be positive.");
+                }
+                this.queueCapacity = queueCapacity;
+                return this;
+            }
+
+            /**
+             * (OPTIONAL) Executor on which to consume messages, instead of a pool owned by the servlet. The executor
+             * is not shut down when the servlet is destroyed.
+             *
+             * @param executor The consumer executor.
+             *
+             * @return This builder.
+             */
+            public Builder executor(Executor executor) {
+                this.executor = executor;
+                return this;
+            }
+
+            /**
+             * (OPTIONAL) What to do when the queue is full. The default is {@link Backpressure#REJECT}.
+             *
+             * @param backpressure The backpressure policy.
+             *
+             * @return This builder.
+             */
+            public Builder backpressure(Backpressure backpressure) {
+                this.backpressure = Objects.requireNonNull(backpressure, "Backpressure policy is required.");
+                return this;
+            }
+
+            /**
+             * (OPTIONAL) Largest request body accepted, in bytes. Larger requests are rejected with {@code 413}.
+             * The default is 64 KiB.
+             *
+             * @param maxRequestSize The maximum body size.
+             *
+             * @return This builder.
+             */
+            public Builder maxRequestSize(int maxRequestSize) {
+                if (maxRequestSize < 1) {
+                    throw new IllegalArgumentException("Maximum request size must be positive.");
+                }
+                this.maxRequestSize = maxRequestSize;
+                return this;
+            }
+
+            /**
+             * (OPTIONAL) Timeout for reading a request asynchronously. The default is 30 seconds.
+             *
+             * @param asyncTimeout The async timeout.
+             *
+             * @return This builder.
+             */
+            public Builder asyncTimeout(Duration asyncTimeout) {
+                if (asyncTimeout.isNegative() || asyncTimeout.isZero()) {
+                    throw new IllegalArgumentException("Async timeout must be positive.");
+                }
+                this.asyncTimeout = asyncTimeout.toMillis();
+                return this;
+            }
+
+            public Settings build() {
+                return new Settings(this);
+            }
+        }
+    }
+}
@@ -31,6 +31,7 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 /**
  * An abstract Servlet that receives and parses an incoming callback request for an MO message.
@@ -124,37 +125,7 @@ public abstract class AbstractMOServlet extends HttpServlet {
         try {
             validateRequest(request);
 
-            String messageId = request.getParameter("messageId");
-            String sender = request.getParameter("msisdn");
-            String destination = request.getParameter("to");
-            if (sender == null || destination == null || messageId == null) {
-                throw new VonageCallbackRequestValidationException("Missing mandatory fields");
-            }
-
-            MO.MESSAGE_TYPE messageType = parseMessageType(request.getParameter("type"));
-
-            BigDecimal price = parsePrice(request.getParameter("price"));
-            Date timeStamp = parseTimeStamp(request.getParameter("message-timestamp"));
-
-            MO mo = new MO(messageId, messageType, sender, destination, price, timeStamp);
-            if (messageType == MO.MESSAGE_TYPE.TEXT || messageType == MO.MESSAGE_TYPE.UNICODE) {
-                String messageBody = request.getParameter("text");
-                if (messageBody == null) {
-                    throw new VonageCallbackRequestValidationException("Missing text field");
-                }
-                mo.setTextData(messageBody, request.getParameter("keyword"));
-            } else if (messageType == MO.MESSAGE_TYPE.BINARY) {
-                byte[] data = parseBinaryData(request.getParameter("data"));
-                if (data == null) {
-                    throw new VonageCallbackRequestValidationException("Missing data field");
-                }
-                mo.setBinaryData(data, parseBinaryData(request.getParameter("udh")));
-            }
-            extractConcatenationData(request, mo);
-
-            // TODO: These are undocumented:
-            mo.setNetworkCode(request.getParameter("network-code"));
-            mo.setSessionId(request.getParameter("sessionId"));
+            MO mo = parseMO(request::getParameter);
 
             // Push the task to an async consumption thread
             ConsumeTask task = new ConsumeTask(this, mo);
@@ -171,15 +142,60 @@ public abstract class AbstractMOServlet extends HttpServlet {
         }
     }
 
-    private static void extractConcatenationData(HttpServletRequest request, MO mo) throws VonageCallbackRequestValidationException {
-        String concatString = request.getParameter("concat");
+    /**
+     * Builds an MO from the parameters of a callback request.
+     *
+     * @param parameters Function returning the value of the named request parameter, or {@code null} if absent.
+     *
+     * @return The parsed message.
+     *
+     * @throws VonageCallbackRequestValidationException If mandatory fields are missing or any field is malformed.
+     */
+    static MO parseMO(Function<String, String> parameters) throws VonageCallbackRequestValidationException {
+        String messageId = parameters.apply("messageId");
+        String sender = parameters.apply("msisdn");
+        String destination = parameters.apply("to");
+        if (sender == null || destination == null || messageId == null) {
+            throw new VonageCallbackRequestValidationException("Missing mandatory fields");
+        }
+
+        MO.MESSAGE_TYPE messageType = parseMessageType(parameters.apply("type"));
+
+        BigDecimal price = parsePrice(parameters.apply("price"));
+        Date timeStamp = parseTimeStamp(parameters.apply("message-timestamp"));
+
+        MO mo = new MO(messageId, messageType, sender, destination, price, timeStamp);
+        if (messageType == MO.MESSAGE_TYPE.TEXT || messageType == MO.MESSAGE_TYPE.UNICODE) {
+            String messageBody = parameters.apply("text");
+            if (messageBody == null) {
+                throw new VonageCallbackRequestValidationException("Missing text field");
+            }
+            mo.setTextData(messageBody, parameters.apply("keyword"));
+        } else if (messageType == MO.MESSAGE_TYPE.BINARY) {
+            byte[] data = parseBinaryData(parameters.apply("data"));
+            if (data == null) {
+                throw new VonageCallbackRequestValidationException("Missing data field");
+            }
+            mo.setBinaryData(data, parseBinaryData(parameters.apply("udh")));
+        }
+        extractConcatenationData(parameters, mo);
+
+        // TODO: These are undocumented:
+        mo.setNetworkCode(parameters.apply("network-code"));
+        mo.setSessionId(parameters.apply("sessionId"));
+
+        return mo;
+    }
+
+    private static void extractConcatenationData(Function<String, String> parameters, MO mo) throws VonageCallbackRequestValidationException {
+        String concatString = parameters.apply("concat");
         if (concatString != null && concatString.equals("true")) {
             int totalParts;
             int partNumber;
-            String reference = request.getParameter("concat-ref");
+            String reference = parameters.apply("concat-ref");
             try {
-                totalParts = Integer.parseInt(request.getParameter("concat-total"));
-                partNumber = Integer.parseInt(request.getParameter("concat-part"));
+                totalParts = Integer.parseInt(parameters.apply("concat-total"));
+                partNumber = Integer.parseInt(parameters.apply("concat-part"));
             } catch (Exception e) {
                 throw new VonageCallbackRequestValidationException("bad concat fields");
             }
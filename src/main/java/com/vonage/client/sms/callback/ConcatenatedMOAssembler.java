@@ -0,0 +1,399 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.sms.callback;
+
+import com.vonage.client.sms.callback.messages.MO;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Reassembles the parts of concatenated inbound (MO) messages in memory.
+ * <p>
+ * Parts are grouped by sender and {@code concat-ref}, and stored in a slot array indexed by part number. Once every
+ * part of a message has arrived, {@link #accept(MO)} returns a single {@link MO} with the combined text or binary
+ * body. Messages which remain incomplete for longer than the configured timeout, or which are evicted because the
+ * number of incomplete messages has reached the configured limit, are passed to the expiry handler as
+ * {@link IncompleteMessage}s.
+ * <p>
+ * Pending messages are spread over independently locked segments, so concurrent callers rarely contend. Expired
+ * messages are swept from a segment whenever it is accessed; call {@link #expire()} periodically to sweep all segments
+ * when traffic is light.
+ *
+ * @since 7.4.0
+ */
+public final class ConcatenatedMOAssembler {
+    /**
+     * The largest number of parts a concatenated SMS can have.
+     */
+    static final int MAX_PARTS = 255;
+
+    private final Segment[] segments;
+    private final long timeoutNanos;
+    private final LongSupplier nanoClock;
+    private final Consumer<? super IncompleteMessage> expiryHandler;
+    private static final Log LOG = LogFactory.getLog(ConcatenatedMOAssembler.class);
+
+    private final LongAdder completed = new LongAdder(), expired = new LongAdder(), discarded = new LongAdder();
+
+    private ConcatenatedMOAssembler(Builder builder) {
+        timeoutNanos = builder.timeout.toNanos();
+        nanoClock = builder.nanoClock;
+        expiryHandler = builder.expiryHandler;
+        int segmentCount = Math.min(builder.segments, builder.maxPendingMessages);
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // Round up so that the total capacity is at least maxPendingMessages.
+            segments[i] = new Segment((builder.maxPendingMessages + segmentCount - 1) / segmentCount);
+        }
+    }
+
+    /**
+     * Adds a received message.
+     *
+     * @param mo The message, which may or may not be part of a concatenated message.
+     *
+     * @return The message itself if it is not concatenated, the reassembled message if this was the final missing
+     * part, or {@code null} if parts are still outstanding or this part was discarded as a duplicate or invalid.
+     */
+    public MO accept(MO mo) {
+        if (!mo.isConcat()) {
+            return mo;
+        }
+        int total = mo.getConcatTotalParts(), part = mo.getConcatPartNumber();
+        if (total < 1 || total > MAX_PARTS || part < 1 || part > total) {
+            discarded.increment();
+            return null;
+        }
+        if (total == 1) {
+            completed.increment();
+            return merge(new MO[]{mo});
+        }
+
+        String key = mo.getSender() + '\u0000' + mo.getConcatReferenceNumber();
+        Segment segment = segments[(key.hashCode() & Integer.MAX_VALUE) % segments.length];
+        List<IncompleteMessage> evicted = new ArrayList<>(0);
+        MO[] parts = segment.add(key, mo, nanoClock.getAsLong(), evicted);
+        MO result = null;
+        if (parts != null) {
+            completed.increment();
+            result = merge(parts);
+        }
+        handleExpired(evicted);
+        return result;
+    }
+
+    /**
+     * Removes every incomplete message which has passed its timeout, passing each to the expiry handler.
+     *
+     * @return The number of messages expired.
+     */
+    public int expire() {
+        long now = nanoClock.getAsLong();
+        List<IncompleteMessage> evicted = new ArrayList<>(0);
+        for (Segment segment : segments) {
+            segment.expire(now, evicted);
+        }
+        handleExpired(evicted);
+        return evicted.size();
+    }
+
+    private void handleExpired(List<IncompleteMessage> evicted) {
+        for (IncompleteMessage message : evicted) {
+            expired.increment();
+            if (expiryHandler != null) {
+                try {
+                    expiryHandler.accept(message);
+                }
+                catch (RuntimeException ex) {
+                    LOG.error("Expiry handler failed for incomplete message from " + message.getSender(), ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Combines parts in order into a single message, taking the metadata of the first part. Prices are summed.
+     */
+    static MO merge(MO[] parts) {
+        MO first = parts[0];
+        BigDecimal price = null;
+        for (MO part : parts) {
+            if (part.getPrice() != null) {
+                price = price == null ? part.getPrice() : price.add(part.getPrice());
+            }
+        }
+        MO result = new MO(
+                first.getMessageId(), first.getMessageType(), first.getSender(),
+                first.getDestination(), price, first.getTimeStamp()
+        );
+        if (first.getMessageType() == MO.MESSAGE_TYPE.BINARY) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            for (MO part : parts) {
+                if (part.getBinaryMessageBody() != null) {
+                    body.write(part.getBinaryMessageBody(), 0, part.getBinaryMessageBody().length);
+                }
+            }
+            result.setBinaryData(body.toByteArray(), null);
+        }
+        else {
+            int length = 0;
+            for (MO part : parts) {
+                length += part.getMessageBody() != null ? part.getMessageBody().length() : 0;
+            }
+            StringBuilder text = new StringBuilder(length);
+            for (MO part : parts) {
+                if (part.getMessageBody() != null) {
+                    text.append(part.getMessageBody());
+                }
+            }
+            result.setTextData(text.toString(), first.getKeyword());
+        }
+        result.setNetworkCode(first.getNetworkCode());
+        result.setSessionId(first.getSessionId());
+        return result;
+    }
+
+    /**
+     * @return The number of concatenated messages which are waiting for more parts.
+     */
+    public int getPendingCount() {
+        int pending = 0;
+        for (Segment segment : segments) {
+            pending += segment.size();
+        }
+        return pending;
+    }
+
+    /**
+     * @return The number of concatenated messages which have been reassembled.
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * @return The number of incomplete messages which timed out or were evicted.
+     */
+    public long getExpiredCount() {
+        return expired.sum();
+    }
+
+    /**
+     * @return The number of parts which were ignored as duplicates, inconsistent with earlier parts, or invalid.
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * Pending messages of one segment, in order of arrival of their first part, which is also their expiry order.
+     */
+    private final class Segment {
+        private final LinkedHashMap<String, PartSet> pending = new LinkedHashMap<>();
+        private final int capacity;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized int size() {
+            return pending.size();
+        }
+
+        synchronized MO[] add(String key, MO mo, long now, List<IncompleteMessage> evicted) {
+            expire(now, evicted);
+            PartSet set = pending.get(key);
+            if (set == null) {
+                if (pending.size() >= capacity) {
+                    Iterator<PartSet> eldest = pending.values().iterator();
+                    evicted.add(eldest.next().toIncomplete());
+                    eldest.remove();
+                }
+                set = new PartSet(mo, now + timeoutNanos);
+                pending.put(key, set);
+            }
+            else if (set.parts.length != mo.getConcatTotalParts() || set.parts[mo.getConcatPartNumber() - 1] != null) {
+                discarded.increment();
+                return null;
+            }
+
+            set.parts[mo.getConcatPartNumber() - 1] = mo;
+            if (++set.received < set.parts.length) {
+                return null;
+            }
+            pending.remove(key);
+            return set.parts;
+        }
+
+        synchronized void expire(long now, List<IncompleteMessage> evicted) {
+            Iterator<PartSet> sets = pending.values().iterator();
+            while (sets.hasNext()) {
+                PartSet set = sets.next();
+                if (now - set.deadline < 0) {
+                    break;
+                }
+                evicted.add(set.toIncomplete());
+                sets.remove();
+            }
+        }
+    }
+
+    private static final class PartSet {
+        final MO[] parts;
+        final long deadline;
+        int received;
+
+        PartSet(MO first, long deadline) {
+            this.parts = new MO[first.getConcatTotalParts()];
+            this.deadline = deadline;
+        }
+
+        IncompleteMessage toIncomplete() {
+            List<MO> received = new ArrayList<>(this.received);
+            for (MO part : parts) {
+                if (part != null) {
+                    received.add(part);
+                }
+            }
+            return new IncompleteMessage(received, parts.length);
+        }
+    }
+
+    /**
+     * The parts which were received of a concatenated message which was never completed.
+     */
+    public static final class IncompleteMessage {
+        private final List<MO> receivedParts;
+        private final int totalParts;
+
+        IncompleteMessage(List<MO> receivedParts, int totalParts) {
+            this.receivedParts = Collections.unmodifiableList(receivedParts);
+            this.totalParts = totalParts;
+        }
+
+        /**
+         * @return The sender of the message.
+         */
+        public String getSender() {
+            return receivedParts.get(0).getSender();
+        }
+
+        /**
+         * @return The concatenation reference of the message.
+         */
+        public String getConcatReferenceNumber() {
+            return receivedParts.get(0).getConcatReferenceNumber();
+        }
+
+        /**
+         * @return The number of parts the message should have had.
+         */
+        public int getTotalParts() {
+            return totalParts;
+        }
+
+        /**
+         * @return The parts which were received, in part number order.
+         */
+        public List<MO> getReceivedParts() {
+            return receivedParts;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int maxPendingMessages = 10_000, segments = 16;
+        private Duration timeout = Duration.ofMinutes(5);
+        private Consumer<? super IncompleteMessage> expiryHandler;
+        private LongSupplier nanoClock = System::nanoTime;
+
+        private Builder() {}
+
+        /**
+         * (OPTIONAL) Maximum number of incomplete messages to hold. When reached, the oldest incomplete message is
+         * evicted and passed to the expiry handler. The default is 10000.
+         *
+         * @param maxPendingMessages The maximum number of incomplete messages.
+         *
+         * @return This builder.
+         */
+        public Builder maxPendingMessages(int maxPendingMessages) {
+            if (maxPendingMessages < 1) {
+                throw new IllegalArgumentException("Maximum pending messages must be positive.");
+            }
+            this.maxPendingMessages = maxPendingMessages;
+            return this;
+        }
+
+        /**
+         * (OPTIONAL) How long to wait for all parts of a message, from the arrival of its first part. The default is
+         * 5 minutes.
+         *
+         * @param timeout The reassembly timeout.
+         *
+         * @return This builder.
+         */
+        public Builder timeout(Duration timeout) {
+            if (timeout.isNegative() || timeout.isZero()) {
+                throw new IllegalArgumentException("Timeout must be positive.");
+            }
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * (OPTIONAL) Called with each incomplete message which expires or is evicted. Exceptions thrown by the
+         * handler are logged, and do not prevent the other messages from being handled.
+         *
+         * @param expiryHandler The handler for incomplete messages.
+         *
+         * @return This builder.
+         */
+        public Builder onExpiry(Consumer<? super IncompleteMessage> expiryHandler) {
+            this.expiryHandler = expiryHandler;
+            return this;
+        }
+
+        Builder segments(int segments) {
+            this.segments = segments;
+            return this;
+        }
+
+        Builder nanoClock(LongSupplier nanoClock) {
+            this.nanoClock = Objects.requireNonNull(nanoClock);
+            return this;
+        }
+
+        public ConcatenatedMOAssembler build() {
+            return new ConcatenatedMOAssembler(this);
+        }
+    }
+}
@@ -0,0 +1,714 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.sms.callback;
+
+import com.vonage.client.sms.MessageStatus;
+import com.vonage.client.sms.SmsSubmissionResponse;
+import com.vonage.client.sms.SmsSubmissionResponseMessage;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Correlates delivery receipts with the messages they relate to, without an external store.
+ * <p>
+ * Each submitted message ID is recorded with its campaign, client reference, number of parts and price. When a final
+ * receipt arrives for that ID, through {@link #onSmsDeliveryReceipt(Map)}, {@link #onMessageStatus}, or
+ * {@link #onReceipt(String, Outcome)}, the record is removed and returned, and the campaign's delivered or failed
+ * counter is incremented. Records without a final receipt are evicted once their time to live has passed and counted as
+ * expired.
+ * <p>
+ * SMS message IDs (hexadecimal) and Messages API UUIDs are stored as pairs of {@code long}s in open addressing tables
+ * made of parallel arrays, so lookups are O(1) and no object is allocated per record. IDs in any other format are held
+ * in an ordinary map. Records are spread over independently locked segments, whose tables grow with the number of
+ * records held rather than being sized for the maximum up front.
+ *
+ * @since 7.4.0
+ */
+public final class DeliveryReceiptCorrelator {
+    private static final byte EMPTY = 0, UUID_KEY = 1, HEX_KEY = 2;
+    private static final int MAX_HEX_DIGITS = 30, PRICE_SCALE = 8;
+
+    /**
+     * Whether a receipt is final, and if so, whether the message was delivered.
+     */
+    public enum Outcome {
+        DELIVERED, FAILED, PENDING
+    }
+
+    private final Segment[] segments;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Campaign> campaigns = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder(), unmatched = new LongAdder();
+
+    private DeliveryReceiptCorrelator(Builder builder) {
+        ttlNanos = builder.ttl.toNanos();
+        nanoClock = builder.nanoClock;
+        int segmentCount = Math.min(builder.segments, builder.maxEntries);
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment((builder.maxEntries + segmentCount - 1) / segmentCount);
+        }
+    }
+
+    /**
+     * Records each successfully submitted part of an SMS. Parts which were not accepted are counted as failed
+     * immediately, since no receipt will follow.
+     *
+     * @param campaign Name under which to aggregate delivery counters.
+     * @param response The response from {@link com.vonage.client.sms.SmsClient#submitMessage}.
+     */
+    public void recordSubmission(String campaign, SmsSubmissionResponse response) {
+        int parts = response.getMessageCount();
+        for (SmsSubmissionResponseMessage message : response.getMessages()) {
+            if (message.getStatus() == MessageStatus.OK && message.getId() != null) {
+                recordSubmission(campaign, message.getId(), message.getClientRef(), parts, message.getMessagePrice());
+            }
+            else {
+                Campaign stats = campaign(campaign);
+                stats.submitted.increment();
+                stats.failed.increment();
+            }
+        }
+    }
+
+    /**
+     * Records a submitted message.
+     *
+     * @param campaign Name under which to aggregate delivery counters.
+     * @param messageId ID of the message (or message part) which receipts will refer to.
+     * @param clientRef The client reference of the message, may be {@code null}.
+     * @param parts Number of parts of the submission this message belongs to.
+     * @param price Price of the message, may be {@code null}.
+     */
+    public void recordSubmission(String campaign, String messageId, String clientRef, int parts, BigDecimal price) {
+        Campaign stats = campaign(campaign);
+        stats.submitted.increment();
+        long priceUnits = price != null ? price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValue() : 0;
+        stats.priceUnits.add(priceUnits);
+        long now = nanoClock.getAsLong();
+        if (!segmentFor(messageId).put(messageId, stats, clientRef, parts, priceUnits, now + ttlNanos, now)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Correlates an SMS delivery receipt, as received in the parameters of the callback.
+     *
+     * @param parameters The callback parameters, which must include {@code messageId} and {@code status}.
+     *
+     * @return The matching submission if the receipt was final and a submission was recorded, otherwise {@code null}.
+     */
+    public Correlation onSmsDeliveryReceipt(Map<String, String> parameters) {
+        String messageId = parameters.get("messageId");
+        if (messageId == null) {
+            return null;
+        }
+        return onReceipt(messageId, smsOutcome(parameters.get("status")));
+    }
+
+    /**
+     * Correlates a Messages API status callback, which refers to the message by its UUID.
+     *
+     * @param status The status callback.
+     *
+     * @return The matching submission if the status was final and a submission was recorded, otherwise {@code null}.
+     */
+    public Correlation onMessageStatus(com.vonage.client.messages.MessageStatus status) {
+        if (status.getMessageUuid() == null || status.getStatus() == null) {
+            return null;
+        }
+        Outcome outcome;
+        switch (status.getStatus()) {
+            case DELIVERED:
+            case READ:
+                outcome = Outcome.DELIVERED;
+                break;
+            case REJECTED:
+            case UNDELIVERABLE:
+                outcome = Outcome.FAILED;
+                break;
+            default:
+                outcome = Outcome.PENDING;
+        }
+        return onReceipt(status.getMessageUuid().toString(), outcome);
+    }
+
+    /**
+     * Correlates a receipt. Non-final receipts leave the record in place.
+     *
+     * @param messageId ID of the message the receipt is for.
+     * @param outcome The outcome reported by the receipt.
+     *
+     * @return The matching submission if the receipt was final and a submission was recorded, otherwise {@code null}.
+     */
+    public Correlation onReceipt(String messageId, Outcome outcome) {
+        if (outcome == Outcome.PENDING) {
+            return null;
+        }
+        Correlation correlation = segmentFor(messageId).remove(messageId, outcome, nanoClock.getAsLong());
+        if (correlation == null) {
+            unmatched.increment();
+            return null;
+        }
+        (outcome == Outcome.DELIVERED ? correlation.campaign.delivered : correlation.campaign.failed).increment();
+        return correlation;
+    }
+
+    static Outcome smsOutcome(String status) {
+        if (status == null) {
+            return Outcome.PENDING;
+        }
+        switch (status) {
+            case "delivered":
+                return Outcome.DELIVERED;
+            case "failed":
+            case "rejected":
+            case "expired":
+                return Outcome.FAILED;
+            default:
+                return Outcome.PENDING;
+        }
+    }
+
+    /**
+     * Removes every record whose time to live has passed, counting each as expired in its campaign.
+     *
+     * @return The number of records removed.
+     */
+    public int evictExpired() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+        for (Segment segment : segments) {
+            evicted += segment.evictExpired(now);
+        }
+        return evicted;
+    }
+
+    /**
+     * @return The number of submissions awaiting a final receipt.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return The number of submissions which were not recorded because the store was full.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return The number of final receipts for which no submission was recorded.
+     */
+    public long getUnmatchedCount() {
+        return unmatched.sum();
+    }
+
+    /**
+     * @param campaign The campaign name.
+     *
+     * @return The counters for the campaign, or {@code null} if nothing has been recorded for it.
+     */
+    public CampaignStats getCampaignStats(String campaign) {
+        return campaigns.get(campaign);
+    }
+
+    private Campaign campaign(String name) {
+        return campaigns.computeIfAbsent(Objects.requireNonNull(name, "Campaign is required."), Campaign::new);
+    }
+
+    private Segment segmentFor(String messageId) {
+        return segments[(messageId.hashCode() & Integer.MAX_VALUE) % segments.length];
+    }
+
+    /**
+     * Packs an ID into the two halves of {@code key}, returning the kind of key, or {@link #EMPTY} if the ID has no
+     * compact form.
+     */
+    static byte encode(String id, long[] key) {
+        int length = id.length();
+        if (length == 36 && id.charAt(8) == '-' && id.charAt(13) == '-' && id.charAt(18) == '-' && id.charAt(23) == '-') {
+            long hi = 0, lo = 0;
+            int digits = 0;
+            for (int i = 0; i < length; i++) {
+                if (i == 8 || i == 13 || i == 18 || i == 23) {
+                    continue;
+                }
+                int digit = Character.digit(id.charAt(i), 16);
+                if (digit < 0) {
+                    return EMPTY;
+                }
+                if (digits++ < 16) {
+                    hi = hi << 4 | digit;
+                }
+                else {
+                    lo = lo << 4 | digit;
+                }
+            }
+            key[0] = hi;
+            key[1] = lo;
+            return UUID_KEY;
+        }
+        if (length == 0 || length > MAX_HEX_DIGITS) {
+            return EMPTY;
+        }
+        long hi = 0, lo = 0;
+        for (int i = 0; i < length; i++) {
+            char c = id.charAt(i);
+            // Only upper case is accepted, so that each key maps back to exactly one string.
+            int digit = c >= '0' && c <= '9' ? c - '0' : c >= 'A' && c <= 'F' ? c - 'A' + 10 : -1;
+            if (digit < 0) {
+                return EMPTY;
+            }
+            hi = hi << 4 | lo >>> 60;
+            lo = lo << 4 | digit;
+        }
+        // The length is kept in the top byte, which the digits never reach, to distinguish leading zeros.
+        key[0] = hi | (long) length << 56;
+        key[1] = lo;
+        return HEX_KEY;
+    }
+
+    /**
+     * A submission matched by a final receipt.
+     */
+    public static final class Correlation {
+        private final String messageId, clientRef;
+        private final Campaign campaign;
+        private final int parts;
+        private final long priceUnits;
+        private final Outcome outcome;
+
+        Correlation(String messageId, Campaign campaign, String clientRef, int parts, long priceUnits, Outcome outcome) {
+            this.messageId = messageId;
+            this.campaign = campaign;
+            this.clientRef = clientRef;
+            this.parts = parts;
+            this.priceUnits = priceUnits;
+            this.outcome = outcome;
+        }
+
+        public String getMessageId() {
+            return messageId;
+        }
+
+        public String getCampaign() {
+            return campaign.name;
+        }
+
+        public String getClientRef() {
+            return clientRef;
+        }
+
+        /**
+         * @return The number of parts of the submission the message belongs to.
+         */
+        public int getParts() {
+            return parts;
+        }
+
+        public BigDecimal getPrice() {
+            return BigDecimal.valueOf(priceUnits, PRICE_SCALE);
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+    }
+
+    /**
+     * Delivery counters for a campaign. Counts are of messages, or message parts for multi-part SMS.
+     */
+    public interface CampaignStats {
+        long getSubmittedCount();
+
+        long getDeliveredCount();
+
+        long getFailedCount();
+
+        /**
+         * @return The number of messages evicted before a final receipt arrived.
+         */
+        long getExpiredCount();
+
+        /**
+         * @return The total price of the recorded submissions.
+         */
+        BigDecimal getTotalPrice();
+    }
+
+    private static final class Campaign implements CampaignStats {
+        final String name;
+        final LongAdder submitted = new LongAdder(), delivered = new LongAdder(),
+                failed = new LongAdder(), expired = new LongAdder(), priceUnits = new LongAdder();
+
+        Campaign(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public long getSubmittedCount() {
+            return submitted.sum();
+        }
+
+        @Override
+        public long getDeliveredCount() {
+            return delivered.sum();
+        }
+
+        @Override
+        public long getFailedCount() {
+            return failed.sum();
+        }
+
+        @Override
+        public long getExpiredCount() {
+            return expired.sum();
+        }
+
+        @Override
+        public BigDecimal getTotalPrice() {
+            return BigDecimal.valueOf(priceUnits.sum(), PRICE_SCALE);
+        }
+    }
+
+    /**
+     * One independently locked table. Slots are parallel arrays indexed by linear probing on the key; deletion shifts
+     * later entries of a probe sequence back rather than leaving tombstones. The table starts small and doubles as it
+     * fills, up to the size needed for the segment's capacity.
+     * <p>
+     * Occupied slots are also linked in the order they were written. Since every record has the same time to live,
+     * this is the order in which they expire, so eviction only visits the records it removes.
+     */
+    private static final class Segment {
+        private static final int INITIAL_TABLE_SIZE = 64, NONE = -1;
+
+        private final int capacity, maxTableSize;
+        private int mask;
+        private long[] keyHi, keyLo, expiresAt, priceUnits;
+        private byte[] kinds;
+        private int[] parts, before, after;
+        private Campaign[] campaigns;
+        private String[] clientRefs;
+        private final Map<String, Fallback> fallback = new LinkedHashMap<>();
+        private final long[] key = new long[2];
+        private int size, head = NONE, tail = NONE;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            maxTableSize = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+            allocate(Math.min(INITIAL_TABLE_SIZE, maxTableSize));
+        }
+
+        private void allocate(int tableSize) {
+            mask = tableSize - 1;
+            keyHi = new long[tableSize];
+            keyLo = new long[tableSize];
+            expiresAt = new long[tableSize];
+            priceUnits = new long[tableSize];
+            kinds = new byte[tableSize];
+            parts = new int[tableSize];
+            before = new int[tableSize];
+            after = new int[tableSize];
+            campaigns = new Campaign[tableSize];
+            clientRefs = new String[tableSize];
+        }
+
+        synchronized int size() {
+            return size + fallback.size();
+        }
+
+        synchronized boolean put(String messageId, Campaign campaign, String clientRef, int partCount,
+                                 long price, long expiry, long now) {
+            byte kind = encode(messageId, key);
+            if (kind == EMPTY) {
+                // Removed first so that a rewritten record moves to the end of the expiry order.
+                if (fallback.remove(messageId) == null && size + fallback.size() >= capacity && evictExpired(now) == 0) {
+                    return false;
+                }
+                fallback.put(messageId, new Fallback(campaign, clientRef, partCount, price, expiry));
+                return true;
+            }
+
+            int slot = find(kind, key[0], key[1]);
+            if (kinds[slot] == EMPTY) {
+                if (size + fallback.size() >= capacity && evictExpired(now) == 0) {
+                    return false;
+                }
+                if ((size + 1) * 2 > mask + 1 && mask + 1 < maxTableSize) {
+                    grow();
+                }
+                // Eviction or growth may have moved entries.
+                slot = find(kind, key[0], key[1]);
+                kinds[slot] = kind;
+                keyHi[slot] = key[0];
+                keyLo[slot] = key[1];
+                size++;
+            }
+            else {
+                unlink(slot);
+            }
+            campaigns[slot] = campaign;
+            clientRefs[slot] = clientRef;
+            parts[slot] = partCount;
+            priceUnits[slot] = price;
+            expiresAt[slot] = expiry;
+            linkLast(slot);
+            return true;
+        }
+
+        synchronized Correlation remove(String messageId, Outcome outcome, long now) {
+            byte kind = encode(messageId, key);
+            if (kind == EMPTY) {
+                Fallback entry = fallback.remove(messageId);
+                if (entry == null) {
+                    return null;
+                }
+                if (now - entry.expiresAt >= 0) {
+                    entry.campaign.expired.increment();
+                    return null;
+                }
+                return new Correlation(messageId, entry.campaign, entry.clientRef, entry.parts, entry.priceUnits, outcome);
+            }
+
+            int slot = find(kind, key[0], key[1]);
+            if (kinds[slot] == EMPTY) {
+                return null;
+            }
+            Campaign campaign = campaigns[slot];
+            Correlation correlation = now - expiresAt[slot] >= 0 ? null :
+                    new Correlation(messageId, campaign, clientRefs[slot], parts[slot], priceUnits[slot], outcome);
+            if (correlation == null) {
+                campaign.expired.increment();
+            }
+            removeAt(slot);
+            return correlation;
+        }
+
+        synchronized int evictExpired(long now) {
+            int evicted = 0;
+            while (head != NONE && now - expiresAt[head] >= 0) {
+                campaigns[head].expired.increment();
+                removeAt(head);
+                evicted++;
+            }
+            for (Iterator<Fallback> entries = fallback.values().iterator(); entries.hasNext(); ) {
+                Fallback entry = entries.next();
+                if (now - entry.expiresAt < 0) {
+                    break;
+                }
+                entry.campaign.expired.increment();
+                entries.remove();
+                evicted++;
+            }
+            return evicted;
+        }
+
+        private void grow() {
+            long[] oldKeyHi = keyHi, oldKeyLo = keyLo, oldExpiresAt = expiresAt, oldPriceUnits = priceUnits;
+            byte[] oldKinds = kinds;
+            int[] oldParts = parts, oldAfter = after;
+            Campaign[] oldCampaigns = campaigns;
+            String[] oldClientRefs = clientRefs;
+            int from = head;
+            allocate((mask + 1) * 2);
+            head = tail = NONE;
+            // Reinserted in expiry order, which rebuilds the links as it goes.
+            for (; from != NONE; from = oldAfter[from]) {
+                int slot = find(oldKinds[from], oldKeyHi[from], oldKeyLo[from]);
+                kinds[slot] = oldKinds[from];
+                keyHi[slot] = oldKeyHi[from];
+                keyLo[slot] = oldKeyLo[from];
+                campaigns[slot] = oldCampaigns[from];
+                clientRefs[slot] = oldClientRefs[from];
+                parts[slot] = oldParts[from];
+                priceUnits[slot] = oldPriceUnits[from];
+                expiresAt[slot] = oldExpiresAt[from];
+                linkLast(slot);
+            }
+        }
+
+        private void linkLast(int slot) {
+            before[slot] = tail;
+            after[slot] = NONE;
+            if (tail != NONE) {
+                after[tail] = slot;
+            }
+            else {
+                head = slot;
+            }
+            tail = slot;
+        }
+
+        private void unlink(int slot) {
+            relink(before[slot], after[slot], after[slot], before[slot]);
+        }
+
+        /**
+         * Points the neighbours of a slot at {@code next} and {@code previous} respectively.
+         */
+        private void relink(int previousSlot, int nextSlot, int next, int previous) {
+            if (previousSlot != NONE) {
+                after[previousSlot] = next;
+            }
+            else {
+                head = next;
+            }
+            if (nextSlot != NONE) {
+                before[nextSlot] = previous;
+            }
+            else {
+                tail = previous;
+            }
+        }
+
+        private int home(long hi, long lo) {
+            long h = (hi * 0x9E3779B97F4A7C15L) ^ lo;
+            h ^= h >>> 32;
+            h *= 0xC2B2AE3D27D4EB4FL;
+            return (int) (h ^ h >>> 29) & mask;
+        }
+
+        private int find(byte kind, long hi, long lo) {
+            int slot = home(hi, lo);
+            while (kinds[slot] != EMPTY && !(kinds[slot] == kind && keyHi[slot] == hi && keyLo[slot] == lo)) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void removeAt(int slot) {
+            unlink(slot);
+            int gap = slot, next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                if (kinds[next] == EMPTY) {
+                    break;
+                }
+                int home = home(keyHi[next], keyLo[next]);
+                // Leave the entry if its home lies cyclically in (gap, next], otherwise move it into the gap.
+                boolean reachable = gap <= next ? gap < home && home <= next : gap < home || home <= next;
+                if (!reachable) {
+                    kinds[gap] = kinds[next];
+                    keyHi[gap] = keyHi[next];
+                    keyLo[gap] = keyLo[next];
+                    campaigns[gap] = campaigns[next];
+                    clientRefs[gap] = clientRefs[next];
+                    parts[gap] = parts[next];
+                    priceUnits[gap] = priceUnits[next];
+                    expiresAt[gap] = expiresAt[next];
+                    before[gap] = before[next];
+                    after[gap] = after[next];
+                    relink(before[next], after[next], gap, gap);
+                    gap = next;
+                }
+            }
+            kinds[gap] = EMPTY;
+            campaigns[gap] = null;
+            clientRefs[gap] = null;
+            size--;
+        }
+    }
+
+    private static final class Fallback {
+        final Campaign campaign;
+        final String clientRef;
+        final int parts;
+        final long priceUnits, expiresAt;
+
+        Fallback(Campaign campaign, String clientRef, int parts, long priceUnits, long expiresAt) {
+            this.campaign = campaign;
+            this.clientRef = clientRef;
+            this.parts = parts;
+            this.priceUnits = priceUnits;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int maxEntries = 1_000_000, segments = 16;
+        private Duration ttl = Duration.ofHours(72);
+        private LongSupplier nanoClock = System::nanoTime;
+
+        private Builder() {}
+
+        /**
+         * (OPTIONAL) Maximum number of submissions to hold. Once reached, new submissions are only recorded if
+         * expired ones can be evicted. The default is one million; memory is allocated as records are added rather
+         * than up front.
+         *
+         * @param maxEntries The capacity of the store.
+         *
+         * @return This builder.
+         */
+        public Builder maxEntries(int maxEntries) {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("Maximum entries must be positive.");
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * (OPTIONAL) How long to keep a submission waiting for its receipt. The default is 72 hours, the longest
+         * validity period of an SMS.
+         *
+         * @param ttl The time to live of each record.
+         *
+         * @return This builder.
+         */
+        public Builder ttl(Duration ttl) {
+            if (ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("TTL must be positive.");
+            }
+            this.ttl = ttl;
+            return this;
+        }
+
+        Builder segments(int segments) {
+            this.segments = segments;
+            return this;
+        }
+
+        Builder nanoClock(LongSupplier nanoClock) {
+            this.nanoClock = Objects.requireNonNull(nanoClock);
+            return this;
+        }
+
+        public DeliveryReceiptCorrelator build() {
+            return new DeliveryReceiptCorrelator(this);
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.vonage.client.sms.messages;
 
+import com.vonage.client.sms.SmsSegmenter;
 import org.apache.http.client.methods.RequestBuilder;
 
 /**
@@ -61,6 +62,23 @@ public class TextMessage extends Message {
         this.unicode = unicode;
     }
 
+    /**
+     * Instantiate a new text-message request, which will be submitted as a unicode message only if the text contains
+     * characters outside the GSM alphabet.
+     *
+     * @param from        the 'from' address that will be seen on the handset when this message arrives
+     * @param to          the phone number of the handset that you wish to send the message to
+     * @param messageBody The text of the message to be sent to the handset; {@code null} is treated as empty
+     *
+     * @return A new text message using the most compact encoding for the text.
+     * @since 7.4.0
+     */
+    public static TextMessage withAutoEncoding(final String from, final String to, final String messageBody) {
+        return new TextMessage(from, to, messageBody, messageBody != null &&
+                SmsSegmenter.detectEncoding(messageBody) == SmsSegmenter.Encoding.UCS_2
+        );
+    }
+
     /**
      * @return String The text of the message to be sent to the handset
      */
@@ -77,6 +95,20 @@ public class TextMessage extends Message {
         return unicode;
     }
 
+    /**
+     * Calculates the number of parts this message will be split into, each of which is billed separately. A message
+     * without a body is counted as empty.
+     *
+     * @return The number of parts, which is at least 1.
+     * @see SmsSegmenter
+     * @since 7.4.0
+     */
+    public int countParts() {
+        return SmsSegmenter.countParts(messageBody != null ? messageBody : "",
+                unicode ? SmsSegmenter.Encoding.UCS_2 : SmsSegmenter.Encoding.GSM_7
+        );
+    }
+
     /**
      * Gets the MessageType.
      *
@@ -20,6 +20,7 @@ import com.vonage.client.sns.request.SnsPublishRequest;
 import com.vonage.client.sns.request.SnsSubscribeRequest;
 import com.vonage.client.sns.response.SnsPublishResponse;
 import com.vonage.client.sns.response.SnsSubscribeResponse;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A client for talking to the Vonage SNS API. The standard way to obtain an instance of this class is to use {@link
@@ -44,4 +45,32 @@ public class SnsClient {
     public SnsSubscribeResponse subscribe(SnsSubscribeRequest request) throws VonageClientException, VonageResponseParseException {
         return (SnsSubscribeResponse) endpoint.execute(request);
     }
+
+    /**
+     * Publish a message without blocking the calling thread.
+     *
+     * @param request The publish request.
+     *
+     * @return A future which completes with the SnsPublishResponse, or exceptionally with the exceptions described in
+     * {@link #publish(SnsPublishRequest)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<SnsPublishResponse> publishAsync(SnsPublishRequest request) {
+        return endpoint.executeAsync(request).thenApply(SnsPublishResponse.class::cast);
+    }
+
+    /**
+     * Subscribe to a topic without blocking the calling thread.
+     *
+     * @param request The subscribe request.
+     *
+     * @return A future which completes with the SnsSubscribeResponse, or exceptionally with the exceptions described in
+     * {@link #subscribe(SnsSubscribeRequest)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<SnsSubscribeResponse> subscribeAsync(SnsSubscribeRequest request) {
+        return endpoint.executeAsync(request).thenApply(SnsSubscribeResponse.class::cast);
+    }
 }
@@ -18,6 +18,7 @@ package com.vonage.client.verify;
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
@@ -54,6 +55,6 @@ class CheckEndpoint extends AbstractMethod<CheckRequest, CheckResponse> {
 
     @Override
     public CheckResponse parseResponse(HttpResponse response) throws IOException {
-        return CheckResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), CheckResponse.class);
     }
 }
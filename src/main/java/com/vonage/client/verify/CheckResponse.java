@@ -19,9 +19,9 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageResponseParseException;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 import java.math.BigDecimal;
 
@@ -99,8 +99,7 @@ public class CheckResponse {
 
     public static CheckResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, CheckResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, CheckResponse.class);
         } catch (JsonMappingException jme) {
             throw new VonageResponseParseException("Failed to produce CheckResponse from json.", jme);
         } catch (IOException jpe) {
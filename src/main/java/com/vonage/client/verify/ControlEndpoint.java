@@ -19,6 +19,7 @@ import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.VonageClientException;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
@@ -49,7 +50,7 @@ class ControlEndpoint extends AbstractMethod<ControlRequest, ControlResponse> {
 
     @Override
     public ControlResponse parseResponse(HttpResponse response) throws IOException, VonageClientException {
-        ControlResponse controlResponse = ControlResponse.fromJson(basicResponseHandler.handleResponse(response));
+        ControlResponse controlResponse = parseJson(response, JsonCodec.defaultCodec(), ControlResponse.class);
         if (!controlResponse.getStatus().equals("0")) {
             throw new VerifyException(controlResponse.getStatus(), controlResponse.getErrorText());
         }
@@ -18,8 +18,8 @@ package com.vonage.client.verify;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -58,8 +58,7 @@ public class ControlResponse {
 
     public static ControlResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, ControlResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, ControlResponse.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce ControlResponse from json.", jpe);
         }
@@ -24,6 +24,7 @@ package com.vonage.client.verify;
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
@@ -68,7 +69,7 @@ class Psd2Endpoint extends AbstractMethod<Psd2Request, VerifyResponse> {
 
     @Override
     public VerifyResponse parseResponse(HttpResponse response) throws IOException {
-        return VerifyResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), VerifyResponse.class);
     }
 
     private void optionalParams(RequestBuilder builder, String paramName, Object value) {
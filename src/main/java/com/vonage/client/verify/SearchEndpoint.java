@@ -19,6 +19,7 @@ import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.TokenAuthMethod;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -36,6 +37,16 @@ class SearchEndpoint extends AbstractMethod<SearchRequest, SearchVerifyResponse>
         return ALLOWED_AUTH_METHODS;
     }
 
+    @Override
+    protected boolean isHedgeable(SearchRequest request) {
+        return true;
+    }
+
+    @Override
+    protected boolean isRetryable(SearchRequest request, HttpUriRequest httpRequest) {
+        return true;
+    }
+
     @Override
     public RequestBuilder makeRequest(SearchRequest request) throws UnsupportedEncodingException {
         String uri = httpWrapper.getHttpConfig().getApiBaseUri() + PATH;
@@ -55,6 +66,6 @@ class SearchEndpoint extends AbstractMethod<SearchRequest, SearchVerifyResponse>
 
     @Override
     public SearchVerifyResponse parseResponse(HttpResponse response) throws IOException {
-        return SearchVerifyResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, SearchVerifyResponse.CODEC, SearchVerifyResponse.class);
     }
 }
\ No newline at end of file
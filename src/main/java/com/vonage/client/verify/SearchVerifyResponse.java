@@ -23,12 +23,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.vonage.client.VonageResponseParseException;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.List;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class SearchVerifyResponse {
+    static final JsonCodec CODEC = new JsonCodec(new ObjectMapper()
+            .setDateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"))
+            .registerModule(new SimpleModule()
+                    .addDeserializer(SearchVerifyResponse.class, new SearchVerifyResponseDeserializer())
+            )
+    );
+
     private VerifyStatus status;
     private List<VerifyDetails> verificationRequests;
     private String errorText;
@@ -67,13 +75,7 @@ public class SearchVerifyResponse {
 
     public static SearchVerifyResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.setDateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"));
-            SimpleModule module = new SimpleModule();
-            module.addDeserializer(SearchVerifyResponse.class, new SearchVerifyResponseDeserializer());
-            mapper.registerModule(module);
-
-            return mapper.readValue(json, SearchVerifyResponse.class);
+            return CODEC.fromJson(json, SearchVerifyResponse.class);
         } catch (JsonMappingException jme) {
             throw new VonageResponseParseException("Failed to produce SearchVerifyResponse from json.", jme);
         } catch (IOException jpe) {
@@ -20,11 +20,16 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Collections;
 
 public class SearchVerifyResponseDeserializer extends JsonDeserializer<SearchVerifyResponse> {
+    // Has to use a second codec to handle this as we want to bypass custom deserialization.
+    private static final JsonCodec CODEC = new JsonCodec(
+            new ObjectMapper().setDateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"))
+    );
 
     @Override
     public SearchVerifyResponse deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
@@ -39,10 +44,7 @@ public class SearchVerifyResponseDeserializer extends JsonDeserializer<SearchVer
 
         // If the results has a verification_requests node then we can successfully map our object as normal.
         if (node.has("verification_requests")) {
-            // Have to create a second object mapper to handle this as we want to bypass custom deserialization.
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.setDateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"));
-            return mapper.readValue(node.toString(), SearchVerifyResponse.class);
+            return CODEC.readerFor(SearchVerifyResponse.class).readValue(node);
         }
 
         // If the result has error_text, we can assume that the only fields that matter are status and the error.
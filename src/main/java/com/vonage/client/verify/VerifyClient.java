@@ -17,6 +17,7 @@ package com.vonage.client.verify;
 
 import com.vonage.client.*;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A client for talking to the Vonage Verify API. The standard way to obtain an instance of this class is to use {@link
@@ -193,6 +194,20 @@ public class VerifyClient {
         return this.verify.execute(request);
     }
 
+    /**
+     * Send a verification request without blocking the calling thread.
+     *
+     * @param request The verification request.
+     *
+     * @return A future which completes with the VerifyResponse, or exceptionally with the exceptions described in
+     * {@link #verify(VerifyRequest)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<VerifyResponse> verifyAsync(VerifyRequest request) {
+        return this.verify.executeAsync(request);
+    }
+
     /**
      * Validate a code provided by a user in response to a call from {@link #verify}.
      *
@@ -206,6 +221,20 @@ public class VerifyClient {
         return this.check.execute(request);
     }
 
+    /**
+     * Validate a code provided by a user without blocking the calling thread.
+     *
+     * @param request The request to send for validation.
+     *
+     * @return A future which completes with the CheckResponse, or exceptionally with the exceptions described in
+     * {@link #check(CheckRequest)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<CheckResponse> checkAsync(CheckRequest request) {
+        return this.check.executeAsync(request);
+    }
+
     /**
      * Validate a code provided by a user in response to a call from {@link #verify}.
      *
@@ -273,6 +302,20 @@ public class VerifyClient {
         return this.search.execute(new SearchRequest(requestIds));
     }
 
+    /**
+     * Search for previous verification requests without blocking the calling thread.
+     *
+     * @param requestIds The requestIds of Verify requests to be looked up.
+     *
+     * @return A future which completes with the SearchVerifyResponse, or exceptionally with the exceptions described in
+     * {@link #search(String...)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<SearchVerifyResponse> searchAsync(String... requestIds) {
+        return this.search.executeAsync(new SearchRequest(requestIds));
+    }
+
     /**
      * Advance a current verification request to the next stage in the process.
      *
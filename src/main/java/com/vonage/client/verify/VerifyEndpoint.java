@@ -18,6 +18,7 @@ package com.vonage.client.verify;
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.TokenAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
@@ -48,6 +49,6 @@ class VerifyEndpoint extends AbstractMethod<VerifyRequest, VerifyResponse> {
 
     @Override
     public VerifyResponse parseResponse(HttpResponse response) throws IOException {
-        return VerifyResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), VerifyResponse.class);
     }
 }
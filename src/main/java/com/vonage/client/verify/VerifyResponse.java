@@ -19,9 +19,9 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageResponseParseException;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -69,8 +69,7 @@ public class VerifyResponse {
 
     public static VerifyResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, VerifyResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, VerifyResponse.class);
         } catch (JsonMappingException jme) {
             throw new VonageResponseParseException("Failed to produce VerifyResponse from json.", jme);
         } catch (IOException jpe) {
@@ -19,9 +19,9 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
 import com.vonage.client.common.HttpMethod;
+import com.vonage.client.common.JsonCodec;
 import com.vonage.client.voice.ncco.Action;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -231,8 +231,7 @@ public class Call {
      */
     public String toJson() {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.writeValueAsString(this);
+            return JsonCodec.defaultCodec().toJson(this);
         } catch (JsonProcessingException jpe) {
             throw new VonageUnexpectedException("Failed to produce json from Call object.", jpe);
         }
@@ -247,8 +246,7 @@ public class Call {
      */
     public static Call fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, Call.class);
+            return JsonCodec.defaultCodec().fromJson(json, Call.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce json from Call object.", jpe);
         }
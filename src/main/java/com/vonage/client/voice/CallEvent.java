@@ -17,8 +17,8 @@ package com.vonage.client.voice;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -76,8 +76,7 @@ public class CallEvent {
      */
     public static CallEvent fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, CallEvent.class);
+            return JsonCodec.defaultCodec().fromJson(json, CallEvent.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce json from Call object.", jpe);
         }
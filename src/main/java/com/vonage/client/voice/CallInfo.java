@@ -18,9 +18,8 @@ package com.vonage.client.voice;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 import java.util.Date;
 
@@ -190,9 +189,7 @@ public class CallInfo {
      */
     public static CallInfo fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-            return mapper.readValue(json, CallInfo.class);
+            return JsonCodec.isoDates().fromJson(json, CallInfo.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce json from CallInfo object.", jpe);
         }
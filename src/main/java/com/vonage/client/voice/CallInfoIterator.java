@@ -0,0 +1,161 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.voice;
+
+import com.vonage.client.VonageClientException;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Iterates over every call matching a filter, fetching pages lazily.
+ * <p>
+ * The first page is requested on the first call to {@link #hasNext()} or {@link #next()}, so creating an iterator
+ * sends nothing. Once a page arrives, the requests for up to
+ * {@code prefetchPages} following pages are issued asynchronously, so that they are fetched while the current page is
+ * consumed. At most {@code prefetchPages + 1} pages are held at any time. Each page is requested by its record index,
+ * which is derived from the page size and total count reported by the first page.
+ */
+final class CallInfoIterator implements Iterator<CallInfo>, AutoCloseable {
+    static final int DEFAULT_PREFETCH_PAGES = 1;
+
+    private final Function<CallsFilter, CompletableFuture<CallInfoPage>> fetcher;
+    private final CallsFilter filter;
+    private final int prefetchPages;
+    private final Deque<CompletableFuture<CallInfoPage>> pending = new ArrayDeque<>();
+    private CallInfo[] current = new CallInfo[0];
+    private int position, nextRecordIndex, pageSize, total = -1;
+    private boolean started, closed;
+
+    CallInfoIterator(Function<CallsFilter, CompletableFuture<CallInfoPage>> fetcher,
+                     CallsFilter filter, int prefetchPages) {
+        if (prefetchPages < 0) {
+            throw new IllegalArgumentException("Prefetch pages cannot be negative.");
+        }
+        this.fetcher = fetcher;
+        this.filter = filter != null ? filter : CallsFilter.builder().build();
+        this.prefetchPages = prefetchPages;
+        Integer recordIndex = this.filter.getRecordIndex();
+        nextRecordIndex = recordIndex != null ? recordIndex : 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!started) {
+            started = true;
+            if (!closed) {
+                pending.add(fetcher.apply(filter));
+            }
+        }
+        while (position >= current.length) {
+            CompletableFuture<CallInfoPage> next = pending.poll();
+            if (next == null) {
+                return false;
+            }
+            CallInfoPage page = await(next);
+            EmbeddedCalls embedded = page.getEmbedded();
+            current = embedded != null && embedded.getCallInfos() != null ? embedded.getCallInfos() : new CallInfo[0];
+            position = 0;
+            if (total < 0) {
+                total = page.getCount();
+                pageSize = page.getPageSize() > 0 ? page.getPageSize() : current.length;
+                nextRecordIndex += current.length;
+            }
+            if (current.length == 0 || pageSize == 0) {
+                // Nothing further can be fetched reliably; drop any requests already in flight.
+                close();
+                return false;
+            }
+            fill();
+        }
+        return true;
+    }
+
+    @Override
+    public CallInfo next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current[position++];
+    }
+
+    private void fill() {
+        while (!closed && pending.size() < prefetchPages && nextRecordIndex < total) {
+            pending.add(fetcher.apply(filter.toBuilder().recordIndex(nextRecordIndex).pageSize(pageSize).build()));
+            nextRecordIndex += pageSize;
+        }
+    }
+
+    private static CallInfoPage await(CompletableFuture<CallInfoPage> future) {
+        try {
+            return future.join();
+        }
+        catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new VonageClientException(cause);
+        }
+    }
+
+    /**
+     * Cancels any page requests still in flight. The iterator has no further elements after this.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        position = current.length;
+        for (CompletableFuture<CallInfoPage> future; (future = pending.poll()) != null; ) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Divides the date window of a filter into consecutive, non-overlapping windows of roughly equal length.
+     *
+     * @param filter The filter, which must have both a start and end date.
+     * @param ranges Number of windows to create.
+     *
+     * @return Filters identical to the original except for their date windows and record index.
+     */
+    static CallsFilter[] splitByDate(CallsFilter filter, int ranges) {
+        if (ranges < 1) {
+            throw new IllegalArgumentException("Number of ranges must be positive.");
+        }
+        if (filter == null || filter.getDateStart() == null || filter.getDateEnd() == null) {
+            throw new IllegalArgumentException("Filter must have a start and end date to be split.");
+        }
+        long start = filter.getDateStart().getTime(), end = filter.getDateEnd().getTime();
+        if (end < start) {
+            throw new IllegalArgumentException("End date cannot be before start date.");
+        }
+        ranges = (int) Math.min(ranges, end - start + 1);
+        CallsFilter[] filters = new CallsFilter[ranges];
+        long width = (end - start + 1) / ranges;
+        for (int i = 0; i < ranges; i++) {
+            long rangeStart = start + width * i, rangeEnd = i == ranges - 1 ? end : rangeStart + width - 1;
+            filters[i] = filter.toBuilder().recordIndex(null)
+                    .dateStart(new Date(rangeStart)).dateEnd(new Date(rangeEnd)).build();
+        }
+        return filters;
+    }
+}
@@ -17,10 +17,9 @@ package com.vonage.client.voice;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.util.ArrayIterator;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 import java.util.Iterator;
 
@@ -69,9 +68,7 @@ public class CallInfoPage implements Iterable<CallInfo> {
      */
     public static CallInfoPage fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-            return mapper.readValue(json, CallInfoPage.class);
+            return JsonCodec.isoDates().fromJson(json, CallInfoPage.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce json from Call object.", jpe);
         }
@@ -16,8 +16,8 @@
 package com.vonage.client.voice;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import com.vonage.client.voice.ncco.Ncco;
 
 /**
@@ -56,8 +56,7 @@ public class CallModifier {
 
     public String toJson() {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.writeValueAsString(modifyCallPayload);
+            return JsonCodec.defaultCodec().toJson(modifyCallPayload);
         } catch (JsonProcessingException jpe) {
             throw new VonageUnexpectedException("Failed to produce json from CallModifier object.", jpe);
         }
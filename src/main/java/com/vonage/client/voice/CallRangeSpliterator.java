@@ -0,0 +1,111 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.voice;
+
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Iterates over the calls matching each of a number of filters, typically consecutive date ranges, one range after
+ * another. Splitting hands off whole ranges which have not been started, so that a parallel stream pages through
+ * different ranges concurrently; no page is requested until a range is traversed.
+ * <p>
+ * Every spliterator split from the same root shares its set of open iterators, so that {@link #close()} cancels the
+ * page requests still in flight for ranges which were abandoned part way through, e.g. by a short-circuiting
+ * operation.
+ */
+final class CallRangeSpliterator implements Spliterator<CallInfo>, AutoCloseable {
+    private final Function<CallsFilter, CompletableFuture<CallInfoPage>> fetcher;
+    private final CallsFilter[] ranges;
+    private final int prefetchPages;
+    private final Set<CallInfoIterator> open;
+    private CallInfoIterator current;
+    private int from, to;
+
+    CallRangeSpliterator(Function<CallsFilter, CompletableFuture<CallInfoPage>> fetcher,
+                         CallsFilter[] ranges, int prefetchPages) {
+        this(fetcher, ranges, prefetchPages, ConcurrentHashMap.newKeySet(), 0, ranges.length);
+    }
+
+    private CallRangeSpliterator(Function<CallsFilter, CompletableFuture<CallInfoPage>> fetcher,
+                                 CallsFilter[] ranges, int prefetchPages, Set<CallInfoIterator> open,
+                                 int from, int to) {
+        this.fetcher = fetcher;
+        this.ranges = ranges;
+        this.prefetchPages = prefetchPages;
+        this.open = open;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super CallInfo> action) {
+        while (true) {
+            if (current == null) {
+                if (from >= to) {
+                    return false;
+                }
+                current = new CallInfoIterator(fetcher, ranges[from], prefetchPages);
+                open.add(current);
+            }
+            if (current.hasNext()) {
+                action.accept(current.next());
+                return true;
+            }
+            open.remove(current);
+            current = null;
+            from++;
+        }
+    }
+
+    @Override
+    public Spliterator<CallInfo> trySplit() {
+        // A range which has been started stays with this spliterator.
+        int first = current == null ? from : from + 1, remaining = to - first;
+        if (remaining < (current == null ? 2 : 1)) {
+            return null;
+        }
+        int mid = to - (remaining + 1) / 2;
+        CallRangeSpliterator split = new CallRangeSpliterator(fetcher, ranges, prefetchPages, open, mid, to);
+        to = mid;
+        return split;
+    }
+
+    @Override
+    public long estimateSize() {
+        return from < to ? Long.MAX_VALUE : 0;
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL;
+    }
+
+    /**
+     * Cancels the outstanding page requests of every range which was started but not finished.
+     */
+    @Override
+    public void close() {
+        for (CallInfoIterator iterator : open) {
+            iterator.close();
+        }
+        open.clear();
+    }
+}
@@ -97,6 +97,14 @@ public class CallsFilter {
         }
     }
 
+    /**
+     * @return A builder initialised with the values of this filter.
+     */
+    Builder toBuilder() {
+        return builder().status(status).dateStart(dateStart).dateEnd(dateEnd).pageSize(pageSize)
+                .recordIndex(recordIndex).order(order).conversationUuid(conversationUuid);
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -17,7 +17,9 @@ package com.vonage.client.voice;
 
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
+import com.vonage.client.RateLimiter;
 import com.vonage.client.auth.JWTAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.ContentType;
@@ -47,8 +49,18 @@ class CreateCallEndpoint extends AbstractMethod<Call, CallEvent> {
         return ALLOWED_AUTH_METHODS;
     }
 
+    @Override
+    protected String getRateLimitGroup() {
+        return RateLimiter.VOICE_CALLS;
+    }
+
+    @Override
+    protected String getRateLimitSender(Call request) {
+        return request.getFrom() != null ? request.getFrom().toLog() : null;
+    }
+
     @Override
     public CallEvent parseResponse(HttpResponse response) throws IOException {
-        return CallEvent.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), CallEvent.class);
     }
 }
@@ -40,6 +40,11 @@ class DownloadRecordingEndpoint extends AbstractMethod<String, Recording> {
         return ALLOWED_AUTH_METHODS;
     }
 
+    @Override
+    protected boolean isStreamingResponse() {
+        return true;
+    }
+
     @Override
     public Recording parseResponse(HttpResponse response) throws IOException {
         return new Recording(response);
@@ -18,8 +18,8 @@ package com.vonage.client.voice;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 
 /**
  * The JSON payload that will be sent in a {@link DtmfRequestWrapper}.
@@ -41,8 +41,7 @@ class DtmfPayload {
 
     public String toJson() {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.writeValueAsString(this);
+            return JsonCodec.defaultCodec().toJson(this);
         } catch (JsonProcessingException jpe) {
             throw new VonageUnexpectedException("Failed to produce json from "+getClass().getName()+" object.", jpe);
         }
@@ -16,8 +16,8 @@
 package com.vonage.client.voice;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 
 /**
@@ -47,8 +47,7 @@ public class DtmfResponse {
      */
     public static DtmfResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, DtmfResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, DtmfResponse.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce json from DtmfResponse object.", jpe);
         }
@@ -19,6 +19,7 @@ import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.VonageUnexpectedException;
 import com.vonage.client.auth.JWTAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.methods.RequestBuilder;
@@ -63,6 +64,6 @@ class ListCallsEndpoint extends AbstractMethod<CallsFilter, CallInfoPage> {
 
     @Override
     public CallInfoPage parseResponse(HttpResponse response) throws IOException {
-        return CallInfoPage.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.isoDates(), CallInfoPage.class);
     }
 }
@@ -18,6 +18,7 @@ package com.vonage.client.voice;
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.JWTAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.ContentType;
@@ -50,7 +51,7 @@ class ModifyCallEndpoint extends AbstractMethod<ModifyCallRequestWrapper, Modify
     @Override
     public ModifyCallResponse parseResponse(HttpResponse response) throws IOException {
         if (response.getStatusLine().getStatusCode() == 200) {
-            return ModifyCallResponse.fromJson(basicResponseHandler.handleResponse(response));
+            return parseJson(response, JsonCodec.defaultCodec(), ModifyCallResponse.class);
         }
         else {
             return null;
@@ -16,8 +16,8 @@
 package com.vonage.client.voice;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 
 /**
@@ -43,8 +43,7 @@ public class ModifyCallResponse {
      */
     public static ModifyCallResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, ModifyCallResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, ModifyCallResponse.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce ModifyCallResponse from json.", jpe);
         }
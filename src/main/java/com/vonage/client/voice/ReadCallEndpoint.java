@@ -18,6 +18,7 @@ package com.vonage.client.voice;
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.JWTAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
@@ -35,6 +36,11 @@ class ReadCallEndpoint extends AbstractMethod<String, CallInfo> {
         return ALLOWED_AUTH_METHODS;
     }
 
+    @Override
+    protected boolean isHedgeable(String request) {
+        return true;
+    }
+
     @Override
     public RequestBuilder makeRequest(String callId) {
         String uri = httpWrapper.getHttpConfig().getVersionedApiBaseUri("v1") + PATH + callId;
@@ -44,6 +50,6 @@ class ReadCallEndpoint extends AbstractMethod<String, CallInfo> {
 
     @Override
     public CallInfo parseResponse(HttpResponse response) throws IOException {
-        return CallInfo.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.isoDates(), CallInfo.class);
     }
 }
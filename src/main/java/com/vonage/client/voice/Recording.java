@@ -15,17 +15,32 @@
  */
 package com.vonage.client.voice;
 
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
+import org.apache.http.util.EntityUtils;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.FileSystems;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Represents a recording obtained from {@link VoiceClient#downloadRecording(String)}.
+ * <p>
+ * The recording is streamed from the open HTTP connection, which is returned to the connection pool once the content
+ * has been fully read by {@link #transferTo(WritableByteChannel, int)} or {@link #save(Path)}, or when the recording is
+ * closed. Callers reading from {@link #getContent()} directly should close the recording when done.
  */
-public class Recording {
+public class Recording implements Closeable {
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
     private final HttpResponse response;
 
     public Recording(HttpResponse response) {
@@ -43,6 +58,80 @@ public class Recording {
         return response.getEntity().getContent();
     }
 
+    /**
+     * @return The number of bytes in the response body, or -1 if the server did not declare it.
+     * @since 7.4.0
+     */
+    public long getContentLength() {
+        HttpEntity entity = response.getEntity();
+        return entity != null ? entity.getContentLength() : -1;
+    }
+
+    /**
+     * Gets the position in the full recording of the first byte of this response. This is only non-zero when the
+     * recording was requested from an offset with {@link VoiceClient#downloadRecording(String, long)} and the
+     * server honoured the range.
+     *
+     * @return The offset of the content, in bytes.
+     * @since 7.4.0
+     */
+    public long getOffset() {
+        if (getStatusCode() != 206) {
+            return 0;
+        }
+        Header range = response.getFirstHeader("Content-Range");
+        if (range == null) {
+            return 0;
+        }
+        // Content-Range: bytes <first>-<last>/<total>
+        String value = range.getValue();
+        int start = value.indexOf(' ') + 1, dash = value.indexOf('-', start);
+        try {
+            return dash > start ? Long.parseLong(value.substring(start, dash).trim()) : 0;
+        }
+        catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    int getStatusCode() {
+        return response.getStatusLine().getStatusCode();
+    }
+
+    /**
+     * Writes the recording to a channel through a direct buffer, then releases the connection.
+     *
+     * @param channel The channel to write to. It is not closed by this method.
+     * @param bufferSize Size in bytes of the transfer buffer.
+     *
+     * @return The number of bytes written.
+     *
+     * @throws IOException If reading or writing failed, or fewer bytes were received than the declared content
+     * length, in which case the connection is discarded rather than reused.
+     * @since 7.4.0
+     */
+    public long transferTo(WritableByteChannel channel, int bufferSize) throws IOException {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive.");
+        }
+        long expected = getContentLength(), written = 0;
+        try (ReadableByteChannel source = Channels.newChannel(getContent())) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+            while (source.read(buffer) >= 0 || buffer.position() > 0) {
+                buffer.flip();
+                written += channel.write(buffer);
+                buffer.compact();
+            }
+            if (expected >= 0 && written != expected) {
+                throw new IOException("Expected " + expected + " bytes of recording, but received " + written + ".");
+            }
+        }
+        finally {
+            close();
+        }
+        return written;
+    }
+
     /**
      * Saves the downloaded recording to a file.
      *
@@ -62,6 +151,24 @@ public class Recording {
      * @throws IOException If there was an error writing the file.
      */
     public void save(Path path) throws IOException {
-        Files.copy(getContent(), path);
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            transferTo(file, DEFAULT_BUFFER_SIZE);
+        }
+    }
+
+    /**
+     * Releases the HTTP connection. If the content has not been fully read, the connection is closed rather than
+     * returned to the pool.
+     *
+     * @since 7.4.0
+     */
+    @Override
+    public void close() throws IOException {
+        if (response instanceof Closeable) {
+            ((Closeable) response).close();
+        }
+        else {
+            EntityUtils.consumeQuietly(response.getEntity());
+        }
     }
 }
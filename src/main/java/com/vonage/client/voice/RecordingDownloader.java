@@ -0,0 +1,184 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.voice;
+
+import com.vonage.client.VonageClientException;
+import com.vonage.client.VonageMethodFailedException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Downloads recordings to files, with a cap on the number of downloads in progress at once.
+ * <p>
+ * Each recording is streamed from the connection to the file through a direct buffer, and the connection is released
+ * as soon as the download completes or fails. If the target file already exists, only the remainder of the recording
+ * is requested, so that a failed download can be resumed by downloading it again. A download fails if fewer bytes are
+ * received than the server declared.
+ * <pre>{@code
+ *     try (RecordingDownloader downloader = RecordingDownloader.builder(voiceClient).maxConcurrentDownloads(16).build()) {
+ *         for (String url : recordingUrls) {
+ *             downloader.download(url, archiveDir.resolve(fileNameFor(url)));
+ *         }
+ *     }
+ * }</pre>
+ *
+ * @since 7.4.0
+ */
+public final class RecordingDownloader implements AutoCloseable {
+    private final RangeFetcher fetcher;
+    private final int bufferSize;
+    private final ExecutorService executor;
+
+    private RecordingDownloader(Builder builder) {
+        fetcher = builder.fetcher;
+        bufferSize = builder.bufferSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(builder.maxConcurrentDownloads, runnable -> {
+            Thread thread = new Thread(runnable, "vonage-java-sdk-recording-download-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a recording to be downloaded to a file, resuming from the end of the file if it already exists.
+     *
+     * @param recordingUrl The recordingUrl provided by the webhook callback.
+     * @param target The file to write to.
+     *
+     * @return A future which completes with the size of the file once the recording has been fully written, or
+     * exceptionally with a {@link VonageClientException} if the download failed.
+     */
+    public CompletableFuture<Long> download(String recordingUrl, Path target) {
+        Objects.requireNonNull(target, "Target path is required.");
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return downloadNow(recordingUrl, target);
+            }
+            catch (IOException io) {
+                throw new VonageMethodFailedException(
+                        "Something went wrong while downloading the recording: " + io.getMessage() + ".", io
+                );
+            }
+        }, executor);
+    }
+
+    long downloadNow(String recordingUrl, Path target) throws IOException {
+        long existing = Files.exists(target) ? Files.size(target) : 0;
+        Recording recording = fetcher.fetch(recordingUrl, existing);
+        int status = recording.getStatusCode();
+        if (status == 416 && existing > 0) {
+            // The requested range starts at or beyond the end of the recording, so it has already been downloaded.
+            recording.close();
+            return existing;
+        }
+        long offset = recording.getOffset();
+        if ((status != 200 && status != 206) || offset > existing) {
+            recording.close();
+            throw new VonageClientException("Unable to download recording: HTTP status " + status + ".");
+        }
+        try (FileChannel file = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            file.truncate(offset);
+            file.position(offset);
+            return offset + recording.transferTo(file, bufferSize);
+        }
+    }
+
+    /**
+     * Stops accepting downloads. Downloads which have already been queued still run to completion.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    interface RangeFetcher {
+        Recording fetch(String recordingUrl, long offset);
+    }
+
+    /**
+     * Entry point for constructing an instance of this class.
+     *
+     * @param client The client to download recordings with.
+     *
+     * @return A new Builder.
+     */
+    public static Builder builder(VoiceClient client) {
+        return new Builder(Objects.requireNonNull(client, "Voice client is required.")::downloadRecording);
+    }
+
+    static Builder builder(RangeFetcher fetcher) {
+        return new Builder(fetcher);
+    }
+
+    public static final class Builder {
+        private final RangeFetcher fetcher;
+        private int maxConcurrentDownloads = 4, bufferSize = Recording.DEFAULT_BUFFER_SIZE;
+
+        private Builder(RangeFetcher fetcher) {
+            this.fetcher = fetcher;
+        }
+
+        /**
+         * (OPTIONAL) Sets the maximum number of recordings downloaded at once; further downloads are queued.
+         * Defaults to 4.
+         *
+         * @param maxConcurrentDownloads The concurrency limit.
+         *
+         * @return This builder.
+         */
+        public Builder maxConcurrentDownloads(int maxConcurrentDownloads) {
+            if (maxConcurrentDownloads < 1) {
+                throw new IllegalArgumentException("Maximum concurrent downloads must be at least 1.");
+            }
+            this.maxConcurrentDownloads = maxConcurrentDownloads;
+            return this;
+        }
+
+        /**
+         * (OPTIONAL) Sets the size of the buffer used to copy each recording to its file. Defaults to 64 KiB.
+         *
+         * @param bufferSize The buffer size in bytes.
+         *
+         * @return This builder.
+         */
+        public Builder bufferSize(int bufferSize) {
+            if (bufferSize < 1) {
+                throw new IllegalArgumentException("Buffer size must be positive.");
+            }
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Builds the downloader.
+         *
+         * @return A new RecordingDownloader with this builder's properties.
+         */
+        public RecordingDownloader build() {
+            return new RecordingDownloader(this);
+        }
+    }
+}
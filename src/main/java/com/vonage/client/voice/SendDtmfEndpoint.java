@@ -18,7 +18,9 @@ package com.vonage.client.voice;
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.JWTAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
@@ -39,6 +41,11 @@ class SendDtmfEndpoint extends AbstractMethod<DtmfRequestWrapper, DtmfResponse>
         return ALLOWED_AUTH_METHODS;
     }
 
+    @Override
+    protected boolean isRetryable(DtmfRequestWrapper request, HttpUriRequest httpRequest) {
+        return false;
+    }
+
     @Override
     public RequestBuilder makeRequest(DtmfRequestWrapper request) throws UnsupportedEncodingException {
         String uri = httpWrapper.getHttpConfig().getVersionedApiBaseUri("v1") + PATH + request.uuid + DTMF_PATH;
@@ -50,6 +57,6 @@ class SendDtmfEndpoint extends AbstractMethod<DtmfRequestWrapper, DtmfResponse>
 
     @Override
     public DtmfResponse parseResponse(HttpResponse response) throws IOException {
-        return DtmfResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), DtmfResponse.class);
     }
 }
@@ -18,7 +18,9 @@ package com.vonage.client.voice;
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.JWTAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
@@ -38,6 +40,11 @@ class StartStreamEndpoint extends AbstractMethod<StreamRequestWrapper, StreamRes
         return ALLOWED_AUTH_METHODS;
     }
 
+    @Override
+    protected boolean isRetryable(StreamRequestWrapper request, HttpUriRequest httpRequest) {
+        return false;
+    }
+
     @Override
     public RequestBuilder makeRequest(StreamRequestWrapper request) throws UnsupportedEncodingException {
         String uri = httpWrapper.getHttpConfig().getVersionedApiBaseUri("v1") + PATH + request.uuid + "/stream";
@@ -49,6 +56,6 @@ class StartStreamEndpoint extends AbstractMethod<StreamRequestWrapper, StreamRes
 
     @Override
     public StreamResponse parseResponse(HttpResponse response) throws IOException {
-        return StreamResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), StreamResponse.class);
     }
 }
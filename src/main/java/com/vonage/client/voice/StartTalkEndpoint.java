@@ -18,7 +18,9 @@ package com.vonage.client.voice;
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.JWTAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
@@ -38,6 +40,11 @@ class StartTalkEndpoint extends AbstractMethod<TalkRequest, TalkResponse> {
         return ALLOWED_AUTH_METHODS;
     }
 
+    @Override
+    protected boolean isRetryable(TalkRequest request, HttpUriRequest httpRequest) {
+        return false;
+    }
+
     @Override
     public RequestBuilder makeRequest(TalkRequest request) throws UnsupportedEncodingException {
         String path = String.format(PATH, request.uuid);
@@ -50,6 +57,6 @@ class StartTalkEndpoint extends AbstractMethod<TalkRequest, TalkResponse> {
 
     @Override
     public TalkResponse parseResponse(HttpResponse response) throws IOException {
-        return TalkResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), TalkResponse.class);
     }
 }
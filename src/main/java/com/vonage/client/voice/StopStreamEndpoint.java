@@ -18,6 +18,7 @@ package com.vonage.client.voice;
 import com.vonage.client.AbstractMethod;
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.auth.JWTAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
@@ -46,6 +47,6 @@ class StopStreamEndpoint extends AbstractMethod<String, StreamResponse> {
 
     @Override
     public StreamResponse parseResponse(HttpResponse response) throws IOException {
-        return StreamResponse.fromJson(basicResponseHandler.handleResponse(response));
+        return parseJson(response, JsonCodec.defaultCodec(), StreamResponse.class);
     }
 }
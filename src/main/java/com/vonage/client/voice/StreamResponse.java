@@ -16,8 +16,8 @@
 package com.vonage.client.voice;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 
 /**
@@ -46,8 +46,7 @@ public class StreamResponse {
      */
     public static StreamResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, StreamResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, StreamResponse.class);
         } catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to produce json from StreamResponse object.", jpe);
         }
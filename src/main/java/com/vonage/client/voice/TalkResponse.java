@@ -16,8 +16,8 @@
 package com.vonage.client.voice;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.io.IOException;
 
 /**
@@ -46,8 +46,7 @@ public class TalkResponse {
      */
     public static TalkResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, TalkResponse.class);
+            return JsonCodec.defaultCodec().fromJson(json, TalkResponse.class);
         }
         catch (IOException jpe) {
             throw new VonageUnexpectedException("Failed to parse json for TalkResponse object.", jpe);
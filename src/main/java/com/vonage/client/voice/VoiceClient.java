@@ -23,7 +23,12 @@ import com.vonage.client.voice.ncco.Ncco;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A client for talking to the Vonage Voice API. The standard way to obtain an instance of this class is to use {@link
@@ -40,6 +45,7 @@ public class VoiceClient {
     final StopTalkEndpoint stopTalk;
     final SendDtmfEndpoint sendDtmf;
     final DownloadRecordingEndpoint downloadRecording;
+    final DownloadRecordingRangeEndpoint downloadRecordingRange;
 
     /**
      * Constructor.
@@ -57,6 +63,7 @@ public class VoiceClient {
         stopTalk = new StopTalkEndpoint(httpWrapper);
         sendDtmf = new SendDtmfEndpoint(httpWrapper);
         downloadRecording = new DownloadRecordingEndpoint(httpWrapper);
+        downloadRecordingRange = new DownloadRecordingRangeEndpoint(httpWrapper);
     }
 
     private String validateUuid(String uuid) {
@@ -91,6 +98,20 @@ public class VoiceClient {
         return createCall.execute(callRequest);
     }
 
+    /**
+     * Begin a call to a phone number without blocking the calling thread.
+     *
+     * @param callRequest Describing the call to be made.
+     *
+     * @return A future which completes with the CallEvent, or exceptionally with the exceptions described in
+     * {@link #createCall(Call)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<CallEvent> createCallAsync(Call callRequest) {
+        return createCall.executeAsync(callRequest);
+    }
+
     /**
      * Obtain the first page of CallInfo objects, representing the most recent calls initiated by {@link
      * #createCall(Call)}.
@@ -119,6 +140,68 @@ public class VoiceClient {
         return listCalls.execute(filter);
     }
 
+    /**
+     * Obtain the first page of CallInfo objects matching the query without blocking the calling thread.
+     *
+     * @param filter (optional) A filter describing which calls to be listed.
+     *
+     * @return A future which completes with the CallInfoPage, or exceptionally with the exceptions described in
+     * {@link #listCalls(CallsFilter)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<CallInfoPage> listCallsAsync(CallsFilter filter) {
+        return listCalls.executeAsync(filter);
+    }
+
+    /**
+     * Lazily iterates over every call matching the filter, across all pages. The next page is fetched in the
+     * background while the current one is consumed, and only the current and next pages are held in memory.
+     * <p>
+     * Pages are requested by record index, so calls which match the filter but start during iteration may shift
+     * results between pages. For a consistent view, set a date window which has already ended.
+     *
+     * @param filter (optional) A filter describing which calls to be listed. Its record index, if any, is where
+     * iteration starts.
+     *
+     * @return A sequential stream of the matching calls. Closing the stream cancels any outstanding page request.
+     * Failures are thrown from the terminal operation, as described in {@link #listCalls(CallsFilter)}.
+     *
+     * @since 7.4.0
+     */
+    public Stream<CallInfo> streamCalls(CallsFilter filter) {
+        CallInfoIterator iterator = new CallInfoIterator(
+                listCalls::executeAsync, filter, CallInfoIterator.DEFAULT_PREFETCH_PAGES
+        );
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false
+        ).onClose(iterator::close);
+    }
+
+    /**
+     * Lazily iterates over every call matching the filter by dividing its date window into consecutive ranges and
+     * paging through each range independently. The returned stream is parallel, so ranges are fetched and consumed
+     * concurrently; call {@link Stream#sequential()} on it to consume them one after another. A range's first page is
+     * only requested once the stream reaches it, so short-circuiting operations such as {@link Stream#findAny()}
+     * request no more ranges than they traverse. Closing the stream cancels any outstanding page requests.
+     *
+     * @param filter A filter with both {@code dateStart} and {@code dateEnd} set.
+     * @param ranges Number of ranges to divide the date window into.
+     *
+     * @return A parallel stream of the matching calls, unordered between ranges.
+     *
+     * @throws IllegalArgumentException If the filter does not have a date window, or {@code ranges} is not positive.
+     * @see #streamCalls(CallsFilter)
+     * @since 7.4.0
+     */
+    public Stream<CallInfo> streamCalls(CallsFilter filter, int ranges) {
+        CallRangeSpliterator spliterator = new CallRangeSpliterator(
+                listCalls::executeAsync, CallInfoIterator.splitByDate(filter, ranges),
+                CallInfoIterator.DEFAULT_PREFETCH_PAGES
+        );
+        return StreamSupport.stream(spliterator, true).onClose(spliterator::close);
+    }
+
     /**
      * Look up the status of a single call initiated by {@link #createCall(Call)}.
      *
@@ -134,6 +217,20 @@ public class VoiceClient {
         return readCall.execute(validateUuid(uuid));
     }
 
+    /**
+     * Look up the status of a single call without blocking the calling thread.
+     *
+     * @param uuid (required) The UUID of the call.
+     *
+     * @return A future which completes with the CallInfo, or exceptionally with the exceptions described in
+     * {@link #getCallDetails(String)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<CallInfo> getCallDetailsAsync(String uuid) {
+        return readCall.executeAsync(validateUuid(uuid));
+    }
+
     /**
      * Send DTMF codes to an ongoing call.
      *
@@ -180,6 +277,23 @@ public class VoiceClient {
         return modifyCall(uuid, new ModifyCallPayload(Objects.requireNonNull(action, "Action is required.")));
     }
 
+    /**
+     * Modify an ongoing call without blocking the calling thread.
+     *
+     * @param uuid The UUID of the call.
+     * @param action The Action to take.
+     *
+     * @return A future which completes with the ModifyCallResponse, or exceptionally with the exceptions described in
+     * {@link #modifyCall(String, ModifyCallAction)}.
+     *
+     * @since 7.4.0
+     */
+    public CompletableFuture<ModifyCallResponse> modifyCallAsync(String uuid, ModifyCallAction action) {
+        return modifyCall.executeAsync(new ModifyCallRequestWrapper(
+                validateUuid(uuid), new ModifyCallPayload(Objects.requireNonNull(action, "Action is required."))
+        ));
+    }
+
     /**
      * Internal implementation of {@code updateCall}.
      *
@@ -478,4 +592,28 @@ public class VoiceClient {
     public Recording downloadRecording(String recordingUrl) throws VonageResponseParseException, VonageClientException {
         return downloadRecording.execute(validateUrl(recordingUrl));
     }
+
+    /**
+     * Download the remainder of a recording, starting at the given byte offset. This can be used to resume a download
+     * which was interrupted. Use {@link Recording#getOffset()} to check whether the server honoured the range: if it
+     * returns 0, the response contains the whole recording.
+     *
+     * @param recordingUrl The recordingUrl provided by the webhook callback.
+     * @param offset Position of the first byte to download.
+     *
+     * @return A Recording object, providing access to the recording's bytes. It should be closed if the content is not
+     * read in full.
+     *
+     * @throws VonageClientException        if there was a problem with the Vonage request or response objects.
+     * @throws VonageResponseParseException if the response from the API could not be parsed.
+     * @see RecordingDownloader
+     * @since 7.4.0
+     */
+    public Recording downloadRecording(String recordingUrl, long offset)
+            throws VonageResponseParseException, VonageClientException {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative.");
+        }
+        return downloadRecordingRange.execute(new DownloadRecordingRequestWrapper(validateUrl(recordingUrl), offset));
+    }
 }
@@ -17,9 +17,9 @@ package com.vonage.client.voice.ncco;
 
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -33,11 +33,11 @@ public class Ncco {
     private ObjectWriter writer;
 
     public Ncco() {
-        this(new ObjectMapper().writer(), Collections.emptyList());
+        this(JsonCodec.defaultCodec().writer(), Collections.emptyList());
     }
 
     public Ncco(Collection<Action> actions) {
-        this(new ObjectMapper().writer(), actions);
+        this(JsonCodec.defaultCodec().writer(), actions);
     }
 
     public Ncco(ObjectWriter writer) {
@@ -20,41 +20,65 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Useful abstract HttpServlet for implementing NCCO callbacks.
  * <p>
  *     Implement {@link #handleRequest(HttpServletRequest)} to return an {@link NccoResponse} and this servlet will
- *     ensure that the response is serialized correctly for the Vonage Voice API.
+ *     ensure that the response is serialized correctly for the Vonage Voice API. To answer with an NCCO rendered from
+ *     an {@link NccoTemplate} instead, which is written directly to the output stream, also override
+ *     {@link #handleTemplatedRequest(HttpServletRequest)}.
  * </p>
  */
 public abstract class AbstractAnswerServlet extends HttpServlet {
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        serializeNccoResponse(resp, handleRequest(req));
+        answer(req, resp);
     }
 
     @Override
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        serializeNccoResponse(resp, handleRequest(req));
+        answer(req, resp);
+    }
+
+    private void answer(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        NccoTemplate.Rendered rendered = handleTemplatedRequest(req);
+        if (rendered != null) {
+            rendered.writeTo(resp);
+        }
+        else {
+            serializeNccoResponse(resp, handleRequest(req));
+        }
     }
 
     private void serializeNccoResponse(HttpServletResponse httpResponse, NccoResponse nccoResponse) throws IOException {
-        byte[] json = nccoResponse.toJson().getBytes(StandardCharsets.UTF_8);
-        httpResponse.setCharacterEncoding("UTF-8");
-        httpResponse.setContentType("application/json");
-        httpResponse.setContentLength(json.length);
-        httpResponse.getOutputStream().write(json);
+        nccoResponse.writeTo(httpResponse);
     }
 
     /**
      * Handle a request for NCCO instructions from the Vonage Voice API.
      * <p>
      * Implementations should return an NccoResponse object (most easily constructed using {@link NccoResponseBuilder}).
+     * This is only called if {@link #handleTemplatedRequest(HttpServletRequest)} returns {@code null}.
      *
      * @param request the HttpServletRequest parsed from the request made by the Vonage Voice API
      * @return An NccoResponse containing Ncco instructions for the Vonage Voice API
      */
     protected abstract NccoResponse handleRequest(HttpServletRequest request);
+
+    /**
+     * Handle a request for NCCO instructions with an NCCO rendered by {@link NccoTemplate#render}, which is written
+     * directly to the output stream without being re-serialized.
+     * <p>
+     * The default implementation returns {@code null}, so that {@link #handleRequest(HttpServletRequest)} is used.
+     * Overrides may also return {@code null} for the requests they do not answer from a template.
+     *
+     * @param request the HttpServletRequest parsed from the request made by the Vonage Voice API
+     * @return The rendered NCCO, or {@code null} to answer with {@link #handleRequest(HttpServletRequest)} instead.
+     *
+     * @since 7.4.0
+     */
+    protected NccoTemplate.Rendered handleTemplatedRequest(HttpServletRequest request) {
+        return null;
+    }
 }
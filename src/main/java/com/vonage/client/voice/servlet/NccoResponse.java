@@ -16,10 +16,13 @@
 package com.vonage.client.voice.servlet;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.common.JsonCodec;
 import com.vonage.client.voice.ncco.Action;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -48,9 +51,24 @@ public class NccoResponse {
 
     public String toJson() {
         try {
-            return new ObjectMapper().writeValueAsString(actionList);
+            return JsonCodec.defaultCodec().toJson(actionList);
         } catch (JsonProcessingException e) {
             throw new VonageUnexpectedException("Failed to serialize NccoResponse object.", e);
         }
     }
+
+    /**
+     * Writes this response as the body of a servlet response, with the appropriate headers.
+     *
+     * @param response The servlet response.
+     *
+     * @throws IOException If writing the body failed.
+     */
+    void writeTo(HttpServletResponse response) throws IOException {
+        byte[] json = toJson().getBytes(StandardCharsets.UTF_8);
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType("application/json");
+        response.setContentLength(json.length);
+        response.getOutputStream().write(json);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,316 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.voice.servlet;
+
+import com.vonage.client.voice.ncco.Ncco;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An NCCO serialized once, with named placeholders which are substituted each time it is rendered.
+ * <p>
+ * Placeholders are written as {@code ${name}} anywhere inside a string value of the NCCO, for example the text of a
+ * {@link com.vonage.client.voice.ncco.TalkAction} or the number of a
+ * {@link com.vonage.client.voice.ncco.PhoneEndpoint}. Names may contain letters, digits, {@code _}, {@code -} and
+ * {@code .}. On compilation, the JSON is split into pre-encoded UTF-8 fragments around the placeholders; rendering
+ * writes those fragments and the JSON-escaped values straight to the output, without reflection or intermediate
+ * strings.
+ * <pre>{@code
+ *     private static final NccoTemplate GREETING = NccoTemplate.compile(new Ncco(
+ *             TalkAction.builder("Hello ${caller}, connecting you now.").build(),
+ *             ConnectAction.builder(PhoneEndpoint.builder("${agent}").build()).build()
+ *     ));
+ *
+ *     protected NccoTemplate.Rendered handleTemplatedRequest(HttpServletRequest request) {
+ *         Map<String, String> values = new HashMap<>();
+ *         values.put("caller", request.getParameter("from"));
+ *         values.put("agent", agentFor(request));
+ *         return GREETING.render(values);
+ *     }
+ * }</pre>
+ *
+ * @since 7.4.0
+ */
+public final class NccoTemplate {
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[][] fragments;
+    private final String[] names;
+    private final int fragmentsLength;
+    private final Set<String> placeholders;
+
+    private NccoTemplate(List<byte[]> fragments, List<String> names) {
+        this.fragments = fragments.toArray(new byte[0][]);
+        this.names = names.toArray(new String[0]);
+        int length = 0;
+        for (byte[] fragment : this.fragments) {
+            length += fragment.length;
+        }
+        fragmentsLength = length;
+        placeholders = Collections.unmodifiableSet(new LinkedHashSet<>(names));
+    }
+
+    /**
+     * Compiles an NCCO into a template.
+     *
+     * @param ncco The NCCO, with placeholders in its string values.
+     *
+     * @return A new template.
+     */
+    public static NccoTemplate compile(Ncco ncco) {
+        return parse(ncco.toJson());
+    }
+
+    /**
+     * Compiles an NCCO response into a template.
+     *
+     * @param response The response, with placeholders in its string values.
+     *
+     * @return A new template.
+     */
+    public static NccoTemplate compile(NccoResponse response) {
+        return parse(response.toJson());
+    }
+
+    static NccoTemplate parse(String json) {
+        List<byte[]> fragments = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int literalStart = 0;
+        for (int open = json.indexOf("${"); open >= 0; open = json.indexOf("${", open + 2)) {
+            int close = open + 2;
+            while (close < json.length() && isNameChar(json.charAt(close))) {
+                close++;
+            }
+            if (close == open + 2 || close == json.length() || json.charAt(close) != '}') {
+                continue;
+            }
+            fragments.add(json.substring(literalStart, open).getBytes(StandardCharsets.UTF_8));
+            names.add(json.substring(open + 2, close));
+            literalStart = close + 1;
+        }
+        fragments.add(json.substring(literalStart).getBytes(StandardCharsets.UTF_8));
+        return new NccoTemplate(fragments, names);
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ||
+                c == '_' || c == '-' || c == '.';
+    }
+
+    /**
+     * @return The names of the placeholders in this template, in order of first appearance.
+     */
+    public Set<String> getPlaceholders() {
+        return placeholders;
+    }
+
+    /**
+     * Substitutes the placeholders, producing an NCCO which {@link AbstractAnswerServlet} writes directly to
+     * the servlet output stream. Rendering is deferred until the NCCO is written.
+     *
+     * @param values The value of each placeholder.
+     *
+     * @return The rendered NCCO, to be returned from {@link AbstractAnswerServlet#handleTemplatedRequest}.
+     */
+    public Rendered render(Map<String, String> values) {
+        return new Rendered(this, values);
+    }
+
+    /**
+     * Writes the NCCO JSON with the placeholders substituted.
+     *
+     * @param values The value of each placeholder.
+     * @param out The stream to write the UTF-8 encoded JSON to.
+     *
+     * @return The number of bytes written.
+     *
+     * @throws IllegalArgumentException If a placeholder has no value.
+     * @throws IOException If writing to the stream failed.
+     */
+    public int writeTo(Map<String, String> values, OutputStream out) throws IOException {
+        Scratch scratch = SCRATCH.get();
+        int length = encode(values, scratch);
+        write(scratch, out);
+        return length;
+    }
+
+    /**
+     * Renders the NCCO JSON with the placeholders substituted.
+     *
+     * @param values The value of each placeholder.
+     *
+     * @return The UTF-8 encoded JSON.
+     *
+     * @throws IllegalArgumentException If a placeholder has no value.
+     */
+    public byte[] toBytes(Map<String, String> values) {
+        Scratch scratch = SCRATCH.get();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encode(values, scratch));
+        try {
+            write(scratch, out);
+        }
+        catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    void writeTo(Map<String, String> values, HttpServletResponse response) throws IOException {
+        Scratch scratch = SCRATCH.get();
+        int length = encode(values, scratch);
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType("application/json");
+        response.setContentLength(length);
+        write(scratch, response.getOutputStream());
+    }
+
+    /**
+     * Escapes and encodes every value into the scratch buffer.
+     *
+     * @return The total length of the rendered JSON.
+     */
+    private int encode(Map<String, String> values, Scratch scratch) {
+        scratch.reset(names.length);
+        for (int i = 0; i < names.length; i++) {
+            String value = values.get(names[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for placeholder '" + names[i] + "'.");
+            }
+            scratch.appendEscaped(value);
+            scratch.ends[i] = scratch.length;
+        }
+        return fragmentsLength + scratch.length;
+    }
+
+    private void write(Scratch scratch, OutputStream out) throws IOException {
+        out.write(fragments[0]);
+        for (int i = 0, start = 0; i < names.length; i++) {
+            out.write(scratch.buffer, start, scratch.ends[i] - start);
+            start = scratch.ends[i];
+            out.write(fragments[i + 1]);
+        }
+    }
+
+    /**
+     * Per-thread buffer holding the encoded values of a single rendering.
+     */
+    private static final class Scratch {
+        byte[] buffer = new byte[256];
+        int[] ends = new int[8];
+        int length;
+
+        void reset(int placeholders) {
+            length = 0;
+            if (ends.length < placeholders) {
+                ends = new int[placeholders];
+            }
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+
+        void appendEscaped(String value) {
+            // At most 6 bytes per char, for \\u escapes.
+            ensure(value.length() * 6);
+            byte[] b = buffer;
+            int pos = length;
+            for (int i = 0, n = value.length(); i < n; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x20 && c < 0x80) {
+                    if (c == '"' || c == '\\') {
+                        b[pos++] = '\\';
+                    }
+                    b[pos++] = (byte) c;
+                }
+                else if (c < 0x20) {
+                    b[pos++] = '\\';
+                    switch (c) {
+                        case '\n': b[pos++] = 'n'; break;
+                        case '\r': b[pos++] = 'r'; break;
+                        case '\t': b[pos++] = 't'; break;
+                        default:
+                            b[pos++] = 'u';
+                            b[pos++] = '0';
+                            b[pos++] = '0';
+                            b[pos++] = HEX[c >> 4];
+                            b[pos++] = HEX[c & 0xF];
+                    }
+                }
+                else if (c < 0x800) {
+                    b[pos++] = (byte) (0xC0 | c >> 6);
+                    b[pos++] = (byte) (0x80 | c & 0x3F);
+                }
+                else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    b[pos++] = (byte) (0xF0 | cp >> 18);
+                    b[pos++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                    b[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                    b[pos++] = (byte) (0x80 | cp & 0x3F);
+                }
+                else if (Character.isSurrogate(c)) {
+                    b[pos++] = '?';
+                }
+                else {
+                    b[pos++] = (byte) (0xE0 | c >> 12);
+                    b[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    b[pos++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+            length = pos;
+        }
+    }
+
+    /**
+     * An NCCO rendered from a template, which {@link AbstractAnswerServlet} writes directly to the servlet output
+     * stream. The placeholders are only substituted when it is written.
+     */
+    public static final class Rendered {
+        private final NccoTemplate template;
+        private final Map<String, String> values;
+
+        private Rendered(NccoTemplate template, Map<String, String> values) {
+            this.template = template;
+            this.values = values;
+        }
+
+        /**
+         * @return The NCCO JSON with the placeholders substituted.
+         *
+         * @throws IllegalArgumentException If a placeholder has no value.
+         */
+        public String toJson() {
+            return new String(template.toBytes(values), StandardCharsets.UTF_8);
+        }
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            template.writeTo(values, response);
+        }
+    }
+}
@@ -15,9 +15,11 @@
  */
 package com.vonage.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.vonage.client.auth.AuthCollection;
 import com.vonage.client.auth.AuthMethod;
 import com.vonage.client.auth.JWTAuthMethod;
+import com.vonage.client.common.JsonCodec;
 import com.vonage.client.logging.LoggingUtils;
 import io.jsonwebtoken.lang.Assert;
 import org.apache.http.HttpEntity;
@@ -25,22 +27,42 @@ import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.ProtocolVersion;
 import org.apache.http.client.HttpClient;
+import org.apache.http.client.HttpResponseException;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.BasicHttpEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.message.BasicHttpResponse;
 import org.apache.http.message.BasicStatusLine;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
 public class AbstractMethodTest {
@@ -89,6 +111,7 @@ public class AbstractMethodTest {
 
     private HttpWrapper mockWrapper;
     private HttpClient mockHttpClient;
+    private HttpAsyncClient mockHttpAsyncClient;
     private AuthCollection mockAuthMethods;
     private AuthMethod mockAuthMethod;
     private HttpResponse basicResponse = new BasicHttpResponse(
@@ -105,11 +128,13 @@ public class AbstractMethodTest {
         mockAuthMethods = mock(AuthCollection.class);
         mockAuthMethod = mock(AuthMethod.class);
         mockHttpClient = mock(HttpClient.class);
+        mockHttpAsyncClient = mock(HttpAsyncClient.class);
         when(mockAuthMethod.apply(any(RequestBuilder.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0, RequestBuilder.class));
         when(LoggingUtils.logResponse(any(HttpResponse.class))).thenReturn("response logged");
         when(mockAuthMethods.getAcceptableAuthMethod(any())).thenReturn(mockAuthMethod);
         when(mockWrapper.getHttpClient()).thenReturn(mockHttpClient);
+        when(mockWrapper.getHttpAsyncClient()).thenReturn(mockHttpAsyncClient);
         when(mockHttpClient.execute(any(HttpUriRequest.class))).thenReturn(basicResponse);
         when(mockWrapper.getAuthCollection()).thenReturn(mockAuthMethods);
     }
@@ -235,4 +260,534 @@ public class AbstractMethodTest {
             Assert.isTrue(e.getCause() instanceof IOException, "The cause of the exception was not correct");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecuteAsync() throws Exception {
+        basicResponse.setEntity(new StringEntity("async result"));
+        when(mockHttpAsyncClient.execute(any(HttpUriRequest.class), any(FutureCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, FutureCallback.class).completed(basicResponse);
+            return null;
+        });
+
+        ConcreteMethod method = new ConcreteMethod(mockWrapper);
+        assertEquals("async result", method.executeAsync("url").get());
+        verify(mockHttpClient, never()).execute(any(HttpUriRequest.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecuteAsyncFailedHttpExecute() throws Exception {
+        IOException ex = new IOException("This is a test exception from the async client");
+        when(mockHttpAsyncClient.execute(any(HttpUriRequest.class), any(FutureCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, FutureCallback.class).failed(ex);
+            return null;
+        });
+
+        CompletableFuture<String> future = new ConcreteMethod(mockWrapper).executeAsync("url");
+        try {
+            future.get();
+            Assert.isTrue(false, "There should have been a Vonage Client exception thrown");
+        }
+        catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof VonageMethodFailedException);
+            assertEquals(ex, e.getCause().getCause());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecuteAsyncFailingParse() throws Exception {
+        when(mockHttpAsyncClient.execute(any(HttpUriRequest.class), any(FutureCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, FutureCallback.class).completed(basicResponse);
+            return null;
+        });
+
+        CompletableFuture<String> future = new ConcreteMethodFailingParse(mockWrapper).executeAsync("url");
+        try {
+            future.get();
+            Assert.isTrue(false, "Should have gotten a Parsing exception");
+        }
+        catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof VonageResponseParseException);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecuteAsyncCancelled() throws Exception {
+        when(mockHttpAsyncClient.execute(any(HttpUriRequest.class), any(FutureCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, FutureCallback.class).cancelled();
+            return null;
+        });
+
+        assertTrue(new ConcreteMethod(mockWrapper).executeAsync("url").isCancelled());
+    }
+
+    @Test
+    public void testExecuteWithShutDownPoolReturnsHalfOpenProbe() throws Exception {
+        AtomicLong nanos = new AtomicLong();
+        CircuitBreaker circuitBreaker = CircuitBreaker.builder().minimumCalls(1).halfOpenCalls(1)
+                .openDuration(Duration.ofSeconds(1)).nanoClock(nanos::get).build();
+        when(mockWrapper.getCircuitBreaker()).thenReturn(circuitBreaker);
+        when(mockHttpClient.execute(any(HttpUriRequest.class)))
+                .thenReturn(response(503, "unavailable"))
+                .thenThrow(new IllegalStateException("Connection pool shut down"))
+                .thenReturn(response(200, "recovered"));
+        ConcreteMethod method = new ConcreteMethod(mockWrapper);
+        String url = "https://api.nexmo.com/v1/calls";
+        assertThrows(VonageResponseParseException.class, () -> method.execute(url));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThrows(IllegalStateException.class, () -> method.execute(url));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState("api.nexmo.com", ConcreteMethod.class));
+        assertEquals("recovered", method.execute(url));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState("api.nexmo.com", ConcreteMethod.class));
+    }
+
+    private static CloseableHttpAsyncClient stoppedHttpAsyncClient() throws IOException {
+        CloseableHttpAsyncClient client = HttpAsyncClients.createDefault();
+        client.start();
+        client.close();
+        return client;
+    }
+
+    @Test
+    public void testExecuteAsyncWithStoppedClientFailsFuture() throws Exception {
+        when(mockWrapper.getHttpAsyncClient()).thenReturn(stoppedHttpAsyncClient());
+        CompletableFuture<String> future = new ConcreteMethod(mockWrapper).executeAsync("url");
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            Assert.isTrue(false, "There should have been an exception thrown");
+        }
+        catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecuteAsyncRetryWithStoppedClientFailsFuture() throws Exception {
+        useRetryPolicy();
+        when(mockWrapper.getScheduler()).thenReturn(Executors.newSingleThreadScheduledExecutor());
+        HttpResponse unavailable = response(503, "unavailable");
+        when(mockHttpAsyncClient.execute(any(HttpUriRequest.class), any(FutureCallback.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(1, FutureCallback.class).completed(unavailable);
+                    return null;
+                })
+                .thenThrow(new IllegalStateException("Request cannot be executed; I/O reactor status: STOPPED"));
+
+        try {
+            new ConcreteMethod(mockWrapper).executeAsync("url").get(5, TimeUnit.SECONDS);
+            Assert.isTrue(false, "There should have been an exception thrown");
+        }
+        catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testExecuteAsyncWithStoppedClientReturnsHalfOpenProbe() throws Exception {
+        AtomicLong nanos = new AtomicLong();
+        CircuitBreaker circuitBreaker = CircuitBreaker.builder().minimumCalls(1).halfOpenCalls(1)
+                .openDuration(Duration.ofSeconds(1)).nanoClock(nanos::get).build();
+        when(mockWrapper.getCircuitBreaker()).thenReturn(circuitBreaker);
+        when(mockHttpClient.execute(any(HttpUriRequest.class)))
+                .thenReturn(response(503, "unavailable"))
+                .thenReturn(response(200, "recovered"));
+        ConcreteMethod method = new ConcreteMethod(mockWrapper);
+        String url = "https://api.nexmo.com/v1/calls";
+        try {
+            method.execute(url);
+            Assert.isTrue(false, "There should have been an exception thrown");
+        }
+        catch (VonageResponseParseException e) {
+            assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState("api.nexmo.com", ConcreteMethod.class));
+        }
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        when(mockWrapper.getHttpAsyncClient()).thenReturn(stoppedHttpAsyncClient());
+        try {
+            method.executeAsync(url).get(5, TimeUnit.SECONDS);
+            Assert.isTrue(false, "There should have been an exception thrown");
+        }
+        catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals("recovered", method.execute(url));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState("api.nexmo.com", ConcreteMethod.class));
+    }
+
+    private static HttpResponse response(int status, String body) throws Exception {
+        HttpResponse response = new BasicHttpResponse(new BasicStatusLine(
+                new ProtocolVersion("1.1", 1, 1), status, "Status " + status
+        ));
+        response.setEntity(new StringEntity(body));
+        return response;
+    }
+
+    private void useRetryPolicy() {
+        when(mockWrapper.getHttpConfig()).thenReturn(HttpConfig.builder().retryPolicy(
+                ExponentialBackoffRetryPolicy.builder().initialDelay(Duration.ZERO).maxDelay(Duration.ZERO).build()
+        ).build());
+    }
+
+    @Test
+    public void testExecuteRetriesTransientFailures() throws Exception {
+        useRetryPolicy();
+        when(mockHttpClient.execute(any(HttpUriRequest.class)))
+                .thenThrow(new IOException("Connection reset"))
+                .thenReturn(response(503, "unavailable"))
+                .thenReturn(response(200, "third time lucky"));
+
+        assertEquals("third time lucky", new ConcreteMethod(mockWrapper).execute("url"));
+        verify(mockHttpClient, times(3)).execute(any(HttpUriRequest.class));
+    }
+
+    @Test
+    public void testExecuteDoesNotRetryNonIdempotentRequests() throws Exception {
+        useRetryPolicy();
+        ConcreteMethod method = spy(new ConcreteMethod(mockWrapper));
+        when(method.makeRequest(any(String.class))).thenReturn(RequestBuilder.post("url"));
+        when(mockHttpClient.execute(any(HttpUriRequest.class))).thenThrow(new IOException("Connection reset"));
+
+        try {
+            method.execute("url");
+            Assert.isTrue(false, "There should have been a Vonage Client exception thrown");
+        }
+        catch (VonageMethodFailedException e) {
+            verify(mockHttpClient, times(1)).execute(any(HttpUriRequest.class));
+        }
+    }
+
+    @Test
+    public void testExecuteWithoutRetryPolicyParsesFailedResponse() throws Exception {
+        when(mockHttpClient.execute(any(HttpUriRequest.class))).thenReturn(response(503, "unavailable"));
+
+        try {
+            new ConcreteMethod(mockWrapper).execute("url");
+            Assert.isTrue(false, "There should have been an exception thrown");
+        }
+        catch (VonageResponseParseException e) {
+            verify(mockHttpClient, times(1)).execute(any(HttpUriRequest.class));
+        }
+    }
+
+    public static class Greeting {
+        public String text;
+    }
+
+    private static class JsonMethod extends ConcreteMethod {
+        public JsonMethod(HttpWrapper httpWrapper) {
+            super(httpWrapper);
+        }
+
+        @Override
+        public String parseResponse(HttpResponse response) throws IOException {
+            return parseJson(response, JsonCodec.defaultCodec(), Greeting.class).text;
+        }
+    }
+
+    private static HttpResponse jsonResponse(int status, byte[] body, AtomicBoolean closed) {
+        HttpResponse response = new BasicHttpResponse(new BasicStatusLine(
+                new ProtocolVersion("1.1", 1, 1), status, "Status " + status
+        ));
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(new ByteArrayInputStream(body) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        });
+        entity.setContentLength(body.length);
+        // No charset, as sent by the API.
+        entity.setContentType("application/json");
+        response.setEntity(entity);
+        return response;
+    }
+
+    @Test
+    public void testParseJsonRejectsFailureStatusAndConsumesBody() {
+        AtomicBoolean closed = new AtomicBoolean();
+        HttpResponse response = jsonResponse(404, "{\"text\":\"missing\"}".getBytes(StandardCharsets.UTF_8), closed);
+
+        HttpResponseException ex = assertThrows(HttpResponseException.class,
+                () -> new JsonMethod(mockWrapper).parseResponse(response)
+        );
+        assertEquals(404, ex.getStatusCode());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testParseJsonDecodesUtf8WithoutCharset() throws Exception {
+        String text = "Grüße, 您的设备异常";
+        HttpResponse response = jsonResponse(200,
+                ("{\"text\":\"" + text + "\"}").getBytes(StandardCharsets.UTF_8), new AtomicBoolean()
+        );
+        assertEquals(text, new JsonMethod(mockWrapper).parseResponse(response));
+    }
+
+    @Test
+    public void testExecuteWithMalformedJsonThrowsParseException() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(mockHttpClient.execute(any(HttpUriRequest.class))).thenReturn(
+                jsonResponse(200, "{\"text\":".getBytes(StandardCharsets.UTF_8), closed)
+        );
+
+        VonageResponseParseException ex = assertThrows(VonageResponseParseException.class,
+                () -> new JsonMethod(mockWrapper).execute("url")
+        );
+        assertTrue(ex.getCause() instanceof JsonProcessingException);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecuteAsyncRetriesTransientFailures() throws Exception {
+        useRetryPolicy();
+        when(mockWrapper.getScheduler()).thenReturn(Executors.newSingleThreadScheduledExecutor());
+        HttpResponse unavailable = response(503, "unavailable"), ok = response(200, "async retried");
+        when(mockHttpAsyncClient.execute(any(HttpUriRequest.class), any(FutureCallback.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(1, FutureCallback.class).completed(unavailable);
+                    return null;
+                })
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(1, FutureCallback.class).completed(ok);
+                    return null;
+                });
+
+        assertEquals("async retried", new ConcreteMethod(mockWrapper).executeAsync("url").get(5, TimeUnit.SECONDS));
+        verify(mockHttpAsyncClient, times(2)).execute(any(HttpUriRequest.class), any(FutureCallback.class));
+    }
+
+    private static class RateLimitedMethod extends ConcreteMethod {
+        public RateLimitedMethod(HttpWrapper httpWrapper) {
+            super(httpWrapper);
+        }
+
+        @Override
+        protected String getRateLimitGroup() {
+            return RateLimiter.SMS;
+        }
+
+        @Override
+        protected String getRateLimitSender(String request) {
+            return request;
+        }
+    }
+
+    @Test
+    public void testExecuteRejectedByRateLimiter() throws Exception {
+        when(mockWrapper.getRateLimiter()).thenReturn(RateLimiter.builder()
+                .mode(RateLimiter.Mode.FAIL_FAST).senderLimit(RateLimiter.SMS, 1, 1).build()
+        );
+        basicResponse.setEntity(new StringEntity("sent"));
+        RateLimitedMethod method = new RateLimitedMethod(mockWrapper);
+        assertEquals("sent", method.execute("url"));
+
+        try {
+            method.execute("url");
+            Assert.isTrue(false, "There should have been a rate limit exception thrown");
+        }
+        catch (VonageRateLimitExceededException e) {
+            verify(mockHttpClient, times(1)).execute(any(HttpUriRequest.class));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecuteAsyncRejectedByRateLimiter() throws Exception {
+        when(mockWrapper.getRateLimiter()).thenReturn(RateLimiter.builder()
+                .mode(RateLimiter.Mode.FAIL_FAST).limit(RateLimiter.SMS, 1, 1).build()
+        );
+        when(mockHttpAsyncClient.execute(any(HttpUriRequest.class), any(FutureCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, FutureCallback.class).completed(response(200, "sent"));
+            return null;
+        });
+        RateLimitedMethod method = new RateLimitedMethod(mockWrapper);
+        assertEquals("sent", method.executeAsync("url").get());
+
+        try {
+            method.executeAsync("url").get();
+            Assert.isTrue(false, "There should have been a rate limit exception thrown");
+        }
+        catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof VonageRateLimitExceededException);
+        }
+    }
+
+    @Test
+    public void testCircuitOpenRejectionReturnsRateLimitPermit() throws Exception {
+        RateLimiter rateLimiter = RateLimiter.builder().mode(RateLimiter.Mode.FAIL_FAST)
+                .limit(RateLimiter.SMS, 0.001, 2).build();
+        when(mockWrapper.getRateLimiter()).thenReturn(rateLimiter);
+        when(mockWrapper.getCircuitBreaker()).thenReturn(CircuitBreaker.builder().minimumCalls(1).build());
+        when(mockHttpClient.execute(any(HttpUriRequest.class))).thenReturn(response(503, "unavailable"));
+        RateLimitedMethod method = new RateLimitedMethod(mockWrapper);
+
+        assertThrows(VonageResponseParseException.class, () -> method.execute("https://api.nexmo.com/v1/sms"));
+        for (int i = 0; i < 3; i++) {
+            assertThrows(VonageCircuitOpenException.class, () -> method.execute("https://api.nexmo.com/v1/sms"));
+            try {
+                method.executeAsync("https://api.nexmo.com/v1/sms").get();
+                Assert.isTrue(false, "There should have been a circuit open exception thrown");
+            }
+            catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof VonageCircuitOpenException);
+            }
+        }
+        // Only the attempt which reached the server used a permit.
+        assertEquals(0, rateLimiter.acquire(RateLimiter.SMS, null));
+        assertThrows(VonageRateLimitExceededException.class, () -> rateLimiter.acquire(RateLimiter.SMS, null));
+    }
+
+    private List<RequestMetrics> useMetricsListener(RetryPolicy retryPolicy) {
+        List<RequestMetrics> reported = new CopyOnWriteArrayList<>();
+        when(mockWrapper.getMetricsListener()).thenReturn(reported::add);
+        when(mockWrapper.getHttpConfig()).thenReturn(HttpConfig.builder().retryPolicy(retryPolicy).build());
+        return reported;
+    }
+
+    @Test
+    public void testExecuteReportsMetrics() throws Exception {
+        List<RequestMetrics> reported = useMetricsListener(
+                ExponentialBackoffRetryPolicy.builder().initialDelay(Duration.ZERO).maxDelay(Duration.ZERO).build()
+        );
+        when(mockHttpClient.execute(any(HttpUriRequest.class)))
+                .thenThrow(new IOException("Connection reset"))
+                .thenReturn(response(503, "unavailable"))
+                .thenReturn(response(200, "third time lucky"));
+
+        new ConcreteMethod(mockWrapper).execute("url");
+        assertEquals(1, reported.size());
+        RequestMetrics metrics = reported.get(0);
+        assertEquals(ConcreteMethod.class, metrics.getEndpoint());
+        assertEquals("GET", metrics.getMethod());
+        assertEquals(200, metrics.getStatusCode());
+        assertEquals(3, metrics.getAttempts());
+        assertEquals(2, metrics.getRetries());
+        assertEquals("unavailable".length() + "third time lucky".length(), metrics.getBytesReceived());
+        assertTrue(metrics.getTotalNanos() >= metrics.getSigningNanos() + metrics.getNetworkNanos());
+        assertNull(metrics.getFailure());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRateLimitTimingIsThePermitWait() throws Exception {
+        List<RequestMetrics> reported = useMetricsListener(RetryPolicy.NONE);
+        when(mockWrapper.getRateLimiter()).thenReturn(
+                RateLimiter.builder().limit(RateLimiter.SMS, 1000, 1).nanoClock(() -> 0).build()
+        );
+        // Runs the delayed send on the calling thread, so that the metrics have been reported once the call returns.
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        });
+        when(mockWrapper.getScheduler()).thenReturn(scheduler);
+        when(mockHttpClient.execute(any(HttpUriRequest.class))).thenAnswer(invocation -> response(200, "sent"));
+        when(mockHttpAsyncClient.execute(any(HttpUriRequest.class), any(FutureCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, FutureCallback.class).completed(response(200, "sent"));
+            return null;
+        });
+        RateLimitedMethod method = new RateLimitedMethod(mockWrapper);
+
+        assertEquals("sent", method.execute("url"));
+        assertEquals("sent", method.execute("url"));
+        assertEquals("sent", method.executeAsync("url").get(5, TimeUnit.SECONDS));
+        assertEquals(3, reported.size());
+        assertEquals(0, reported.get(0).getRateLimitNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1), reported.get(1).getRateLimitNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(2), reported.get(2).getRateLimitNanos());
+    }
+
+    @Test
+    public void testExecuteReportsMetricsForFailures() throws Exception {
+        List<RequestMetrics> reported = useMetricsListener(RetryPolicy.NONE);
+        when(mockHttpClient.execute(any(HttpUriRequest.class))).thenReturn(response(500, "error"));
+
+        try {
+            new ConcreteMethod(mockWrapper).execute("url");
+            Assert.isTrue(false, "There should have been an exception thrown");
+        }
+        catch (VonageResponseParseException e) {
+            assertEquals(1, reported.size());
+            assertEquals(500, reported.get(0).getStatusCode());
+            assertEquals(1, reported.get(0).getAttempts());
+            assertEquals(e, reported.get(0).getFailure());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecuteAsyncReportsMetrics() throws Exception {
+        List<RequestMetrics> reported = useMetricsListener(RetryPolicy.NONE);
+        when(mockHttpAsyncClient.execute(any(HttpUriRequest.class), any(FutureCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, FutureCallback.class).failed(new IOException("Connection reset"));
+            return null;
+        });
+
+        CompletableFuture<String> result = new ConcreteMethod(mockWrapper).executeAsync("url");
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(1, reported.size());
+        assertEquals(0, reported.get(0).getStatusCode());
+        assertEquals(1, reported.get(0).getAttempts());
+        assertTrue(reported.get(0).getFailure() instanceof VonageMethodFailedException);
+    }
+
+    @Test
+    public void testExecuteFailsFastWhenCircuitIsOpen() throws Exception {
+        when(mockWrapper.getCircuitBreaker()).thenReturn(CircuitBreaker.builder().minimumCalls(2).build());
+        when(mockHttpClient.execute(any(HttpUriRequest.class))).thenReturn(response(503, "unavailable"));
+        ConcreteMethod method = new ConcreteMethod(mockWrapper);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                method.execute("https://api.nexmo.com/v1/calls");
+                Assert.isTrue(false, "There should have been an exception thrown");
+            }
+            catch (VonageResponseParseException e) {
+                // The failure is recorded by the circuit.
+            }
+        }
+        try {
+            method.execute("https://api.nexmo.com/v1/calls");
+            Assert.isTrue(false, "There should have been a circuit open exception thrown");
+        }
+        catch (VonageCircuitOpenException e) {
+            assertEquals("api.nexmo.com", e.getHost());
+            assertEquals(ConcreteMethod.class, e.getEndpoint());
+            verify(mockHttpClient, times(2)).execute(any(HttpUriRequest.class));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecuteHedgesSlowRequests() throws Exception {
+        HedgingPolicy policy = HedgingPolicy.builder().delay(Duration.ofMillis(10)).build();
+        when(mockWrapper.getHttpConfig()).thenReturn(HttpConfig.builder().hedgingPolicy(policy).build());
+        when(mockWrapper.getScheduler()).thenReturn(Executors.newSingleThreadScheduledExecutor());
+        List<FutureCallback<HttpResponse>> callbacks = new CopyOnWriteArrayList<>();
+        when(mockHttpAsyncClient.execute(any(HttpUriRequest.class), any(FutureCallback.class))).thenAnswer(invocation -> {
+            callbacks.add(invocation.getArgument(1, FutureCallback.class));
+            if (callbacks.size() == 2) {
+                callbacks.get(1).completed(response(200, "hedged"));
+            }
+            return new CompletableFuture<>();
+        });
+        ConcreteMethod method = new ConcreteMethod(mockWrapper) {
+            @Override
+            protected boolean isHedgeable(String request) {
+                return true;
+            }
+        };
+
+        assertEquals("hedged", method.execute("url"));
+        assertEquals(2, callbacks.size());
+        assertEquals(1, policy.getHedgesWon());
+        verify(mockHttpClient, never()).execute(any(HttpUriRequest.class));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.junit.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.Assert.*;
+
+public class CircuitBreakerTest {
+    private static final String HOST = "api.nexmo.com";
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(50), SLOW = TimeUnit.SECONDS.toNanos(2);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<String> events = new ArrayList<>();
+
+    private CircuitBreaker.Builder builder() {
+        return CircuitBreaker.builder()
+                .minimumCalls(4).failureRateThreshold(50)
+                .slowCallDuration(Duration.ofSeconds(1)).slowCallRateThreshold(75)
+                .window(Duration.ofSeconds(10)).openDuration(Duration.ofSeconds(5)).halfOpenCalls(2)
+                .listener((host, endpoint, from, to) -> events.add(from + "->" + to))
+                .nanoClock(nanos::get);
+    }
+
+    private static void call(CircuitBreaker.Circuit circuit, long duration, boolean failed) {
+        circuit.onResult(circuit.acquire(), duration, failed);
+    }
+
+    private static void assertRejected(CircuitBreaker.Circuit circuit) {
+        try {
+            circuit.acquire();
+            fail("Expected the circuit to be open.");
+        }
+        catch (VonageCircuitOpenException ex) {
+            assertEquals(HOST, ex.getHost());
+        }
+    }
+
+    @Test
+    public void testOpensOnFailureRateAndRecoversThroughHalfOpen() {
+        CircuitBreaker breaker = builder().build();
+        CircuitBreaker.Circuit circuit = breaker.circuitFor(HOST, String.class);
+        call(circuit, FAST, false);
+        call(circuit, FAST, true);
+        call(circuit, FAST, false);
+        assertEquals(CircuitBreaker.State.CLOSED, circuit.getState());
+        call(circuit, FAST, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(HOST, String.class));
+        assertEquals(1, breaker.getTrippedCircuits().size());
+        assertRejected(circuit);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        long first = circuit.acquire(), second = circuit.acquire();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuit.getState());
+        assertRejected(circuit);
+        circuit.onResult(first, FAST, false);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuit.getState());
+        circuit.onResult(second, FAST, false);
+        assertEquals(CircuitBreaker.State.CLOSED, circuit.getState());
+        assertTrue(breaker.getTrippedCircuits().isEmpty());
+        assertEquals(Arrays.asList("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), events);
+
+        // The window was reset on closing, so one more failure does not reopen the circuit.
+        call(circuit, FAST, true);
+        assertEquals(CircuitBreaker.State.CLOSED, circuit.getState());
+    }
+
+    @Test
+    public void testFailedProbeReopensAndIgnoresStaleResults() {
+        CircuitBreaker.Circuit circuit = builder().minimumCalls(1).build().circuitFor(HOST, String.class);
+        long stale = circuit.acquire();
+        call(circuit, FAST, true);
+        assertEquals(CircuitBreaker.State.OPEN, circuit.getState());
+        circuit.onResult(stale, FAST, false);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        long probe = circuit.acquire();
+        circuit.onResult(stale, FAST, false);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuit.getState());
+        circuit.onResult(probe, SLOW, false);
+        assertEquals(CircuitBreaker.State.OPEN, circuit.getState());
+        assertRejected(circuit);
+    }
+
+    @Test
+    public void testOpensOnSlowCallRate() {
+        CircuitBreaker.Circuit circuit = builder().build().circuitFor(HOST, String.class);
+        call(circuit, SLOW, false);
+        call(circuit, SLOW, false);
+        call(circuit, FAST, false);
+        call(circuit, SLOW, false);
+        assertEquals(CircuitBreaker.State.OPEN, circuit.getState());
+    }
+
+    @Test
+    public void testOldOutcomesLeaveTheWindow() {
+        CircuitBreaker.Circuit circuit = builder().build().circuitFor(HOST, String.class);
+        call(circuit, FAST, true);
+        call(circuit, FAST, true);
+        call(circuit, FAST, true);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        call(circuit, FAST, true);
+        call(circuit, FAST, false);
+        call(circuit, FAST, false);
+        assertEquals(CircuitBreaker.State.CLOSED, circuit.getState());
+    }
+
+    @Test
+    public void testCancelledProbeReturnsPermit() {
+        CircuitBreaker.Circuit circuit = builder().minimumCalls(1).halfOpenCalls(1).build()
+                .circuitFor(HOST, String.class);
+        call(circuit, FAST, true);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        circuit.onCancelled(circuit.acquire());
+        call(circuit, FAST, false);
+        assertEquals(CircuitBreaker.State.CLOSED, circuit.getState());
+    }
+
+    @Test
+    public void testCircuitsAreKeyedByHostAndEndpoint() {
+        CircuitBreaker breaker = builder().minimumCalls(1).build();
+        call(breaker.circuitFor(HOST, String.class), FAST, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(HOST, String.class));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(HOST, Integer.class));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState("rest.nexmo.com", String.class));
+        breaker.circuitFor(HOST, Integer.class).acquire();
+
+        CircuitBreaker perHost = builder().minimumCalls(1).perEndpoint(false).build();
+        call(perHost.circuitFor(HOST, String.class), FAST, true);
+        assertEquals(CircuitBreaker.State.OPEN, perHost.getState(HOST, Integer.class));
+        assertEquals(Collections.singletonList(HOST), perHost.getTrippedCircuits());
+    }
+
+    @Test
+    public void testInvalidSettings() {
+        CircuitBreaker.Builder builder = CircuitBreaker.builder();
+        assertThrows(IllegalArgumentException.class, () -> builder.failureRateThreshold(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.slowCallRateThreshold(101));
+        assertThrows(IllegalArgumentException.class, () -> builder.window(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> builder.openDuration(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> builder.minimumCalls(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.halfOpenCalls(0));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.junit.Test;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ConnectionEvictorTest {
+
+    @Test
+    public void testIntervalIsBounded() {
+        assertEquals(1000, new ConnectionEvictor("test", 100).getIntervalMillis());
+        assertEquals(5000, new ConnectionEvictor("test", 10_000).getIntervalMillis());
+        assertEquals(30_000, new ConnectionEvictor("test", 600_000).getIntervalMillis());
+    }
+
+    @Test
+    public void testTaskRunsRepeatedlyDespiteFailures() throws Exception {
+        ConnectionEvictor evictor = new ConnectionEvictor("test", 100);
+        CountDownLatch runs = new CountDownLatch(2);
+        evictor.register(() -> {
+            runs.countDown();
+            throw new IllegalStateException("Pool closed");
+        });
+        try {
+            assertTrue(runs.await(5, TimeUnit.SECONDS));
+        }
+        finally {
+            evictor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.junit.Test;
+import javax.net.ssl.SSLHandshakeException;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Date;
+import static org.junit.Assert.*;
+
+public class ExponentialBackoffRetryPolicyTest {
+
+    private static HttpResponse response(int status) {
+        return new BasicHttpResponse(new BasicStatusLine(new ProtocolVersion("HTTP", 1, 1), status, null));
+    }
+
+    private static ExponentialBackoffRetryPolicy.Builder noJitter() {
+        return ExponentialBackoffRetryPolicy.builder().jitter(0).retryBudget(null);
+    }
+
+    @Test
+    public void testBackoffGrowsExponentiallyUpToMaxDelay() {
+        ExponentialBackoffRetryPolicy policy = noJitter().maxAttempts(10)
+                .initialDelay(Duration.ofMillis(100)).maxDelay(Duration.ofMillis(1000)).build();
+
+        assertEquals(100, policy.getRetryDelay(1, response(503), null));
+        assertEquals(200, policy.getRetryDelay(2, response(503), null));
+        assertEquals(400, policy.getRetryDelay(3, null, new SocketTimeoutException()));
+        assertEquals(800, policy.getRetryDelay(4, response(429), null));
+        assertEquals(1000, policy.getRetryDelay(5, response(502), null));
+        assertEquals(1000, policy.getRetryDelay(9, response(504), null));
+    }
+
+    @Test
+    public void testJitterReducesDelay() {
+        ExponentialBackoffRetryPolicy policy = ExponentialBackoffRetryPolicy.builder()
+                .initialDelay(Duration.ofMillis(1000)).jitter(0.5).random(() -> 0.5).build();
+
+        assertEquals(750, policy.getRetryDelay(1, response(500), null));
+    }
+
+    @Test
+    public void testStopsAfterMaxAttempts() {
+        ExponentialBackoffRetryPolicy policy = noJitter().maxAttempts(2).build();
+
+        assertTrue(policy.getRetryDelay(1, response(503), null) >= 0);
+        assertEquals(-1, policy.getRetryDelay(2, response(503), null));
+    }
+
+    @Test
+    public void testNonRetryableOutcomes() {
+        ExponentialBackoffRetryPolicy policy = noJitter().build();
+
+        assertEquals(-1, policy.getRetryDelay(1, response(200), null));
+        assertEquals(-1, policy.getRetryDelay(1, response(400), null));
+        assertEquals(-1, policy.getRetryDelay(1, response(401), null));
+        assertEquals(-1, policy.getRetryDelay(1, null, new UnknownHostException()));
+        assertEquals(-1, policy.getRetryDelay(1, null, new SSLHandshakeException("Bad certificate")));
+        assertEquals(-1, policy.getRetryDelay(1, null, new ClientProtocolException()));
+        assertEquals(-1, policy.getRetryDelay(1, null, new IllegalStateException()));
+        assertTrue(policy.getRetryDelay(1, null, new IOException()) >= 0);
+    }
+
+    @Test
+    public void testCustomStatusCodes() {
+        ExponentialBackoffRetryPolicy policy = noJitter().retryableStatusCodes(409).build();
+
+        assertTrue(policy.getRetryDelay(1, response(409), null) >= 0);
+        assertEquals(-1, policy.getRetryDelay(1, response(503), null));
+    }
+
+    @Test
+    public void testRetryAfterSeconds() {
+        ExponentialBackoffRetryPolicy policy = noJitter().maxDelay(Duration.ofSeconds(5)).build();
+        HttpResponse response = response(429);
+
+        response.setHeader("Retry-After", "3");
+        assertEquals(3000, policy.getRetryDelay(1, response, null));
+
+        response.setHeader("Retry-After", "30");
+        assertEquals(-1, policy.getRetryDelay(1, response, null));
+
+        response.setHeader("Retry-After", "soon");
+        assertEquals(200, policy.getRetryDelay(1, response, null));
+    }
+
+    @Test
+    public void testRetryAfterDate() {
+        ExponentialBackoffRetryPolicy policy = noJitter().maxDelay(Duration.ofSeconds(10)).build();
+        HttpResponse response = response(503);
+        response.setHeader("Retry-After", DateUtils.formatDate(new Date(System.currentTimeMillis() + 4000)));
+
+        long delay = policy.getRetryDelay(1, response, null);
+        assertTrue(delay > 2000 && delay <= 4000);
+    }
+
+    @Test
+    public void testRetriesAreLimitedByBudget() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+        ExponentialBackoffRetryPolicy policy = noJitter().retryBudget(budget).build();
+
+        assertTrue(policy.getRetryDelay(1, response(503), null) >= 0);
+        assertEquals(-1, policy.getRetryDelay(1, response(503), null));
+        policy.onRequest();
+        policy.onRequest();
+        assertTrue(policy.getRetryDelay(1, response(503), null) >= 0);
+        assertSame(budget, policy.getRetryBudget());
+    }
+
+    @Test
+    public void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> ExponentialBackoffRetryPolicy.builder().maxAttempts(0));
+        assertThrows(IllegalArgumentException.class, () -> ExponentialBackoffRetryPolicy.builder().jitter(1.5));
+        assertThrows(IllegalArgumentException.class, () -> ExponentialBackoffRetryPolicy.builder().multiplier(0.5));
+        assertThrows(IllegalArgumentException.class, () ->
+                ExponentialBackoffRetryPolicy.builder().initialDelay(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> ExponentialBackoffRetryPolicy.builder()
+                .initialDelay(Duration.ofSeconds(5)).maxDelay(Duration.ofSeconds(1)).build());
+    }
+}
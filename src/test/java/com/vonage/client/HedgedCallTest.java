@@ -0,0 +1,141 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.junit.After;
+import org.junit.Test;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+
+public class HedgedCallTest {
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final BlockingQueue<CompletableFuture<String>> sent = new LinkedBlockingQueue<>();
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private CompletableFuture<String> start(HedgingPolicy policy) {
+        return HedgedCall.start(() -> {
+            CompletableFuture<String> request = new CompletableFuture<>();
+            sent.add(request);
+            return request;
+        }, policy, String.class, scheduler);
+    }
+
+    private static HedgingPolicy policy(Duration delay) {
+        return HedgingPolicy.builder().delay(delay).build();
+    }
+
+    private CompletableFuture<String> awaitRequest() throws InterruptedException {
+        CompletableFuture<String> request = sent.poll(5, TimeUnit.SECONDS);
+        assertNotNull("Expected a request to be sent.", request);
+        return request;
+    }
+
+    @Test
+    public void testFastResponseIsNotHedged() throws Exception {
+        HedgingPolicy policy = policy(Duration.ofMillis(50));
+        CompletableFuture<String> result = start(policy);
+        awaitRequest().complete("primary");
+
+        assertEquals("primary", result.get());
+        Thread.sleep(100);
+        assertTrue(sent.isEmpty());
+        assertEquals(1, policy.getRequestCount());
+        assertEquals(0, policy.getHedgesSent());
+    }
+
+    @Test
+    public void testHedgeWinsAndCancelsPrimary() throws Exception {
+        HedgingPolicy policy = policy(Duration.ofMillis(10));
+        CompletableFuture<String> result = start(policy);
+        CompletableFuture<String> primary = awaitRequest(), hedge = awaitRequest();
+        hedge.complete("hedge");
+
+        assertEquals("hedge", result.get());
+        assertTrue(primary.isCancelled());
+        assertEquals(1, policy.getHedgesSent());
+        assertEquals(1, policy.getHedgesWon());
+    }
+
+    @Test
+    public void testFailureWaitsForOutstandingRequest() throws Exception {
+        HedgingPolicy policy = policy(Duration.ofMillis(10));
+        CompletableFuture<String> result = start(policy);
+        CompletableFuture<String> primary = awaitRequest(), hedge = awaitRequest();
+        primary.completeExceptionally(new VonageMethodFailedException("reset"));
+        assertFalse(result.isDone());
+
+        hedge.completeExceptionally(new VonageMethodFailedException("timeout"));
+        try {
+            result.get();
+            fail("Expected the call to fail.");
+        }
+        catch (ExecutionException ex) {
+            assertEquals("timeout", ex.getCause().getMessage());
+        }
+        assertEquals(0, policy.getHedgesWon());
+    }
+
+    @Test
+    public void testFailureBeforeHedgeFailsImmediately() throws Exception {
+        CompletableFuture<String> result = start(policy(Duration.ofMillis(50)));
+        awaitRequest().completeExceptionally(new VonageResponseParseException("bad request"));
+
+        assertTrue(result.isCompletedExceptionally());
+        Thread.sleep(100);
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    public void testBudgetCapsHedges() throws Exception {
+        HedgingPolicy policy = HedgingPolicy.builder()
+                .delay(Duration.ofMillis(1)).maxExtraLoad(0.01, 1).build();
+        CompletableFuture<String> first = start(policy);
+        awaitRequest();
+        awaitRequest().complete("hedge");
+        assertEquals("hedge", first.get());
+
+        CompletableFuture<String> second = start(policy);
+        CompletableFuture<String> primary = awaitRequest();
+        Thread.sleep(50);
+        assertTrue(sent.isEmpty());
+        primary.complete("primary");
+        assertEquals("primary", second.get());
+        assertEquals(1, policy.getHedgesSent());
+        assertEquals(1, policy.getHedgesSuppressed());
+    }
+
+    @Test
+    public void testCancellingCancelsAllRequests() throws Exception {
+        CompletableFuture<String> result = start(policy(Duration.ofMillis(10)));
+        CompletableFuture<String> primary = awaitRequest(), hedge = awaitRequest();
+        result.cancel(true);
+        assertTrue(primary.isCancelled());
+        // The hedge may still be in the middle of being sent, in which case it is cancelled once it has been
+        hedge.handle((r, t) -> r).get(5, TimeUnit.SECONDS);
+        assertTrue(hedge.isCancelled());
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.junit.Test;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+
+public class HedgingPolicyTest {
+
+    @Test
+    public void testFixedDelay() {
+        HedgingPolicy policy = HedgingPolicy.builder().delay(Duration.ofMillis(250)).build();
+        policy.recordLatency(String.class, TimeUnit.SECONDS.toNanos(1));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(250), policy.getDelayNanos(String.class));
+    }
+
+    @Test
+    public void testPercentileDelayPerEndpoint() {
+        HedgingPolicy policy = HedgingPolicy.builder()
+                .delay(Duration.ofMillis(100)).percentileDelay(90, 64).build();
+        for (int i = 1; i < 64; i++) {
+            policy.recordLatency(String.class, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), policy.getDelayNanos(String.class));
+
+        policy.recordLatency(String.class, TimeUnit.MILLISECONDS.toNanos(64));
+        long delay = policy.getDelayNanos(String.class);
+        assertTrue(delay >= TimeUnit.MILLISECONDS.toNanos(58));
+        assertTrue(delay <= TimeUnit.MILLISECONDS.toNanos(62));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), policy.getDelayNanos(Integer.class));
+    }
+
+    @Test
+    public void testBudget() {
+        HedgingPolicy policy = HedgingPolicy.builder().maxExtraLoad(0.5, 2).build();
+        assertTrue(policy.tryAcquireHedge());
+        assertTrue(policy.tryAcquireHedge());
+        assertFalse(policy.tryAcquireHedge());
+        policy.onRequest();
+        assertFalse(policy.tryAcquireHedge());
+        policy.onRequest();
+        assertTrue(policy.tryAcquireHedge());
+        assertEquals(3, policy.getHedgesSent());
+        assertEquals(2, policy.getHedgesSuppressed());
+        assertEquals(2, policy.getRequestCount());
+    }
+
+    @Test
+    public void testInvalidSettings() {
+        HedgingPolicy.Builder builder = HedgingPolicy.builder();
+        assertThrows(IllegalArgumentException.class, () -> builder.delay(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> builder.percentileDelay(100, 10));
+        assertThrows(IllegalArgumentException.class, () -> builder.percentileDelay(95, 0));
+        assertThrows(IllegalArgumentException.class, () -> builder.maxExtraLoad(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> builder.maxExtraLoad(0.1, 0));
+    }
+}
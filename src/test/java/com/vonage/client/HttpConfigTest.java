@@ -16,7 +16,8 @@
 package com.vonage.client;
 
 import org.junit.Test;
-import static org.junit.Assert.assertEquals;
+import java.time.Duration;
+import static org.junit.Assert.*;
 
 public class HttpConfigTest {
     private static final String EXPECTED_DEFAULT_API_BASE_URI = "https://api.nexmo.com";
@@ -67,4 +68,75 @@ public class HttpConfigTest {
         assertEquals("https://example.com", config.getRestBaseUri());
         assertEquals("https://example.com", config.getSnsBaseUri());
     }
+
+    @Test
+    public void testDefaultConnectionSettings() {
+        HttpConfig config = HttpConfig.defaultConfig();
+
+        assertEquals(200, config.getMaxConnectionsTotal());
+        assertEquals(200, config.getMaxConnectionsPerRoute());
+        assertNull(config.getApiMaxConnections());
+        assertNull(config.getRestMaxConnections());
+        assertNull(config.getSnsMaxConnections());
+        assertEquals(-1, config.getConnectTimeout());
+        assertEquals(-1, config.getSocketTimeout());
+        assertEquals(-1, config.getConnectionRequestTimeout());
+        assertEquals(2000, config.getValidateAfterInactivity());
+        assertEquals(-1, config.getConnectionTimeToLive());
+        assertEquals(-1, config.getIdleConnectionTimeout());
+    }
+
+    @Test
+    public void testAllConnectionSettings() {
+        HttpConfig config = HttpConfig.builder()
+                .maxConnectionsTotal(64).maxConnectionsPerRoute(16)
+                .apiMaxConnections(32).restMaxConnections(24).snsMaxConnections(4)
+                .connectTimeout(Duration.ofSeconds(2))
+                .socketTimeout(Duration.ofSeconds(10))
+                .connectionRequestTimeout(Duration.ofMillis(500))
+                .validateAfterInactivity(Duration.ZERO)
+                .connectionTimeToLive(Duration.ofMinutes(5))
+                .idleConnectionTimeout(Duration.ofSeconds(30))
+                .build();
+
+        assertEquals(64, config.getMaxConnectionsTotal());
+        assertEquals(16, config.getMaxConnectionsPerRoute());
+        assertEquals(Integer.valueOf(32), config.getApiMaxConnections());
+        assertEquals(Integer.valueOf(24), config.getRestMaxConnections());
+        assertEquals(Integer.valueOf(4), config.getSnsMaxConnections());
+        assertEquals(2000, config.getConnectTimeout());
+        assertEquals(10_000, config.getSocketTimeout());
+        assertEquals(500, config.getConnectionRequestTimeout());
+        assertEquals(0, config.getValidateAfterInactivity());
+        assertEquals(300_000, config.getConnectionTimeToLive());
+        assertEquals(30_000, config.getIdleConnectionTimeout());
+    }
+
+    @Test
+    public void testInvalidConnectionSettings() {
+        HttpConfig.Builder builder = HttpConfig.builder();
+        assertThrows(IllegalArgumentException.class, () -> builder.maxConnectionsTotal(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.maxConnectionsPerRoute(-1));
+        assertThrows(IllegalArgumentException.class, () -> builder.apiMaxConnections(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.connectTimeout(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> builder.socketTimeout(Duration.ofDays(30)));
+        assertThrows(IllegalArgumentException.class, () -> builder.connectionTimeToLive(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> builder.idleConnectionTimeout(Duration.ofSeconds(-5)));
+    }
+
+    @Test
+    public void testRetryPolicy() {
+        assertSame(RetryPolicy.NONE, HttpConfig.defaultConfig().getRetryPolicy());
+        assertSame(RetryPolicy.NONE, HttpConfig.builder().retryPolicy(null).build().getRetryPolicy());
+
+        RetryPolicy policy = ExponentialBackoffRetryPolicy.builder().build();
+        assertSame(policy, HttpConfig.builder().retryPolicy(policy).build().getRetryPolicy());
+    }
+
+    @Test
+    public void testMaxLoggedBodySize() {
+        assertEquals(4096, HttpConfig.defaultConfig().getMaxLoggedBodySize());
+        assertEquals(0, HttpConfig.builder().maxLoggedBodySize(0).build().getMaxLoggedBodySize());
+        assertThrows(IllegalArgumentException.class, () -> HttpConfig.builder().maxLoggedBodySize(-1));
+    }
 }
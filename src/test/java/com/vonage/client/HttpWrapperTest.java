@@ -16,10 +16,25 @@
 package com.vonage.client;
 
 import com.vonage.client.auth.AuthCollection;
+import org.apache.http.HttpHost;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.junit.Before;
 import org.junit.Test;
+import java.io.Closeable;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 public class HttpWrapperTest {
     private static final String EXPECTED_DEFAULT_API_BASE_URI = "https://api.nexmo.com";
@@ -38,6 +53,12 @@ public class HttpWrapperTest {
         assertNotNull(wrapper.getHttpClient());
     }
 
+    @Test
+    public void testHttpAsyncClientIsCreatedOnce() {
+        assertNotNull(wrapper.getHttpAsyncClient());
+        assertSame(wrapper.getHttpAsyncClient(), wrapper.getHttpAsyncClient());
+    }
+
     @Test
     public void testAuthMethodAccessors() {
         AuthCollection auths = new AuthCollection();
@@ -57,4 +78,89 @@ public class HttpWrapperTest {
         assertEquals(EXPECTED_DEFAULT_REST_BASE_URI, config.getRestBaseUri());
         assertEquals(EXPECTED_DEFAULT_SNS_BASE_URI, config.getSnsBaseUri());
     }
+
+    @Test
+    public void testMaxConnectionsPerHostUsesDefaultsWhenUnset() {
+        assertTrue(wrapper.getMaxConnectionsPerHost().isEmpty());
+    }
+
+    @Test
+    public void testMaxConnectionsPerHostResolvesRoutes() {
+        wrapper = new HttpWrapper(HttpConfig.builder()
+                .restBaseUri("http://localhost:8080/")
+                .apiMaxConnections(50).restMaxConnections(10).snsMaxConnections(5)
+                .build(), new AuthCollection()
+        );
+        Map<HttpRoute, Integer> limits = wrapper.getMaxConnectionsPerHost();
+
+        assertEquals(3, limits.size());
+        assertEquals(Integer.valueOf(50), limits.get(
+                new HttpRoute(new HttpHost("api.nexmo.com", 443, "https"), null, true))
+        );
+        assertEquals(Integer.valueOf(10), limits.get(
+                new HttpRoute(new HttpHost("localhost", 8080, "http"), null, false))
+        );
+        assertEquals(Integer.valueOf(5), limits.get(
+                new HttpRoute(new HttpHost("sns.nexmo.com", 443, "https"), null, true))
+        );
+    }
+
+    @Test
+    public void testMaxConnectionsPerHostOnSharedHostUsesHighestLimit() {
+        wrapper = new HttpWrapper(HttpConfig.builder()
+                .baseUri("https://example.com").apiMaxConnections(8).snsMaxConnections(20)
+                .build(), new AuthCollection()
+        );
+        Map<HttpRoute, Integer> limits = wrapper.getMaxConnectionsPerHost();
+
+        assertEquals(1, limits.size());
+        assertEquals(Integer.valueOf(20), limits.values().iterator().next());
+    }
+
+    @Test
+    public void testCloseReleasesCreatedResources() {
+        wrapper = new HttpWrapper(HttpConfig.builder().idleConnectionTimeout(Duration.ofSeconds(5)).build(), new AuthCollection());
+        ScheduledExecutorService scheduler = wrapper.getScheduler();
+        CloseableHttpClient httpClient = (CloseableHttpClient) wrapper.getHttpClient();
+        wrapper.close();
+
+        assertTrue(scheduler.isShutdown());
+        assertThrows(IllegalStateException.class, () -> httpClient.execute(new HttpGet("http://localhost/")));
+        assertThrows(IllegalStateException.class, wrapper::getHttpClient);
+        assertThrows(IllegalStateException.class, wrapper::getHttpAsyncClient);
+        assertThrows(IllegalStateException.class, wrapper::getScheduler);
+        wrapper.close();
+    }
+
+    @Test
+    public void testCloseLeavesSuppliedClientsOpen() {
+        AtomicBoolean closed = new AtomicBoolean();
+        HttpClient supplied = (HttpClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{HttpClient.class, Closeable.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        closed.set(true);
+                    }
+                    return null;
+                }
+        );
+        wrapper.setHttpClient(supplied);
+        wrapper.close();
+
+        assertFalse(closed.get());
+        assertSame(supplied, wrapper.getHttpClient());
+    }
+
+    @Test
+    public void testClosingViewDoesNotCloseSharedWrapper() {
+        HttpWrapper view = new HttpWrapper(wrapper, new AuthCollection());
+        HttpClient httpClient = view.getHttpClient();
+        ScheduledExecutorService scheduler = view.getScheduler();
+        view.close();
+
+        assertFalse(scheduler.isShutdown());
+        assertSame(httpClient, wrapper.getHttpClient());
+        assertThrows(IllegalStateException.class, view::getHttpClient);
+        wrapper.close();
+        assertTrue(scheduler.isShutdown());
+    }
 }
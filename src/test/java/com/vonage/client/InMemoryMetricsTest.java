@@ -0,0 +1,133 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.pool.PoolStats;
+import org.junit.Test;
+import java.io.IOException;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class InMemoryMetricsTest {
+    private final InMemoryMetrics metrics = new InMemoryMetrics();
+
+    private static HttpResponse response(int status, String body) throws Exception {
+        HttpResponse response = new BasicHttpResponse(new BasicStatusLine(
+                new ProtocolVersion("HTTP", 1, 1), status, "Status " + status
+        ));
+        response.setEntity(new StringEntity(body));
+        return response;
+    }
+
+    private static RequestMetrics call(Class<?> endpoint, HttpUriRequest request, Throwable failure,
+                                       HttpResponse... responses) {
+        RequestMetrics call = new RequestMetrics(endpoint);
+        for (HttpResponse response : responses) {
+            call.recordRateLimit(3000);
+            call.recordSigning(request, 1000);
+            call.recordAttempt(request, response, 5000);
+        }
+        call.complete(failure);
+        return call;
+    }
+
+    @Test
+    public void testAggregatesPerEndpointAndMethod() throws Exception {
+        HttpUriRequest get = RequestBuilder.get("https://api.nexmo.com/v1/calls").build();
+        HttpUriRequest post = RequestBuilder.post("https://api.nexmo.com/v1/calls")
+                .setEntity(new StringEntity("{\"to\":[]}")).build();
+
+        metrics.onRequestCompleted(call(String.class, get, null, response(200, "[]")));
+        metrics.onRequestCompleted(call(String.class, get, null, response(503, "busy"), response(200, "[1]")));
+        metrics.onRequestCompleted(call(String.class, post, new IOException(), response(400, "bad")));
+        metrics.onRequestCompleted(call(Integer.class, get, new IOException(), (HttpResponse) null));
+
+        List<InMemoryMetrics.EndpointMetrics> snapshot = metrics.getEndpointMetrics();
+        assertEquals(3, snapshot.size());
+
+        InMemoryMetrics.EndpointMetrics integerGet = snapshot.get(0);
+        assertEquals(Integer.class, integerGet.getEndpoint());
+        assertEquals(1, integerGet.getFailureCount());
+        assertEquals(Long.valueOf(1), integerGet.getStatusCodeCounts().get(0));
+
+        InMemoryMetrics.EndpointMetrics stringGet = snapshot.get(1);
+        assertEquals(String.class, stringGet.getEndpoint());
+        assertEquals("GET", stringGet.getMethod());
+        assertEquals(2, stringGet.getRequestCount());
+        assertEquals(0, stringGet.getFailureCount());
+        assertEquals(1, stringGet.getRetryCount());
+        assertEquals(1, stringGet.getStatusCodeCounts().size());
+        assertEquals(Long.valueOf(2), stringGet.getStatusCodeCounts().get(200));
+        assertEquals("[]".length() + "busy".length() + "[1]".length(), stringGet.getBytesReceived());
+        assertEquals(0, stringGet.getBytesSent());
+        assertEquals(10_000, stringGet.getNetworkLatency().getMax(), 10_000 / 16);
+        assertEquals(2_000, stringGet.getSigningLatency().getValueAtPercentile(100));
+        assertEquals(2, stringGet.getRateLimitLatency().getCount());
+        assertEquals(6_000, stringGet.getRateLimitLatency().getMax(), 6_000 / 16);
+
+        InMemoryMetrics.EndpointMetrics stringPost = snapshot.get(2);
+        assertEquals("POST", stringPost.getMethod());
+        assertEquals(1, stringPost.getFailureCount());
+        assertEquals("{\"to\":[]}".length(), stringPost.getBytesSent());
+        assertEquals(Long.valueOf(1), stringPost.getStatusCodeCounts().get(400));
+
+        metrics.reset();
+        assertTrue(metrics.getEndpointMetrics().isEmpty());
+    }
+
+    @Test
+    public void testRequestWhichFailedBeforeBeingBuilt() {
+        RequestMetrics call = new RequestMetrics(String.class);
+        call.complete(new IllegalStateException());
+        metrics.onRequestCompleted(call);
+        InMemoryMetrics.EndpointMetrics endpoint = metrics.getEndpointMetrics().get(0);
+        assertEquals("UNKNOWN", endpoint.getMethod());
+        assertEquals(0, endpoint.getRetryCount());
+        assertEquals(1, endpoint.getFailureCount());
+    }
+
+    @Test
+    public void testSumsConnectionPools() {
+        assertEquals(0, metrics.getConnectionPoolStats().getMax());
+        metrics.onConnectionPoolCreated(() -> new PoolStats(3, 1, 2, 200));
+        metrics.onConnectionPoolCreated(() -> new PoolStats(1, 0, 4, 200));
+        PoolStats stats = metrics.getConnectionPoolStats();
+        assertEquals(4, stats.getLeased());
+        assertEquals(1, stats.getPending());
+        assertEquals(6, stats.getAvailable());
+        assertEquals(400, stats.getMax());
+    }
+
+    @Test
+    public void testConfiguredThroughHttpConfig() {
+        assertSame(MetricsListener.NONE, HttpConfig.defaultConfig().getMetricsListener());
+        HttpConfig config = HttpConfig.builder().metricsListener(metrics).build();
+        assertSame(metrics, config.getMetricsListener());
+        assertSame(MetricsListener.NONE, HttpConfig.builder().metricsListener(null).build().getMetricsListener());
+
+        HttpWrapper wrapper = new HttpWrapper(config);
+        assertSame(metrics, wrapper.getMetricsListener());
+        wrapper.getHttpClient();
+        assertEquals(config.getMaxConnectionsTotal(), metrics.getConnectionPoolStats().getMax());
+    }
+}
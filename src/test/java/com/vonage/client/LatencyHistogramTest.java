@@ -0,0 +1,79 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.junit.Test;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsCoverRangeWithBoundedError() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int index = LatencyHistogram.bucketIndex(value);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(upper >= value);
+            assertTrue((double) (upper - value) / Math.max(value, 1) <= 1.0 / 16);
+        }
+        assertEquals(0, LatencyHistogram.bucketIndex(0));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), snapshot.getMax());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(50_500), snapshot.getMean(), 1);
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(50), snapshot.getValueAtPercentile(50));
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(99), snapshot.getValueAtPercentile(99));
+        assertEquals(snapshot.getMax(), snapshot.getValueAtPercentile(100));
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(1), snapshot.getValueAtPercentile(0));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual + " < " + expected, actual >= expected);
+        assertTrue(actual + " too far above " + expected, actual <= expected + expected / 16);
+    }
+
+    @Test
+    public void testEmptyAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().getValueAtPercentile(99));
+        histogram.record(-5);
+        histogram.record(7);
+        assertEquals(2, histogram.snapshot().getCount());
+        assertEquals(7, histogram.snapshot().getValueAtPercentile(100));
+        assertEquals(0, histogram.snapshot().getValueAtPercentile(50));
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getMax());
+        assertEquals(0, histogram.snapshot().getMean(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        new LatencyHistogram().snapshot().getValueAtPercentile(101);
+    }
+}
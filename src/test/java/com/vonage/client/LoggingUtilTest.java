@@ -16,14 +16,24 @@
 package com.vonage.client;
 
 import com.vonage.client.logging.LoggingUtils;
+import com.vonage.client.logging.TeeLoggingEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.ProtocolVersion;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
 import org.apache.http.message.BasicHttpResponse;
 import org.apache.http.message.BasicStatusLine;
+import org.apache.http.util.EntityUtils;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -71,4 +81,79 @@ public class LoggingUtilTest {
       fail("LoggingUtils Failed for Content Response");
     }
   }
+
+  private static String repeat(char c, int count) {
+    StringBuilder sb = new StringBuilder(count);
+    for (int i = 0; i < count; i++) {
+      sb.append(c);
+    }
+    return sb.toString();
+  }
+
+  @Test
+  public void testLogResponseIsBoundedAndPreservesBody() throws Exception {
+    String body = "{\"data\":\"" + repeat('x', 10_000) + "\"}";
+    HttpResponse response = TestUtils.makeJsonHttpResponse(200, body);
+
+    String log = LoggingUtils.logResponse(response, 100);
+    assertTrue(log.startsWith("status_code: 200"));
+    assertTrue(log.contains(body.substring(0, 100) + "... [truncated"));
+    assertFalse(log.contains(body.substring(0, 101)));
+    assertEquals(body, EntityUtils.toString(response.getEntity()));
+  }
+
+  @Test
+  public void testRedact() {
+    assertEquals("https://rest.nexmo.com/sms/json?api_key=key&api_secret=***&sig=***",
+        LoggingUtils.redact("https://rest.nexmo.com/sms/json?api_key=key&api_secret=abc123&sig=f00d"));
+    assertEquals("{\"name\":\"app\",\"private_key\":\"***\",\"secret\" : \"***\"}", LoggingUtils.redact(
+        "{\"name\":\"app\",\"private_key\":\"-----BEGIN KEY-----\\nAB \\\"CD\",\"secret\" : \"s3cr3t\"}"
+    ));
+    assertEquals("api_secretive=true&design=1", LoggingUtils.redact("api_secretive=true&design=1"));
+  }
+
+  @Test
+  public void testLogRequestRedactsCredentials() throws Exception {
+    HttpUriRequest request = RequestBuilder.post("https://rest.nexmo.com/sms/json?api_secret=abc")
+        .setHeader("Authorization", "Bearer eyJhbGciOi")
+        .setEntity(new StringEntity(
+            "api_key=key&sig=123&text=" + repeat('a', 50), ContentType.APPLICATION_FORM_URLENCODED
+        ))
+        .build();
+
+    String log = LoggingUtils.logRequest(request, 30);
+    assertTrue(log.startsWith("POST https://rest.nexmo.com/sms/json?api_secret=***"));
+    assertTrue(log.contains("Authorization: ***"));
+    assertTrue(log.contains("body: api_key=key&sig=***&text=aaa"));
+    assertTrue(log.contains("truncated"));
+    assertFalse(log.contains("abc"));
+    assertFalse(log.contains("eyJ"));
+    assertFalse(log.contains("123"));
+  }
+
+  @Test
+  public void testBinaryBodiesAreNotLogged() throws Exception {
+    HttpResponse response = new BasicHttpResponse(
+        new BasicStatusLine(new ProtocolVersion("HTTP", 1, 1), 200, "OK")
+    );
+    response.setEntity(new ByteArrayEntity(new byte[2048], ContentType.create("audio/mpeg")));
+
+    assertNull(TeeLoggingEntity.attach(response, 100));
+    assertTrue(LoggingUtils.logResponse(response, 100).contains("[2048 bytes of audio/mpeg]"));
+    assertTrue(response.getEntity() instanceof ByteArrayEntity);
+  }
+
+  @Test
+  public void testTeeCapturesBodyAsItIsRead() throws Exception {
+    String body = "{\"api_secret\":\"abc\",\"text\":\"" + repeat('y', 500) + "\"}";
+    HttpResponse response = TestUtils.makeJsonHttpResponse(200, body);
+
+    TeeLoggingEntity tee = TeeLoggingEntity.attach(response, 40);
+    assertEquals("", tee.getLoggedBody());
+    assertEquals(body, EntityUtils.toString(response.getEntity()));
+    assertEquals("{\"api_secret\":\"***\",\"text\":\"" + repeat('y', 40 - body.indexOf('y')) + "... [truncated, " +
+        body.length() + " bytes]", tee.getLoggedBody());
+
+    assertNull(TeeLoggingEntity.attach(response, 0));
+  }
 }
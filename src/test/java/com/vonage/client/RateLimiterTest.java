@@ -0,0 +1,132 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.junit.Test;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.Assert.*;
+
+public class RateLimiterTest {
+    private final AtomicLong nanos = new AtomicLong();
+
+    private RateLimiter.Builder builder() {
+        return RateLimiter.builder().nanoClock(nanos::get);
+    }
+
+    @Test
+    public void testUnconfiguredGroupIsNotLimited() {
+        RateLimiter limiter = builder().mode(RateLimiter.Mode.FAIL_FAST).limit(RateLimiter.SMS, 1).build();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.acquire(RateLimiter.VOICE_CALLS, "447700900000"));
+        }
+    }
+
+    @Test
+    public void testWaitModeReturnsDelay() {
+        RateLimiter limiter = builder().limit(RateLimiter.SMS, 4).build();
+        assertEquals(RateLimiter.Mode.WAIT, limiter.getMode());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, limiter.acquire(RateLimiter.SMS, null));
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(250), limiter.acquire(RateLimiter.SMS, null));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), limiter.acquire(RateLimiter.SMS, null));
+    }
+
+    @Test
+    public void testWaitModeUsesLongestOfGroupAndSender() {
+        RateLimiter limiter = builder()
+                .limit(RateLimiter.MESSAGES, 100)
+                .senderLimit(RateLimiter.MESSAGES, 1, 1)
+                .build();
+
+        assertEquals(0, limiter.acquire(RateLimiter.MESSAGES, "Alice"));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.acquire(RateLimiter.MESSAGES, "Alice"));
+        assertEquals(0, limiter.acquire(RateLimiter.MESSAGES, "Bob"));
+        assertEquals(0, limiter.acquire(RateLimiter.MESSAGES, null));
+    }
+
+    @Test
+    public void testFailFastPerSender() {
+        RateLimiter limiter = builder().mode(RateLimiter.Mode.FAIL_FAST)
+                .senderLimit(RateLimiter.SMS, 1, 1).build();
+
+        assertEquals(0, limiter.acquire(RateLimiter.SMS, "Alice"));
+        assertThrows(VonageRateLimitExceededException.class, () -> limiter.acquire(RateLimiter.SMS, "Alice"));
+        assertEquals(0, limiter.acquire(RateLimiter.SMS, "Bob"));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.acquire(RateLimiter.SMS, "Alice"));
+    }
+
+    @Test
+    public void testFailFastOnGroupReturnsSenderPermit() {
+        RateLimiter limiter = builder().mode(RateLimiter.Mode.FAIL_FAST)
+                .limit(RateLimiter.SMS, 1, 1)
+                .senderLimit(RateLimiter.SMS, 1, 1).build();
+
+        assertEquals(0, limiter.acquire(RateLimiter.SMS, "Alice"));
+        assertThrows(VonageRateLimitExceededException.class, () -> limiter.acquire(RateLimiter.SMS, "Bob"));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.acquire(RateLimiter.SMS, "Bob"));
+    }
+
+    @Test
+    public void testReleaseReturnsGroupAndSenderPermits() {
+        RateLimiter limiter = builder().mode(RateLimiter.Mode.FAIL_FAST)
+                .limit(RateLimiter.SMS, 1, 1)
+                .senderLimit(RateLimiter.SMS, 1, 1).build();
+
+        assertEquals(0, limiter.acquire(RateLimiter.SMS, "Alice"));
+        limiter.release(RateLimiter.SMS, "Alice");
+        assertEquals(0, limiter.acquire(RateLimiter.SMS, "Alice"));
+        assertThrows(VonageRateLimitExceededException.class, () -> limiter.acquire(RateLimiter.SMS, "Alice"));
+        // Permits are never returned beyond the burst size.
+        limiter.release(RateLimiter.SMS, "Alice");
+        limiter.release(RateLimiter.SMS, "Alice");
+        assertEquals(0, limiter.acquire(RateLimiter.SMS, "Alice"));
+        assertThrows(VonageRateLimitExceededException.class, () -> limiter.acquire(RateLimiter.SMS, "Alice"));
+    }
+
+    @Test
+    public void testIdleSenderBucketsAreDiscarded() {
+        RateLimiter limiter = builder().senderLimit(RateLimiter.SMS, 1, 1).build();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.acquire(RateLimiter.SMS, "old-" + i));
+        }
+        assertEquals(100, limiter.getSenderBucketCount(RateLimiter.SMS));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        for (int i = 0; i < 200; i++) {
+            assertEquals(0, limiter.acquire(RateLimiter.SMS, "new-" + i));
+        }
+        assertEquals(200, limiter.getSenderBucketCount(RateLimiter.SMS));
+        assertEquals(0, limiter.getSenderBucketCount(RateLimiter.MESSAGES));
+
+        // Senders whose buckets were discarded had refilled, so start again with a full bucket.
+        assertEquals(0, limiter.acquire(RateLimiter.SMS, "old-0"));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.acquire(RateLimiter.SMS, "old-0"));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.acquire(RateLimiter.SMS, "new-0"));
+    }
+
+    @Test
+    public void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.builder().limit(RateLimiter.SMS, 0));
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.builder().limit(RateLimiter.SMS, 5, 0));
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.builder().senderLimit(RateLimiter.SMS, -1));
+    }
+}
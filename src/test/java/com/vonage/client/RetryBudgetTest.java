@@ -0,0 +1,59 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class RetryBudgetTest {
+
+    @Test
+    public void testBudgetStartsFullAndIsExhausted() {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+        assertEquals(2, budget.getAvailableRetries());
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+        assertEquals(0, budget.getAvailableRetries());
+    }
+
+    @Test
+    public void testDepositsReplenishBudgetUpToMaximum() {
+        RetryBudget budget = new RetryBudget(0.25, 1);
+        assertTrue(budget.tryWithdraw());
+        for (int i = 0; i < 3; i++) {
+            budget.deposit();
+            assertFalse(budget.tryWithdraw());
+        }
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+        assertEquals(1, budget.getAvailableRetries());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRatio() {
+        new RetryBudget(0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxBalance() {
+        new RetryBudget(0.1, 0);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import org.junit.Test;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.Assert.*;
+
+public class TokenBucketTest {
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    public void testBurstThenRefill() {
+        TokenBucket bucket = new TokenBucket(2, 2, nanos::get);
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    public void testReservationsQueueInOrder() {
+        TokenBucket bucket = new TokenBucket(10, 1, nanos::get);
+        assertEquals(0, bucket.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), bucket.reserve());
+        assertFalse(bucket.tryAcquire());
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.reserve());
+    }
+
+    @Test
+    public void testReleaseReturnsPermit() {
+        TokenBucket bucket = new TokenBucket(1, 1, nanos::get);
+        assertTrue(bucket.tryAcquire());
+        bucket.release();
+        assertTrue(bucket.tryAcquire());
+        bucket.release();
+        bucket.release();
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    public void testRetireOnlyOnceRefilled() {
+        TokenBucket bucket = new TokenBucket(2, 2, nanos::get);
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.retireIfFull());
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(bucket.retireIfFull());
+        assertTrue(bucket.isRetired());
+        assertFalse(bucket.tryAcquire());
+        assertEquals(-1, bucket.reserve());
+    }
+}
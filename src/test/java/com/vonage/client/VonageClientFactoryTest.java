@@ -0,0 +1,113 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client;
+
+import com.vonage.client.auth.TokenAuthMethod;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.RequestBuilder;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import static org.junit.Assert.*;
+
+public class VonageClientFactoryTest {
+
+    @Test
+    public void testClientsShareHttpClientsButNotCredentials() throws Exception {
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        VonageClientFactory factory = VonageClientFactory.builder()
+                .httpConfig(HttpConfig.builder().metricsListener(metrics).build()).build();
+
+        VonageClient first = factory.createClient("key-1", "secret-1");
+        VonageClient second = factory.clientBuilder().apiKey("key-2").apiSecret("secret-2")
+                .httpConfig(HttpConfig.builder().baseUri("https://example.com").build()).build();
+
+        HttpWrapper firstWrapper = first.getHttpWrapper(), secondWrapper = second.getHttpWrapper();
+        assertNotSame(firstWrapper, secondWrapper);
+        assertSame(factory.getHttpConfig(), firstWrapper.getHttpConfig());
+        assertSame(factory.getHttpConfig(), secondWrapper.getHttpConfig());
+        assertSame(metrics, secondWrapper.getMetricsListener());
+
+        assertSame(firstWrapper.getHttpClient(), secondWrapper.getHttpClient());
+        assertSame(factory.getSharedHttpWrapper().getHttpClient(), firstWrapper.getHttpClient());
+        assertSame(firstWrapper.getScheduler(), secondWrapper.getScheduler());
+        assertEquals(factory.getHttpConfig().getMaxConnectionsTotal(), metrics.getConnectionPoolStats().getMax());
+
+        assertNotSame(firstWrapper.getAuthCollection(), secondWrapper.getAuthCollection());
+        assertNotEquals(basicAuthHeader(firstWrapper), basicAuthHeader(secondWrapper));
+    }
+
+    private static String basicAuthHeader(HttpWrapper wrapper) throws Exception {
+        return wrapper.getAuthCollection().getAuth(TokenAuthMethod.class)
+                .applyAsBasicAuth(RequestBuilder.get()).getFirstHeader("Authorization").getValue();
+    }
+
+    @Test
+    public void testCustomHttpClientIsShared() {
+        HttpClient custom = new HttpWrapper().getHttpClient();
+        VonageClientFactory factory = VonageClientFactory.builder().httpClient(custom).build();
+        assertSame(custom, factory.createClient("key", "secret").getHttpWrapper().getHttpClient());
+    }
+
+    @Test
+    public void testSharedClientIsCreatedOnce() throws Exception {
+        VonageClientFactory factory = VonageClientFactory.builder().build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<HttpClient>> clients = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                VonageClient client = factory.createClient("key-" + i, "secret");
+                clients.add(executor.submit(() -> {
+                    start.await();
+                    return client.getHttpWrapper().getHttpClient();
+                }));
+            }
+            start.countDown();
+            HttpClient expected = clients.get(0).get();
+            for (Future<HttpClient> client : clients) {
+                assertSame(expected, client.get());
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testClosingFactoryReleasesSharedResources() {
+        VonageClientFactory factory = VonageClientFactory.builder().build();
+        VonageClient first = factory.createClient("key-1", "secret"), second = factory.createClient("key-2", "secret");
+        HttpClient httpClient = first.getHttpWrapper().getHttpClient();
+        ScheduledExecutorService scheduler = first.getHttpWrapper().getScheduler();
+
+        first.close();
+        assertFalse(scheduler.isShutdown());
+        assertSame(httpClient, second.getHttpWrapper().getHttpClient());
+        assertThrows(IllegalStateException.class, () -> first.getHttpWrapper().getHttpClient());
+
+        factory.close();
+        assertTrue(scheduler.isShutdown());
+        assertThrows(IllegalStateException.class, () -> second.getHttpWrapper().getScheduler());
+        VonageClient third = factory.createClient("key-3", "secret");
+        assertThrows(IllegalStateException.class, () -> third.getHttpWrapper().getHttpClient());
+    }
+}
@@ -18,6 +18,7 @@ package com.vonage.client;
 import com.vonage.client.auth.*;
 import com.vonage.client.auth.hashutils.HashUtil;
 import com.vonage.client.logging.LoggingUtils;
+import com.vonage.client.messages.MessagesClient;
 import com.vonage.client.voice.Call;
 import com.vonage.client.voice.CallEvent;
 import com.vonage.client.voice.CallStatus;
@@ -32,6 +33,8 @@ import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.message.BasicNameValuePair;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,7 +49,13 @@ import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 
 public class VonageClientTest {
     private final TestUtils testUtils = new TestUtils();
@@ -321,6 +330,50 @@ public class VonageClientTest {
         assertEquals(config, vonageClient.getHttpWrapper().getHttpConfig());
     }
 
+    @Test
+    public void testSubClientsAreCreatedOnce() throws Exception {
+        VonageClient client = VonageClient.builder().build();
+        assertSame(client.getAccountClient(), client.getAccountClient());
+        assertSame(client.getApplicationClient(), client.getApplicationClient());
+        assertSame(client.getInsightClient(), client.getInsightClient());
+        assertSame(client.getNumbersClient(), client.getNumbersClient());
+        assertSame(client.getSmsClient(), client.getSmsClient());
+        assertSame(client.getSnsClient(), client.getSnsClient());
+        assertSame(client.getVerifyClient(), client.getVerifyClient());
+        assertSame(client.getVoiceClient(), client.getVoiceClient());
+        assertSame(client.getConversionClient(), client.getConversionClient());
+        assertSame(client.getRedactClient(), client.getRedactClient());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<MessagesClient>> clients = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                clients.add(executor.submit(() -> {
+                    start.await();
+                    return client.getMessagesClient();
+                }));
+            }
+            start.countDown();
+            for (Future<MessagesClient> messagesClient : clients) {
+                assertSame(clients.get(0).get(), messagesClient.get());
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCloseReleasesHttpWrapper() {
+        VonageClient client = VonageClient.builder().build();
+        ScheduledExecutorService scheduler = client.getHttpWrapper().getScheduler();
+        client.close();
+
+        assertTrue(scheduler.isShutdown());
+        assertThrows(IllegalStateException.class, () -> client.getHttpWrapper().getHttpClient());
+    }
+
     @Test(expected = VonageUnableToReadPrivateKeyException.class)
     public void testIOExceptionIsWrappedWithUnableToReadPrivateKeyException() {
         VonageClient.builder().privateKeyPath("this/path/does/not/exist");
@@ -92,4 +92,9 @@ public class BalanceEndpointTest {
         assertEquals(response.getValue(), 1.5, 0.0001);
         assertTrue(response.isAutoReload());
     }
+
+    @Test
+    public void testIsHedgeable() {
+        assertTrue(endpoint.isHedgeable(null));
+    }
 }
@@ -20,7 +20,8 @@ import org.apache.http.client.methods.RequestBuilder;
 import org.junit.Before;
 import org.junit.Test;
 import java.nio.file.Paths;
-import static org.junit.Assert.assertEquals;
+import java.time.Duration;
+import static org.junit.Assert.*;
 
 public class JWTAuthMethodTest {
     private TestUtils testUtils;
@@ -47,4 +48,23 @@ public class JWTAuthMethodTest {
         assertEquals(1, req.getHeaders("Authorization").length);
         assertEquals("Bearer ", req.getFirstHeader("Authorization").getValue().substring(0, 7));
     }
+
+    @Test
+    public void testApplyWithTokenCache() throws Exception {
+        auth = new JWTAuthMethod("application-id",
+                testUtils.loadKey("test/keys/application_key"), Duration.ofMinutes(15), 0.8
+        );
+        RequestBuilder first = RequestBuilder.get(), second = RequestBuilder.get();
+        auth.apply(first);
+        auth.apply(second);
+
+        assertEquals(
+                first.getFirstHeader("Authorization").getValue(),
+                second.getFirstHeader("Authorization").getValue()
+        );
+        assertEquals(1, auth.getSignCount());
+        assertEquals(1, auth.getCacheMissCount());
+        assertEquals(1, auth.getCacheHitCount());
+        assertEquals(0.5, auth.getCacheHitRatio(), 0.0001);
+    }
 }
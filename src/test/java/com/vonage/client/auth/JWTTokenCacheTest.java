@@ -0,0 +1,113 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.auth;
+
+import org.junit.Before;
+import org.junit.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.Assert.*;
+
+public class JWTTokenCacheTest {
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final AtomicInteger signCount = new AtomicInteger();
+    private final List<Runnable> pendingRefreshes = new ArrayList<>();
+    private JWTTokenCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new JWTTokenCache(
+                issuedAt -> "token-" + signCount.incrementAndGet() + "@" + issuedAt,
+                Duration.ofSeconds(100), 0.8, clock::get, pendingRefreshes::add
+        );
+    }
+
+    @Test
+    public void testTokenIsReusedBeforeRefreshPoint() {
+        String first = cache.getToken();
+        clock.addAndGet(79_999);
+        assertEquals(first, cache.getToken());
+        assertEquals(first, cache.getToken());
+
+        assertEquals(1, signCount.get());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    public void testRefreshIsScheduledOnceAfterRefreshPoint() {
+        String first = cache.getToken();
+        clock.addAndGet(80_000);
+        assertEquals(first, cache.getToken());
+        assertEquals(first, cache.getToken());
+        assertEquals(1, pendingRefreshes.size());
+        assertEquals(1, signCount.get());
+
+        pendingRefreshes.remove(0).run();
+        assertEquals(2, signCount.get());
+        String second = cache.getToken();
+        assertNotEquals(first, second);
+        assertEquals(second, cache.getToken());
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    public void testExpiredTokenIsSignedSynchronously() {
+        String first = cache.getToken();
+        clock.addAndGet(100_000);
+        String second = cache.getToken();
+
+        assertNotEquals(first, second);
+        assertEquals(2, signCount.get());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    public void testFailedRefreshFallsBackToOnDemandSigning() {
+        AtomicInteger attempts = new AtomicInteger();
+        cache = new JWTTokenCache(issuedAt -> {
+                    if (attempts.incrementAndGet() == 2) throw new IllegalStateException("Signing failed");
+                    return "token-" + attempts.get();
+                }, Duration.ofSeconds(100), 0.5, clock::get, Runnable::run
+        );
+        assertEquals("token-1", cache.getToken());
+        clock.addAndGet(60_000);
+        assertEquals("token-1", cache.getToken());
+        clock.addAndGet(40_000);
+        assertEquals("token-3", cache.getToken());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroTtl() {
+        new JWTTokenCache(issuedAt -> "", Duration.ZERO, 0.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRefreshRatioTooHigh() {
+        new JWTTokenCache(issuedAt -> "", Duration.ofMinutes(5), 1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRefreshRatioTooLow() {
+        new JWTTokenCache(issuedAt -> "", Duration.ofMinutes(5), 0);
+    }
+}
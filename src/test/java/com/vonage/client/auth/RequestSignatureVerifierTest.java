@@ -0,0 +1,136 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.auth;
+
+import com.vonage.client.VonageUnexpectedException;
+import com.vonage.client.auth.hashutils.HashUtil;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import java.util.Map;
+import static org.junit.Assert.*;
+
+public class RequestSignatureVerifierTest {
+    final RequestSignatureVerifier md5Verifier = new RequestSignatureVerifier("abcde", HashUtil.HashType.MD5),
+            sha1Verifier = new RequestSignatureVerifier("abcde", HashUtil.HashType.HMAC_SHA1);
+
+    static MockHttpServletRequest formRequest(String... namesAndValues) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            request.addParameter(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return request;
+    }
+
+    static MockHttpServletRequest jsonRequest(String json) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(json.getBytes());
+        request.setContentType("application/json");
+        return request;
+    }
+
+    @Test
+    public void testVerifyFormParameters() {
+        // md5 -s "&a=alphabet&b=bananas&timestamp=2100abcde"
+        RequestSignatureVerifier.Result result = md5Verifier.verify(formRequest(
+                "a", "alphabet", "b", "bananas", "timestamp", "2100", "sig", "7D43241108912B32CC315B48CE681ACF"
+        ), 2100000);
+        assertTrue(result.isValid());
+        assertEquals("bananas", result.getParameters().get("b"));
+        assertEquals(4, result.getParameters().size());
+    }
+
+    @Test
+    public void testVerifyJsonBodyReturnsParsedParameters() {
+        RequestSignatureVerifier.Result result = sha1Verifier.verify(jsonRequest(
+                "{\"a\":\"alphabet\",\"b\":\"bananas\",\"empty\":\"\",\"none\":null,\"timestamp\":2100," +
+                "\"sig\":\"b7f749de27b4adcf736cc95c9a7e059a16c85127\"}"
+        ), 2100000);
+        assertTrue(result.isValid());
+        Map<String, String> params = result.getParameters();
+        assertArrayEquals(new String[]{"a", "b", "empty", "none", "timestamp", "sig"}, params.keySet().toArray());
+        assertEquals("alphabet", params.get("a"));
+        assertEquals("", params.get("empty"));
+        assertNull(params.get("none"));
+        assertEquals("2100", params.get("timestamp"));
+    }
+
+    @Test
+    public void testStaticVerificationSharesThreadState() throws Exception {
+        boolean[] valid = new boolean[1000];
+        long[] created = new long[1];
+        Thread thread = new Thread(() -> {
+            long before = RequestSigner.getEnginesCreated();
+            for (int i = 0; i < valid.length; i++) {
+                valid[i] = RequestSigning.verifyRequestSignature(formRequest(
+                        "a", "alphabet", "b", "bananas", "timestamp", "2100", "sig", "7d43241108912b32cc315b48ce681acf"
+                ), i % 2 == 0 ? "abcde" : "other", 2100000, HashUtil.HashType.MD5);
+            }
+            created[0] = RequestSigner.getEnginesCreated() - before;
+        });
+        thread.start();
+        thread.join();
+        for (int i = 0; i < valid.length; i++) {
+            assertEquals("request " + i, i % 2 == 0, valid[i]);
+        }
+        assertEquals(1, created[0]);
+    }
+
+    @Test
+    public void testInvalidSignature() {
+        assertFalse(md5Verifier.verify(formRequest(
+                "a", "alphabet", "b", "bananas", "timestamp", "2100", "sig", "7d43241108912b32cc315b48ce681acd"
+        ), 2100000).isValid());
+        assertFalse(sha1Verifier.verify(formRequest(
+                "a", "alphabet", "b", "bananas", "timestamp", "2100", "sig", "7d43241108912b32cc315b48ce681acf"
+        ), 2100000).isValid());
+    }
+
+    @Test
+    public void testMissingSignature() {
+        assertFalse(md5Verifier.verify(formRequest("a", "alphabet", "timestamp", "2100"), 2100000).isValid());
+        assertFalse(md5Verifier.verify(formRequest("a", "alphabet", "timestamp", "2100", "sig", " "), 2100000).isValid());
+    }
+
+    @Test
+    public void testTimestampOutsideAllowedDelta() {
+        MockHttpServletRequest request = formRequest(
+                "a", "alphabet", "b", "bananas", "timestamp", "2100", "sig", "7d43241108912b32cc315b48ce681acf"
+        );
+        assertTrue(md5Verifier.verify(request, 2100000 + RequestSigning.MAX_ALLOWABLE_TIME_DELTA).isValid());
+        assertFalse(md5Verifier.verify(request, 2100001 + RequestSigning.MAX_ALLOWABLE_TIME_DELTA).isValid());
+        assertFalse(md5Verifier.verify(request, 2099999 - RequestSigning.MAX_ALLOWABLE_TIME_DELTA).isValid());
+    }
+
+    @Test
+    public void testMissingOrInvalidTimestamp() {
+        assertFalse(md5Verifier.verify(formRequest(
+                "a", "alphabet", "b", "bananas", "sig", "7d43241108912b32cc315b48ce681acf"
+        ), 2100000).isValid());
+        assertFalse(md5Verifier.verify(formRequest(
+                "a", "alphabet", "b", "bananas", "timestamp", "abc", "sig", "7d43241108912b32cc315b48ce681acf"
+        ), 2100000).isValid());
+    }
+
+    @Test(expected = VonageUnexpectedException.class)
+    public void testNestedJsonIsRejected() {
+        md5Verifier.verify(jsonRequest("{\"a\":{\"b\":\"c\"},\"timestamp\":\"2100\",\"sig\":\"x\"}"), 2100000);
+    }
+
+    @Test(expected = VonageUnexpectedException.class)
+    public void testMalformedJson() {
+        md5Verifier.verify(jsonRequest("[\"a\"]"), 2100000);
+    }
+}
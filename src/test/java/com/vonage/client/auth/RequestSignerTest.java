@@ -0,0 +1,183 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.auth;
+
+import com.vonage.client.auth.hashutils.HashUtil;
+import org.apache.http.NameValuePair;
+import org.apache.http.message.BasicNameValuePair;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.*;
+
+public class RequestSignerTest {
+    static final String SECRET = "abcde";
+
+    /**
+     * The signing algorithm as implemented before {@link RequestSigner}, used as the reference.
+     */
+    static String referenceSignature(List<NameValuePair> params, String secret, HashUtil.HashType hashType)
+            throws Exception {
+        Map<String, String> sortedParams = new TreeMap<>();
+        for (NameValuePair param : params) {
+            String value = param.getValue() == null ? "" : param.getValue();
+            if (!param.getName().equals(RequestSigning.PARAM_SIGNATURE) && !value.trim().isEmpty()) {
+                sortedParams.put(param.getName(), value);
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> param : sortedParams.entrySet()) {
+            sb.append("&").append(param.getKey().replaceAll("[=&]", "_"))
+                    .append("=").append(param.getValue().replaceAll("[=&]", "_"));
+        }
+        return HashUtil.calculate(sb.toString(), secret, "UTF-8", hashType);
+    }
+
+    static List<NameValuePair> params(String... namesAndValues) {
+        List<NameValuePair> params = new ArrayList<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            params.add(new BasicNameValuePair(namesAndValues[i], namesAndValues[i + 1]));
+        }
+        return params;
+    }
+
+    @Test
+    public void testMatchesReferenceForAllHashTypes() throws Exception {
+        List<List<NameValuePair>> cases = Arrays.asList(
+                params("a", "alphabet", "b", "bananas", "timestamp", "2100"),
+                params("text", "a=b&c=d", "from", "Vonage", "to&", "=447700900000"),
+                params("text", "Ünïcödé €uro 日本語 😀", "blank", "   ", "empty", "", "none", null),
+                params("dup", "first", "b", "x", "dup", "second", "sig", "ignored", "dup", "  "),
+                params("unpaired", "a\uD800b\uDC00c", "tail", "x\uD83D"),
+                params()
+        );
+        for (HashUtil.HashType hashType : HashUtil.HashType.values()) {
+            RequestSigner signer = new RequestSigner(SECRET, hashType);
+            assertEquals(hashType, signer.getHashType());
+            for (List<NameValuePair> params : cases) {
+                assertEquals(hashType + " " + params,
+                        referenceSignature(params, SECRET, hashType), signer.calculateSignature(params)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testLargeParameterValues() throws Exception {
+        char[] chars = new char[100_000];
+        Arrays.fill(chars, 'é');
+        List<NameValuePair> params = params("text", new String(chars), "timestamp", "2100");
+        RequestSigner signer = new RequestSigner(SECRET, HashUtil.HashType.HMAC_SHA256);
+        assertEquals(referenceSignature(params, SECRET, HashUtil.HashType.HMAC_SHA256), signer.calculateSignature(params));
+        // The buffer is shrunk after a large request but must still produce correct results.
+        List<NameValuePair> small = params("a", "alphabet", "timestamp", "2100");
+        assertEquals(referenceSignature(small, SECRET, HashUtil.HashType.HMAC_SHA256), signer.calculateSignature(small));
+    }
+
+    @Test
+    public void testSignParameters() {
+        List<NameValuePair> params = params("a", "alphabet", "b", "bananas");
+        new RequestSigner(SECRET, HashUtil.HashType.MD5).signParameters(params, 2100);
+        assertEquals(4, params.size());
+        assertEquals(new BasicNameValuePair(RequestSigning.PARAM_TIMESTAMP, "2100"), params.get(2));
+        // md5 -s "&a=alphabet&b=bananas&timestamp=2100abcde"
+        assertEquals(new BasicNameValuePair(RequestSigning.PARAM_SIGNATURE, "7d43241108912b32cc315b48ce681acf"), params.get(3));
+    }
+
+    @Test
+    public void testSignParametersWithInvalidKey() {
+        List<NameValuePair> params = params("a", "alphabet");
+        new RequestSigner("", HashUtil.HashType.HMAC_SHA256).signParameters(params, 2100);
+        assertEquals("no signature", params.get(2).getValue());
+    }
+
+    @Test
+    public void testStaticSigningRetainsNoStatePerCall() throws Exception {
+        long[] created = new long[1];
+        Thread thread = new Thread(() -> {
+            long before = RequestSigner.getEnginesCreated();
+            for (int i = 0; i < 1000; i++) {
+                HashUtil.HashType hashType = HashUtil.HashType.values()[i % HashUtil.HashType.values().length];
+                List<NameValuePair> params = params("a", "alphabet", "i", "" + i);
+                RequestSigning.constructSignatureForRequestParameters(params, SECRET + (i % 3), 2100, hashType);
+                assertEquals(4, params.size());
+            }
+            created[0] = RequestSigner.getEnginesCreated() - before;
+        });
+        thread.start();
+        thread.join();
+        // Each call creates a new signer, but they all share the thread's single engine.
+        assertEquals(1, created[0]);
+    }
+
+    @Test
+    public void testSwitchingSecretsOnOneThread() throws Exception {
+        List<NameValuePair> params = params("a", "alphabet", "timestamp", "2100");
+        for (HashUtil.HashType hashType : HashUtil.HashType.values()) {
+            for (String secret : Arrays.asList(SECRET, "other", SECRET, SECRET + "f", SECRET)) {
+                assertEquals(hashType + " " + secret, referenceSignature(params, secret, hashType),
+                        new RequestSigner(secret, hashType).calculateSignature(params)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testNullSecretDoesNotAffectLaterSignatures() throws Exception {
+        List<NameValuePair> params = params("a", "alphabet", "timestamp", "2100");
+        for (HashUtil.HashType hashType : HashUtil.HashType.values()) {
+            RequestSigner invalid = new RequestSigner(null, hashType);
+            assertThrows(RuntimeException.class, () -> invalid.calculateSignature(params));
+            assertEquals(referenceSignature(params, SECRET, hashType),
+                    new RequestSigner(SECRET, hashType).calculateSignature(params)
+            );
+        }
+    }
+
+    @Test
+    public void testConcurrentSigning() throws Exception {
+        RequestSigner signer = new RequestSigner(SECRET, HashUtil.HashType.HMAC_SHA512);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        List<NameValuePair> params = params("thread", "" + thread, "i", "" + i, "timestamp", "2100");
+                        if (!referenceSignature(params, SECRET, HashUtil.HashType.HMAC_SHA512)
+                                .equals(signer.calculateSignature(params))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+}
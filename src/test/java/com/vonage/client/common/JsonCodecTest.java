@@ -0,0 +1,74 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.Test;
+import java.time.Instant;
+import static org.junit.Assert.*;
+
+public class JsonCodecTest {
+
+    @Test
+    public void testReadersAreCachedPerType() {
+        JsonCodec codec = JsonCodec.defaultCodec();
+        ObjectReader reader = codec.readerFor(Webhook.class);
+        assertSame(reader, codec.readerFor(Webhook.class));
+        assertNotSame(reader, codec.readerFor(PageList.class));
+    }
+
+    @Test
+    public void testSharedCodecsAreSingletons() {
+        assertSame(JsonCodec.defaultCodec(), JsonCodec.defaultCodec());
+        assertSame(JsonCodec.hal(), JsonCodec.hal());
+        assertNotSame(JsonCodec.defaultCodec(), JsonCodec.isoDates());
+        assertNotSame(JsonCodec.hal(), JsonCodec.halIsoDates());
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        Webhook webhook = new Webhook("https://example.com/status", HttpMethod.POST);
+        String json = JsonCodec.defaultCodec().toJson(webhook);
+        assertEquals("{\"address\":\"https://example.com/status\",\"http_method\":\"POST\"}", json);
+
+        Webhook parsed = JsonCodec.defaultCodec().fromJson(json, Webhook.class);
+        assertEquals(webhook.getAddress(), parsed.getAddress());
+        assertEquals(webhook.getMethod(), parsed.getMethod());
+    }
+
+    @Test
+    public void testJavaTimeCodec() throws Exception {
+        assertEquals("0.0", JsonCodec.javaTime().toJson(Instant.EPOCH));
+    }
+
+    @Test
+    public void testReadTree() throws Exception {
+        assertEquals(3, JsonCodec.defaultCodec().readTree("{\"a\":3}").get("a").asInt());
+    }
+
+    @Test(expected = JsonProcessingException.class)
+    public void testInvalidJson() throws Exception {
+        JsonCodec.defaultCodec().fromJson("{malformed", Webhook.class);
+    }
+
+    @Test
+    public void testCustomMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        assertSame(mapper, new JsonCodec(mapper).getObjectMapper());
+    }
+}
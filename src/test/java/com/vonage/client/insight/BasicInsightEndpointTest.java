@@ -99,4 +99,9 @@ public class BasicInsightEndpointTest {
         assertEquals("POST", builder.getMethod());
         assertEquals("https://example.com/ni/basic/json", builder.build().getURI().toString());
     }
+
+    @Test
+    public void testIsHedgeable() {
+        assertTrue(endpoint.isHedgeable(null));
+    }
 }
@@ -0,0 +1,209 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.messages;
+
+import com.vonage.client.HttpWrapper;
+import com.vonage.client.messages.sms.SmsTextRequest;
+import com.vonage.client.messages.whatsapp.WhatsappTextRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.Assert.*;
+
+public class MessagesDispatcherTest {
+	private final Map<Channel, List<CompletableFuture<MessageResponse>>> sent = new ConcurrentHashMap<>();
+	private final MessageResponse accepted = MessageResponse.fromJson("{\"message_uuid\":\"aaaaaaaa-bbbb-cccc-dddd-0123456789ab\"}");
+	private MessagesClient client;
+	private MessagesDispatcher dispatcher;
+	private volatile boolean completeAll;
+
+	@Before
+	public void setUp() {
+		client = new MessagesClient(new HttpWrapper()) {
+			@Override
+			public CompletableFuture<MessageResponse> sendMessageAsync(MessageRequest request) {
+				CompletableFuture<MessageResponse> future = new CompletableFuture<>();
+				sent.computeIfAbsent(request.getChannel(), c -> new CopyOnWriteArrayList<>()).add(future);
+				if (completeAll || request.getChannel() == Channel.SMS) {
+					future.complete(accepted);
+				}
+				return future;
+			}
+		};
+	}
+
+	@After
+	public void tearDown() {
+		completeAll = true;
+		sent.values().forEach(futures -> futures.forEach(f -> f.complete(accepted)));
+		if (dispatcher != null) {
+			dispatcher.close();
+		}
+	}
+
+	static SmsTextRequest sms(int i) {
+		return SmsTextRequest.builder().from("Vonage").to("4477009000" + i).text("Hello " + i).build();
+	}
+
+	static WhatsappTextRequest whatsapp(int i) {
+		return WhatsappTextRequest.builder().from("447700900001").to("4477009000" + i).text("Hello " + i).build();
+	}
+
+	@Test
+	public void testSlowChannelDoesNotBlockOtherChannels() throws Exception {
+		dispatcher = MessagesDispatcher.builder(client).channel(Channel.WHATSAPP, 1).build();
+
+		List<CompletableFuture<MessageResponse>> whatsappResults = IntStream.range(0, 3)
+				.mapToObj(i -> dispatcher.submit(whatsapp(i))).collect(Collectors.toList());
+		List<CompletableFuture<MessageResponse>> smsResults = IntStream.range(0, 20)
+				.mapToObj(i -> dispatcher.submit(sms(i))).collect(Collectors.toList());
+
+		for (CompletableFuture<MessageResponse> result : smsResults) {
+			assertSame(accepted, result.get(1, TimeUnit.SECONDS));
+		}
+		assertEquals(20, dispatcher.getSucceededCount(Channel.SMS));
+		assertEquals(1, dispatcher.getInFlightCount(Channel.WHATSAPP));
+		assertEquals(2, dispatcher.getQueuedCount(Channel.WHATSAPP));
+		assertEquals(1, sent.get(Channel.WHATSAPP).size());
+
+		sent.get(Channel.WHATSAPP).get(0).complete(accepted);
+		assertEquals(2, sent.get(Channel.WHATSAPP).size());
+		sent.get(Channel.WHATSAPP).get(1).complete(accepted);
+		sent.get(Channel.WHATSAPP).get(2).complete(accepted);
+
+		dispatcher.awaitCompletion();
+		assertTrue(whatsappResults.stream().allMatch(CompletableFuture::isDone));
+		assertEquals(3, dispatcher.getSucceededCount(Channel.WHATSAPP));
+		assertEquals(0, dispatcher.getInFlightCount(Channel.WHATSAPP));
+	}
+
+	@Test
+	public void testFailuresAreReported() throws Exception {
+		List<Throwable> failures = new CopyOnWriteArrayList<>();
+		List<MessageRequest> successes = new CopyOnWriteArrayList<>();
+		dispatcher = MessagesDispatcher.builder(client).listener(new MessagesDispatcher.Listener() {
+			@Override
+			public void onSuccess(MessageRequest request, MessageResponse response) {
+				successes.add(request);
+			}
+
+			@Override
+			public void onFailure(MessageRequest request, Throwable failure) {
+				failures.add(failure);
+				throw new IllegalStateException("Listener failures are ignored");
+			}
+		}).build();
+
+		CompletableFuture<MessageResponse> failed = dispatcher.submit(whatsapp(1));
+		dispatcher.submitAll(IntStream.range(0, 3).mapToObj(MessagesDispatcherTest::sms));
+		MessageResponseException mrx = new MessageResponseException();
+		sent.get(Channel.WHATSAPP).get(0).completeExceptionally(mrx);
+		dispatcher.awaitCompletion();
+
+		try {
+			failed.get();
+			fail("Expected the message to fail");
+		}
+		catch (ExecutionException ex) {
+			assertSame(mrx, ex.getCause());
+		}
+		assertEquals(1, failures.size());
+		assertSame(mrx, failures.get(0));
+		assertEquals(3, successes.size());
+		assertEquals(1, dispatcher.getFailedCount(Channel.WHATSAPP));
+		assertEquals(3, dispatcher.getSucceededCount(Channel.SMS));
+	}
+
+	@Test(timeout = 10_000)
+	public void testSynchronousFailuresDoNotRecurse() throws Exception {
+		int queued = 50_000;
+		CompletableFuture<MessageResponse> first = new CompletableFuture<>();
+		client = new MessagesClient(new HttpWrapper()) {
+			@Override
+			public CompletableFuture<MessageResponse> sendMessageAsync(MessageRequest request) {
+				if (!first.isDone()) {
+					return first;
+				}
+				throw new IllegalStateException("Circuit is open");
+			}
+		};
+		dispatcher = MessagesDispatcher.builder(client)
+				.channel(Channel.SMS, 1).queueCapacity(queued).build();
+		dispatcher.submit(sms(0));
+		List<CompletableFuture<MessageResponse>> results = IntStream.range(0, queued)
+				.mapToObj(i -> dispatcher.submit(sms(i))).collect(Collectors.toList());
+		assertEquals(queued, dispatcher.getQueuedCount(Channel.SMS));
+
+		first.completeExceptionally(new IllegalStateException("Circuit is open"));
+		dispatcher.awaitCompletion();
+		assertEquals(queued + 1, dispatcher.getFailedCount(Channel.SMS));
+		assertTrue(results.stream().allMatch(CompletableFuture::isCompletedExceptionally));
+	}
+
+	@Test
+	public void testThroughputLimit() throws Exception {
+		dispatcher = MessagesDispatcher.builder(client).channel(Channel.SMS, 10, 100).build();
+		long start = System.nanoTime();
+		dispatcher.submitAll(IntStream.range(0, 6).mapToObj(MessagesDispatcherTest::sms)
+				.collect(Collectors.toList()));
+		dispatcher.awaitCompletion();
+
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(45));
+		assertEquals(6, dispatcher.getSucceededCount(Channel.SMS));
+	}
+
+	@Test
+	public void testSubmitBlocksWhenChannelQueueIsFull() throws Exception {
+		dispatcher = MessagesDispatcher.builder(client).channel(Channel.WHATSAPP, 1).queueCapacity(1).build();
+		dispatcher.submit(whatsapp(1));
+		dispatcher.submit(whatsapp(2));
+
+		Thread producer = new Thread(() -> dispatcher.submit(whatsapp(3)));
+		producer.start();
+		producer.join(200);
+		assertTrue(producer.isAlive());
+		assertEquals(1, dispatcher.getQueuedCount(Channel.WHATSAPP));
+
+		sent.get(Channel.WHATSAPP).get(0).complete(accepted);
+		producer.join(1000);
+		assertFalse(producer.isAlive());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testSubmitAfterClose() {
+		dispatcher = MessagesDispatcher.builder(client).build();
+		dispatcher.close();
+		dispatcher.submit(sms(1));
+	}
+
+	@Test
+	public void testInvalidSettings() {
+		MessagesDispatcher.Builder builder = MessagesDispatcher.builder(client);
+		assertThrows(IllegalArgumentException.class, () -> builder.channel(Channel.SMS, 0));
+		assertThrows(IllegalArgumentException.class, () -> builder.channel(Channel.SMS, 1, -1));
+		assertThrows(IllegalArgumentException.class, () -> builder.queueCapacity(0));
+		assertThrows(NullPointerException.class, () -> MessagesDispatcher.builder(null));
+	}
+}
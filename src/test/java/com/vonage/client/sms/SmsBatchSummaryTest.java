@@ -0,0 +1,72 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.sms;
+
+import com.vonage.client.VonageMethodFailedException;
+import com.vonage.client.sms.messages.TextMessage;
+import org.junit.Test;
+import java.math.BigDecimal;
+import static org.junit.Assert.*;
+
+public class SmsBatchSummaryTest {
+    private final TextMessage message = new TextMessage("Vonage", "447700900000", "Hello");
+
+    static SmsSubmissionResponse response(String... statusAndPrice) {
+        StringBuilder json = new StringBuilder("{\"message-count\":\"" + statusAndPrice.length / 2 + "\",\"messages\":[");
+        for (int i = 0; i < statusAndPrice.length; i += 2) {
+            if (i > 0) json.append(',');
+            json.append("{\"to\":\"447700900000\",\"message-id\":\"id-").append(i)
+                    .append("\",\"status\":\"").append(statusAndPrice[i])
+                    .append("\",\"message-price\":\"").append(statusAndPrice[i + 1]).append("\"}");
+        }
+        return SmsSubmissionResponse.fromJson(json.append("]}").toString());
+    }
+
+    @Test
+    public void testSuccessfulResult() {
+        SmsBatchResult result = new SmsBatchResult(message, response("0", "0.03330000", "0", "0.03330000"), null);
+        assertTrue(result.isSuccessful());
+        assertSame(message, result.getMessage());
+        assertNull(result.getException());
+    }
+
+    @Test
+    public void testRejectedPartIsNotSuccessful() {
+        SmsBatchResult result = new SmsBatchResult(message, response("0", "0.03330000", "1", "0"), null);
+        assertFalse(result.isSuccessful());
+    }
+
+    @Test
+    public void testExceptionIsNotSuccessful() {
+        SmsBatchResult result = new SmsBatchResult(message, null, new VonageMethodFailedException("Timed out"));
+        assertFalse(result.isSuccessful());
+        assertNull(result.getResponse());
+    }
+
+    @Test
+    public void testSummaryAggregatesResults() {
+        SmsBatchSummary summary = new SmsBatchSummary();
+        summary.record(new SmsBatchResult(message, response("0", "0.03330000", "0", "0.03330000"), null));
+        summary.record(new SmsBatchResult(message, response("0", "0.05000000"), null));
+        summary.record(new SmsBatchResult(message, response("2", "0"), null));
+        summary.record(new SmsBatchResult(message, null, new VonageMethodFailedException("Timed out")));
+
+        assertEquals(4, summary.getMessageCount());
+        assertEquals(2, summary.getFailedCount());
+        assertEquals(4, summary.getPartCount());
+        assertEquals(0, new BigDecimal("0.1166").compareTo(summary.getTotalPrice()));
+    }
+}
@@ -16,6 +16,7 @@
 package com.vonage.client.sms;
 
 import com.vonage.client.HttpWrapper;
+import com.vonage.client.TestUtils;
 import com.vonage.client.VonageResponseParseException;
 import com.vonage.client.auth.TokenAuthMethod;
 import com.vonage.client.logging.LoggingUtils;
@@ -26,12 +27,24 @@ import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.junit.Before;
 import org.junit.Test;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
 
@@ -95,6 +108,24 @@ public class SmsClientTest {
         assertEquals(r.getMessages().size(), 2);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSubmitMessageAsync() throws Exception {
+        HttpResponse response = TestUtils.makeJsonHttpResponse(200, "{\"message-count\":1,\"messages\":[" +
+                "{\"to\":\"not-a-number\",\"message-id\":\"message-id-1\",\"status\":\"0\"}]}");
+        HttpAsyncClient asyncClient = mock(HttpAsyncClient.class);
+        when(asyncClient.execute(any(HttpUriRequest.class), any(FutureCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, FutureCallback.class).completed(response);
+            return null;
+        });
+        wrapper.setHttpAsyncClient(asyncClient);
+
+        Message message = new TextMessage("TestSender", "not-a-number", "Test");
+        SmsSubmissionResponse r = client.submitMessageAsync(message).get();
+        assertEquals(1, r.getMessageCount());
+        assertEquals("message-id-1", r.getMessages().get(0).getId());
+    }
+
     @Test
     public void testSubmitMessageHttpError() throws Exception {
         wrapper.setHttpClient(stubHttpClient(500, ""));
@@ -107,4 +138,76 @@ public class SmsClientTest {
             // This is expected
         }
     }
+
+    @Test
+    public void testSubmitMessagesBoundsConcurrency() {
+        AtomicInteger inFlight = new AtomicInteger(), maxInFlight = new AtomicInteger();
+        client = new SmsClient(wrapper) {
+            @Override
+            public CompletableFuture<SmsSubmissionResponse> submitMessageAsync(Message message) {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        Thread.sleep(5);
+                    }
+                    catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    inFlight.decrementAndGet();
+                    if (message.getTo().endsWith("3")) {
+                        throw new VonageResponseParseException("Bad response");
+                    }
+                    return SmsBatchSummaryTest.response("0", "0.05");
+                });
+            }
+        };
+
+        ConcurrentLinkedQueue<SmsBatchResult> results = new ConcurrentLinkedQueue<>();
+        List<Message> messages = IntStream.range(0, 10)
+                .mapToObj(i -> new TextMessage("Vonage", "44770090000" + i, "Hello " + i))
+                .collect(Collectors.toList());
+
+        SmsBatchSummary summary = client.submitMessages(messages, 2, results::add);
+
+        assertEquals(10, results.size());
+        assertEquals(10, summary.getMessageCount());
+        assertEquals(1, summary.getFailedCount());
+        assertEquals(9, summary.getPartCount());
+        assertEquals(0, new BigDecimal("0.45").compareTo(summary.getTotalPrice()));
+        assertTrue(maxInFlight.get() <= 2);
+        assertTrue(results.stream().anyMatch(r -> r.getException() instanceof VonageResponseParseException));
+    }
+
+    @Test
+    public void testSubmitMessagesFromStreamWaitsForAllOutcomes() throws Exception {
+        List<CompletableFuture<SmsSubmissionResponse>> pending = new ArrayList<>();
+        client = new SmsClient(wrapper) {
+            @Override
+            public CompletableFuture<SmsSubmissionResponse> submitMessageAsync(Message message) {
+                CompletableFuture<SmsSubmissionResponse> future = new CompletableFuture<>();
+                synchronized (pending) {
+                    pending.add(future);
+                }
+                CompletableFuture.runAsync(() -> future.complete(SmsBatchSummaryTest.response("0", "0.01", "0", "0.01")));
+                return future;
+            }
+        };
+
+        AtomicInteger callbacks = new AtomicInteger();
+        SmsBatchSummary summary = client.submitMessages(
+                IntStream.range(0, 50).mapToObj(i -> new TextMessage("Vonage", "447700900000", "Hello " + i)),
+                8, result -> callbacks.incrementAndGet()
+        );
+
+        assertEquals(50, callbacks.get());
+        assertEquals(50, summary.getMessageCount());
+        assertEquals(100, summary.getPartCount());
+        assertEquals(0, summary.getFailedCount());
+        assertTrue(pending.stream().allMatch(CompletableFuture::isDone));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSubmitMessagesRequiresPositiveConcurrency() {
+        client.submitMessages(Collections.<Message>emptyList(), 0, null);
+    }
 }
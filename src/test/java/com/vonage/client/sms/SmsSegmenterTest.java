@@ -0,0 +1,135 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.sms;
+
+import com.vonage.client.sms.SmsSegmenter.Encoding;
+import com.vonage.client.sms.messages.Message;
+import com.vonage.client.sms.messages.TextMessage;
+import org.junit.Test;
+import java.util.Arrays;
+import static org.junit.Assert.*;
+
+public class SmsSegmenterTest {
+
+    static String repeat(String s, int times) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testDetectEncoding() {
+        assertEquals(Encoding.GSM_7, SmsSegmenter.detectEncoding(""));
+        assertEquals(Encoding.GSM_7, SmsSegmenter.detectEncoding(
+                "Hello @ \u00A35 \u00C4\u00D6\u00D1\u00DC\u00A7 \u0394\u03A6\u0393 {}[]~|\\^\u20AC"
+        ));
+        assertEquals(Encoding.UCS_2, SmsSegmenter.detectEncoding("Ol\u00E1"));
+        assertEquals(Encoding.UCS_2, SmsSegmenter.detectEncoding("Hi \uD83D\uDE00"));
+        assertEquals(Encoding.UCS_2, SmsSegmenter.detectEncoding("`"));
+    }
+
+    @Test
+    public void testCountSeptets() {
+        assertEquals(5, SmsSegmenter.countSeptets("Hello"));
+        assertEquals(4, SmsSegmenter.countSeptets("\u20AC{"));
+        assertEquals(-1, SmsSegmenter.countSeptets("\u65E5\u672C"));
+    }
+
+    @Test
+    public void testGsmPartBoundaries() {
+        assertEquals(1, SmsSegmenter.countParts(""));
+        assertEquals(1, SmsSegmenter.countParts(repeat("a", 160)));
+        assertEquals(2, SmsSegmenter.countParts(repeat("a", 161)));
+        assertEquals(2, SmsSegmenter.countParts(repeat("a", 306)));
+        assertEquals(3, SmsSegmenter.countParts(repeat("a", 307)));
+        assertEquals(1, SmsSegmenter.countParts(repeat("\u20AC", 80)));
+        assertEquals(2, SmsSegmenter.countParts(repeat("\u20AC", 81)));
+
+        int[] ends = new int[4];
+        String text = repeat("a", 152) + "\u20AC" + repeat("b", 10);
+        assertEquals(2, SmsSegmenter.split(text, Encoding.GSM_7, ends));
+        assertArrayEquals(new int[]{152, 163, 0, 0}, ends);
+    }
+
+    @Test
+    public void testUcs2PartBoundaries() {
+        assertEquals(1, SmsSegmenter.countParts(repeat("\u0436", 70)));
+        assertEquals(2, SmsSegmenter.countParts(repeat("\u0436", 71)));
+        assertEquals(2, SmsSegmenter.countParts(repeat("\u0436", 134)));
+        assertEquals(3, SmsSegmenter.countParts(repeat("\u0436", 135)));
+
+        int[] ends = new int[2];
+        String text = repeat("\u0436", 66) + "\uD83D\uDE00" + repeat("\u0436", 10);
+        assertEquals(2, SmsSegmenter.split(text, Encoding.UCS_2, ends));
+        assertArrayEquals(new int[]{66, 78}, ends);
+    }
+
+    @Test
+    public void testForcedEncoding() {
+        String text = repeat("\u0436", 100);
+        assertEquals(1, SmsSegmenter.countParts(text, Encoding.GSM_7));
+        assertEquals(2, SmsSegmenter.countParts(text, Encoding.UCS_2));
+        assertEquals(2, SmsSegmenter.countParts(repeat("a", 71), Encoding.UCS_2));
+    }
+
+    @Test
+    public void testShortArrayReceivesLeadingBoundaries() {
+        int[] ends = new int[1];
+        assertEquals(3, SmsSegmenter.split(repeat("a", 400), Encoding.GSM_7, ends));
+        assertEquals(153, ends[0]);
+        assertEquals(3, SmsSegmenter.split(repeat("a", 400), Encoding.GSM_7, null));
+    }
+
+    @Test
+    public void testPartsReassembleToText() {
+        String text = repeat("Gr\u00FC\u00DFe {ok} ", 40);
+        int[] ends = new int[10];
+        int parts = SmsSegmenter.split(text, Encoding.GSM_7, ends);
+        StringBuilder joined = new StringBuilder();
+        int start = 0;
+        for (int end : Arrays.copyOf(ends, parts)) {
+            String part = text.substring(start, end);
+            assertTrue(SmsSegmenter.countSeptets(part) <= SmsSegmenter.GSM_MULTI_PART);
+            joined.append(part);
+            start = end;
+        }
+        assertEquals(text, joined.toString());
+    }
+
+    @Test
+    public void testTextMessageAutoEncoding() {
+        TextMessage gsm = TextMessage.withAutoEncoding("Vonage", "447700900000", "Hello {world}");
+        assertFalse(gsm.isUnicode());
+        assertEquals(Message.MessageType.TEXT, gsm.getType());
+        assertEquals(1, gsm.countParts());
+
+        TextMessage unicode = TextMessage.withAutoEncoding("Vonage", "447700900000", repeat("\u65E5\u672C", 40));
+        assertTrue(unicode.isUnicode());
+        assertEquals(2, unicode.countParts());
+        assertEquals(1, new TextMessage("Vonage", "447700900000", repeat("\u65E5\u672C", 40)).countParts());
+    }
+
+    @Test
+    public void testTextMessageWithoutBody() {
+        TextMessage message = TextMessage.withAutoEncoding("Vonage", "447700900000", null);
+        assertFalse(message.isUnicode());
+        assertNull(message.getMessageBody());
+        assertEquals(1, message.countParts());
+        assertEquals(1, new TextMessage("Vonage", "447700900000", null, true).countParts());
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.sms.callback;
+
+import com.vonage.client.auth.RequestSigner;
+import com.vonage.client.auth.hashutils.HashUtil;
+import com.vonage.client.sms.callback.messages.MO;
+import org.apache.http.NameValuePair;
+import org.apache.http.message.BasicNameValuePair;
+import org.junit.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import javax.servlet.AsyncContext;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+
+public class AbstractAsyncMOServletTest {
+    static final String TEXT_MO = "msisdn=447700900001&to=447700900000&messageId=0A0000000123ABCD1&type=text" +
+            "&text=Hello%20there%3D%26&keyword=HELLO&message-timestamp=2023-01-02%2003:04:05";
+
+    final List<MO> consumed = new CopyOnWriteArrayList<>();
+    final List<Runnable> pending = new CopyOnWriteArrayList<>();
+    final Executor deferred = pending::add;
+
+    class TestServlet extends AbstractAsyncMOServlet {
+        TestServlet(AbstractAsyncMOServlet.Settings.Builder settings) {
+            super(settings.build());
+        }
+
+        @Override
+        public void consume(MO mo) {
+            if ("fail".equals(mo.getKeyword())) {
+                throw new IllegalStateException("Consumer failure");
+            }
+            consumed.add(mo);
+        }
+    }
+
+    /**
+     * Input stream which delivers its content only when the test calls {@link #deliver(int)}, as a container would
+     * when data arrives.
+     */
+    static class NonBlockingInput extends ServletInputStream {
+        final ByteArrayInputStream content;
+        ReadListener listener;
+        int available;
+
+        NonBlockingInput(String content) {
+            this.content = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void deliver(int bytes) throws Exception {
+            available += bytes;
+            listener.onDataAvailable();
+            if (content.available() == 0) {
+                listener.onAllDataRead();
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return content.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return available > 0 && !isFinished();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            listener = readListener;
+        }
+
+        @Override
+        public int read() {
+            if (available == 0) {
+                throw new IllegalStateException("Read when not ready");
+            }
+            available--;
+            return content.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (available == 0) {
+                throw new IllegalStateException("Read when not ready");
+            }
+            int read = content.read(b, off, Math.min(len, available));
+            available -= read;
+            return read;
+        }
+    }
+
+    static MockHttpServletRequest asyncRequest(NonBlockingInput input) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mo") {
+            @Override
+            public ServletInputStream getInputStream() {
+                return input;
+            }
+        };
+        request.setAsyncSupported(true);
+        request.setContentType("application/x-www-form-urlencoded");
+        return request;
+    }
+
+    static MockHttpServletRequest getRequest(String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/mo");
+        for (NameValuePair param : org.apache.http.client.utils.URLEncodedUtils.parse(query, StandardCharsets.UTF_8)) {
+            request.addParameter(param.getName(), param.getValue());
+        }
+        return request;
+    }
+
+    @Test
+    public void testNonBlockingBodyRead() throws Exception {
+        TestServlet servlet = new TestServlet(AbstractAsyncMOServlet.Settings.builder().executor(Runnable::run));
+        NonBlockingInput input = new NonBlockingInput(TEXT_MO);
+        MockHttpServletRequest request = asyncRequest(input);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        servlet.doPost(request, response);
+        assertTrue(request.isAsyncStarted());
+        input.deliver(10);
+        assertTrue(consumed.isEmpty());
+        input.deliver(TEXT_MO.length());
+
+        assertEquals(200, response.getStatus());
+        assertEquals("OK", response.getContentAsString());
+        assertEquals(1, consumed.size());
+        MO mo = consumed.get(0);
+        assertEquals("447700900001", mo.getSender());
+        assertEquals("Hello there=&", mo.getMessageBody());
+        assertEquals("HELLO", mo.getKeyword());
+        assertEquals(1, servlet.getAcceptedCount());
+        assertEquals(1, servlet.getConsumedCount());
+        assertEquals(0, servlet.getQueueDepth());
+    }
+
+    @Test
+    public void testRequestTooLarge() throws Exception {
+        TestServlet servlet = new TestServlet(AbstractAsyncMOServlet.Settings.builder()
+                .executor(Runnable::run).maxRequestSize(16));
+        NonBlockingInput input = new NonBlockingInput(TEXT_MO);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        servlet.doPost(asyncRequest(input), response);
+        input.deliver(TEXT_MO.length());
+        assertEquals(413, response.getStatus());
+        assertTrue(consumed.isEmpty());
+    }
+
+    @Test
+    public void testSynchronousFallbackAndValidation() throws Exception {
+        TestServlet servlet = new TestServlet(AbstractAsyncMOServlet.Settings.builder()
+                .executor(Runnable::run).credentials("user", "pass"));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.doGet(getRequest(TEXT_MO + "&username=user&password=pass"), response);
+        assertEquals("OK", response.getContentAsString());
+        assertEquals(1, consumed.size());
+
+        response = new MockHttpServletResponse();
+        servlet.doGet(getRequest(TEXT_MO + "&username=user&password=wrong"), response);
+        assertEquals(400, response.getStatus());
+        assertEquals("Bad Credentials", response.getErrorMessage());
+
+        response = new MockHttpServletResponse();
+        servlet.doGet(getRequest("msisdn=447700900001&username=user&password=pass"), response);
+        assertEquals(400, response.getStatus());
+        assertEquals("Missing mandatory fields", response.getErrorMessage());
+        assertEquals(1, servlet.getAcceptedCount());
+    }
+
+    @Test
+    public void testSignatureValidation() throws Exception {
+        TestServlet servlet = new TestServlet(AbstractAsyncMOServlet.Settings.builder()
+                .executor(Runnable::run).signatureSecret("abcde", HashUtil.HashType.HMAC_SHA256));
+
+        List<NameValuePair> params = new ArrayList<>(
+                org.apache.http.client.utils.URLEncodedUtils.parse(TEXT_MO, StandardCharsets.UTF_8)
+        );
+        new RequestSigner("abcde", HashUtil.HashType.HMAC_SHA256).signParameters(params);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/mo");
+        params.forEach(param -> request.addParameter(param.getName(), param.getValue()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.doGet(request, response);
+        assertEquals("OK", response.getContentAsString());
+
+        request.setParameter("text", "Tampered");
+        response = new MockHttpServletResponse();
+        servlet.doGet(request, response);
+        assertEquals(400, response.getStatus());
+        assertEquals("Bad Signature", response.getErrorMessage());
+        assertEquals(1, consumed.size());
+    }
+
+    @Test
+    public void testRejectWhenQueueIsFull() throws Exception {
+        TestServlet servlet = new TestServlet(AbstractAsyncMOServlet.Settings.builder()
+                .executor(deferred).queueCapacity(2));
+
+        for (int i = 0; i < 3; i++) {
+            servlet.doGet(getRequest(TEXT_MO), new MockHttpServletResponse());
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.doGet(getRequest(TEXT_MO), response);
+        assertEquals(503, response.getStatus());
+        assertEquals(2, servlet.getQueueDepth());
+        assertEquals(2, servlet.getAcceptedCount());
+        assertEquals(2, servlet.getRejectedCount());
+
+        pending.remove(0).run();
+        assertEquals(1, servlet.getQueueDepth());
+        response = new MockHttpServletResponse();
+        servlet.doGet(getRequest(TEXT_MO), response);
+        assertEquals("OK", response.getContentAsString());
+        assertEquals(2, servlet.getQueueDepth());
+        assertEquals(1, servlet.getConsumedCount());
+    }
+
+    @Test
+    public void testBlockWhenQueueIsFull() throws Exception {
+        TestServlet servlet = new TestServlet(AbstractAsyncMOServlet.Settings.builder()
+                .executor(deferred).queueCapacity(1).backpressure(AbstractAsyncMOServlet.Backpressure.BLOCK));
+        servlet.doGet(getRequest(TEXT_MO), new MockHttpServletResponse());
+
+        MockHttpServletResponse blockedResponse = new MockHttpServletResponse();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread blocked = new Thread(() -> {
+            try {
+                servlet.doGet(getRequest(TEXT_MO), blockedResponse);
+            }
+            catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+            finally {
+                done.countDown();
+            }
+        });
+        blocked.start();
+        assertFalse(done.await(200, TimeUnit.MILLISECONDS));
+
+        pending.remove(0).run();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("OK", blockedResponse.getContentAsString());
+        assertEquals(0, servlet.getRejectedCount());
+        assertEquals(2, servlet.getAcceptedCount());
+    }
+
+    @Test
+    public void testBlockingWaitIsDispatchedOffTheReadListener() throws Exception {
+        TestServlet servlet = new TestServlet(AbstractAsyncMOServlet.Settings.builder()
+                .executor(deferred).queueCapacity(1).backpressure(AbstractAsyncMOServlet.Backpressure.BLOCK));
+        servlet.doGet(getRequest(TEXT_MO), new MockHttpServletResponse());
+
+        List<Runnable> dispatched = new ArrayList<>();
+        NonBlockingInput input = new NonBlockingInput(TEXT_MO);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mo") {
+            @Override
+            public ServletInputStream getInputStream() {
+                return input;
+            }
+
+            @Override
+            public AsyncContext startAsync(ServletRequest request, ServletResponse response) {
+                setAsyncStarted(true);
+                return new MockAsyncContext(request, response) {
+                    @Override
+                    public void start(Runnable runnable) {
+                        dispatched.add(runnable);
+                    }
+                };
+            }
+        };
+        request.setAsyncSupported(true);
+        request.setContentType("application/x-www-form-urlencoded");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        servlet.doPost(request, response);
+        // The read listener returns even though the queue is full.
+        input.deliver(TEXT_MO.length());
+        assertEquals(1, dispatched.size());
+        assertTrue(request.isAsyncStarted());
+
+        Thread waiting = new Thread(dispatched.get(0));
+        waiting.start();
+        waiting.join(200);
+        assertTrue(waiting.isAlive());
+
+        pending.remove(0).run();
+        waiting.join(5000);
+        assertFalse(waiting.isAlive());
+        assertEquals("OK", response.getContentAsString());
+        assertFalse(request.isAsyncStarted());
+        assertEquals(2, servlet.getAcceptedCount());
+    }
+
+    @Test
+    public void testConsumerFailureAndLatencyMetrics() throws Exception {
+        TestServlet servlet = new TestServlet(AbstractAsyncMOServlet.Settings.builder().executor(Runnable::run));
+        servlet.doGet(getRequest(TEXT_MO.replace("HELLO", "fail")), new MockHttpServletResponse());
+        servlet.doGet(getRequest(TEXT_MO), new MockHttpServletResponse());
+
+        assertEquals(1, servlet.getFailedCount());
+        assertEquals(1, servlet.getConsumedCount());
+        assertEquals(0, servlet.getQueueDepth());
+        assertTrue(servlet.getMaxLatency().toNanos() > 0);
+        assertTrue(servlet.getAverageLatency().compareTo(servlet.getMaxLatency()) <= 0);
+    }
+
+    @Test
+    public void testOwnedExecutorIsShutDownOnDestroy() throws Exception {
+        TestServlet servlet = new TestServlet(AbstractAsyncMOServlet.Settings.builder().consumerThreads(1));
+        servlet.doGet(getRequest(TEXT_MO), new MockHttpServletResponse());
+        servlet.destroy();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.doGet(getRequest(TEXT_MO), response);
+        assertEquals(503, response.getStatus());
+        assertEquals(1, servlet.getAcceptedCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidQueueCapacity() {
+        AbstractAsyncMOServlet.Settings.builder().queueCapacity(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidConsumerThreads() {
+        AbstractAsyncMOServlet.Settings.builder().consumerThreads(0);
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.sms.callback;
+
+import com.vonage.client.sms.callback.messages.MO;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.Assert.*;
+
+public class ConcatenatedMOAssemblerTest {
+    final AtomicLong clock = new AtomicLong();
+    final List<ConcatenatedMOAssembler.IncompleteMessage> expired = Collections.synchronizedList(new ArrayList<>());
+
+    ConcatenatedMOAssembler.Builder builder() {
+        return ConcatenatedMOAssembler.builder().nanoClock(clock::get).onExpiry(expired::add);
+    }
+
+    static MO textPart(String sender, String ref, int total, int part, String text) {
+        MO mo = new MO("id-" + ref + "-" + part, MO.MESSAGE_TYPE.TEXT, sender, "447700900000",
+                new BigDecimal("0.01"), null);
+        mo.setTextData(text, "KEYWORD" + part);
+        mo.setConcatenationData(ref, total, part);
+        return mo;
+    }
+
+    @Test
+    public void testReassemblesPartsInAnyOrder() {
+        ConcatenatedMOAssembler assembler = builder().build();
+        assertNull(assembler.accept(textPart("447700900001", "A1", 3, 3, "world!")));
+        assertNull(assembler.accept(textPart("447700900001", "A1", 3, 1, "Hello, ")));
+        assertEquals(1, assembler.getPendingCount());
+
+        MO result = assembler.accept(textPart("447700900001", "A1", 3, 2, "big "));
+        assertNotNull(result);
+        assertEquals("Hello, big world!", result.getMessageBody());
+        assertEquals("KEYWORD1", result.getKeyword());
+        assertEquals("id-A1-1", result.getMessageId());
+        assertEquals(new BigDecimal("0.03"), result.getPrice());
+        assertFalse(result.isConcat());
+        assertEquals(0, assembler.getPendingCount());
+        assertEquals(1, assembler.getCompletedCount());
+    }
+
+    @Test
+    public void testNonConcatenatedMessagesPassThrough() {
+        MO mo = new MO("id", MO.MESSAGE_TYPE.TEXT, "447700900001", "447700900000", null, null);
+        assertSame(mo, builder().build().accept(mo));
+    }
+
+    @Test
+    public void testBinaryParts() {
+        ConcatenatedMOAssembler assembler = builder().build();
+        MO first = new MO("1", MO.MESSAGE_TYPE.BINARY, "447700900001", "447700900000", null, null);
+        first.setBinaryData(new byte[]{1, 2}, new byte[]{5, 0, 3, 7, 2, 1});
+        first.setConcatenationData("B", 2, 1);
+        MO second = new MO("2", MO.MESSAGE_TYPE.BINARY, "447700900001", "447700900000", null, null);
+        second.setBinaryData(new byte[]{3}, new byte[]{5, 0, 3, 7, 2, 2});
+        second.setConcatenationData("B", 2, 2);
+
+        assertNull(assembler.accept(second));
+        MO result = assembler.accept(first);
+        assertArrayEquals(new byte[]{1, 2, 3}, result.getBinaryMessageBody());
+        assertNull(result.getUserDataHeader());
+        assertNull(result.getPrice());
+    }
+
+    @Test
+    public void testSameReferenceFromDifferentSendersIsKeptApart() {
+        ConcatenatedMOAssembler assembler = builder().build();
+        assertNull(assembler.accept(textPart("447700900001", "R", 2, 1, "one-")));
+        assertNull(assembler.accept(textPart("447700900002", "R", 2, 1, "two-")));
+        assertEquals("two-b", assembler.accept(textPart("447700900002", "R", 2, 2, "b")).getMessageBody());
+        assertEquals("one-a", assembler.accept(textPart("447700900001", "R", 2, 2, "a")).getMessageBody());
+    }
+
+    @Test
+    public void testDuplicateAndInvalidPartsAreDiscarded() {
+        ConcatenatedMOAssembler assembler = builder().build();
+        assertNull(assembler.accept(textPart("447700900001", "D", 2, 1, "a")));
+        assertNull(assembler.accept(textPart("447700900001", "D", 2, 1, "a")));
+        assertNull(assembler.accept(textPart("447700900001", "D", 3, 2, "b")));
+        assertNull(assembler.accept(textPart("447700900001", "E", 2, 3, "c")));
+        assertNull(assembler.accept(textPart("447700900001", "E", 0, 0, "c")));
+        assertEquals(4, assembler.getDiscardedCount());
+        assertEquals("ab", assembler.accept(textPart("447700900001", "D", 2, 2, "b")).getMessageBody());
+    }
+
+    @Test
+    public void testSinglePartMessage() {
+        MO result = builder().build().accept(textPart("447700900001", "S", 1, 1, "solo"));
+        assertEquals("solo", result.getMessageBody());
+        assertFalse(result.isConcat());
+    }
+
+    @Test
+    public void testIncompleteMessagesExpire() {
+        ConcatenatedMOAssembler assembler = builder().timeout(Duration.ofSeconds(10)).build();
+        assembler.accept(textPart("447700900001", "X", 3, 1, "a"));
+        assembler.accept(textPart("447700900001", "X", 3, 3, "c"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assembler.accept(textPart("447700900001", "Y", 2, 1, "a"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertEquals(1, assembler.expire());
+        assertEquals(1, expired.size());
+        ConcatenatedMOAssembler.IncompleteMessage incomplete = expired.get(0);
+        assertEquals("447700900001", incomplete.getSender());
+        assertEquals("X", incomplete.getConcatReferenceNumber());
+        assertEquals(3, incomplete.getTotalParts());
+        assertEquals(2, incomplete.getReceivedParts().size());
+        assertEquals(3, incomplete.getReceivedParts().get(1).getConcatPartNumber());
+
+        // A late part starts a new set rather than completing the expired one.
+        assertNull(assembler.accept(textPart("447700900001", "X", 3, 2, "b")));
+        assertEquals(2, assembler.getPendingCount());
+        assertEquals(1, assembler.getExpiredCount());
+    }
+
+    @Test
+    public void testExpiredMessagesAreSweptOnAccept() {
+        ConcatenatedMOAssembler assembler = builder().segments(1).timeout(Duration.ofSeconds(1)).build();
+        assembler.accept(textPart("447700900001", "X", 2, 1, "a"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assembler.accept(textPart("447700900001", "Y", 2, 1, "a"));
+        assertEquals(1, expired.size());
+        assertEquals(1, assembler.getPendingCount());
+    }
+
+    @Test
+    public void testFailingExpiryHandlerDoesNotLoseMessages() {
+        List<String> handled = new ArrayList<>();
+        ConcatenatedMOAssembler assembler = ConcatenatedMOAssembler.builder().nanoClock(clock::get)
+                .segments(1).timeout(Duration.ofSeconds(10)).onExpiry(incomplete -> {
+                    if (incomplete.getConcatReferenceNumber().startsWith("X")) {
+                        throw new IllegalStateException("Handler failure");
+                    }
+                    handled.add(incomplete.getConcatReferenceNumber());
+                }).build();
+        assembler.accept(textPart("447700900001", "X1", 2, 1, "a"));
+        assembler.accept(textPart("447700900001", "Y1", 2, 1, "a"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assembler.accept(textPart("447700900001", "Z", 2, 1, "a"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        MO result = assembler.accept(textPart("447700900001", "Z", 2, 2, "b"));
+        assertNotNull(result);
+        assertEquals("ab", result.getMessageBody());
+        assertEquals(Collections.singletonList("Y1"), handled);
+        assertEquals(2, assembler.getExpiredCount());
+
+        assembler.accept(textPart("447700900001", "X2", 2, 1, "a"));
+        assembler.accept(textPart("447700900001", "Y2", 2, 1, "a"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertEquals(2, assembler.expire());
+        assertEquals(Arrays.asList("Y1", "Y2"), handled);
+        assertEquals(4, assembler.getExpiredCount());
+        assertEquals(0, assembler.getPendingCount());
+    }
+
+    @Test
+    public void testOldestMessageIsEvictedWhenFull() {
+        ConcatenatedMOAssembler assembler = builder().segments(1).maxPendingMessages(2).build();
+        assembler.accept(textPart("447700900001", "1", 2, 1, "a"));
+        assembler.accept(textPart("447700900001", "2", 2, 1, "a"));
+        assembler.accept(textPart("447700900001", "3", 2, 1, "a"));
+        assertEquals(1, expired.size());
+        assertEquals("1", expired.get(0).getConcatReferenceNumber());
+        assertEquals(2, assembler.getPendingCount());
+    }
+
+    @Test
+    public void testConcurrentInterleavedParts() throws Exception {
+        ConcatenatedMOAssembler assembler = builder().build();
+        List<MO> parts = new ArrayList<>();
+        for (int m = 0; m < 500; m++) {
+            for (int p = 1; p <= 4; p++) {
+                parts.add(textPart("4477009" + (m % 7), "ref" + m, 4, p, "m" + m + "p" + p + ";"));
+            }
+        }
+        Collections.shuffle(parts, new Random(42));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<MO>>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                List<MO> slice = parts.subList(t * parts.size() / 4, (t + 1) * parts.size() / 4);
+                futures.add(executor.submit(() -> {
+                    List<MO> results = new ArrayList<>();
+                    for (MO part : slice) {
+                        MO result = assembler.accept(part);
+                        if (result != null) {
+                            results.add(result);
+                        }
+                    }
+                    return results;
+                }));
+            }
+            int count = 0;
+            for (Future<List<MO>> future : futures) {
+                for (MO result : future.get()) {
+                    String m = result.getMessageId().split("-")[1].substring(3);
+                    assertEquals("m" + m + "p1;m" + m + "p2;m" + m + "p3;m" + m + "p4;", result.getMessageBody());
+                    count++;
+                }
+            }
+            assertEquals(500, count);
+            assertEquals(0, assembler.getPendingCount());
+            assertTrue(expired.isEmpty());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxPendingMessages() {
+        ConcatenatedMOAssembler.builder().maxPendingMessages(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTimeout() {
+        ConcatenatedMOAssembler.builder().timeout(Duration.ZERO);
+    }
+}
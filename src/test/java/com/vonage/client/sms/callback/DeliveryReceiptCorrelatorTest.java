@@ -0,0 +1,260 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.sms.callback;
+
+import com.vonage.client.messages.MessageStatus;
+import com.vonage.client.sms.SmsSubmissionResponse;
+import com.vonage.client.sms.callback.DeliveryReceiptCorrelator.CampaignStats;
+import com.vonage.client.sms.callback.DeliveryReceiptCorrelator.Correlation;
+import com.vonage.client.sms.callback.DeliveryReceiptCorrelator.Outcome;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.Assert.*;
+
+public class DeliveryReceiptCorrelatorTest {
+    final AtomicLong clock = new AtomicLong();
+
+    DeliveryReceiptCorrelator.Builder builder() {
+        return DeliveryReceiptCorrelator.builder().nanoClock(clock::get);
+    }
+
+    static Map<String, String> receipt(String messageId, String status) {
+        Map<String, String> params = new HashMap<>();
+        params.put("messageId", messageId);
+        params.put("status", status);
+        return params;
+    }
+
+    @Test
+    public void testCorrelatesSmsSubmissionWithReceipts() {
+        SmsSubmissionResponse response = SmsSubmissionResponse.fromJson("{\n" +
+                "  \"message-count\": 2,\n" +
+                "  \"messages\": [\n" +
+                "    {\"to\": \"447700900000\", \"message-id\": \"0A0000000123ABCD1\", \"status\": \"0\",\n" +
+                "     \"message-price\": \"0.03330000\", \"client-ref\": \"ref-1\"},\n" +
+                "    {\"to\": \"447700900000\", \"message-id\": \"0A0000000123ABCD2\", \"status\": \"0\",\n" +
+                "     \"message-price\": \"0.03330000\", \"client-ref\": \"ref-1\"}\n" +
+                "  ]\n" +
+                "}");
+        DeliveryReceiptCorrelator correlator = builder().build();
+        correlator.recordSubmission("spring-sale", response);
+        assertEquals(2, correlator.size());
+
+        assertNull(correlator.onSmsDeliveryReceipt(receipt("0A0000000123ABCD1", "accepted")));
+        Correlation first = correlator.onSmsDeliveryReceipt(receipt("0A0000000123ABCD1", "delivered"));
+        assertNotNull(first);
+        assertEquals("0A0000000123ABCD1", first.getMessageId());
+        assertEquals("spring-sale", first.getCampaign());
+        assertEquals("ref-1", first.getClientRef());
+        assertEquals(2, first.getParts());
+        assertEquals(0, new BigDecimal("0.0333").compareTo(first.getPrice()));
+        assertEquals(Outcome.DELIVERED, first.getOutcome());
+
+        Correlation second = correlator.onSmsDeliveryReceipt(receipt("0A0000000123ABCD2", "failed"));
+        assertEquals(Outcome.FAILED, second.getOutcome());
+        assertNull(correlator.onSmsDeliveryReceipt(receipt("0A0000000123ABCD2", "failed")));
+        assertEquals(1, correlator.getUnmatchedCount());
+        assertEquals(0, correlator.size());
+
+        CampaignStats stats = correlator.getCampaignStats("spring-sale");
+        assertEquals(2, stats.getSubmittedCount());
+        assertEquals(1, stats.getDeliveredCount());
+        assertEquals(1, stats.getFailedCount());
+        assertEquals(0, stats.getExpiredCount());
+        assertEquals(0, new BigDecimal("0.0666").compareTo(stats.getTotalPrice()));
+        assertNull(correlator.getCampaignStats("other"));
+    }
+
+    @Test
+    public void testRejectedSubmissionsCountAsFailed() {
+        SmsSubmissionResponse response = SmsSubmissionResponse.fromJson(
+                "{\"message-count\": 1, \"messages\": [{\"status\": \"4\", \"error-text\": \"Bad Credentials\"}]}"
+        );
+        DeliveryReceiptCorrelator correlator = builder().build();
+        correlator.recordSubmission("c", response);
+        assertEquals(0, correlator.size());
+        assertEquals(1, correlator.getCampaignStats("c").getSubmittedCount());
+        assertEquals(1, correlator.getCampaignStats("c").getFailedCount());
+    }
+
+    @Test
+    public void testCorrelatesMessageStatusByUuid() {
+        UUID uuid = UUID.randomUUID();
+        DeliveryReceiptCorrelator correlator = builder().build();
+        correlator.recordSubmission("whatsapp", uuid.toString(), "ref", 1, new BigDecimal("0.005"));
+
+        MessageStatus submitted = MessageStatus.fromJson(
+                "{\"message_uuid\": \"" + uuid + "\", \"status\": \"submitted\"}"
+        );
+        assertNull(correlator.onMessageStatus(submitted));
+        MessageStatus read = MessageStatus.fromJson("{\"message_uuid\": \"" + uuid + "\", \"status\": \"read\"}");
+        Correlation correlation = correlator.onMessageStatus(read);
+        assertEquals(uuid.toString(), correlation.getMessageId());
+        assertEquals("ref", correlation.getClientRef());
+        assertEquals(1, correlator.getCampaignStats("whatsapp").getDeliveredCount());
+
+        correlator.recordSubmission("whatsapp", uuid.toString(), null, 1, null);
+        MessageStatus rejected = MessageStatus.fromJson(
+                "{\"message_uuid\": \"" + uuid + "\", \"status\": \"rejected\"}"
+        );
+        assertEquals(Outcome.FAILED, correlator.onMessageStatus(rejected).getOutcome());
+        assertEquals(1, correlator.getCampaignStats("whatsapp").getFailedCount());
+    }
+
+    @Test
+    public void testIdsWithoutCompactFormAreCorrelated() {
+        DeliveryReceiptCorrelator correlator = builder().build();
+        correlator.recordSubmission("c", "message-id-1", null, 1, null);
+        correlator.recordSubmission("c", "abc", null, 1, null);
+        correlator.recordSubmission("c", "ABC", null, 1, null);
+        correlator.recordSubmission("c", "0ABC", null, 1, null);
+        assertEquals(4, correlator.size());
+
+        assertEquals("abc", correlator.onReceipt("abc", Outcome.DELIVERED).getMessageId());
+        assertEquals("ABC", correlator.onReceipt("ABC", Outcome.DELIVERED).getMessageId());
+        assertNull(correlator.onReceipt("ABC", Outcome.DELIVERED));
+        assertEquals("0ABC", correlator.onReceipt("0ABC", Outcome.DELIVERED).getMessageId());
+        assertEquals("message-id-1", correlator.onReceipt("message-id-1", Outcome.FAILED).getMessageId());
+        assertEquals(0, correlator.size());
+    }
+
+    @Test
+    public void testExpiredRecordsAreEvictedAndCounted() {
+        DeliveryReceiptCorrelator correlator = builder().ttl(Duration.ofMinutes(1)).build();
+        correlator.recordSubmission("c", "0A01", null, 1, null);
+        correlator.recordSubmission("c", "not-hex", null, 1, null);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        correlator.recordSubmission("c", "0A02", null, 1, null);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        assertEquals(2, correlator.evictExpired());
+        assertEquals(1, correlator.size());
+        assertNull(correlator.onReceipt("0A01", Outcome.DELIVERED));
+        assertNotNull(correlator.onReceipt("0A02", Outcome.DELIVERED));
+        assertEquals(2, correlator.getCampaignStats("c").getExpiredCount());
+
+        correlator.recordSubmission("c", "0A03", null, 1, null);
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        assertNull(correlator.onReceipt("0A03", Outcome.DELIVERED));
+        assertEquals(3, correlator.getCampaignStats("c").getExpiredCount());
+    }
+
+    @Test
+    public void testFullStoreDropsNewSubmissionsUnlessExpiredCanBeEvicted() {
+        DeliveryReceiptCorrelator correlator = builder().maxEntries(2).segments(1)
+                .ttl(Duration.ofSeconds(10)).build();
+        correlator.recordSubmission("c", "01", null, 1, null);
+        correlator.recordSubmission("c", "02", null, 1, null);
+        correlator.recordSubmission("c", "03", null, 1, null);
+        correlator.recordSubmission("c", "other", null, 1, null);
+        assertEquals(2, correlator.getDroppedCount());
+        assertEquals(2, correlator.size());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        correlator.recordSubmission("c", "03", null, 1, null);
+        assertEquals(1, correlator.size());
+        assertNotNull(correlator.onReceipt("03", Outcome.DELIVERED));
+    }
+
+    @Test
+    public void testRecordsAreEvictedInExpiryOrderAsTablesGrow() {
+        DeliveryReceiptCorrelator correlator = builder().maxEntries(5_000).segments(1)
+                .ttl(Duration.ofSeconds(10)).build();
+        for (int i = 0; i < 5_000; i++) {
+            correlator.recordSubmission("c", i < 4_000 ? Integer.toHexString(i).toUpperCase() : "id-" + i, null, 1, null);
+            clock.incrementAndGet();
+        }
+        correlator.recordSubmission("c", "FFFF", null, 1, null);
+        assertEquals(5_000, correlator.size());
+        assertEquals(1, correlator.getDroppedCount());
+
+        // Recording a submission again moves it to the back of the expiry order.
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10) - 5_000);
+        correlator.recordSubmission("c", "0", null, 2, null);
+        correlator.recordSubmission("c", "id-4000", null, 3, null);
+        clock.addAndGet(10);
+        assertEquals(10, correlator.evictExpired());
+        assertEquals(4_990, correlator.size());
+        assertEquals(2, correlator.onReceipt("0", Outcome.DELIVERED).getParts());
+        assertEquals(3, correlator.onReceipt("id-4000", Outcome.DELIVERED).getParts());
+        assertNull(correlator.onReceipt("A", Outcome.DELIVERED));
+        assertNotNull(correlator.onReceipt("B", Outcome.DELIVERED));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(4_987, correlator.evictExpired());
+        assertEquals(0, correlator.size());
+        assertEquals(4_997, correlator.getCampaignStats("c").getExpiredCount());
+    }
+
+    @Test
+    public void testMatchesHashMapUnderRandomOperations() {
+        DeliveryReceiptCorrelator correlator = builder().maxEntries(512).segments(2).build();
+        Map<String, Integer> expected = new HashMap<>();
+        List<String> ids = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 400; i++) {
+            ids.add(random.nextBoolean() ? Long.toHexString(random.nextLong()).toUpperCase() :
+                    new UUID(random.nextLong(), random.nextLong()).toString());
+        }
+        for (int i = 0; i < 20_000; i++) {
+            String id = ids.get(random.nextInt(ids.size()));
+            if (random.nextInt(3) > 0 && expected.size() < 200) {
+                correlator.recordSubmission("c", id, null, i, null);
+                expected.put(id, i);
+            }
+            else {
+                Correlation correlation = correlator.onReceipt(id, Outcome.DELIVERED);
+                Integer parts = expected.remove(id);
+                if (parts == null) {
+                    assertNull(correlation);
+                }
+                else {
+                    assertEquals(parts.intValue(), correlation.getParts());
+                }
+            }
+            assertEquals(expected.size(), correlator.size());
+        }
+    }
+
+    @Test
+    public void testSmsStatusMapping() {
+        assertEquals(Outcome.DELIVERED, DeliveryReceiptCorrelator.smsOutcome("delivered"));
+        assertEquals(Outcome.FAILED, DeliveryReceiptCorrelator.smsOutcome("expired"));
+        assertEquals(Outcome.FAILED, DeliveryReceiptCorrelator.smsOutcome("rejected"));
+        assertEquals(Outcome.PENDING, DeliveryReceiptCorrelator.smsOutcome("buffered"));
+        assertEquals(Outcome.PENDING, DeliveryReceiptCorrelator.smsOutcome(null));
+        assertNull(builder().build().onSmsDeliveryReceipt(new HashMap<>()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxEntries() {
+        DeliveryReceiptCorrelator.builder().maxEntries(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTtl() {
+        DeliveryReceiptCorrelator.builder().ttl(Duration.ZERO);
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.http.entity.ContentType;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class SearchEndpointTest {
     private SearchEndpoint method;
@@ -51,4 +52,9 @@ public class SearchEndpointTest {
         assertEquals("POST", builder.getMethod());
         assertEquals("https://example.com/verify/search/json", builder.build().getURI().toString());
     }
+
+    @Test
+    public void testIsHedgeable() {
+        assertTrue(method.isHedgeable(null));
+    }
 }
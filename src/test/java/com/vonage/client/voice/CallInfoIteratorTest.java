@@ -0,0 +1,287 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.voice;
+
+import com.vonage.client.VonageClientException;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import static org.junit.Assert.*;
+
+public class CallInfoIteratorTest {
+    final List<CallsFilter> requests = new ArrayList<>();
+    final List<CompletableFuture<CallInfoPage>> futures = new ArrayList<>();
+
+    static CallInfoPage page(int total, int pageSize, int recordIndex) {
+        StringBuilder calls = new StringBuilder();
+        for (int i = recordIndex; i < Math.min(total, recordIndex + pageSize); i++) {
+            if (calls.length() > 0) {
+                calls.append(',');
+            }
+            calls.append("{\"uuid\": \"call-").append(i).append("\"}");
+        }
+        return CallInfoPage.fromJson("{\"count\": " + total + ", \"page_size\": " + pageSize +
+                ", \"record_index\": " + recordIndex + ", \"_embedded\": {\"calls\": [" + calls + "]}}"
+        );
+    }
+
+    CallInfoIterator immediate(int total, int defaultPageSize, CallsFilter filter, int prefetch) {
+        return new CallInfoIterator(request -> {
+            requests.add(request);
+            int index = request.getRecordIndex() != null ? request.getRecordIndex() : 0;
+            int size = request.getPageSize() != null ? request.getPageSize() : defaultPageSize;
+            return CompletableFuture.completedFuture(page(total, size, index));
+        }, filter, prefetch);
+    }
+
+    /**
+     * Answers the first request with {@code first}, and every later one with a future the test completes.
+     */
+    CallInfoIterator deferred(CallsFilter filter, int prefetch, CompletableFuture<CallInfoPage> first) {
+        return new CallInfoIterator(request -> {
+            requests.add(request);
+            CompletableFuture<CallInfoPage> future = futures.isEmpty() ? first : new CompletableFuture<>();
+            futures.add(future);
+            return future;
+        }, filter, prefetch);
+    }
+
+    static List<String> drain(CallInfoIterator iterator) {
+        List<String> uuids = new ArrayList<>();
+        iterator.forEachRemaining(call -> uuids.add(call.getUuid()));
+        return uuids;
+    }
+
+    @Test
+    public void testIteratesAllPages() {
+        List<String> uuids = drain(immediate(25, 10, null, 1));
+        assertEquals(25, uuids.size());
+        assertEquals("call-0", uuids.get(0));
+        assertEquals("call-24", uuids.get(24));
+        assertEquals(3, requests.size());
+        assertNull(requests.get(0).getRecordIndex());
+        assertEquals(Integer.valueOf(10), requests.get(1).getRecordIndex());
+        assertEquals(Integer.valueOf(20), requests.get(2).getRecordIndex());
+        assertEquals(Integer.valueOf(10), requests.get(2).getPageSize());
+    }
+
+    @Test
+    public void testStartsFromFilterRecordIndexAndKeepsOtherCriteria() {
+        CallsFilter filter = CallsFilter.builder().recordIndex(5).pageSize(4)
+                .status(CallStatus.COMPLETED).order(CallOrder.ASCENDING).build();
+        List<String> uuids = drain(immediate(12, 10, filter, 2));
+        assertEquals(7, uuids.size());
+        assertEquals("call-5", uuids.get(0));
+        assertEquals(Integer.valueOf(9), requests.get(1).getRecordIndex());
+        assertEquals(CallStatus.COMPLETED, requests.get(1).getStatus());
+        assertEquals(CallOrder.ASCENDING, requests.get(1).getOrder());
+    }
+
+    @Test
+    public void testFirstPageIsRequestedOnFirstUse() {
+        CallInfoIterator iterator = immediate(5, 10, null, 1);
+        assertTrue(requests.isEmpty());
+        assertTrue(iterator.hasNext());
+        assertEquals(1, requests.size());
+
+        CallInfoIterator closed = immediate(5, 10, null, 1);
+        closed.close();
+        assertFalse(closed.hasNext());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void testEmptyResult() {
+        CallInfoIterator iterator = immediate(0, 10, null, 1);
+        assertFalse(iterator.hasNext());
+        assertEquals(1, requests.size());
+        try {
+            iterator.next();
+            fail("Expected NoSuchElementException");
+        }
+        catch (NoSuchElementException ex) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testPrefetchIsBounded() {
+        CallInfoIterator iterator = deferred(null, 2, CompletableFuture.completedFuture(page(100, 10, 0)));
+        assertTrue(iterator.hasNext());
+        assertEquals(3, futures.size());
+
+        for (int i = 0; i < 10; i++) {
+            iterator.next();
+        }
+        assertEquals(3, futures.size());
+        futures.get(1).complete(page(100, 10, 10));
+        assertEquals("call-10", iterator.next().getUuid());
+        assertEquals(4, futures.size());
+        assertEquals(Integer.valueOf(30), requests.get(3).getRecordIndex());
+    }
+
+    @Test
+    public void testCloseCancelsOutstandingRequests() {
+        CallInfoIterator iterator = deferred(null, 1, CompletableFuture.completedFuture(page(100, 10, 0)));
+        assertTrue(iterator.hasNext());
+        iterator.close();
+        assertTrue(futures.get(1).isCancelled());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testFailureIsRethrown() {
+        VonageClientException failure = new VonageClientException("Failed");
+        CompletableFuture<CallInfoPage> first = new CompletableFuture<>();
+        first.completeExceptionally(failure);
+        CallInfoIterator iterator = deferred(null, 1, first);
+        try {
+            iterator.hasNext();
+            fail("Expected exception");
+        }
+        catch (VonageClientException ex) {
+            assertSame(failure, ex);
+        }
+    }
+
+    static CallsFilter[] dateRanges(int count) {
+        return CallInfoIterator.splitByDate(
+                CallsFilter.builder().dateStart(new Date(0)).dateEnd(new Date(count * 1000L - 1)).build(), count
+        );
+    }
+
+    /**
+     * Answers each request with a page of calls named after the range, 10 calls per range in pages of 5.
+     */
+    static CompletableFuture<CallInfoPage> rangePage(CallsFilter request) {
+        int index = request.getRecordIndex() != null ? request.getRecordIndex() : 0;
+        StringBuilder calls = new StringBuilder();
+        for (int i = index; i < index + 5; i++) {
+            calls.append(i > index ? "," : "").append("{\"uuid\": \"")
+                    .append(request.getDateStart().getTime() / 1000).append('-').append(i).append("\"}");
+        }
+        return CompletableFuture.completedFuture(CallInfoPage.fromJson("{\"count\": 10, \"page_size\": 5, " +
+                "\"record_index\": " + index + ", \"_embedded\": {\"calls\": [" + calls + "]}}"
+        ));
+    }
+
+    @Test
+    public void testRangesAreSplitBeforeAnyRequest() {
+        List<CallsFilter> requested = Collections.synchronizedList(new ArrayList<>());
+        CallRangeSpliterator spliterator = new CallRangeSpliterator(request -> {
+            requested.add(request);
+            return rangePage(request);
+        }, dateRanges(4), 1);
+
+        Spliterator<CallInfo> upper = spliterator.trySplit();
+        assertNotNull(upper);
+        assertNotNull(upper.trySplit());
+        assertNotNull(spliterator.trySplit());
+        assertNull(spliterator.trySplit());
+        assertTrue(requested.isEmpty());
+
+        List<String> uuids = new ArrayList<>();
+        assertTrue(spliterator.tryAdvance(call -> uuids.add(call.getUuid())));
+        assertEquals("0-0", uuids.get(0));
+        assertEquals(2, requested.size());
+        spliterator.forEachRemaining(call -> uuids.add(call.getUuid()));
+        assertEquals(10, uuids.size());
+        assertFalse(spliterator.tryAdvance(call -> fail()));
+    }
+
+    @Test
+    public void testStartedRangeIsNotSplit() {
+        CallRangeSpliterator spliterator = new CallRangeSpliterator(
+                CallInfoIteratorTest::rangePage, dateRanges(2), 1
+        );
+        assertTrue(spliterator.tryAdvance(call -> assertEquals("0-0", call.getUuid())));
+        Spliterator<CallInfo> rest = spliterator.trySplit();
+        assertNotNull(rest);
+        assertNull(spliterator.trySplit());
+        assertTrue(rest.tryAdvance(call -> assertEquals("1-0", call.getUuid())));
+    }
+
+    @Test
+    public void testParallelStreamCoversEveryRange() {
+        Set<String> uuids = StreamSupport.stream(
+                new CallRangeSpliterator(CallInfoIteratorTest::rangePage, dateRanges(8), 1), true
+        ).map(CallInfo::getUuid).collect(Collectors.toSet());
+        assertEquals(80, uuids.size());
+        assertTrue(uuids.contains("7-9"));
+    }
+
+    @Test
+    public void testShortCircuitOnlyRequestsRangesItReaches() {
+        List<CallsFilter> requested = new ArrayList<>();
+        List<CompletableFuture<CallInfoPage>> later = new ArrayList<>();
+        CallRangeSpliterator spliterator = new CallRangeSpliterator(request -> {
+            requested.add(request);
+            if (request.getRecordIndex() == null) {
+                return rangePage(request);
+            }
+            CompletableFuture<CallInfoPage> future = new CompletableFuture<>();
+            later.add(future);
+            return future;
+        }, dateRanges(4), 1);
+
+        try (Stream<CallInfo> stream = StreamSupport.stream(spliterator, false).onClose(spliterator::close)) {
+            assertEquals("0-0", stream.findFirst().map(CallInfo::getUuid).orElse(null));
+        }
+        // The first page of the first range, and the prefetch of its second page.
+        assertEquals(2, requested.size());
+        assertTrue(later.get(0).isCancelled());
+    }
+
+    @Test
+    public void testSplitByDate() {
+        CallsFilter filter = CallsFilter.builder().status(CallStatus.FAILED).recordIndex(40)
+                .dateStart(new Date(1_000)).dateEnd(new Date(1_999)).build();
+        CallsFilter[] ranges = CallInfoIterator.splitByDate(filter, 3);
+        assertEquals(3, ranges.length);
+        assertEquals(1_000, ranges[0].getDateStart().getTime());
+        assertEquals(1_332, ranges[0].getDateEnd().getTime());
+        assertEquals(1_333, ranges[1].getDateStart().getTime());
+        assertEquals(1_665, ranges[1].getDateEnd().getTime());
+        assertEquals(1_666, ranges[2].getDateStart().getTime());
+        assertEquals(1_999, ranges[2].getDateEnd().getTime());
+        for (CallsFilter range : ranges) {
+            assertEquals(CallStatus.FAILED, range.getStatus());
+            assertNull(range.getRecordIndex());
+        }
+
+        CallsFilter instant = CallsFilter.builder().dateStart(new Date(5)).dateEnd(new Date(5)).build();
+        assertEquals(1, CallInfoIterator.splitByDate(instant, 4).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSplitRequiresDateWindow() {
+        CallInfoIterator.splitByDate(CallsFilter.builder().dateStart(new Date()).build(), 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSplitRequiresPositiveRanges() {
+        CallInfoIterator.splitByDate(CallsFilter.builder().dateStart(new Date(0)).dateEnd(new Date()).build(), 0);
+    }
+}
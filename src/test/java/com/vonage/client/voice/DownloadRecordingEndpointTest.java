@@ -17,10 +17,16 @@ package com.vonage.client.voice;
 
 import com.vonage.client.HttpWrapper;
 import com.vonage.client.TestUtils;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.BasicHttpEntity;
 import org.apache.http.client.methods.RequestBuilder;
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.UUID;
@@ -50,4 +56,45 @@ public class DownloadRecordingEndpointTest {
         recording.save(temp);
         assertEquals(content, new String(Files.readAllBytes(temp)));
     }
+
+    @Test
+    public void testIsStreamingResponse() {
+        assertTrue(endpoint.isStreamingResponse());
+    }
+
+    @Test
+    public void testTransferToChannel() throws Exception {
+        byte[] audio = new byte[100_000];
+        for (int i = 0; i < audio.length; i++) {
+            audio[i] = (byte) i;
+        }
+        HttpResponse response = TestUtils.makeJsonHttpResponse(200, "");
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(new ByteArrayInputStream(audio));
+        entity.setContentLength(audio.length);
+        response.setEntity(entity);
+
+        Recording recording = endpoint.parseResponse(response);
+        assertEquals(audio.length, recording.getContentLength());
+        assertEquals(0, recording.getOffset());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(audio.length, recording.transferTo(Channels.newChannel(out), 1000));
+        assertArrayEquals(audio, out.toByteArray());
+    }
+
+    @Test
+    public void testTransferToFailsOnShortContent() throws Exception {
+        HttpResponse response = TestUtils.makeJsonHttpResponse(200, "");
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(new ByteArrayInputStream(new byte[10]));
+        entity.setContentLength(20);
+        response.setEntity(entity);
+        try {
+            endpoint.parseResponse(response).transferTo(Channels.newChannel(new ByteArrayOutputStream()), 4);
+            fail("Expected IOException");
+        }
+        catch (IOException ex) {
+            assertEquals("Expected 20 bytes of recording, but received 10.", ex.getMessage());
+        }
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.voice;
+
+import com.vonage.client.HttpWrapper;
+import com.vonage.client.TestUtils;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DownloadRecordingRangeEndpointTest {
+    private DownloadRecordingRangeEndpoint endpoint;
+
+    @Before
+    public void setUp() throws Exception {
+        endpoint = new DownloadRecordingRangeEndpoint(new HttpWrapper());
+    }
+
+    @Test
+    public void testMakeRequestWithOffset() throws Exception {
+        String url = "https://api.nexmo.com/v1/files/aaaaaaaa-bbbb-cccc-dddd-0123456789ab";
+        RequestBuilder builder = endpoint.makeRequest(new DownloadRecordingRequestWrapper(url, 1024));
+        assertEquals("GET", builder.getMethod());
+        assertEquals(url, builder.build().getURI().toString());
+        assertEquals("bytes=1024-", builder.getFirstHeader("Range").getValue());
+    }
+
+    @Test
+    public void testMakeRequestWithoutOffset() throws Exception {
+        RequestBuilder builder = endpoint.makeRequest(new DownloadRecordingRequestWrapper("https://example.com/r", 0));
+        assertNull(builder.getFirstHeader("Range"));
+    }
+
+    @Test
+    public void testParsePartialResponse() throws Exception {
+        HttpResponse response = TestUtils.makeJsonHttpResponse(206, "content");
+        response.setHeader("Content-Range", "bytes 1024-2047/2048");
+        Recording recording = endpoint.parseResponse(response);
+        assertEquals(1024, recording.getOffset());
+        assertEquals(206, recording.getStatusCode());
+        assertTrue(endpoint.isStreamingResponse());
+    }
+}
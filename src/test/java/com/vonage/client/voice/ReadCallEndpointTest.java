@@ -27,6 +27,7 @@ import org.junit.Test;
 import static com.vonage.client.TestUtils.test429;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class ReadCallEndpointTest {
     private ReadCallEndpoint method;
@@ -90,4 +91,9 @@ public class ReadCallEndpointTest {
         assertEquals("GET", builder.getMethod());
         assertEquals("https://example.com/v1/calls/call-id", builder.build().getURI().toString());
     }
+
+    @Test
+    public void testIsHedgeable() {
+        assertTrue(method.isHedgeable(null));
+    }
 }
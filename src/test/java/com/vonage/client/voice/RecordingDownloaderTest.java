@@ -0,0 +1,208 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.voice;
+
+import com.vonage.client.TestUtils;
+import com.vonage.client.VonageClientException;
+import com.vonage.client.VonageMethodFailedException;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.BasicHttpEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+
+public class RecordingDownloaderTest {
+    static final byte[] AUDIO = new byte[5000];
+
+    static {
+        for (int i = 0; i < AUDIO.length; i++) {
+            AUDIO[i] = (byte) (i * 31);
+        }
+    }
+
+    final List<Long> offsets = Collections.synchronizedList(new ArrayList<>());
+    Path dir;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("recordings");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (Path file : Files.newDirectoryStream(dir)) {
+            Files.delete(file);
+        }
+        Files.delete(dir);
+    }
+
+    static Recording respond(int status, byte[] body, long offset) {
+        HttpResponse response = TestUtils.makeJsonHttpResponse(status, "");
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(new ByteArrayInputStream(body));
+        entity.setContentLength(body.length);
+        response.setEntity(entity);
+        if (status == 206) {
+            response.setHeader("Content-Range", "bytes " + offset + "-" + (AUDIO.length - 1) + "/" + AUDIO.length);
+        }
+        return new Recording(response);
+    }
+
+    Recording serveRanges(String url, long offset) {
+        offsets.add(offset);
+        if (offset >= AUDIO.length) {
+            return respond(416, new byte[0], 0);
+        }
+        return offset > 0 ? respond(206, Arrays.copyOfRange(AUDIO, (int) offset, AUDIO.length), offset) :
+                respond(200, AUDIO, 0);
+    }
+
+    @Test
+    public void testDownloadsToNewFile() throws Exception {
+        Path target = dir.resolve("new.wav");
+        try (RecordingDownloader downloader = RecordingDownloader.builder(this::serveRanges).bufferSize(512).build()) {
+            assertEquals(Long.valueOf(AUDIO.length), downloader.download("https://example.com/r", target).get());
+        }
+        assertArrayEquals(AUDIO, Files.readAllBytes(target));
+        assertEquals(Collections.singletonList(0L), offsets);
+    }
+
+    @Test
+    public void testResumesPartialFile() throws Exception {
+        Path target = dir.resolve("partial.wav");
+        Files.write(target, Arrays.copyOf(AUDIO, 1234));
+        try (RecordingDownloader downloader = RecordingDownloader.builder(this::serveRanges).build()) {
+            assertEquals(AUDIO.length, downloader.downloadNow("https://example.com/r", target));
+        }
+        assertArrayEquals(AUDIO, Files.readAllBytes(target));
+        assertEquals(Collections.singletonList(1234L), offsets);
+    }
+
+    @Test
+    public void testRestartsWhenRangeIsIgnored() throws Exception {
+        Path target = dir.resolve("ignored.wav");
+        Files.write(target, new byte[]{9, 9, 9});
+        RecordingDownloader downloader = RecordingDownloader.builder((url, offset) -> respond(200, AUDIO, 0)).build();
+        assertEquals(AUDIO.length, downloader.downloadNow("https://example.com/r", target));
+        assertArrayEquals(AUDIO, Files.readAllBytes(target));
+        downloader.close();
+    }
+
+    @Test
+    public void testCompleteFileIsNotDownloadedAgain() throws Exception {
+        Path target = dir.resolve("complete.wav");
+        Files.write(target, AUDIO);
+        RecordingDownloader downloader = RecordingDownloader.builder(this::serveRanges).build();
+        assertEquals(AUDIO.length, downloader.downloadNow("https://example.com/r", target));
+        assertArrayEquals(AUDIO, Files.readAllBytes(target));
+        downloader.close();
+    }
+
+    @Test
+    public void testErrorStatusFails() throws Exception {
+        Path target = dir.resolve("missing.wav");
+        RecordingDownloader downloader = RecordingDownloader.builder(
+                (url, offset) -> respond(404, new byte[0], 0)
+        ).build();
+        try {
+            downloader.download("https://example.com/r", target).get();
+            fail("Expected failure");
+        }
+        catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof VonageClientException);
+        }
+        downloader.close();
+    }
+
+    @Test
+    public void testTruncatedDownloadFailsAndCanBeResumed() throws Exception {
+        Path target = dir.resolve("truncated.wav");
+        RecordingDownloader downloader = RecordingDownloader.builder((url, offset) -> {
+            HttpResponse response = TestUtils.makeJsonHttpResponse(200, "");
+            BasicHttpEntity entity = new BasicHttpEntity();
+            entity.setContent(new ByteArrayInputStream(Arrays.copyOf(AUDIO, 100)));
+            entity.setContentLength(AUDIO.length);
+            response.setEntity(entity);
+            return new Recording(response);
+        }).build();
+        try {
+            downloader.download("https://example.com/r", target).get();
+            fail("Expected failure");
+        }
+        catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof VonageMethodFailedException);
+        }
+        downloader.close();
+        assertEquals(100, Files.size(target));
+
+        try (RecordingDownloader resumer = RecordingDownloader.builder(this::serveRanges).build()) {
+            assertEquals(AUDIO.length, resumer.downloadNow("https://example.com/r", target));
+        }
+        assertArrayEquals(AUDIO, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testConcurrencyIsCapped() throws Exception {
+        AtomicInteger active = new AtomicInteger(), peak = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingDownloader downloader = RecordingDownloader.builder((url, offset) -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            return respond(200, AUDIO, 0);
+        }).maxConcurrentDownloads(2).build();
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(downloader.download("https://example.com/" + i, dir.resolve(i + ".wav")));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (CompletableFuture<Long> future : futures) {
+            assertEquals(Long.valueOf(AUDIO.length), future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, peak.get());
+        downloader.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidConcurrency() {
+        RecordingDownloader.builder(this::serveRanges).maxConcurrentDownloads(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBufferSize() {
+        RecordingDownloader.builder(this::serveRanges).bufferSize(0);
+    }
+}
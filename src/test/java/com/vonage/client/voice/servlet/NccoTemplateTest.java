@@ -0,0 +1,156 @@
+/*
+ *   Copyright 2023 Vonage
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package com.vonage.client.voice.servlet;
+
+import com.vonage.client.voice.ncco.ConnectAction;
+import com.vonage.client.voice.ncco.Ncco;
+import com.vonage.client.voice.ncco.PhoneEndpoint;
+import com.vonage.client.voice.ncco.TalkAction;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import static org.junit.Assert.*;
+
+public class NccoTemplateTest {
+    static final NccoTemplate TEMPLATE = NccoTemplate.compile(new Ncco(
+            TalkAction.builder("Hello ${caller}, you are caller ${position}.").build(),
+            ConnectAction.builder(PhoneEndpoint.builder("${agent}").build()).from("${caller}").build()
+    ));
+
+    static Map<String, String> values(String caller, String position, String agent) {
+        Map<String, String> values = new HashMap<>();
+        values.put("caller", caller);
+        values.put("position", position);
+        values.put("agent", agent);
+        return values;
+    }
+
+    static String expected(String caller, String position, String agent) {
+        return new Ncco(
+                TalkAction.builder("Hello " + caller + ", you are caller " + position + ".").build(),
+                ConnectAction.builder(PhoneEndpoint.builder(agent).build()).from(caller).build()
+        ).toJson();
+    }
+
+    @Test
+    public void testPlaceholders() {
+        assertEquals(Arrays.asList("caller", "position", "agent"), Arrays.asList(TEMPLATE.getPlaceholders().toArray()));
+    }
+
+    @Test
+    public void testRendersSameJsonAsSerializer() throws Exception {
+        Map<String, String> values = values("447700900001", "3", "447700900002");
+        String json = expected("447700900001", "3", "447700900002");
+        assertEquals(json, new String(TEMPLATE.toBytes(values), StandardCharsets.UTF_8));
+        assertEquals(json, TEMPLATE.render(values).toJson());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(json.getBytes(StandardCharsets.UTF_8).length, TEMPLATE.writeTo(values, out));
+        assertEquals(json, out.toString("UTF-8"));
+    }
+
+    @Test
+    public void testValuesAreEscaped() {
+        String caller = "\"Zoë\" \\ 日本 😀\n\u0001\ttab";
+        Map<String, String> values = values(caller, "</script>", "+44 7700");
+        assertEquals(expected(caller, "</script>", "+44 7700"),
+                new String(TEMPLATE.toBytes(values), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    public void testLoneSurrogateIsReplaced() {
+        NccoTemplate template = NccoTemplate.compile(new Ncco(TalkAction.builder("${text}").build()));
+        Map<String, String> values = new HashMap<>();
+        values.put("text", "a\uD800b");
+        assertEquals("[{\"text\":\"a?b\",\"action\":\"talk\"}]",
+                new String(template.toBytes(values), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    public void testMalformedPlaceholdersAreLiteral() {
+        NccoTemplate template = NccoTemplate.compile(new Ncco(
+                TalkAction.builder("Costs ${ 5 and ${} or ${a b} then ${name}").build()
+        ));
+        assertEquals(1, template.getPlaceholders().size());
+        Map<String, String> values = new HashMap<>();
+        values.put("name", "X");
+        assertEquals("[{\"text\":\"Costs ${ 5 and ${} or ${a b} then X\",\"action\":\"talk\"}]",
+                new String(template.toBytes(values), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingValue() {
+        TEMPLATE.toBytes(new HashMap<>());
+    }
+
+    @Test
+    public void testCompileFromNccoResponse() {
+        NccoResponse response = new NccoResponseBuilder().appendNcco(TalkAction.builder("Hi ${name}").build()).getValue();
+        Map<String, String> values = new HashMap<>();
+        values.put("name", "Sam");
+        assertEquals("[{\"text\":\"Hi Sam\",\"action\":\"talk\"}]",
+                new String(NccoTemplate.compile(response).toBytes(values), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    public void testAnswerServletWritesRenderedTemplate() throws Exception {
+        AbstractAnswerServlet servlet = new AbstractAnswerServlet() {
+            @Override
+            protected NccoTemplate.Rendered handleTemplatedRequest(HttpServletRequest request) {
+                return TEMPLATE.render(values("447700900001", "1", "447700900002"));
+            }
+
+            @Override
+            protected NccoResponse handleRequest(HttpServletRequest request) {
+                throw new AssertionError("The template should have been used.");
+            }
+        };
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.doPost(null, response);
+        String json = expected("447700900001", "1", "447700900002");
+        assertEquals(json, response.getContentAsString());
+        assertEquals("application/json", response.getContentType().split(";")[0]);
+        assertEquals(json.length(), response.getContentLength());
+    }
+
+    @Test
+    public void testAnswerServletFallsBackToNccoResponse() throws Exception {
+        AbstractAnswerServlet servlet = new AbstractAnswerServlet() {
+            @Override
+            protected NccoTemplate.Rendered handleTemplatedRequest(HttpServletRequest request) {
+                return request.getParameter("from") != null ? TEMPLATE.render(values("1", "2", "3")) : null;
+            }
+
+            @Override
+            protected NccoResponse handleRequest(HttpServletRequest request) {
+                return new NccoResponseBuilder().appendNcco(TalkAction.builder("Goodbye").build()).getValue();
+            }
+        };
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.doGet(new MockHttpServletRequest(), response);
+        assertEquals("[{\"text\":\"Goodbye\",\"action\":\"talk\"}]", response.getContentAsString());
+    }
+}